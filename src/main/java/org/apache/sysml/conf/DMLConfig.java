@@ -71,6 +71,21 @@ public class DMLConfig
 	public static final String CP_PARALLEL_MATRIXMULT = "cp.parallel.matrixmult";
 	public static final String CP_PARALLEL_TEXTIO   = "cp.parallel.textio";
 	public static final String COMPRESSED_LINALG    = "compressed.linalg";
+	public static final String COMPRESSED_PLANNING_TIMEOUT = "compressed.linalg.planning.timeout"; //in ms, <=0 unbounded
+	public static final String COMPRESSED_ESTIMATOR = "compressed.linalg.estimator";
+	public static final String CACHING_BUFFER_POLICY = "caching.buffer.policy"; //fifo | lru | cost
+	public static final String CACHING_BUFFER_PAGECACHE = "caching.buffer.pagecache";
+	public static final String CACHING_EVICTION_MMAP = "caching.eviction.mmap";
+	public static final String CACHING_EVICTION_ASYNC = "caching.eviction.async";
+	public static final String CACHING_PREFETCH = "caching.prefetch";
+	public static final String CACHING_COMPRESSION = "caching.compression";
+	public static final String CACHING_BUFFER_ADAPTIVE = "caching.buffer.adaptive";
+	public static final String CACHING_BUFFER_MIN = "caching.buffer.min"; //fraction of max heap
+	public static final String CACHING_BUFFER_MAX = "caching.buffer.max"; //fraction of max heap
+	public static final String CACHING_TRACE = "caching.trace";
+	public static final String CACHING_TRACE_FILE = "caching.trace.file"; //csv event dump, empty for none
+	public static final String CACHING_EXPORT_DEDUP = "caching.export.dedup";
+	public static final String CACHING_EXPORT_DEDUP_CONTENT = "caching.export.dedup.content";
 	// Fraction of available memory to use. The available memory is computer when the JCudaContext is created
 	// to handle the tradeoff on calling cudaMemGetInfo too often.
 	public static final String GPU_MEMORY_UTILIZATION_FACTOR    = "gpu.memory.util.factor";
@@ -107,6 +122,21 @@ public class DMLConfig
 		_defaultVals.put(CP_PARALLEL_MATRIXMULT, "true" );
 		_defaultVals.put(CP_PARALLEL_TEXTIO,     "true" );
 		_defaultVals.put(COMPRESSED_LINALG,      "false" );
+		_defaultVals.put(COMPRESSED_PLANNING_TIMEOUT, "10000" );
+		_defaultVals.put(COMPRESSED_ESTIMATOR,   "haas_stokes" );
+		_defaultVals.put(CACHING_BUFFER_POLICY,  "fifo" );
+		_defaultVals.put(CACHING_BUFFER_PAGECACHE, "false" );
+		_defaultVals.put(CACHING_EVICTION_MMAP,  "false" );
+		_defaultVals.put(CACHING_EVICTION_ASYNC, "false" );
+		_defaultVals.put(CACHING_PREFETCH,       "false" );
+		_defaultVals.put(CACHING_COMPRESSION,    "false" );
+		_defaultVals.put(CACHING_BUFFER_ADAPTIVE, "false" );
+		_defaultVals.put(CACHING_BUFFER_MIN,     "0.05" );
+		_defaultVals.put(CACHING_BUFFER_MAX,     "0.3" );
+		_defaultVals.put(CACHING_TRACE,          "false" );
+		_defaultVals.put(CACHING_TRACE_FILE,     "" );
+		_defaultVals.put(CACHING_EXPORT_DEDUP,   "false" );
+		_defaultVals.put(CACHING_EXPORT_DEDUP_CONTENT, "false" );
 		_defaultVals.put(GPU_MEMORY_UTILIZATION_FACTOR,      "0.9" );
 		_defaultVals.put(REFRESH_AVAILABLE_MEMORY_EVERY_TIME,      "true" );
 	}
@@ -278,6 +308,12 @@ public class DMLConfig
 			Element elem = (Element) list.item(0);
 			elem.getFirstChild().setNodeValue(newTextValue);	
 		}
+		else {
+			//append new element if not existing
+			Element elem = element.getOwnerDocument().createElement(tagName);
+			elem.appendChild(element.getOwnerDocument().createTextNode(newTextValue));
+			element.appendChild(elem);
+		}
 	}
 	
 	/**
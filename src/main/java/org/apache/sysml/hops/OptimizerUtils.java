@@ -66,6 +66,7 @@ public class OptimizerUtils
 	/**
 	 * Utilization factor used in deciding whether an operation to be scheduled on CP or MR. 
 	 * NOTE: it is important that MEM_UTIL_FACTOR+CacheableData.CACHING_BUFFER_SIZE &lt; 1.0
+	 * (incl. CacheableData.CACHING_BUFFER_PAGECACHE_SIZE if the page cache is enabled)
 	 */
 	public static double MEM_UTIL_FACTOR = 0.7d;
 	
@@ -92,7 +92,6 @@ public class ProgramRewriter
 			_dagRuleSet.add(     new RewriteTransientWriteParentHandling()       );
 			_dagRuleSet.add(     new RewriteRemoveReadAfterWrite()               ); //dependency: before blocksize
 			_dagRuleSet.add(     new RewriteBlockSizeAndReblock()                );
-			_dagRuleSet.add(     new RewriteCompressedReblock()                  );
 			_dagRuleSet.add(     new RewriteRemoveUnnecessaryCasts()             );		
 			if( OptimizerUtils.ALLOW_COMMON_SUBEXPRESSION_ELIMINATION )
 				_dagRuleSet.add( new RewriteCommonSubexpressionElimination()     );
@@ -116,6 +115,7 @@ public class ProgramRewriter
  			if( OptimizerUtils.ALLOW_AUTO_VECTORIZATION )
 				_sbRuleSet.add(  new RewriteForLoopVectorization()               ); //dependency: reblock (reblockop)
  			_sbRuleSet.add( new RewriteInjectSparkLoopCheckpointing(true)        ); //dependency: reblock (blocksizes)
+			_sbRuleSet.add( new RewriteCompressedReblock()                       ); //dependency: reblock, workload analysis over program
  			if( OptimizerUtils.ALLOW_LOOP_UPDATE_IN_PLACE )
  				_sbRuleSet.add(  new RewriteMarkLoopVariablesUpdateInPlace()      );
 		}
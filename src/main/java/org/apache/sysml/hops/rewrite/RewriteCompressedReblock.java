@@ -20,63 +20,408 @@
 package org.apache.sysml.hops.rewrite;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.AggBinaryOp;
+import org.apache.sysml.hops.AggUnaryOp;
+import org.apache.sysml.hops.BinaryOp;
 import org.apache.sysml.hops.DataOp;
+import org.apache.sysml.hops.FunctionOp;
+import org.apache.sysml.hops.FunctionOp.FunctionType;
 import org.apache.sysml.hops.Hop;
-import org.apache.sysml.hops.HopsException;
+import org.apache.sysml.hops.Hop.AggOp;
 import org.apache.sysml.hops.Hop.DataOpTypes;
+import org.apache.sysml.hops.Hop.OpOp1;
+import org.apache.sysml.hops.Hop.OpOp2;
+import org.apache.sysml.hops.HopsException;
+import org.apache.sysml.hops.IndexingOp;
+import org.apache.sysml.hops.UnaryOp;
+import org.apache.sysml.parser.DMLProgram;
+import org.apache.sysml.parser.ForStatement;
+import org.apache.sysml.parser.ForStatementBlock;
+import org.apache.sysml.parser.FunctionStatement;
+import org.apache.sysml.parser.FunctionStatementBlock;
+import org.apache.sysml.parser.IfStatement;
+import org.apache.sysml.parser.IfStatementBlock;
+import org.apache.sysml.parser.LanguageException;
+import org.apache.sysml.parser.StatementBlock;
+import org.apache.sysml.parser.WhileStatement;
+import org.apache.sysml.parser.WhileStatementBlock;
+import org.apache.sysml.parser.Expression.DataType;
 
 /**
  * Rule: CompressedReblock: If config compressed.linalg is enabled, we
  * inject compression hooks after pread of matrices w/ both dims &gt; 1.
+ *
+ * With compressed.linalg=auto, compression is only injected if a workload
+ * analysis over the program (incl. loops and function calls) finds that the
+ * compressed matrix is used in loops by operations on compressed blocks, and
+ * that these uses outweigh the operations that require decompression.
  */
-public class RewriteCompressedReblock extends HopRewriteRule
+public class RewriteCompressedReblock extends StatementBlockRewriteRule
 {
-	
+	public static final String AUTO = "auto";
+
+	//weight of operations per loop nesting level (unknown number of iterations)
+	private static final double LOOP_WEIGHT = 10;
+
+	private static final AggOp[] SUPPORTED_AGG = new AggOp[]{
+		AggOp.SUM, AggOp.SUM_SQ, AggOp.MIN, AggOp.MAX};
+	private static final OpOp1[] SUPPORTED_UNARY = new OpOp1[]{ //sparse-safe
+		OpOp1.ABS, OpOp1.SIN, OpOp1.TAN, OpOp1.SIGN, OpOp1.SQRT, OpOp1.ROUND,
+		OpOp1.SPROP, OpOp1.SELP, OpOp1.LOG_NZ};
+	private static final OpOp1[] META_UNARY = new OpOp1[]{
+		OpOp1.NROW, OpOp1.NCOL, OpOp1.LENGTH};
+
 	@Override
-	public ArrayList<Hop> rewriteHopDAGs(ArrayList<Hop> roots, ProgramRewriteStatus state)
+	public ArrayList<StatementBlock> rewriteStatementBlock(StatementBlock sb, ProgramRewriteStatus status)
 		throws HopsException
 	{
-		if( roots == null )
-			return null;
-		
-		boolean compress = ConfigurationManager.getDMLConfig()
-				.getBooleanValue(DMLConfig.COMPRESSED_LINALG);
-		
-		//perform compressed reblock rewrite
-		if( compress )
-			for( Hop h : roots ) 
-				rule_CompressedReblock(h);
-		
-		return roots;
+		ArrayList<StatementBlock> ret = new ArrayList<StatementBlock>();
+		ret.add(sb);
+
+		//check for applicable (last-level) statement blocks
+		if( sb.get_hops() == null || sb.get_hops().isEmpty() )
+			return ret;
+
+		boolean auto = isAutoCompression();
+
+		//collect compression candidates (before analysis, which traverses dags)
+		ArrayList<Hop> cands = new ArrayList<Hop>();
+		if( isEnabledCompression() ) {
+			Hop.resetVisitStatus(sb.get_hops());
+			for( Hop h : sb.get_hops() )
+				collectCompressionCandidates(h, cands);
+			Hop.resetVisitStatus(sb.get_hops());
+		}
+
+		//perform compressed reblock rewrite (w/ optional workload analysis)
+		for( Hop h : cands )
+			if( !auto || satisfiesWorkloadCondition(h, sb.getDMLProg()) )
+				h.setRequiresCompression(true);
+
+		return ret;
 	}
 
-	@Override
-	public Hop rewriteHopDAG(Hop root, ProgramRewriteStatus state) 
-		throws HopsException
-	{
-		//do nothing (ppred will never occur in predicate)
-		return root;
+	/**
+	 * Indicates if compressed linear algebra is enabled, i.e., if config
+	 * compressed.linalg is true or auto. This is the single point of
+	 * interpretation of this config for the compiler and runtime.
+	 *
+	 * @return true if compression is enabled
+	 */
+	public static boolean isEnabledCompression() {
+		String compress = ConfigurationManager.getDMLConfig()
+				.getTextValue(DMLConfig.COMPRESSED_LINALG);
+		return AUTO.equalsIgnoreCase(compress) || Boolean.parseBoolean(compress);
 	}
 
-	private void rule_CompressedReblock(Hop hop) 
-		throws HopsException 
+	/**
+	 * Indicates if compressed linear algebra is enabled with workload
+	 * analysis, i.e., if config compressed.linalg is auto.
+	 *
+	 * @return true if compression is enabled w/ workload analysis
+	 */
+	public static boolean isAutoCompression() {
+		return AUTO.equalsIgnoreCase(ConfigurationManager
+			.getDMLConfig().getTextValue(DMLConfig.COMPRESSED_LINALG));
+	}
+
+	private void collectCompressionCandidates(Hop hop, ArrayList<Hop> cands)
 	{
+		if( hop.getVisited() == Hop.VisitStatus.DONE )
+			return;
+
 		// Go to the source(s) of the DAG
-		for (Hop hi : hop.getInput()) {
-			if (hi.getVisited() != Hop.VisitStatus.DONE)
-				rule_CompressedReblock(hi);
-		}
+		for (Hop hi : hop.getInput())
+			collectCompressionCandidates(hi, cands);
 
-		if( hop instanceof DataOp 
+		if( hop instanceof DataOp
 			&& ((DataOp)hop).getDataOpType()==DataOpTypes.PERSISTENTREAD
-			&& hop.getDim1() > 1 && hop.getDim2() > 1 ) 
+			&& hop.getDim1() > 1 && hop.getDim2() > 1 )
 		{
-			hop.setRequiresCompression(true);
+			cands.add(hop);
 		}
 
 		hop.setVisited(Hop.VisitStatus.DONE);
 	}
+
+	/**
+	 * Analyzes the workload of the matrix produced by the given persistent
+	 * read and decides if compression is profitable, i.e., if the matrix is
+	 * used inside loops by operations on compressed blocks, and the weighted
+	 * number of these uses exceeds the weighted number of uses that require
+	 * decompression.
+	 *
+	 * @param hop persistent read
+	 * @param prog dml program
+	 * @return true if compression is profitable
+	 * @throws HopsException if HopsException occurs
+	 */
+	private static boolean satisfiesWorkloadCondition(Hop hop, DMLProgram prog)
+		throws HopsException
+	{
+		if( prog == null )
+			return false;
+
+		//analyze main program, and functions if not reachable from main
+		ProbeStatus status = new ProbeStatus(hop.getHopID(), prog);
+		for( StatementBlock sb : prog.getStatementBlocks() )
+			rAnalyzeProgram(sb, status);
+		try {
+			if( !status.foundStart )
+				for( FunctionStatementBlock fsb : prog.getFunctionStatementBlocks() )
+					rAnalyzeProgram(fsb, status);
+		}
+		catch(LanguageException ex) {
+			throw new HopsException(ex);
+		}
+
+		boolean ret = status.foundStart && status.usedInLoop
+			&& status.numSupported > status.numDecompress;
+
+		if( LOG.isDebugEnabled() ) {
+			LOG.debug("Compression decision for "+hop.getName()+" ("+hop.getHopID()+"): "
+				+ ret + " [supported="+status.numSupported+", decompress="
+				+ status.numDecompress+", inLoop="+status.usedInLoop+"]");
+		}
+
+		return ret;
+	}
+
+	private static void rAnalyzeProgram(StatementBlock sb, ProbeStatus status)
+		throws HopsException
+	{
+		if( sb instanceof FunctionStatementBlock ) {
+			FunctionStatement fstmt = (FunctionStatement)sb.getStatement(0);
+			for( StatementBlock csb : fstmt.getBody() )
+				rAnalyzeProgram(csb, status);
+		}
+		else if( sb instanceof WhileStatementBlock ) {
+			WhileStatementBlock wsb = (WhileStatementBlock) sb;
+			WhileStatement wstmt = (WhileStatement)wsb.getStatement(0);
+			status.loopDepth++;
+			analyzeHopDag(wsb.getPredicateHops(), status);
+			for( StatementBlock csb : wstmt.getBody() )
+				rAnalyzeProgram(csb, status);
+			status.loopDepth--;
+		}
+		else if( sb instanceof IfStatementBlock ) {
+			IfStatementBlock isb = (IfStatementBlock) sb;
+			IfStatement istmt = (IfStatement)isb.getStatement(0);
+			analyzeHopDag(isb.getPredicateHops(), status);
+			status.condDepth++;
+			for( StatementBlock csb : istmt.getIfBody() )
+				rAnalyzeProgram(csb, status);
+			for( StatementBlock csb : istmt.getElseBody() )
+				rAnalyzeProgram(csb, status);
+			status.condDepth--;
+		}
+		else if( sb instanceof ForStatementBlock ) { //incl parfor
+			ForStatementBlock fsb = (ForStatementBlock) sb;
+			ForStatement fstmt = (ForStatement)fsb.getStatement(0);
+			analyzeHopDag(fsb.getFromHops(), status);
+			analyzeHopDag(fsb.getToHops(), status);
+			analyzeHopDag(fsb.getIncrementHops(), status);
+			status.loopDepth++;
+			for( StatementBlock csb : fstmt.getBody() )
+				rAnalyzeProgram(csb, status);
+			status.loopDepth--;
+		}
+		else if( sb.get_hops() != null ) { //generic (last-level)
+			HashSet<Long> memo = new HashSet<Long>();
+			for( Hop hop : sb.get_hops() )
+				rAnalyzeHopDag(hop, status, memo);
+		}
+	}
+
+	private static void analyzeHopDag(Hop root, ProbeStatus status)
+		throws HopsException
+	{
+		if( root != null )
+			rAnalyzeHopDag(root, status, new HashSet<Long>());
+	}
+
+	private static void rAnalyzeHopDag(Hop current, ProbeStatus status, HashSet<Long> memo)
+		throws HopsException
+	{
+		if( memo.contains(current.getHopID()) )
+			return;
+
+		//process children recursively
+		for( Hop input : current.getInput() )
+			rAnalyzeHopDag(input, status, memo);
+
+		//handle source persistent read
+		if( current.getHopID() == status.startHopID ) {
+			status.compHops.add(current.getHopID());
+			status.foundStart = true;
+		}
+		//handle transient reads and writes (variable name mapping)
+		else if( current instanceof DataOp
+			&& ((DataOp)current).getDataOpType()==DataOpTypes.TRANSIENTREAD ) {
+			if( status.compVars.contains(current.getName()) )
+				status.compHops.add(current.getHopID());
+		}
+		else if( current instanceof DataOp
+			&& ((DataOp)current).getDataOpType()==DataOpTypes.TRANSIENTWRITE ) {
+			if( isCompressed(current.getInput().get(0), status) )
+				status.compVars.add(current.getName());
+			else if( status.condDepth == 0 ) //unconditional overwrite
+				status.compVars.remove(current.getName());
+		}
+		//handle function calls (analysis of function body w/ mapped inputs)
+		else if( current instanceof FunctionOp && hasCompressedInput(current, status) ) {
+			analyzeFunctionCall((FunctionOp)current, status);
+		}
+		//handle operations over compressed inputs
+		else if( hasCompressedInput(current, status) ) {
+			analyzeOperation(current, status);
+		}
+
+		memo.add(current.getHopID());
+	}
+
+	private static void analyzeFunctionCall(FunctionOp fop, ProbeStatus status)
+		throws HopsException
+	{
+		String fkey = DMLProgram.constructFunctionKey(
+			fop.getFunctionNamespace(), fop.getFunctionName());
+		FunctionStatementBlock fsb = (fop.getFunctionType()==FunctionType.DML) ?
+			status.prog.getFunctionStatementBlock(fkey) : null;
+
+		//external or builtin functions work on uncompressed inputs
+		if( fsb == null ) {
+			status.addDecompress(1);
+			return;
+		}
+
+		//memoization to avoid redundant analysis and recursive calls
+		if( !status.procFn.add(fkey) )
+			return;
+
+		//map inputs to function parameters and analyze function body
+		FunctionStatement fstmt = (FunctionStatement) fsb.getStatement(0);
+		HashSet<String> callerVars = status.compVars;
+		status.compVars = new HashSet<String>();
+		for( int i=0; i<fop.getInput().size() && i<fstmt.getInputParams().size(); i++ )
+			if( isCompressed(fop.getInput().get(i), status) )
+				status.compVars.add(fstmt.getInputParams().get(i).getName());
+		for( StatementBlock csb : fstmt.getBody() )
+			rAnalyzeProgram(csb, status);
+
+		//map function outputs to output variables
+		String[] outputs = fop.getOutputVariableNames();
+		for( int i=0; i<outputs.length && i<fstmt.getOutputParams().size(); i++ )
+			if( status.compVars.contains(fstmt.getOutputParams().get(i).getName()) )
+				callerVars.add(outputs[i]);
+		status.compVars = callerVars;
+	}
+
+	private static void analyzeOperation(Hop current, ProbeStatus status)
+	{
+		//matrix multiplications incl tsmm and mmchain
+		if( current instanceof AggBinaryOp ) {
+			status.addSupported(1);
+		}
+		//transpose for tsmm and transpose-left matrix multiplications
+		else if( HopRewriteUtils.isTransposeOperation(current) ) {
+			boolean mmOnly = !current.getParent().isEmpty();
+			for( Hop p : current.getParent() )
+				mmOnly &= (p instanceof AggBinaryOp);
+			if( mmOnly )
+				status.compHops.add(current.getHopID());
+			else
+				status.addDecompress(1);
+		}
+		//sum, sumsq, min, max (full, row, column)
+		else if( current instanceof AggUnaryOp ) {
+			if( HopRewriteUtils.isValidOp(((AggUnaryOp)current).getOp(), SUPPORTED_AGG) )
+				status.addSupported(1);
+			else
+				status.addDecompress(1);
+		}
+		//sparse-safe unary operations on dictionaries (compressed output)
+		else if( current instanceof UnaryOp ) {
+			OpOp1 op = ((UnaryOp)current).getOp();
+			if( HopRewriteUtils.isValidOp(op, SUPPORTED_UNARY) ) {
+				status.addSupported(1);
+				status.compHops.add(current.getHopID());
+			}
+			else if( !HopRewriteUtils.isValidOp(op, META_UNARY) )
+				status.addDecompress(1);
+		}
+		//scalar, row-vector, and cbind operations (compressed output)
+		else if( current instanceof BinaryOp && current.getDataType()==DataType.MATRIX ) {
+			Hop left = current.getInput().get(0);
+			Hop right = current.getInput().get(1);
+			OpOp2 op = ((BinaryOp)current).getOp();
+			boolean supported = (op == OpOp2.CBIND) ? isCompressed(left, status) :
+				(op != OpOp2.RBIND && isCompressed(left, status) != isCompressed(right, status)
+				&& (left.getDataType()==DataType.SCALAR || right.getDataType()==DataType.SCALAR
+				|| (isCompressed(left, status) && right.getDim1()==1)));
+			if( supported ) {
+				status.addSupported(1);
+				status.compHops.add(current.getHopID());
+			}
+			else
+				status.addDecompress(1);
+		}
+		//right indexing (compressed output for multi-row slices)
+		else if( current instanceof IndexingOp ) {
+			status.addSupported(1);
+			if( current.getDim1() != 1 )
+				status.compHops.add(current.getHopID());
+		}
+		//persistent write in compressed binary block format
+		else if( current instanceof DataOp ) {
+			//no decompression required
+		}
+		//all other operations decompress their inputs
+		else {
+			status.addDecompress(1);
+		}
+	}
+
+	private static boolean isCompressed(Hop hop, ProbeStatus status) {
+		return status.compHops.contains(hop.getHopID());
+	}
+
+	private static boolean hasCompressedInput(Hop hop, ProbeStatus status) {
+		for( Hop in : hop.getInput() )
+			if( isCompressed(in, status) )
+				return true;
+		return false;
+	}
+
+	private static class ProbeStatus
+	{
+		private final long startHopID;
+		private final DMLProgram prog;
+		private final HashSet<Long> compHops = new HashSet<Long>();
+		private final HashSet<String> procFn = new HashSet<String>();
+		private HashSet<String> compVars = new HashSet<String>();
+		private int loopDepth = 0;
+		private int condDepth = 0;
+		private boolean foundStart = false;
+		private boolean usedInLoop = false;
+		private double numSupported = 0;
+		private double numDecompress = 0;
+
+		public ProbeStatus(long hopID, DMLProgram p) {
+			startHopID = hopID;
+			prog = p;
+		}
+
+		public void addSupported(int num) {
+			numSupported += num * Math.pow(LOOP_WEIGHT, loopDepth);
+			usedInLoop |= (loopDepth > 0);
+		}
+
+		public void addDecompress(int num) {
+			numDecompress += num * Math.pow(LOOP_WEIGHT, loopDepth);
+		}
+	}
 }
@@ -28,7 +28,9 @@ import java.util.List;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class that stores information about a column group within a compressed matrix
@@ -42,7 +44,9 @@ public abstract class ColGroup implements Serializable
 	public enum CompressionType  {
 		UNCOMPRESSED,   //uncompressed sparse/dense 
 		RLE_BITMAP,     //RLE bitmap
-		OLE_BITMAP;  //OLE bitmap
+		OLE_BITMAP,  //OLE bitmap
+		DDC1,        //DDC w/ 1 byte codes
+		DDC2;        //DDC w/ 2 byte codes
 	}
 	
 	/**
@@ -135,6 +139,73 @@ public abstract class ColGroup implements Serializable
 			_colIndexes[i] += offset;
 	}
 	
+	/**
+	 * Indicates if any column of this group falls into the given column range.
+	 * 
+	 * @param cl column lower bound, inclusive
+	 * @param cu column upper bound, exclusive
+	 * @return true if overlapping columns
+	 */
+	public boolean isOverlapping(int cl, int cu) {
+		for( int i=0; i<_colIndexes.length; i++ )
+			if( _colIndexes[i] >= cl && _colIndexes[i] < cu )
+				return true;
+		return false;
+	}
+	
+	/**
+	 * Obtains the positions (within this group) of all columns that fall
+	 * into the given column range.
+	 * 
+	 * @param cl column lower bound, inclusive
+	 * @param cu column upper bound, exclusive
+	 * @return column positions
+	 */
+	protected int[] getColumnPositions(int cl, int cu) {
+		int len = 0;
+		for( int i=0; i<_colIndexes.length; i++ )
+			len += (_colIndexes[i] >= cl && _colIndexes[i] < cu) ? 1 : 0;
+		int[] ret = new int[len];
+		for( int i=0, pos=0; i<_colIndexes.length; i++ )
+			if( _colIndexes[i] >= cl && _colIndexes[i] < cu )
+				ret[pos++] = i;
+		return ret;
+	}
+	
+	/**
+	 * Obtains the column indexes for the given positions, shifted by -cl.
+	 * 
+	 * @param pos column positions
+	 * @param cl column lower bound
+	 * @return shifted column indexes
+	 */
+	protected int[] getShiftedColIndices(int[] pos, int cl) {
+		int[] ret = new int[pos.length];
+		for( int i=0; i<pos.length; i++ )
+			ret[i] = _colIndexes[pos[i]] - cl;
+		return ret;
+	}
+	
+	/**
+	 * Projects the given linearized value tuples onto the given column positions.
+	 * 
+	 * @param values linearized value tuples
+	 * @param numCols number of columns per value tuple
+	 * @param pos column positions
+	 * @return linearized projected value tuples
+	 */
+	protected static double[] projectValues(double[] values, int numCols, int[] pos) {
+		//shallow copy if all columns selected
+		if( pos.length == numCols )
+			return values;
+		int numVals = values.length / numCols;
+		double[] ret = new double[numVals * pos.length];
+		for( int k=0, off=0, roff=0; k<numVals; k++, off+=numCols )
+			for( int j=0; j<pos.length; j++ )
+				ret[roff++] = values[off+pos[j]];
+		return ret;
+	}
+	
 	/**
 	 * Note: Must be overridden by child classes to account for additional data
 	 * and metadata
@@ -186,6 +257,18 @@ public abstract class ColGroup implements Serializable
 	 */
 	public abstract void decompressToBlock(MatrixBlock target, int colpos);
 
+	/**
+	 * Decompress a row range of a single column into a dense vector,
+	 * whose entries in this row range are assumed to be zero. This 
+	 * method does not maintain the number of non-zeros of the target.
+	 * 
+	 * @param target  dense output vector
+	 * @param colpos  column to decompress, error if larger or equal numCols
+	 * @param rl row lower
+	 * @param ru row upper
+	 */
+	public abstract void decompressToBlock(MatrixBlock target, int colpos, int rl, int ru);
+
 
 	/**
 	 * Serializes column group to data output.
@@ -253,6 +336,55 @@ public abstract class ColGroup implements Serializable
 	public abstract void leftMultByRowVector(MatrixBlock vector,
 			MatrixBlock result) throws DMLRuntimeException;
 
+	/**
+	 * Multiply a row range of the slice of the matrix that this column group
+	 * represents by the corresponding entries of a row vector on the left,
+	 * and add the partial results to the given result.
+	 * 
+	 * @param vector row vector
+	 * @param result matrix block result
+	 * @param rl row lower
+	 * @param ru row upper
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract void leftMultByRowVector(MatrixBlock vector,
+			MatrixBlock result, int rl, int ru) throws DMLRuntimeException;
+
+	/**
+	 * Multiply the slice of the matrix that this column group represents by a
+	 * dense matrix on the right, i.e., add this group's contribution to rows
+	 * rl to ru of the result. All columns of the right-hand side are processed
+	 * at once in order to preaggregate the distinct values only once.
+	 * 
+	 * @param matrix
+	 *            dense matrix to multiply by (number of rows equals the number
+	 *            of columns of the parent block)
+	 * @param result
+	 *            dense accumulator for holding the result
+	 * @param rl row lower (aligned with the bitmap block size)
+	 * @param ru row upper
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract void rightMultByMatrix(MatrixBlock matrix,
+			MatrixBlock result, int rl, int ru) throws DMLRuntimeException;
+
+	/**
+	 * Multiply the slice of the matrix that this column group represents by a
+	 * dense matrix on the left, i.e., add this group's contribution for rows 
+	 * rl to ru of the left-hand side to the result.
+	 * 
+	 * @param matrix
+	 *            dense matrix to multiply by (number of columns equals the 
+	 *            number of rows of the parent block)
+	 * @param result
+	 *            dense accumulator for holding the result
+	 * @param rl row lower of the left-hand side
+	 * @param ru row upper of the left-hand side
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract void leftMultByMatrix(MatrixBlock matrix,
+			MatrixBlock result, int rl, int ru) throws DMLRuntimeException;
+
 	/**
 	 * Perform the specified scalar operation directly on the compressed column
 	 * group, without decompressing individual cells if possible.
@@ -265,6 +397,61 @@ public abstract class ColGroup implements Serializable
 	public abstract ColGroup scalarOperation(ScalarOperator op)
 			throws DMLRuntimeException;
 
+	/**
+	 * Perform the specified sparse-safe unary operation directly on the
+	 * compressed column group, i.e., on its distinct values.
+	 * 
+	 * @param op
+	 *            sparse-safe unary operation to perform
+	 * @return version of this column group with the operation applied
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract ColGroup unaryOperation(UnaryOperator op)
+			throws DMLRuntimeException;
+	
+	/**
+	 * Perform the specified binary operation with a row vector (i.e., 
+	 * one scalar per column) directly on the compressed column group.
+	 * 
+	 * @param op
+	 *            binary operation to perform
+	 * @param v
+	 *            dense row vector over all columns of the parent block
+	 * @return version of this column group with the operation applied
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract ColGroup binaryRowOperation(BinaryOperator op, double[] v)
+			throws DMLRuntimeException;
+
+	/**
+	 * Slice the given row and column range directly on the compressed column
+	 * group, i.e., select the covered columns and rows without decompression.
+	 * The column indexes of the output group are relative to cl.
+	 * 
+	 * @param rl row lower bound, inclusive
+	 * @param ru row upper bound, exclusive
+	 * @param cl column lower bound, inclusive
+	 * @param cu column upper bound, exclusive (must overlap with this group)
+	 * @return new column group of the sliced range
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract ColGroup sliceOperations(int rl, int ru, int cl, int cu)
+			throws DMLRuntimeException;
+
+	/**
+	 * Appends the rows of the given column groups to the rows of this 
+	 * column group, e.g., to assemble the row blocks of a persisted 
+	 * compressed matrix without recompression. All groups are required 
+	 * to have the type and column indexes of this group.
+	 * 
+	 * @param that column groups of the same type and column indexes
+	 * @return new column group, or null if the result is not representable
+	 *         in the type of this column group
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract ColGroup appendRows(ColGroup[] that)
+			throws DMLRuntimeException;
+
 	public abstract void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result)
 		throws DMLRuntimeException;
 	
@@ -25,16 +25,21 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.TreeMap;
 import java.util.Map.Entry;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.utils.DblArray;
+import org.apache.sysml.runtime.compress.utils.IntArrayList;
 import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
 import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 
 /**
@@ -46,7 +51,7 @@ import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
  *    but not applied because more difficult to support both data layouts at the
  *    same time (distributed/local as well as w/ and w/o low-level opt)
  */
-public abstract class ColGroupBitmap extends ColGroup 
+public abstract class ColGroupBitmap extends ColGroupValue 
 {
 	private static final long serialVersionUID = -1635828933479403125L;
 	
@@ -60,9 +65,6 @@ public abstract class ColGroupBitmap extends ColGroup
 	protected static final int READ_CACHE_BLKSZ = 2 * BitmapEncoder.BITMAP_BLOCK_SZ;
 	protected static final int WRITE_CACHE_BLKSZ = 2 * BitmapEncoder.BITMAP_BLOCK_SZ;
 	
-	/** Distinct values associated with individual bitmaps. */
-	protected double[] _values; //linearized <numcol vals> <numcol vals>
-
 	/** Bitmaps, one per uncompressed value in {@link #_values}. */
 	protected int[] _ptr; //bitmap offsets per value
 	protected char[] _data; //linearized bitmaps (variable length)
@@ -119,9 +121,8 @@ public abstract class ColGroupBitmap extends ColGroup
 	 *            kept in the subclass)
 	 */
 	protected ColGroupBitmap(CompressionType type, int[] colIndices, int numRows, boolean zeros, double[] values) {
-		super(type, colIndices, numRows);
+		super(type, colIndices, numRows, values);
 		_zeros = zeros;
-		_values = values;
 	}
 	
 	protected final int len(int k) {
@@ -299,32 +300,6 @@ public abstract class ColGroupBitmap extends ColGroup
 	public abstract void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result, int rl, int ru)
 		throws DMLRuntimeException;
 
-	protected final double sumValues(int bitmapIx)
-	{
-		final int numCols = getNumCols();
-		final int valOff = bitmapIx * numCols;
-		
-		double val = 0.0;
-		for( int i = 0; i < numCols; i++ ) {
-			val += _values[valOff+i];
-		}
-		
-		return val;
-	}
-	
-	protected final double sumValues(int bitmapIx, double[] b)
-	{
-		final int numCols = getNumCols();
-		final int valOff = bitmapIx * numCols;
-		
-		double val = 0;
-		for( int i = 0; i < numCols; i++ ) {
-			val += _values[valOff+i] * b[i];
-		}
-		
-		return val;
-	}
-
 	protected final void sumAllValues(double[] b, double[] c)
 	{
 		final int numVals = getNumValues();
@@ -348,14 +323,6 @@ public abstract class ColGroupBitmap extends ColGroup
 		return val;
 	}
 
-	protected final double[] preaggValues(int numVals, double[] b) {
-		double[] ret = new double[numVals];
-		for( int k = 0; k < numVals; k++ )
-			ret[k] = sumValues(k, b);
-		
-		return ret;
-	}
-	
 	/**
 	 * Method for use by subclasses. Applies a scalar operation to the value
 	 * metadata stored in the superclass.
@@ -392,6 +359,217 @@ public abstract class ColGroupBitmap extends ColGroup
 		return ret;
 	}
 	
+	protected double[] applyUnaryOp(UnaryOperator op)
+			throws DMLRuntimeException 
+	{
+		//scan over linearized values
+		double[] ret = new double[_values.length];
+		for( int i = 0; i < _values.length; i++ )
+			ret[i] = op.fn.execute(_values[i]);
+		
+		return ret;
+	}
+	
+	/**
+	 * Method for use by subclasses. Applies a binary operation with a row 
+	 * vector to the value metadata, optionally appending the tuple of 
+	 * results for zero inputs.
+	 * 
+	 * @param fn binary function
+	 * @param v dense row vector over all columns of the parent block
+	 * @param inclZeroTuple if true, append tuple of results for zero inputs
+	 * @return transformed copy of value metadata for this column group
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected double[] applyBinaryRowOp(ValueFunction fn, double[] v, boolean inclZeroTuple)
+			throws DMLRuntimeException 
+	{
+		final int numCols = getNumCols();
+		final int len = _values.length;
+		double[] ret = new double[len + (inclZeroTuple ? numCols : 0)];
+		for( int i = 0; i < len; i++ )
+			ret[i] = fn.execute(_values[i], v[_colIndexes[i % numCols]]);
+		if( inclZeroTuple )
+			for( int j = 0; j < numCols; j++ )
+				ret[len+j] = fn.execute(0d, v[_colIndexes[j]]);
+		
+		return ret;
+	}
+	
+	protected boolean isSparseSafeRowOp(ValueFunction fn, double[] v) 
+			throws DMLRuntimeException 
+	{
+		for( int j = 0; j < _colIndexes.length; j++ )
+			if( fn.execute(0d, v[_colIndexes[j]]) != 0 )
+				return false;
+		return true;
+	}
+	
+	@Override
+	public ColGroup sliceOperations(int rl, int ru, int cl, int cu)
+		throws DMLRuntimeException
+	{
+		final int numCols = getNumCols();
+		final int numVals = getNumValues();
+		final boolean allRows = (rl == 0 && ru == _numRows);
+		int[] pos = getColumnPositions(cl, cu);
+		int[] colIndexes = getShiftedColIndices(pos, cl);
+		double[] values = projectValues(_values, numCols, pos);
+		final int plen = pos.length;
+		
+		//collect bitmaps of non-zero value tuples in row range, where full row 
+		//ranges reuse the encoded bitmaps and other ranges are re-encoded
+		char[][] lbitmaps = new char[numVals][];
+		double[] lvalues = new double[values.length];
+		int rnumVals = 0, totalLen = 0;
+		long numOffsets = 0;
+		boolean dropped = false;
+		for( int k=0, off=0; k<numVals; k++, off+=plen ) {
+			boolean zeroTuple = true;
+			for( int j=0; j<plen && zeroTuple; j++ )
+				zeroTuple &= (values[off+j] == 0);
+			if( zeroTuple ) {
+				dropped = true;
+				continue;
+			}
+			if( allRows ) {
+				lbitmaps[rnumVals] = Arrays.copyOfRange(_data, _ptr[k], _ptr[k+1]);
+			}
+			else {
+				int[] offsets = getOffsets(k, rl, ru);
+				if( offsets.length == 0 )
+					continue;
+				lbitmaps[rnumVals] = encodeBitmap(offsets);
+				numOffsets += offsets.length;
+			}
+			System.arraycopy(values, off, lvalues, rnumVals*plen, plen);
+			totalLen += lbitmaps[rnumVals++].length;
+		}
+		
+		boolean zeros = allRows ? (_zeros || dropped) : (numOffsets < ru-rl);
+		return createGroup(colIndexes, ru-rl, zeros, 
+			Arrays.copyOf(lvalues, rnumVals*plen), lbitmaps, rnumVals, totalLen);
+	}
+	
+	@Override
+	public ColGroup appendRows(ColGroup[] that) 
+		throws DMLRuntimeException
+	{
+		final int numCols = getNumCols();
+		ColGroupBitmap[] groups = new ColGroupBitmap[that.length+1];
+		groups[0] = this;
+		for( int i=0; i<that.length; i++ )
+			groups[i+1] = (ColGroupBitmap) that[i];
+		
+		//collect shifted row offsets per distinct value tuple of all groups
+		LinkedHashMap<DblArray, IntArrayList> offsets = new LinkedHashMap<DblArray, IntArrayList>();
+		int numRows = 0;
+		for( ColGroupBitmap grp : groups ) {
+			for( int k=0; k<grp.getNumValues(); k++ ) {
+				DblArray key = new DblArray(Arrays.copyOfRange(grp._values, k*numCols, (k+1)*numCols));
+				IntArrayList list = offsets.get(key);
+				if( list == null ) {
+					list = new IntArrayList();
+					offsets.put(key, list);
+				}
+				Iterator<Integer> iter = grp.getDecodeIterator(k);
+				while( iter.hasNext() )
+					list.appendValue(numRows + iter.next());
+			}
+			numRows += grp._numRows;
+		}
+		
+		//encode bitmaps of merged offset lists
+		final int numVals = offsets.size();
+		char[][] lbitmaps = new char[numVals][];
+		double[] values = new double[numVals*numCols];
+		int k = 0, totalLen = 0;
+		long numOffsets = 0;
+		for( Entry<DblArray, IntArrayList> e : offsets.entrySet() ) {
+			IntArrayList list = e.getValue();
+			int[] loffsets = (list.size() > 0) ? list.extractValues() : new int[0];
+			System.arraycopy(e.getKey().getData(), 0, values, k*numCols, numCols);
+			lbitmaps[k] = encodeBitmap(loffsets);
+			totalLen += lbitmaps[k++].length;
+			numOffsets += loffsets.length;
+		}
+		
+		return createGroup(Arrays.copyOf(_colIndexes, numCols), numRows, 
+			numOffsets < numRows, values, lbitmaps, numVals, totalLen);
+	}
+	
+	/**
+	 * Creates a new column group of this group's type from the given 
+	 * values and encoded bitmaps, compacted to a linearized representation.
+	 * 
+	 * @param colIndices column indexes
+	 * @param numRows number of rows
+	 * @param zeros true if the group contains zero rows
+	 * @param values linearized value tuples
+	 * @param lbitmaps encoded bitmaps per value
+	 * @param numVals number of values
+	 * @param totalLen total length of all bitmaps
+	 * @return new column group
+	 */
+	private ColGroupBitmap createGroup(int[] colIndices, int numRows, boolean zeros, 
+			double[] values, char[][] lbitmaps, int numVals, int totalLen) 
+	{
+		char[] data = new char[totalLen];
+		int[] ptr = new int[numVals+1];
+		for( int k=0, off=0; k<numVals; k++ ) {
+			ptr[k] = off;
+			System.arraycopy(lbitmaps[k], 0, data, off, lbitmaps[k].length);
+			off += lbitmaps[k].length;
+		}
+		ptr[numVals] = totalLen;
+		return createGroup(colIndices, numRows, zeros, values, data, ptr);
+	}
+	
+	/**
+	 * Obtains the row offsets of the given value in the given row range, 
+	 * shifted by -rl.
+	 * 
+	 * @param k value index
+	 * @param rl row lower bound, inclusive
+	 * @param ru row upper bound, exclusive
+	 * @return shifted row offsets
+	 */
+	private int[] getOffsets(int k, int rl, int ru) {
+		IntArrayList list = new IntArrayList();
+		Iterator<Integer> iter = getDecodeIterator(k);
+		while( iter.hasNext() ) {
+			int rix = iter.next();
+			if( rix >= ru )
+				break;
+			if( rix >= rl )
+				list.appendValue(rix - rl);
+		}
+		return (list.size() > 0) ? list.extractValues() : new int[0];
+	}
+	
+	/**
+	 * Encodes the given sorted row offsets into a bitmap of this group's type.
+	 * 
+	 * @param offsets sorted row offsets
+	 * @return encoded bitmap
+	 */
+	protected abstract char[] encodeBitmap(int[] offsets);
+	
+	/**
+	 * Creates a new column group of this group's type from the given 
+	 * linearized values and bitmaps.
+	 * 
+	 * @param colIndices column indexes
+	 * @param numRows number of rows
+	 * @param zeros true if the group contains zero rows
+	 * @param values linearized value tuples
+	 * @param bitmaps linearized bitmaps
+	 * @param bitmapOffs bitmap offsets per value
+	 * @return new column group
+	 */
+	protected abstract ColGroupBitmap createGroup(int[] colIndices, int numRows, 
+			boolean zeros, double[] values, char[] bitmaps, int[] bitmapOffs);
+	
 	/**
 	 * NOTE: Shared across OLE/RLE because value-only computation. 
 	 * 
@@ -447,20 +625,6 @@ public abstract class ColGroupBitmap extends ColGroup
 	}
 	
 
-	/**
-	 * Obtain number of distrinct sets of values associated with the bitmaps in this column group.
-	 * 
-	 * @return the number of distinct sets of values associated with the bitmaps
-	 *         in this column group
-	 */
-	public int getNumValues() {
-		return _values.length / _colIndexes.length;
-	}
-
-	public double[] getValues() {
-		return _values;
-	}
-
 	public char[] getBitmaps() {
 		return _data;
 	}
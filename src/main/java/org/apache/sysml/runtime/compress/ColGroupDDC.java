@@ -0,0 +1,513 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.compress;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.utils.DblArray;
+import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysml.runtime.functionobjects.KahanFunction;
+import org.apache.sysml.runtime.functionobjects.KahanPlus;
+import org.apache.sysml.runtime.functionobjects.KahanPlusSq;
+import org.apache.sysml.runtime.functionobjects.ReduceAll;
+import org.apache.sysml.runtime.functionobjects.ReduceCol;
+import org.apache.sysml.runtime.functionobjects.ReduceRow;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.instructions.cp.KahanObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+
+/**
+ * Base class for column groups encoded with dense dictionary coding (DDC),
+ * i.e., a dictionary of distinct value tuples and a dense array of codes
+ * (one per row) that refer into this dictionary. In contrast to OLE/RLE,
+ * zero tuples are stored explicitly as dictionary entry, which makes DDC
+ * well-suited for dense columns with few distinct values.
+ *
+ */
+public abstract class ColGroupDDC extends ColGroupValue
+{
+	private static final long serialVersionUID = -3204391646123465004L;
+
+	protected ColGroupDDC(CompressionType type) {
+		super(type, (int[]) null, -1);
+	}
+
+	/**
+	 * Main constructor. Stores the dictionary of distinct value tuples,
+	 * where a zero tuple is appended as last entry if not all rows are
+	 * covered by the given bitmap.
+	 *
+	 * @param type compression type
+	 * @param colIndices
+	 *            indices (within the block) of the columns included in this
+	 *            column
+	 * @param numRows
+	 *            total number of rows in the parent block
+	 * @param ubm
+	 *            Uncompressed bitmap representation of the block
+	 */
+	protected ColGroupDDC(CompressionType type, int[] colIndices, int numRows, UncompressedBitmap ubm)
+	{
+		super(type, colIndices, numRows);
+
+		final int numCols = ubm.getNumColumns();
+		final int numVals = ubm.getNumValues();
+		final boolean zeros = (ubm.getNumOffsets() < numRows);
+
+		//note: zero tuple (if required) implicitly created via array allocation
+		_values = new double[(numVals + (zeros?1:0))*numCols];
+		for (int i=0; i<numVals; i++) {
+			double[] tmp = ubm.getValues(i);
+			System.arraycopy(tmp, 0, _values, i*numCols, numCols);
+		}
+	}
+
+	protected ColGroupDDC(CompressionType type, int[] colIndices, int numRows, double[] values) {
+		super(type, colIndices, numRows, values);
+	}
+
+	/**
+	 * Obtain the number of dictionary entries (incl zero tuple) required
+	 * to encode the given bitmap in DDC format.
+	 *
+	 * @param ubm uncompressed bitmap
+	 * @param numRows total number of rows in the parent block
+	 * @return number of dictionary entries
+	 */
+	public static int getNumDictEntries(UncompressedBitmap ubm, int numRows) {
+		return ubm.getNumValues() + ((ubm.getNumOffsets() < numRows) ? 1 : 0);
+	}
+
+	/**
+	 * Obtain the dictionary code of the given row.
+	 *
+	 * @param r row index
+	 * @return dictionary code
+	 */
+	protected abstract int getCode(int r);
+
+	@Override
+	public long estimateInMemorySize() {
+		long size = super.estimateInMemorySize();
+
+		// adding the size of values
+		size += 8; //array reference
+		if (_values != null) {
+			size += 32 + _values.length * 8; //values
+		}
+
+		return size;
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int rl, int ru) {
+		final int numCols = getNumCols();
+		for( int i = rl; i < ru; i++ ) {
+			int valOff = getCode(i) * numCols;
+			for( int j = 0; j < numCols; j++ )
+				target.appendValue(i, _colIndexes[j], _values[valOff+j]);
+		}
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int[] colIndexTargets) {
+		final int numCols = getNumCols();
+		final int n = getNumRows();
+
+		//prepare target col indexes
+		int[] cix = new int[numCols];
+		for( int j=0; j<numCols; j++ )
+			cix[j] = colIndexTargets[_colIndexes[j]];
+
+		for( int i = 0; i < n; i++ ) {
+			int valOff = getCode(i) * numCols;
+			for( int j = 0; j < numCols; j++ )
+				target.quickSetValue(i, cix[j], _values[valOff+j]);
+		}
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int colpos) {
+		decompressToBlock(target, colpos, 0, getNumRows());
+		target.recomputeNonZeros();
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int colpos, int rl, int ru) {
+		final int numCols = getNumCols();
+		double[] c = target.getDenseBlock();
+
+		for( int i = rl; i < ru; i++ )
+			c[i] = _values[getCode(i)*numCols+colpos];
+	}
+
+	@Override
+	public double get(int r, int c) {
+		//find local column index
+		int ix = Arrays.binarySearch(_colIndexes, c);
+		if( ix < 0 )
+			throw new RuntimeException("Column index "+c+" not in DDC group.");
+
+		//directly lookup value via row code
+		return _values[getCode(r)*getNumCols()+ix];
+	}
+
+	@Override
+	public void rightMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		double[] b = matrix.getDenseBlock();
+		double[] c = result.getDenseBlock();
+		final int n = matrix.getNumColumns();
+
+		//pre-aggregate all distinct values against all rhs columns
+		double[] vals = preaggValues(getNumValues(), b, n);
+
+		//iterate over codes and add pre-aggregated rows to output
+		for( int i = rl, cix = rl*n; i < ru; i++, cix += n )
+			LinearAlgebraUtils.vectAdd(vals, c, getCode(i)*n, cix, n);
+	}
+
+	@Override
+	public void leftMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		double[] a = matrix.getDenseBlock();
+		double[] c = result.getDenseBlock();
+		final int n = getNumRows();
+		final int clen = result.getNumColumns();
+
+		double[] vals = new double[getNumValues()];
+		for( int i = rl, aix = rl*n, cix = rl*clen; i < ru; i++, aix += n, cix += clen ) {
+			//pre-aggregate lhs row per code
+			Arrays.fill(vals, 0);
+			for( int j = 0; j < n; j++ )
+				vals[getCode(j)] += a[aix+j];
+
+			//post-scaling of pre-aggregate with distinct values
+			postScaling(vals, c, cix);
+		}
+	}
+
+	@Override
+	protected void countNonZerosPerRow(int[] rnnz, int rl, int ru) {
+		int[] vnnz = countNonZerosPerValue();
+		for( int i = rl; i < ru; i++ )
+			rnnz[i-rl] += vnnz[getCode(i)];
+	}
+
+	@Override
+	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result)
+		throws DMLRuntimeException
+	{
+		unaryAggregateOperations(op, result, 0, getNumRows());
+	}
+
+	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		//sum and sumsq (reduceall/reducerow over tuples and counts)
+		if( op.aggOp.increOp.fn instanceof KahanPlus || op.aggOp.increOp.fn instanceof KahanPlusSq )
+		{
+			KahanFunction kplus = (op.aggOp.increOp.fn instanceof KahanPlus) ?
+					KahanPlus.getKahanPlusFnObject() : KahanPlusSq.getKahanPlusSqFnObject();
+
+			if( op.indexFn instanceof ReduceAll )
+				computeSum(result, kplus, rl, ru);
+			else if( op.indexFn instanceof ReduceCol )
+				computeRowSums(result, kplus, rl, ru);
+			else if( op.indexFn instanceof ReduceRow )
+				computeColSums(result, kplus, rl, ru);
+		}
+		//min and max (reduceall/reducerow over tuples only)
+		else if(op.aggOp.increOp.fn instanceof Builtin
+				&& (((Builtin)op.aggOp.increOp.fn).getBuiltinCode()==BuiltinCode.MAX
+				|| ((Builtin)op.aggOp.increOp.fn).getBuiltinCode()==BuiltinCode.MIN))
+		{
+			Builtin builtin = (Builtin) op.aggOp.increOp.fn;
+
+			if( op.indexFn instanceof ReduceAll )
+				computeMxx(result, builtin);
+			else if( op.indexFn instanceof ReduceCol )
+				computeRowMxx(result, builtin, rl, ru);
+			else if( op.indexFn instanceof ReduceRow )
+				computeColMxx(result, builtin);
+		}
+	}
+
+	private void computeSum(MatrixBlock result, KahanFunction kplus, int rl, int ru) {
+		KahanObject kbuff = new KahanObject(result.quickGetValue(0, 0), result.quickGetValue(0, 1));
+
+		//scale counts by all values
+		final int numVals = getNumValues();
+		final int numCols = getNumCols();
+		int[] counts = getCounts(rl, ru);
+		for( int k = 0, valOff = 0; k < numVals; k++, valOff += numCols )
+			for( int j = 0; j < numCols; j++ )
+				kplus.execute3(kbuff, _values[ valOff+j ], counts[k]);
+
+		result.quickSetValue(0, 0, kbuff._sum);
+		result.quickSetValue(0, 1, kbuff._correction);
+	}
+
+	private void computeRowSums(MatrixBlock result, KahanFunction kplus, int rl, int ru) {
+		KahanObject kbuff = new KahanObject(0, 0);
+		double[] c = result.getDenseBlock();
+
+		//pre-aggregate value tuples
+		final int numVals = getNumValues();
+		double[] vals = new double[numVals];
+		for( int k = 0; k < numVals; k++ )
+			vals[k] = sumValues(k);
+
+		//scan codes and add pre-aggregated values
+		for( int i = rl; i < ru; i++ ) {
+			double val = vals[getCode(i)];
+			if( val != 0 ) {
+				kbuff.set(c[2*i], c[2*i+1]);
+				kplus.execute2(kbuff, val);
+				c[2*i] = kbuff._sum;
+				c[2*i+1] = kbuff._correction;
+			}
+		}
+	}
+
+	private void computeColSums(MatrixBlock result, KahanFunction kplus, int rl, int ru) {
+		KahanObject kbuff = new KahanObject(0, 0);
+
+		//scale counts by all values
+		final int numVals = getNumValues();
+		final int numCols = getNumCols();
+		int[] counts = getCounts(rl, ru);
+		for( int k = 0, valOff = 0; k < numVals; k++, valOff += numCols ) {
+			for( int j = 0; j < numCols; j++ ) {
+				kbuff.set(result.quickGetValue(0, _colIndexes[j]),result.quickGetValue(1, _colIndexes[j]));
+				kplus.execute3(kbuff, _values[ valOff+j ], counts[k]);
+				result.quickSetValue(0, _colIndexes[j], kbuff._sum);
+				result.quickSetValue(1, _colIndexes[j], kbuff._correction);
+			}
+		}
+	}
+
+	private void computeMxx(MatrixBlock result, Builtin builtin) {
+		//iterate over all values only (zero tuple explicitly included)
+		double val = Double.MAX_VALUE * ((builtin.getBuiltinCode()==BuiltinCode.MAX)?-1:1);
+		for( int i = 0; i < _values.length; i++ )
+			val = builtin.execute2(val, _values[i]);
+
+		//compute new partial aggregate
+		val = builtin.execute2(val, result.quickGetValue(0, 0));
+		result.quickSetValue(0, 0, val);
+	}
+
+	private void computeColMxx(MatrixBlock result, Builtin builtin) {
+		final int numVals = getNumValues();
+		final int numCols = getNumCols();
+
+		//iterate over all values only (zero tuple explicitly included)
+		double[] vals = new double[numCols];
+		Arrays.fill(vals, Double.MAX_VALUE * ((builtin.getBuiltinCode()==BuiltinCode.MAX)?-1:1));
+		for( int k = 0; k < numVals; k++ )
+			for( int j=0, valOff=k*numCols; j<numCols; j++ )
+				vals[j] = builtin.execute2(vals[j], _values[ valOff+j ]);
+
+		//copy results to output
+		for( int j=0; j<numCols; j++ )
+			result.quickSetValue(0, _colIndexes[j], vals[j]);
+	}
+
+	private void computeRowMxx(MatrixBlock result, Builtin builtin, int rl, int ru) {
+		//NOTE: zeros handled once for all column groups outside
+		final int numVals = getNumValues();
+		final int numCols = getNumCols();
+		double[] c = result.getDenseBlock();
+
+		//pre-aggregate value tuples
+		double[] vals = new double[numVals];
+		for( int k = 0, valOff = 0; k < numVals; k++, valOff += numCols ) {
+			vals[k] = Double.MAX_VALUE * ((builtin.getBuiltinCode()==BuiltinCode.MAX)?-1:1);
+			for( int j = 0; j < numCols; j++ )
+				vals[k] = builtin.execute2(vals[k], _values[valOff+j]);
+		}
+
+		//scan codes and aggregate pre-aggregated values
+		for( int i = rl; i < ru; i++ )
+			c[i] = builtin.execute2(c[i], vals[getCode(i)]);
+	}
+
+	/////////////////////////////////
+	// internal helper functions
+
+	/**
+	 * Obtains the number of occurrences (rows) per dictionary entry
+	 * within the given row range.
+	 *
+	 * @param rl row lower
+	 * @param ru row upper
+	 * @return array of counts per dictionary entry
+	 */
+	protected int[] getCounts(int rl, int ru) {
+		int[] ret = new int[getNumValues()];
+		for( int i = rl; i < ru; i++ )
+			ret[getCode(i)]++;
+		return ret;
+	}
+
+	private int[] countNonZerosPerValue() {
+		final int numVals = getNumValues();
+		final int numCols = getNumCols();
+		int[] ret = new int[numVals];
+		for( int k = 0, valOff = 0; k < numVals; k++, valOff += numCols )
+			for( int j = 0; j < numCols; j++ )
+				ret[k] += (_values[valOff+j] != 0) ? 1 : 0;
+		return ret;
+	}
+
+	/**
+	 * Applies a scalar operation to all dictionary entries. Since zero
+	 * tuples are stored explicitly, this is also correct for sparse-unsafe
+	 * operations and the codes remain unchanged.
+	 *
+	 * @param op scalar operation to perform
+	 * @return transformed copy of the dictionary
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected double[] applyScalarOp(ScalarOperator op)
+		throws DMLRuntimeException
+	{
+		double[] ret = new double[_values.length];
+		for( int i = 0; i < _values.length; i++ )
+			ret[i] = op.executeScalar(_values[i]);
+		return ret;
+	}
+
+	protected double[] applyUnaryOp(UnaryOperator op)
+		throws DMLRuntimeException
+	{
+		double[] ret = new double[_values.length];
+		for( int i = 0; i < _values.length; i++ )
+			ret[i] = op.fn.execute(_values[i]);
+		return ret;
+	}
+
+	@Override
+	public ColGroup sliceOperations(int rl, int ru, int cl, int cu)
+		throws DMLRuntimeException
+	{
+		//project dictionary and slice codes (dictionary remains complete)
+		int[] pos = getColumnPositions(cl, cu);
+		return sliceRows(getShiftedColIndices(pos, cl), 
+			projectValues(_values, getNumCols(), pos), rl, ru);
+	}
+	
+	/**
+	 * Creates a new column group of this group's type with the given 
+	 * columns and dictionary, and the codes of the given row range.
+	 * 
+	 * @param colIndices column indexes
+	 * @param values linearized dictionary
+	 * @param rl row lower bound, inclusive
+	 * @param ru row upper bound, exclusive
+	 * @return new column group
+	 */
+	protected abstract ColGroupDDC sliceRows(int[] colIndices, double[] values, int rl, int ru);
+
+	@Override
+	public ColGroup appendRows(ColGroup[] that) 
+		throws DMLRuntimeException
+	{
+		final int numCols = getNumCols();
+		ColGroupDDC[] groups = new ColGroupDDC[that.length+1];
+		groups[0] = this;
+		for( int i=0; i<that.length; i++ )
+			groups[i+1] = (ColGroupDDC) that[i];
+		
+		//merge dictionaries and map the codes of all groups into the merged dictionary
+		HashMap<DblArray, Integer> dict = new HashMap<DblArray, Integer>();
+		ArrayList<double[]> tuples = new ArrayList<double[]>();
+		int[][] maps = new int[groups.length][];
+		int numRows = 0;
+		for( int i=0; i<groups.length; i++ ) {
+			ColGroupDDC grp = groups[i];
+			maps[i] = new int[grp.getNumValues()];
+			for( int k=0; k<maps[i].length; k++ ) {
+				double[] tuple = Arrays.copyOfRange(grp._values, k*numCols, (k+1)*numCols);
+				DblArray key = new DblArray(tuple);
+				Integer code = dict.get(key);
+				if( code == null ) {
+					code = tuples.size();
+					dict.put(key, code);
+					tuples.add(tuple);
+				}
+				maps[i][k] = code;
+			}
+			numRows += grp._numRows;
+		}
+		if( tuples.size() > ColGroupDDC2.MAX_TUPLES )
+			return null;
+		double[] values = new double[tuples.size()*numCols];
+		for( int k=0; k<tuples.size(); k++ )
+			System.arraycopy(tuples.get(k), 0, values, k*numCols, numCols);
+		
+		//create new group with remapped codes, in DDC1 if the dictionary fits
+		int[] colIndices = Arrays.copyOf(_colIndexes, numCols);
+		if( tuples.size() <= ColGroupDDC1.MAX_TUPLES ) {
+			byte[] data = new byte[numRows];
+			for( int i=0, off=0; i<groups.length; off+=groups[i]._numRows, i++ )
+				for( int r=0; r<groups[i]._numRows; r++ )
+					data[off+r] = (byte)maps[i][groups[i].getCode(r)];
+			return new ColGroupDDC1(colIndices, numRows, values, data);
+		}
+		else {
+			char[] data = new char[numRows];
+			for( int i=0, off=0; i<groups.length; off+=groups[i]._numRows, i++ )
+				for( int r=0; r<groups[i]._numRows; r++ )
+					data[off+r] = (char)maps[i][groups[i].getCode(r)];
+			return new ColGroupDDC2(colIndices, numRows, values, data);
+		}
+	}
+
+	/**
+	 * Applies a binary operation with a row vector to all dictionary 
+	 * entries, where each column is combined with its own scalar.
+	 *
+	 * @param fn binary function
+	 * @param v dense row vector over all columns of the parent block
+	 * @return transformed copy of the dictionary
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected double[] applyBinaryRowOp(ValueFunction fn, double[] v)
+		throws DMLRuntimeException
+	{
+		final int numCols = getNumCols();
+		double[] ret = new double[_values.length];
+		for( int i = 0; i < _values.length; i++ )
+			ret[i] = fn.execute(_values[i], v[_colIndexes[i % numCols]]);
+		return ret;
+	}
+}
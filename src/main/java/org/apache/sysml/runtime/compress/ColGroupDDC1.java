@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.compress;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.utils.ConverterUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+
+/**
+ * Class to encapsulate information about a column group that is encoded with
+ * dense dictionary encoding (DDC) using 1 byte codes (up to 256 distinct
+ * value tuples incl zero).
+ *
+ */
+public class ColGroupDDC1 extends ColGroupDDC
+{
+	private static final long serialVersionUID = 5204955589230760157L;
+
+	public static final int MAX_TUPLES = 256;
+
+	private byte[] _data;
+
+	public ColGroupDDC1() {
+		super(CompressionType.DDC1);
+	}
+
+	/**
+	 * Main constructor. Constructs and stores the code array.
+	 *
+	 * @param colIndices
+	 *            indices (within the block) of the columns included in this
+	 *            column
+	 * @param numRows
+	 *            total number of rows in the parent block
+	 * @param ubm
+	 *            Uncompressed bitmap representation of the block
+	 */
+	public ColGroupDDC1(int[] colIndices, int numRows, UncompressedBitmap ubm)
+	{
+		super(CompressionType.DDC1, colIndices, numRows, ubm);
+		_data = new byte[numRows];
+
+		//initialize with zero tuple code (last dictionary entry, if existing)
+		int numVals = ubm.getNumValues();
+		if( getNumValues() > numVals )
+			Arrays.fill(_data, (byte)numVals);
+
+		//set codes of distinct value tuples
+		for( int i=0; i<numVals; i++ ) {
+			int[] list = ubm.getOffsetsList(i);
+			for( int j=0; j<list.length; j++ )
+				_data[list[j]] = (byte)i;
+		}
+	}
+
+	public ColGroupDDC1(int[] colIndices, int numRows, double[] values, byte[] data) {
+		super(CompressionType.DDC1, colIndices, numRows, values);
+		_data = data;
+	}
+
+	public byte[] getData() {
+		return _data;
+	}
+
+	@Override
+	protected int getCode(int r) {
+		return _data[r] & 0xFF;
+	}
+
+	@Override
+	public long estimateInMemorySize() {
+		long size = super.estimateInMemorySize();
+
+		// adding data size
+		size += 8; //array reference
+		if (_data != null)
+			size += 32 + _data.length;
+
+		return size;
+	}
+
+	@Override
+	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		double[] b = ConverterUtils.getDenseVector(vector);
+		double[] c = result.getDenseBlock();
+		final int numCols = getNumCols();
+
+		//prepare reduced rhs w/ relevant values
+		double[] sb = new double[numCols];
+		for (int j = 0; j < numCols; j++) {
+			sb[j] = b[_colIndexes[j]];
+		}
+
+		//pre-aggregate all distinct values
+		double[] vals = preaggValues(getNumValues(), sb);
+
+		//iterate over codes and add to output
+		for( int i = rl; i < ru; i++ )
+			c[i] += vals[_data[i] & 0xFF];
+	}
+
+	@Override
+	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result)
+		throws DMLRuntimeException
+	{
+		leftMultByRowVector(vector, result, 0, getNumRows());
+	}
+
+	@Override
+	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		double[] a = ConverterUtils.getDenseVector(vector);
+		double[] c = result.getDenseBlock();
+
+		//iterate over codes and pre-aggregate inputs per code
+		double[] vals = new double[getNumValues()];
+		for( int i = rl; i < ru; i++ )
+			vals[_data[i] & 0xFF] += a[i];
+
+		//post-scaling of pre-aggregate with distinct values
+		postScaling(vals, c);
+	}
+
+	@Override
+	public ColGroup scalarOperation(ScalarOperator op)
+		throws DMLRuntimeException
+	{
+		//fast path: sparse-safe and -unsafe operations
+		//note: exploits shared codes (shallow copy)
+		return new ColGroupDDC1(_colIndexes, _numRows, applyScalarOp(op), _data);
+	}
+
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op)
+		throws DMLRuntimeException
+	{
+		//note: exploits shared codes (shallow copy)
+		return new ColGroupDDC1(_colIndexes, _numRows, applyUnaryOp(op), _data);
+	}
+
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v)
+		throws DMLRuntimeException
+	{
+		//note: sparse-unsafe operations handled via explicit zero tuple
+		return new ColGroupDDC1(_colIndexes, _numRows, applyBinaryRowOp(op.fn, v), _data);
+	}
+
+	@Override
+	protected ColGroupDDC sliceRows(int[] colIndices, double[] values, int rl, int ru) {
+		//note: exploits shared codes for full row range (shallow copy)
+		return new ColGroupDDC1(colIndices, ru-rl, values, (rl==0 && ru==_numRows) ?
+			_data : Arrays.copyOfRange(_data, rl, ru));
+	}
+
+	@Override
+	protected int[] getCounts(int rl, int ru) {
+		int[] ret = new int[getNumValues()];
+		for( int i = rl; i < ru; i++ )
+			ret[_data[i] & 0xFF]++;
+		return ret;
+	}
+
+	@Override
+	public void write(DataOutput out)
+		throws IOException
+	{
+		int numCols = getNumCols();
+		int numVals = getNumValues();
+		out.writeInt(_numRows);
+		out.writeInt(numCols);
+		out.writeInt(numVals);
+
+		//write col indices
+		for( int i=0; i<_colIndexes.length; i++ )
+			out.writeInt( _colIndexes[i] );
+
+		//write distinct values
+		for( int i=0; i<_values.length; i++ )
+			out.writeDouble(_values[i]);
+
+		//write data
+		out.write(_data);
+	}
+
+	@Override
+	public void readFields(DataInput in)
+		throws IOException
+	{
+		_numRows = in.readInt();
+		int numCols = in.readInt();
+		int numVals = in.readInt();
+
+		//read col indices
+		_colIndexes = new int[ numCols ];
+		for( int i=0; i<numCols; i++ )
+			_colIndexes[i] = in.readInt();
+
+		//read distinct values
+		_values = new double[numVals*numCols];
+		for( int i=0; i<numVals*numCols; i++ )
+			_values[i] = in.readDouble();
+
+		//read data
+		_data = new byte[_numRows];
+		in.readFully(_data);
+	}
+
+	@Override
+	public long getExactSizeOnDisk() {
+		long ret = 12; //header
+		//col indices
+		ret += 4 * _colIndexes.length;
+		//distinct values (groups of values)
+		ret += 8 * _values.length;
+		//data
+		ret += 1 * _data.length;
+
+		return ret;
+	}
+}
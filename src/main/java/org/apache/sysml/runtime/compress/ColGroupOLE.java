@@ -36,7 +36,9 @@ import org.apache.sysml.runtime.functionobjects.ReduceRow;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class to encapsulate information about a column group that is encoded with
@@ -103,6 +105,17 @@ public class ColGroupOLE extends ColGroupBitmap
 		_ptr = bitmapOffs;
 	}
 
+	@Override
+	protected char[] encodeBitmap(int[] offsets) {
+		return BitmapEncoder.genOffsetBitmap(offsets);
+	}
+	
+	@Override
+	protected ColGroupBitmap createGroup(int[] colIndices, int numRows, 
+			boolean zeros, double[] values, char[] bitmaps, int[] bitmapOffs) {
+		return new ColGroupOLE(colIndices, numRows, zeros, values, bitmaps, bitmapOffs);
+	}
+
 	@Override
 	public Iterator<Integer> getDecodeIterator(int k) {
 		return new BitmapDecoderOLE(_data, _ptr[k], len(k));
@@ -191,34 +204,8 @@ public class ColGroupOLE extends ColGroupBitmap
 	@Override
 	public void decompressToBlock(MatrixBlock target, int colpos) 
 	{
-		if( LOW_LEVEL_OPT && getNumValues() > 1 )
-		{
-			final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
-			final int numCols = getNumCols();
-			final int numVals = getNumValues();
-			final int n = getNumRows();
-			double[] c = target.getDenseBlock();
-			
-			//cache blocking config and position array
-			int[] apos = new int[numVals];					
-			
-			//cache conscious append via horizontal scans 
-			for( int bi=0; bi<n; bi+=blksz ) {
-				for (int k = 0, off=0; k < numVals; k++, off+=numCols) {
-					int boff = _ptr[k];
-					int blen = len(k);					
-					int bix = apos[k];
-					if( bix >= blen ) 
-						continue;
-					int len = _data[boff+bix];
-					int pos = boff+bix+1;
-					for( int i=pos; i<pos+len; i++ ) {
-						c[bi+_data[i]] = _values[off+colpos];
-					}
-					apos[k] += len + 1;
-				}
-			}	
-			
+		if( LOW_LEVEL_OPT && getNumValues() > 1 ) {
+			decompressToBlock(target, colpos, 0, getNumRows());
 			target.recomputeNonZeros();
 		}
 		else
@@ -228,6 +215,97 @@ public class ColGroupOLE extends ColGroupBitmap
 		}
 	}
 	
+	@Override
+	public void decompressToBlock(MatrixBlock target, int colpos, int rl, int ru) 
+	{
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+		final int numCols = getNumCols();
+		final int numVals = getNumValues();
+		double[] c = target.getDenseBlock();
+		
+		//cache blocking config and position array
+		int[] apos = skipScan(numVals, rl);
+		
+		//cache conscious append via horizontal scans 
+		for( int bi=rl; bi<ru; bi+=blksz ) {
+			for (int k = 0, off=0; k < numVals; k++, off+=numCols) {
+				int boff = _ptr[k];
+				int blen = len(k);
+				int bix = apos[k];
+				if( bix >= blen ) 
+					continue;
+				int len = _data[boff+bix];
+				int pos = boff+bix+1;
+				for( int i=pos; i<pos+len; i++ ) {
+					c[bi+_data[i]] = _values[off+colpos];
+				}
+				apos[k] += len + 1;
+			}
+		}
+	}
+	
+	@Override
+	public void rightMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru)
+			throws DMLRuntimeException 
+	{
+		double[] b = matrix.getDenseBlock();
+		double[] c = result.getDenseBlock();
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+		final int numVals = getNumValues();
+		final int n = matrix.getNumColumns();
+		
+		//step 1: prepare position and pre-aggregate values against all rhs columns
+		int[] apos = skipScan(numVals, rl);
+		double[] aval = preaggValues(numVals, b, n);
+		
+		//step 2: cache conscious matrix-matrix via horizontal segment scans
+		//(output rows of one segment are updated by all values)
+		for( int bi=rl; bi<ru; bi+=blksz ) {
+			for (int k = 0, valOff = 0; k < numVals; k++, valOff += n) {
+				int boff = _ptr[k];
+				int blen = len(k);
+				int bix = apos[k];
+				if( bix >= blen )
+					continue;
+				
+				//add pre-aggregated row to all rows of the segment
+				int len = _data[boff+bix];
+				int pos = boff+bix+1;
+				for( int i = pos; i < pos+len; i++ )
+					LinearAlgebraUtils.vectAdd(aval, c, valOff, (bi+_data[i])*n, n);
+				apos[k] = bix + len + 1;
+			}
+		}
+	}
+
+	@Override
+	public void leftMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru)
+			throws DMLRuntimeException 
+	{
+		double[] a = matrix.getDenseBlock();
+		double[] c = result.getDenseBlock();
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+		final int numVals = getNumValues();
+		final int n = getNumRows();
+		final int clen = result.getNumColumns();
+		
+		double[] cvals = new double[numVals];
+		for( int i = rl, aix = rl*n, cix = rl*clen; i < ru; i++, aix += n, cix += clen ) {
+			//pre-aggregate lhs row per distinct value
+			for (int k = 0; k < numVals; k++) {
+				int boff = _ptr[k];
+				int blen = len(k);
+				double vsum = 0;
+				for( int bix = 0, off = aix; bix < blen; bix += _data[boff+bix]+1, off += blksz )
+					vsum += LinearAlgebraUtils.vectSum(a, _data, off, boff+bix+1, _data[boff+bix]);
+				cvals[k] = vsum;
+			}
+			
+			//post-scaling of pre-aggregates with distinct values
+			postScaling(cvals, c, cix);
+		}
+	}
+
 	@Override
 	public ColGroup scalarOperation(ScalarOperator op)
 		throws DMLRuntimeException 
@@ -251,6 +329,47 @@ public class ColGroupOLE extends ColGroupBitmap
 		}
 		
 		double[] rvalues = applyScalarOp(op, val0, getNumCols());		
+		return createWithZeroBitmap(rvalues, loff);
+	}
+	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op)
+		throws DMLRuntimeException 
+	{
+		//sparse-safe operations only (bitmaps shallow-copied)
+		return new ColGroupOLE(_colIndexes, _numRows, _zeros, 
+				applyUnaryOp(op), _data, _ptr);
+	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v)
+		throws DMLRuntimeException 
+	{
+		//fast path: sparse-safe operations
+		if( isSparseSafeRowOp(op.fn, v) ) {
+			return new ColGroupOLE(_colIndexes, _numRows, _zeros, 
+					applyBinaryRowOp(op.fn, v, false), _data, _ptr);
+		}
+		
+		//slow path: sparse-unsafe operations (potentially create new bitmap)
+		int[] loff = computeOffsets(computeZeroIndicatorVector());
+		if( loff.length==0 ) { //empty offset list: go back to fast path
+			return new ColGroupOLE(_colIndexes, _numRows, false,
+					applyBinaryRowOp(op.fn, v, false), _data, _ptr);
+		}
+		
+		return createWithZeroBitmap(applyBinaryRowOp(op.fn, v, true), loff);
+	}
+	
+	/**
+	 * Creates a new column group with shallow-copied bitmaps plus an 
+	 * additional bitmap for the given offsets of zero tuples.
+	 * 
+	 * @param rvalues values incl zero tuple as last value
+	 * @param loff offsets of zero tuples
+	 * @return new column group
+	 */
+	private ColGroupOLE createWithZeroBitmap(double[] rvalues, int[] loff) {
 		char[] lbitmap = BitmapEncoder.genOffsetBitmap(loff);
 		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
 		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
@@ -354,13 +473,19 @@ public class ColGroupOLE extends ColGroupBitmap
 	@Override
 	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result)
 		throws DMLRuntimeException 
+	{
+		leftMultByRowVector(vector, result, 0, getNumRows());
+	}
+	
+	@Override
+	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result, int rl, int ru)
+		throws DMLRuntimeException 
 	{
 		double[] a = ConverterUtils.getDenseVector(vector);
 		double[] c = result.getDenseBlock();
 		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
 		final int numCols = getNumCols();
 		final int numVals = getNumValues();
-		final int n = getNumRows();
 		
 		if( LOW_LEVEL_OPT && numVals > 1 && _numRows > blksz )
 		{
@@ -370,13 +495,13 @@ public class ColGroupOLE extends ColGroupBitmap
 			//step 1: prepare position and value arrays
 			
 			//current pos per OLs / output values
-			int[] apos = new int[numVals];
+			int[] apos = skipScan(numVals, rl);
 			double[] cvals = new double[numVals];
 			
 			//step 2: cache conscious matrix-vector via horizontal scans 
-			for( int ai=0; ai<n; ai+=blksz2 ) 
+			for( int ai=rl; ai<ru; ai+=blksz2 ) 
 			{
-				int aimax = Math.min(ai+blksz2, n);
+				int aimax = Math.min(ai+blksz2, ru);
 				
 				//horizontal segment scan, incl pos maintenance
 				for (int k = 0; k < numVals; k++) {
@@ -415,7 +540,8 @@ public class ColGroupOLE extends ColGroupBitmap
 				
 				//iterate over bitmap blocks and add partial results
 				double vsum = 0;
-				for (int bix=0, off=0; bix < blen; bix+=_data[boff+bix]+1, off+=blksz)
+				int bix = skipScanVal(k, rl);
+				for( int off=rl; bix<blen && off<ru; bix+=_data[boff+bix]+1, off+=blksz )
 					vsum += LinearAlgebraUtils.vectSum(a, _data, off, boff+bix+1, _data[boff+bix]);
 				
 				//scale partial results by values and write results
@@ -443,11 +569,11 @@ public class ColGroupOLE extends ColGroupBitmap
 					KahanPlus.getKahanPlusFnObject() : KahanPlusSq.getKahanPlusSqFnObject();
 			
 			if( op.indexFn instanceof ReduceAll )
-				computeSum(result, kplus);
+				computeSum(result, kplus, rl, ru);
 			else if( op.indexFn instanceof ReduceCol )
 				computeRowSums(result, kplus, rl, ru);
 			else if( op.indexFn instanceof ReduceRow )
-				computeColSums(result, kplus);
+				computeColSums(result, kplus, rl, ru);
 		}
 		//min and max (reduceall/reducerow over tuples only)
 		else if(op.aggOp.increOp.fn instanceof Builtin 
@@ -465,11 +591,12 @@ public class ColGroupOLE extends ColGroupBitmap
 		}
 	}
 
-	private void computeSum(MatrixBlock result, KahanFunction kplus)
+	private void computeSum(MatrixBlock result, KahanFunction kplus, int rl, int ru)
 	{
 		KahanObject kbuff = new KahanObject(result.quickGetValue(0, 0), result.quickGetValue(0, 1));
 		
 		//iterate over all values and their bitmaps
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
 		final int numVals = getNumValues();
 		final int numCols = getNumCols();
 		
@@ -481,7 +608,8 @@ public class ColGroupOLE extends ColGroupBitmap
 			
 			//iterate over bitmap blocks and count partial lengths
 			int count = 0;
-			for (int bix=0; bix < blen; bix+=_data[boff+bix]+1)
+			int bix = skipScanVal(k, rl);
+			for( int off=rl; bix<blen && off<ru; bix+=_data[boff+bix]+1, off+=blksz )
 				count += _data[boff+bix];
 			
 			//scale counts by all values
@@ -513,7 +641,7 @@ public class ColGroupOLE extends ColGroupBitmap
 			if (val != 0) {
 				int slen;
 				int bix = skipScanVal(k, rl);
-				for( int off=bix*blksz; bix<blen && off<ru; bix+=slen+1, off+=blksz ) {
+				for( int off=rl; bix<blen && off<ru; bix+=slen+1, off+=blksz ) {
 					slen = _data[boff+bix];
 					for (int i = 1; i <= slen; i++) {
 						int rix = off + _data[boff+bix + i];
@@ -527,11 +655,12 @@ public class ColGroupOLE extends ColGroupBitmap
 		}
 	}
 
-	private void computeColSums(MatrixBlock result, KahanFunction kplus)
+	private void computeColSums(MatrixBlock result, KahanFunction kplus, int rl, int ru)
 	{
 		KahanObject kbuff = new KahanObject(0, 0);
 		
 		//iterate over all values and their bitmaps
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
 		final int numVals = getNumValues();
 		final int numCols = getNumCols();
 		for (int k = 0; k < numVals; k++) 
@@ -542,7 +671,8 @@ public class ColGroupOLE extends ColGroupBitmap
 			
 			//iterate over bitmap blocks and count partial lengths
 			int count = 0;
-			for (int bix=0; bix < blen; bix+=_data[boff+bix]+1)
+			int bix = skipScanVal(k, rl);
+			for( int off=rl; bix<blen && off<ru; bix+=_data[boff+bix]+1, off+=blksz )
 				count += _data[boff+bix];
 			
 			//scale counts by all values
@@ -573,7 +703,7 @@ public class ColGroupOLE extends ColGroupBitmap
 			//iterate over bitmap blocks and add values
 			int slen;
 			int bix = skipScanVal(k, rl);
-			for( int off=bix*blksz; bix<blen && off<ru; bix+=slen+1, off+=blksz ) {
+			for( int off=rl; bix<blen && off<ru; bix+=slen+1, off+=blksz ) {
 				slen = _data[boff+bix];
 				for (int i = 1; i <= slen; i++) {
 					int rix = off + _data[boff+bix + i];
@@ -37,7 +37,9 @@ import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 
 /** A group of columns compressed with a single run-length encoded bitmap. */
@@ -83,6 +85,17 @@ public class ColGroupRLE extends ColGroupBitmap
 		_ptr = bitmapOffs;
 	}
 
+	@Override
+	protected char[] encodeBitmap(int[] offsets) {
+		return BitmapEncoder.genRLEBitmap(offsets);
+	}
+	
+	@Override
+	protected ColGroupBitmap createGroup(int[] colIndices, int numRows, 
+			boolean zeros, double[] values, char[] bitmaps, int[] bitmapOffs) {
+		return new ColGroupRLE(colIndices, numRows, zeros, values, bitmaps, bitmapOffs);
+	}
+
 	@Override
 	public Iterator<Integer> getDecodeIterator(int k) {
 		return new BitmapDecoderRLE(_data, _ptr[k], len(k)); 
@@ -226,6 +239,31 @@ public class ColGroupRLE extends ColGroupBitmap
 		}
 	}
 	
+	@Override
+	public void decompressToBlock(MatrixBlock target, int colpos, int rl, int ru) 
+	{
+		final int numCols = getNumCols();
+		final int numVals = getNumValues();
+		double[] c = target.getDenseBlock();
+		
+		//iterate over all values and their runs, clipped to [rl,ru)
+		for (int k=0, off=0; k < numVals; k++, off+=numCols) {
+			int boff = _ptr[k];
+			int blen = len(k);
+			Pair<Integer,Integer> tmp = skipScanVal(k, rl);
+			int bix = tmp.getKey();
+			int curRunEnd = tmp.getValue();
+			for( ; bix<blen && curRunEnd<ru; bix+=2 ) {
+				int curRunStartOff = curRunEnd + _data[boff+bix];
+				curRunEnd = curRunStartOff + _data[boff+bix+1];
+				int lrl = Math.max(rl, curRunStartOff);
+				int lru = Math.min(ru, curRunEnd);
+				if( lrl < lru )
+					Arrays.fill(c, lrl, lru, _values[off+colpos]);
+			}
+		}
+	}
+	
 	@Override
 	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru)
 			throws DMLRuntimeException 
@@ -400,6 +438,107 @@ public class ColGroupRLE extends ColGroupBitmap
 		}
 	}
 
+	@Override
+	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result, int rl, int ru)
+			throws DMLRuntimeException 
+	{
+		double[] a = ConverterUtils.getDenseVector(vector);
+		double[] c = result.getDenseBlock();
+		final int numCols = getNumCols();
+		final int numVals = getNumValues();
+		
+		//iterate over all values and their runs, clipped to [rl,ru)
+		for (int k=0, valOff=0; k<numVals; k++, valOff+=numCols) 
+		{
+			int boff = _ptr[k];
+			int blen = len(k);
+			Pair<Integer,Integer> tmp = skipScanVal(k, rl);
+			int bix = tmp.getKey();
+			int curRunEnd = tmp.getValue();
+			double vsum = 0;
+			for( ; bix<blen && curRunEnd<ru; bix+=2 ) {
+				int curRunStartOff = curRunEnd + _data[boff+bix];
+				curRunEnd = curRunStartOff + _data[boff+bix+1];
+				int lrl = Math.max(rl, curRunStartOff);
+				int lru = Math.min(ru, curRunEnd);
+				if( lrl < lru )
+					vsum += LinearAlgebraUtils.vectSum(a, lrl, lru-lrl);
+			}
+			
+			//scale partial results by values and write results
+			for( int j = 0; j < numCols; j++ )
+				c[ _colIndexes[j] ] += vsum * _values[ valOff+j ];
+		}
+	}
+
+	@Override
+	public void rightMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru)
+			throws DMLRuntimeException 
+	{
+		double[] b = matrix.getDenseBlock();
+		double[] c = result.getDenseBlock();
+		final int numVals = getNumValues();
+		final int n = matrix.getNumColumns();
+		
+		//prepare position and pre-aggregate values against all rhs columns
+		int[] astart = new int[numVals];
+		int[] apos = skipScan(numVals, rl, astart);
+		double[] aval = preaggValues(numVals, b, n);
+		
+		//iterate over runs and add pre-aggregated rows to output
+		for (int k = 0, valOff = 0; k < numVals; k++, valOff += n) {
+			int boff = _ptr[k];
+			int blen = len(k);
+			int bix = apos[k];
+			int start = astart[k];
+			
+			while( bix<blen ) {
+				int lstart = _data[boff + bix];
+				int llen = _data[boff + bix + 1];
+				int from = Math.max(rl, start+lstart);
+				int to = Math.min(start+lstart+llen, ru);
+				for( int i = from, cix = from*n; i < to; i++, cix += n )
+					LinearAlgebraUtils.vectAdd(aval, c, valOff, cix, n);
+				if(start+lstart+llen >= ru)
+					break;
+				start += lstart + llen;
+				bix += 2;
+			}
+		}
+	}
+
+	@Override
+	public void leftMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru)
+			throws DMLRuntimeException 
+	{
+		double[] a = matrix.getDenseBlock();
+		double[] c = result.getDenseBlock();
+		final int numVals = getNumValues();
+		final int n = getNumRows();
+		final int clen = result.getNumColumns();
+		
+		double[] cvals = new double[numVals];
+		for( int i = rl, aix = rl*n, cix = rl*clen; i < ru; i++, aix += n, cix += clen ) {
+			//pre-aggregate lhs row per distinct value
+			for (int k = 0; k < numVals; k++) {
+				int boff = _ptr[k];
+				int blen = len(k);
+				double vsum = 0;
+				int curRunEnd = 0;
+				for ( int bix = 0; bix < blen; bix+=2 ) {
+					int curRunStartOff = curRunEnd + _data[boff+bix];
+					int curRunLen = _data[boff+bix+1];
+					vsum += LinearAlgebraUtils.vectSum(a, aix+curRunStartOff, curRunLen);
+					curRunEnd = curRunStartOff + curRunLen;
+				}
+				cvals[k] = vsum;
+			}
+			
+			//post-scaling of pre-aggregates with distinct values
+			postScaling(cvals, c, cix);
+		}
+	}
+
 	@Override
 	public ColGroup scalarOperation(ScalarOperator op)
 			throws DMLRuntimeException 
@@ -423,6 +562,47 @@ public class ColGroupRLE extends ColGroupBitmap
 		}
 		
 		double[] rvalues = applyScalarOp(op, val0, getNumCols());		
+		return createWithZeroBitmap(rvalues, loff);
+	}
+	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op)
+		throws DMLRuntimeException 
+	{
+		//sparse-safe operations only (bitmaps shallow-copied)
+		return new ColGroupRLE(_colIndexes, _numRows, _zeros, 
+				applyUnaryOp(op), _data, _ptr);
+	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v)
+		throws DMLRuntimeException 
+	{
+		//fast path: sparse-safe operations
+		if( isSparseSafeRowOp(op.fn, v) ) {
+			return new ColGroupRLE(_colIndexes, _numRows, _zeros, 
+					applyBinaryRowOp(op.fn, v, false), _data, _ptr);
+		}
+		
+		//slow path: sparse-unsafe operations (potentially create new bitmap)
+		int[] loff = computeOffsets(computeZeroIndicatorVector());
+		if( loff.length==0 ) { //empty offset list: go back to fast path
+			return new ColGroupRLE(_colIndexes, _numRows, false,
+					applyBinaryRowOp(op.fn, v, false), _data, _ptr);
+		}
+		
+		return createWithZeroBitmap(applyBinaryRowOp(op.fn, v, true), loff);
+	}
+	
+	/**
+	 * Creates a new column group with shallow-copied bitmaps plus an 
+	 * additional bitmap for the given offsets of zero tuples.
+	 * 
+	 * @param rvalues values incl zero tuple as last value
+	 * @param loff offsets of zero tuples
+	 * @return new column group
+	 */
+	private ColGroupRLE createWithZeroBitmap(double[] rvalues, int[] loff) {
 		char[] lbitmap = BitmapEncoder.genRLEBitmap(loff);
 		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
 		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
@@ -452,11 +632,11 @@ public class ColGroupRLE extends ColGroupBitmap
 					KahanPlus.getKahanPlusFnObject() : KahanPlusSq.getKahanPlusSqFnObject();
 			
 			if( op.indexFn instanceof ReduceAll )
-				computeSum(result, kplus);
+				computeSum(result, kplus, rl, ru);
 			else if( op.indexFn instanceof ReduceCol )
 				computeRowSums(result, kplus, rl, ru);
 			else if( op.indexFn instanceof ReduceRow )
-				computeColSums(result, kplus);
+				computeColSums(result, kplus, rl, ru);
 		}
 		//min and max (reduceall/reducerow over tuples only)
 		else if(op.aggOp.increOp.fn instanceof Builtin 
@@ -474,7 +654,7 @@ public class ColGroupRLE extends ColGroupBitmap
 		}
 	}
 
-	private void computeSum(MatrixBlock result, KahanFunction kplus)
+	private void computeSum(MatrixBlock result, KahanFunction kplus, int rl, int ru)
 	{
 		KahanObject kbuff = new KahanObject(result.quickGetValue(0, 0), result.quickGetValue(0, 1));
 		
@@ -485,12 +665,14 @@ public class ColGroupRLE extends ColGroupBitmap
 			int boff = _ptr[k];
 			int blen = len(k);
 			int valOff = k * numCols;
-			int curRunEnd = 0;
+			Pair<Integer,Integer> tmp = skipScanVal(k, rl);
+			int bix = tmp.getKey();
+			int curRunEnd = tmp.getValue();
 			int count = 0;
-			for (int bix = 0; bix < blen; bix+=2) {
+			for( ; bix<blen && curRunEnd<ru; bix+=2 ) {
 				int curRunStartOff = curRunEnd + _data[boff+bix];
 				curRunEnd = curRunStartOff + _data[boff+bix+1];
-				count += curRunEnd-curRunStartOff;
+				count += Math.max(Math.min(curRunEnd, ru)-Math.max(curRunStartOff, rl), 0);
 			}
 			
 			//scale counts by all values
@@ -521,7 +703,7 @@ public class ColGroupRLE extends ColGroupBitmap
 				for ( ; bix<blen && curRunEnd<ru; bix+=2) {
 					curRunStartOff = curRunEnd + _data[boff+bix];
 					curRunEnd = curRunStartOff + _data[boff+bix+1];
-					for (int rix=curRunStartOff; rix<curRunEnd && rix<ru; rix++) {
+					for (int rix=Math.max(rl,curRunStartOff); rix<curRunEnd && rix<ru; rix++) {
 						kbuff.set(c[2*rix], c[2*rix+1]);
 						kplus.execute2(kbuff, val);
 						c[2*rix] = kbuff._sum;
@@ -532,7 +714,7 @@ public class ColGroupRLE extends ColGroupBitmap
 		}
 	}
 
-	private void computeColSums(MatrixBlock result, KahanFunction kplus)
+	private void computeColSums(MatrixBlock result, KahanFunction kplus, int rl, int ru)
 	{
 		KahanObject kbuff = new KahanObject(0, 0);
 		
@@ -543,12 +725,14 @@ public class ColGroupRLE extends ColGroupBitmap
 			int boff = _ptr[k];
 			int blen = len(k);
 			int valOff = k * numCols;
-			int curRunEnd = 0;
+			Pair<Integer,Integer> tmp = skipScanVal(k, rl);
+			int bix = tmp.getKey();
+			int curRunEnd = tmp.getValue();
 			int count = 0;
-			for (int bix=0; bix < blen; bix+=2) {
+			for( ; bix<blen && curRunEnd<ru; bix+=2 ) {
 				int curRunStartOff = curRunEnd + _data[boff+bix];
 				curRunEnd = curRunStartOff + _data[boff+bix+1];
-				count += curRunEnd-curRunStartOff;
+				count += Math.max(Math.min(curRunEnd, ru)-Math.max(curRunStartOff, rl), 0);
 			}
 			
 			//scale counts by all values
@@ -579,7 +763,7 @@ public class ColGroupRLE extends ColGroupBitmap
 			for(; bix < blen && curRunEnd < ru; bix+=2) {
 				curRunStartOff = curRunEnd + _data[boff+bix];
 				curRunEnd = curRunStartOff + _data[boff+bix+1];
-				for (int rix=curRunStartOff; rix<curRunEnd && rix<ru; rix++)
+				for (int rix=Math.max(rl,curRunStartOff); rix<curRunEnd && rix<ru; rix++)
 					c[rix] = builtin.execute2(c[rix], val);
 			}
 		}
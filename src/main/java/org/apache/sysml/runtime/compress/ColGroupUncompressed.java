@@ -28,12 +28,17 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.utils.ConverterUtils;
+import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
 import org.apache.sysml.runtime.functionobjects.ReduceRow;
 import org.apache.sysml.runtime.matrix.data.LibMatrixAgg;
 import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.SortUtils;
 
 
@@ -247,6 +252,16 @@ public class ColGroupUncompressed extends ColGroup
 		}	
 	}
 
+	@Override
+	public void decompressToBlock(MatrixBlock target, int colpos, int rl, int ru) {
+		//empty block, nothing to add to output
+		if( _data.isEmptyBlock(false) )
+			return;
+		double[] c = target.getDenseBlock();
+		for( int row = rl; row < ru; row++ )
+			c[row] = _data.quickGetValue(row, colpos);
+	}
+
 	@Override
 	public double get(int r, int c) {
 		//find local column index
@@ -292,6 +307,31 @@ public class ColGroupUncompressed extends ColGroup
 		}
 	}
 	
+	@Override
+	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result, int rl, int ru)
+			throws DMLRuntimeException 
+	{
+		//empty block, nothing to add to output
+		if( _data.isEmptyBlock(false) )
+			return;
+		
+		//slice row range of vector and uncompressed data
+		MatrixBlock svector = new MatrixBlock(1, ru-rl, false);
+		svector.allocateDenseBlock();
+		System.arraycopy(ConverterUtils.getDenseVector(vector), rl, svector.getDenseBlock(), 0, ru-rl);
+		svector.recomputeNonZeros();
+		MatrixBlock sdata = _data.sliceOperations(rl, ru-1, 0, _data.getNumColumns()-1, new MatrixBlock());
+		MatrixBlock pret = new MatrixBlock(1, _colIndexes.length, false);
+		LibMatrixMult.matrixMult(svector, sdata, pret);
+		
+		// adding partialResult to the proper indices of the result
+		if( !pret.isEmptyBlock(false) ) {
+			double[] rsltArr = result.getDenseBlock();
+			for (int colIx = 0; colIx < _colIndexes.length; colIx++)
+				rsltArr[_colIndexes[colIx]] += pret.quickGetValue(0, colIx);
+		}
+	}
+	
 	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result, int k)
 			throws DMLRuntimeException 
 	{
@@ -307,6 +347,58 @@ public class ColGroupUncompressed extends ColGroup
 		}
 	}
 
+	@Override
+	public void rightMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru)
+			throws DMLRuntimeException 
+	{
+		// Pull out the relevant rows of the matrix
+		int clen = _colIndexes.length;
+		int n = matrix.getNumColumns();
+		
+		MatrixBlock shortMatrix = new MatrixBlock(clen, n, false);
+		shortMatrix.allocateDenseBlock();
+		double[] b = matrix.getDenseBlock();
+		double[] sb = shortMatrix.getDenseBlock();
+		for (int colIx = 0; colIx < clen; colIx++)
+			System.arraycopy(b, _colIndexes[colIx]*n, sb, colIx*n, n);
+		shortMatrix.recomputeNonZeros();
+		
+		// Multiply the selected rows and columns by the short matrix
+		MatrixBlock data = (rl==0 && ru==_data.getNumRows()) ? _data :
+			_data.sliceOperations(rl, ru-1, 0, clen-1, new MatrixBlock());
+		MatrixBlock pret = new MatrixBlock(ru-rl, n, false);
+		LibMatrixMult.matrixMult(data, shortMatrix, pret);
+		
+		// adding partialResult to the proper rows of the result
+		if( !pret.isEmptyBlock(false) ) {
+			double[] tmp = DataConverter.convertToDoubleVector(pret);
+			LinearAlgebraUtils.vectAdd(tmp, result.getDenseBlock(), 0, rl*n, (ru-rl)*n);
+		}
+	}
+	
+	@Override
+	public void leftMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru)
+			throws DMLRuntimeException 
+	{
+		int clen = _colIndexes.length;
+		int rclen = result.getNumColumns();
+		
+		// Multiply the selected rows of the matrix by the uncompressed data
+		MatrixBlock lhs = (rl==0 && ru==matrix.getNumRows()) ? matrix :
+			matrix.sliceOperations(rl, ru-1, 0, matrix.getNumColumns()-1, new MatrixBlock());
+		MatrixBlock pret = new MatrixBlock(ru-rl, clen, false);
+		LibMatrixMult.matrixMult(lhs, _data, pret);
+		
+		// adding partialResult to the proper indices of the result
+		if( !pret.isEmptyBlock(false) ) {
+			double[] tmp = DataConverter.convertToDoubleVector(pret);
+			double[] c = result.getDenseBlock();
+			for( int i = rl, pix = 0; i < ru; i++, pix += clen )
+				for (int colIx = 0; colIx < clen; colIx++)
+					c[i*rclen+_colIndexes[colIx]] += tmp[pix+colIx];
+		}
+	}
+
 	@Override
 	public ColGroup scalarOperation(ScalarOperator op)
 			throws DMLRuntimeException 
@@ -319,6 +411,70 @@ public class ColGroupUncompressed extends ColGroup
 		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
 	}
 	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op)
+			throws DMLRuntimeException 
+	{
+		//execute unary operations
+		MatrixBlock retContent = (MatrixBlock) _data
+				.unaryOperations(op, new MatrixBlock());
+
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v)
+			throws DMLRuntimeException 
+	{
+		//extract row vector of relevant columns
+		MatrixBlock vect = new MatrixBlock(1, _colIndexes.length, false);
+		for( int j=0; j<_colIndexes.length; j++ )
+			vect.quickSetValue(0, j, v[_colIndexes[j]]);
+		
+		//execute binary operations
+		MatrixBlock retContent = (MatrixBlock) _data
+				.binaryOperations(op, vect, new MatrixBlock());
+
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+	
+	@Override
+	public ColGroup sliceOperations(int rl, int ru, int cl, int cu)
+			throws DMLRuntimeException 
+	{
+		//slice contiguous range of (sorted) column positions
+		int[] pos = getColumnPositions(cl, cu);
+		MatrixBlock retContent = _data.sliceOperations(rl, ru-1, 
+				pos[0], pos[pos.length-1], new MatrixBlock());
+		
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getShiftedColIndices(pos, cl), ru-rl, retContent);
+	}	
+	@Override
+	public ColGroup appendRows(ColGroup[] that) 
+		throws DMLRuntimeException
+	{
+		//allocate output block of all rows
+		int numRows = _numRows;
+		for( ColGroup grp : that )
+			numRows += grp._numRows;
+		MatrixBlock retContent = new MatrixBlock(numRows, getNumCols(), _data.isInSparseFormat());
+		
+		//copy row blocks into output
+		retContent.copy(0, _numRows-1, 0, getNumCols()-1, _data, false);
+		for( int i=0, off=_numRows; i<that.length; off+=that[i]._numRows, i++ )
+			retContent.copy(off, off+that[i]._numRows-1, 0, getNumCols()-1, 
+				((ColGroupUncompressed)that[i])._data, false);
+		retContent.recomputeNonZeros();
+		retContent.examSparsity();
+		
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(Arrays.copyOf(_colIndexes, getNumCols()), numRows, retContent);
+	}
+
+	
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock ret)
 		throws DMLRuntimeException 
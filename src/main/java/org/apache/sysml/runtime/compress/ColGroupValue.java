@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.compress;
+
+import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
+
+/**
+ * Base class for column groups that store a dictionary of distinct value
+ * tuples (bitmap-based OLE/RLE and DDC), which provides the common
+ * operations over these value tuples such as the pre-aggregation of
+ * right-hand-side vectors and the post-scaling of aggregated values.
+ *
+ */
+public abstract class ColGroupValue extends ColGroup
+{
+	private static final long serialVersionUID = 3786247536054353658L;
+
+	/** Distinct value tuples associated with individual bitmaps or codes. */
+	protected double[] _values; //linearized <numcol vals> <numcol vals>
+
+	protected ColGroupValue(CompressionType type, int[] colIndices, int numRows) {
+		super(type, colIndices, numRows);
+	}
+
+	protected ColGroupValue(CompressionType type, int[] colIndices, int numRows, double[] values) {
+		super(type, colIndices, numRows);
+		_values = values;
+	}
+
+	/**
+	 * Obtain number of distinct sets of values associated with the bitmaps
+	 * or codes in this column group.
+	 *
+	 * @return the number of distinct sets of values
+	 */
+	public int getNumValues() {
+		return _values.length / _colIndexes.length;
+	}
+
+	public double[] getValues() {
+		return _values;
+	}
+
+	protected final double sumValues(int valIx) {
+		final int numCols = getNumCols();
+		final int valOff = valIx * numCols;
+		double val = 0.0;
+		for( int i = 0; i < numCols; i++ )
+			val += _values[valOff+i];
+		return val;
+	}
+
+	protected final double sumValues(int valIx, double[] b) {
+		final int numCols = getNumCols();
+		final int valOff = valIx * numCols;
+		double val = 0;
+		for( int i = 0; i < numCols; i++ )
+			val += _values[valOff+i] * b[i];
+		return val;
+	}
+
+	protected final double[] preaggValues(int numVals, double[] b) {
+		double[] ret = new double[numVals];
+		for( int k = 0; k < numVals; k++ )
+			ret[k] = sumValues(k, b);
+		return ret;
+	}
+
+	/**
+	 * Pre-aggregates the distinct values against all columns of a dense
+	 * right-hand side matrix (with rows according to the parent block).
+	 *
+	 * @param numVals number of distinct values
+	 * @param b dense rhs matrix
+	 * @param n number of columns of the rhs matrix
+	 * @return pre-aggregated values (numVals x n, row-major)
+	 */
+	protected final double[] preaggValues(int numVals, double[] b, int n) {
+		final int numCols = getNumCols();
+		double[] ret = new double[numVals * n];
+		for( int k = 0, valOff = 0; k < numVals; k++, valOff += numCols )
+			for( int j = 0; j < numCols; j++ )
+				LinearAlgebraUtils.vectMultiplyAdd(_values[valOff+j], b, ret, _colIndexes[j]*n, k*n, n);
+		return ret;
+	}
+
+	protected final void postScaling(double[] vals, double[] c) {
+		postScaling(vals, c, 0);
+	}
+
+	/**
+	 * Scales the distinct value tuples by the given aggregated values
+	 * (one per value tuple) and adds them to the output row at the
+	 * given offset.
+	 *
+	 * @param vals aggregated values (numVals)
+	 * @param c output array
+	 * @param cix output row offset
+	 */
+	protected final void postScaling(double[] vals, double[] c, int cix) {
+		final int numCols = getNumCols();
+		final int numVals = getNumValues();
+		for( int k = 0, valOff = 0; k < numVals; k++, valOff += numCols ) {
+			double aval = vals[k];
+			if( aval != 0 )
+				for( int j = 0; j < numCols; j++ )
+					c[cix+_colIndexes[j]] += aval * _values[valOff+j];
+		}
+	}
+}
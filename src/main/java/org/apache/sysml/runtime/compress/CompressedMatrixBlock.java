@@ -41,6 +41,9 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.commons.math3.random.Well1024a;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.lops.MMTSJ.MMTSJType;
 import org.apache.sysml.lops.MapMultChain.ChainType;
@@ -56,11 +59,13 @@ import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.Timing;
 import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysml.runtime.functionobjects.KahanFunction;
 import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.functionobjects.KahanPlusSq;
 import org.apache.sysml.runtime.functionobjects.Multiply;
 import org.apache.sysml.runtime.functionobjects.ReduceAll;
 import org.apache.sysml.runtime.functionobjects.ReduceCol;
+import org.apache.sysml.runtime.functionobjects.ReduceRow;
 import org.apache.sysml.runtime.instructions.cp.CM_COV_Object;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.matrix.data.CTableMap;
@@ -83,7 +88,9 @@ import org.apache.sysml.runtime.matrix.operators.QuaternaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.IndexRange;
+import org.apache.sysml.utils.Statistics;
 
 /**
  * Experimental version of MatrixBlock that allows a compressed internal
@@ -97,6 +104,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public static final boolean TRANSPOSE_INPUT = true;
 	public static final boolean MATERIALIZE_ZEROS = false;
 	public static final long MIN_PAR_AGG_THRESHOLD = 16*1024*1024; //16MB
+	public static final long MAX_PAR_TSMM_PARTIALS = 64*1024*1024; //64MB, row-partitioned tsmm
 	public static final boolean INVESTIGATE_ESTIMATES = false;
 	private static final boolean LDEBUG = false; //local debug flag
 	
@@ -247,6 +255,9 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		for (int i = 0; i < numCols; i++)
 			remainingCols.add(i);
 
+		// thread pool for phases 1-3 (reused across phases)
+		ExecutorService pool = (k > 1) ? Executors.newFixedThreadPool( k ) : null;
+		
 		// PHASE 1: Classify columns by compression type
 		// We start by determining which columns are amenable to bitmap compression
 		double uncompressedColumnSize = getUncompressedSize(numRows, 1, sp);
@@ -260,8 +271,8 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		
 		// Classify columns according to ration (size uncompressed / size compressed), 
 		// where a column is compressible if ratio > 1.
-		CompressedSizeInfo[] sizeInfos = (k > 1) ?
-				computeCompressedSizeInfos(bitmapSizeEstimator, numCols, k) : 
+		CompressedSizeInfo[] sizeInfos = (pool != null) ?
+				computeCompressedSizeInfos(bitmapSizeEstimator, numCols, pool) : 
 				computeCompressedSizeInfos(bitmapSizeEstimator, numCols);		
 		for (int col = 0; col < numCols; col++)  {	
 			long compressedSize = sizeInfos[col].getMinSize();
@@ -283,27 +294,39 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		}
 
 		// PHASE 2: Grouping columns
-		// Divide the bitmap columns into column groups.
+		// Divide the bitmap columns into column groups (w/ bounded planning time).
+		PlanningMemoTable memo = new PlanningMemoTable(bitmapSizeEstimator);
+		long timeout = ConfigurationManager.getDMLConfig()
+				.getIntValue(DMLConfig.COMPRESSED_PLANNING_TIMEOUT);
 		List<int[]> bitmapColGrps = PlanningCoCoder.findCocodesByPartitioning(
-				bitmapSizeEstimator, bitmapCols, colsCards, compressedSizes, numRows, 
-				isInSparseFormat() ? sp : 1, k);
+				memo, bitmapCols, colsCards, compressedSizes, numRows, 
+				isInSparseFormat() ? sp : 1, pool, k, timeout);
 
 		_stats.timePhase2 = time.stop();
-		if( LOG.isDebugEnabled() )
+		_stats.numEstimates = memo.getNumEstimates();
+		_stats.numMemoHits = memo.getNumHits();
+		_stats.planningTimeout = memo.isTimeout();
+		if( LOG.isDebugEnabled() ) {
 			LOG.debug("--compression phase 2: "+_stats.timePhase2);
+			LOG.debug("--co-coding size estimates: "+_stats.numEstimates+" (memo hits: "+_stats.numMemoHits+")");
+			if( _stats.planningTimeout )
+				LOG.debug("--co-coding planning timeout: "+timeout+" ms");
+		}
 		
 		if( INVESTIGATE_ESTIMATES ) {
 			double est = 0;
 			for( int[] groupIndices : bitmapColGrps )
-				est += bitmapSizeEstimator.estimateCompressedColGroupSize(groupIndices).getMinSize();
+				est += memo.estimateCompressedColGroupSize(groupIndices).getMinSize();
 			est += uncompressedCols.size() * uncompressedColumnSize;
 			_stats.estSize = est;
 		}
 		
 		// PHASE 3: Compress and correct sample-based decisions
-		ColGroup[] colGroups = (k > 1) ?
-				compressColGroups(rawblock, bitmapSizeEstimator, compressionRatios, numRows, sp, bitmapColGrps, k) : 
+		ColGroup[] colGroups = (pool != null) ?
+				compressColGroups(rawblock, bitmapSizeEstimator, compressionRatios, numRows, sp, bitmapColGrps, pool) : 
 				compressColGroups(rawblock, bitmapSizeEstimator, compressionRatios, numRows, sp, bitmapColGrps); 	
+		if( pool != null )
+			pool.shutdown();
 		allocateColGroupList();
 		for( int j=0; j<colGroups.length; j++ ) {
 			if( colGroups[j] != null ) {
@@ -352,11 +375,10 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return ret;
 	}
 
-	private static CompressedSizeInfo[] computeCompressedSizeInfos(CompressedSizeEstimator estim, int clen, int k) 
+	private static CompressedSizeInfo[] computeCompressedSizeInfos(CompressedSizeEstimator estim, int clen, ExecutorService pool) 
 		throws DMLRuntimeException 
 	{	
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
 			ArrayList<SizeEstimTask> tasks = new ArrayList<SizeEstimTask>();
 			for( int col=0; col<clen; col++ )
 				tasks.add(new SizeEstimTask(estim, col));
@@ -364,7 +386,6 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			ArrayList<CompressedSizeInfo> ret = new ArrayList<CompressedSizeInfo>();
 			for( Future<CompressedSizeInfo> lrtask : rtask )
 				ret.add(lrtask.get());
-			pool.shutdown();
 			return ret.toArray(new CompressedSizeInfo[0]);
 		}
 		catch(Exception ex) {
@@ -381,11 +402,10 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return ret;
 	}
 
-	private static ColGroup[] compressColGroups(MatrixBlock in, CompressedSizeEstimator estim, HashMap<Integer, Double> compRatios, int rlen, double sp, List<int[]> groups, int k) 
+	private static ColGroup[] compressColGroups(MatrixBlock in, CompressedSizeEstimator estim, HashMap<Integer, Double> compRatios, int rlen, double sp, List<int[]> groups, ExecutorService pool) 
 		throws DMLRuntimeException
 	{
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
 			ArrayList<CompressTask> tasks = new ArrayList<CompressTask>();
 			for( int[] colIndexes : groups )
 				tasks.add(new CompressTask(in, estim, compRatios, rlen, sp, colIndexes));
@@ -393,7 +413,6 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			ArrayList<ColGroup> ret = new ArrayList<ColGroup>();
 			for( Future<ColGroup> lrtask : rtask )
 				ret.add(lrtask.get());
-			pool.shutdown();
 			return ret.toArray(new ColGroup[0]);
 		}
 		catch(Exception ex) {
@@ -454,7 +473,11 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		//create compressed column group
 		long rleSize = sizeInfo.getRLESize();
 		long oleSize = sizeInfo.getOLESize();
-		if( rleSize < oleSize )
+		long ddcSize = sizeInfo.getDDCSize();
+		if( ddcSize < Math.min(rleSize, oleSize) )
+			return (ColGroupDDC.getNumDictEntries(ubm, rlen) <= ColGroupDDC1.MAX_TUPLES) ?
+				new ColGroupDDC1(colIndexes, rlen, ubm) : new ColGroupDDC2(colIndexes, rlen, ubm);
+		else if( rleSize < oleSize )
 			return new ColGroupRLE(colIndexes, rlen, ubm);
 		else
 			return new ColGroupOLE(colIndexes, rlen, ubm);
@@ -489,6 +512,8 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			return new MatrixBlock(this); 
 		
 		Timing time = new Timing(true);
+		if( DMLScript.STATISTICS )
+			Statistics.incrementDecompressions();
 		
 		//preallocation sparse rows to avoid repeated reallocations		
 		MatrixBlock ret = new MatrixBlock(getNumRows(), getNumColumns(), isInSparseFormat(), getNonZeros());
@@ -534,6 +559,8 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			return decompress();
 		
 		Timing time = new Timing(true);
+		if( DMLScript.STATISTICS )
+			Statistics.incrementDecompressions();
 		
 		MatrixBlock ret = new MatrixBlock(rlen, clen, sparse, nonZeros);
 		ret.allocateDenseOrSparseBlock();
@@ -586,6 +613,13 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return total;
 	}
 
+	@Override
+	public long getInMemorySize() {
+		//in-memory size of compressed representation
+		return isCompressed() ? estimateCompressedSizeInMemory() : 
+			super.getInMemorySize();
+	}
+
 	private static class CompressedColumn implements Comparable<CompressedColumn> {
 		int colIx;
 		double compRatio;
@@ -602,10 +636,13 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	}
 	
 	public static class CompressionStatistics {
-		public double timePhase1 = -1;
-		public double timePhase2 = -1;
-		public double timePhase3 = -1;
-		public double timePhase4 = -1;
+		public double timePhase1 = -1; //classification
+		public double timePhase2 = -1; //co-coding planning
+		public double timePhase3 = -1; //compression
+		public double timePhase4 = -1; //cleanup
+		public int numEstimates = -1;  //co-coding size estimates
+		public int numMemoHits = -1;   //co-coding memo table hits
+		public boolean planningTimeout = false;
 		public double estSize = -1;
 		public double size = -1;
 		public double ratio = -1;
@@ -645,8 +682,12 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	@Override
 	public long getExactSizeOnDisk() 
 	{
-		//header information
-		long ret = 12;
+		//uncompressed block w/ compression flag
+		if( !isCompressed() )
+			return 1 + super.getExactSizeOnDisk();
+		
+		//header information (incl compression flag)
+		long ret = 21;
 		
 		for( ColGroup grp : _colGroups ) {
 			ret += 1; //type info
@@ -664,6 +705,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		
 		//deserialize uncompressed block
 		if( !compressed ) {
+			_colGroups = null;
 			super.readFields(in);
 			return;
 		}
@@ -688,6 +730,10 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 					grp = new ColGroupOLE(); break;
 				case RLE_BITMAP:
 					grp = new ColGroupRLE(); break;
+				case DDC1:
+					grp = new ColGroupDDC1(); break;
+				case DDC2:
+					grp = new ColGroupDDC2(); break;
 			}
 			
 			//deserialize and add column group
@@ -749,6 +795,119 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		write(os);	
 	}
 	
+	/**
+	 * Copies the given block into this block, where compressed blocks are
+	 * copied by reference to their column groups (w/ deep copy of column 
+	 * indexes), since column groups are never modified in-place.
+	 * 
+	 * @param thatValue matrix value
+	 */
+	@Override
+	public void copy(MatrixValue thatValue) 
+	{
+		if( !(thatValue instanceof CompressedMatrixBlock) 
+			|| !((CompressedMatrixBlock)thatValue).isCompressed() ) {
+			_colGroups = null;
+			super.copy(thatValue);
+			return;
+		}
+		
+		CompressedMatrixBlock that = (CompressedMatrixBlock) thatValue;
+		rlen = that.rlen;
+		clen = that.clen;
+		sparse = that.sparse;
+		nonZeros = that.nonZeros;
+		cleanupBlock(true, true);
+		allocateColGroupList();
+		for( ColGroup grp : that._colGroups )
+			_colGroups.add(ConverterUtils.copyColGroup(grp));
+	}
+	
+	/**
+	 * Assembles a compressed matrix block from a grid of compressed blocks, 
+	 * e.g., the blocks of a persisted compressed binary block matrix. Row 
+	 * blocks are combined by appending the rows of their column groups and
+	 * column blocks by concatenating their shifted column groups, which 
+	 * avoids recompression if all row blocks of a column block share the 
+	 * same column group structure (as written from a compressed block).
+	 * 
+	 * @param blocks compressed blocks, indexed by row and column block
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param bclen number of columns per block
+	 * @return compressed matrix block, or null if the blocks are not all
+	 *         compressed with consistent column group structures
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static CompressedMatrixBlock assemble(CompressedMatrixBlock[][] blocks, int rlen, int clen, int bclen) 
+		throws DMLRuntimeException
+	{
+		//check for complete grid of consistently compressed blocks
+		long nnz = 0;
+		for( int j=0; j<blocks[0].length; j++ ) {
+			CompressedMatrixBlock first = blocks[0][j];
+			int numRows = 0;
+			for( int i=0; i<blocks.length; i++ ) {
+				CompressedMatrixBlock blk = blocks[i][j];
+				if( blk == null || !blk.isCompressed() 
+					|| !first.isCompressed() || !isAppendable(first, blk) )
+					return null;
+				numRows += blk.getNumRows();
+				nnz += blk.getNonZeros();
+			}
+			if( numRows != rlen || first.getNumColumns() 
+				!= Math.min(bclen, clen-j*bclen) )
+				return null;
+		}
+		
+		//append rows of column groups of all row blocks, and shift the
+		//column indexes of the resulting groups to their column block
+		ArrayList<ColGroup> colGroups = new ArrayList<ColGroup>();
+		for( int j=0; j<blocks[0].length; j++ ) {
+			for( int g=0; g<blocks[0][j]._colGroups.size(); g++ ) {
+				ColGroup grp = blocks[0][j]._colGroups.get(g);
+				ColGroup[] that = new ColGroup[blocks.length-1];
+				for( int i=1; i<blocks.length; i++ )
+					that[i-1] = blocks[i][j]._colGroups.get(g);
+				ColGroup tmp = (that.length > 0) ? 
+					grp.appendRows(that) : ConverterUtils.copyColGroup(grp);
+				if( tmp == null )
+					return null;
+				tmp.shiftColIndices(j*bclen);
+				colGroups.add(tmp);
+			}
+		}
+		
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(rlen, clen, 
+			evalSparseFormatInMemory(rlen, clen, nnz));
+		ret._colGroups = colGroups;
+		ret.setNonZeros(nnz);
+		return ret;
+	}
+	
+	/**
+	 * Indicates if the rows of the second block can be appended to the first
+	 * block on the level of column groups, i.e., if both blocks have column
+	 * groups of equal types and column indexes.
+	 * 
+	 * @param blk1 first compressed block
+	 * @param blk2 second compressed block
+	 * @return true if column groups are row-wise appendable
+	 */
+	private static boolean isAppendable(CompressedMatrixBlock blk1, CompressedMatrixBlock blk2) {
+		if( blk1.getNumColumns() != blk2.getNumColumns()
+			|| blk1._colGroups.size() != blk2._colGroups.size() )
+			return false;
+		for( int g=0; g<blk1._colGroups.size(); g++ ) {
+			ColGroup grp1 = blk1._colGroups.get(g);
+			ColGroup grp2 = blk2._colGroups.get(g);
+			if( grp1.getClass() != grp2.getClass() 
+				|| !Arrays.equals(grp1.getColIndices(), grp2.getColIndices()) )
+				return false;
+		}
+		return true;
+	}
+	
 	
 	//////////////////////////////////////////
 	// Operations (overwrite existing ops for seamless integration)
@@ -812,14 +971,19 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		ret2.allocateColGroupList();
 		ret2._colGroups.addAll(_colGroups);
 		
-		//copy of rhs column groups w/ col index shifting
-		if( !(that instanceof CompressedMatrixBlock) ) {
+		//compress rhs if necessary (without modifying the input)
+		boolean copy = true;
+		if( !(that instanceof CompressedMatrixBlock) 
+			|| !((CompressedMatrixBlock)that).isCompressed() ) {
 			that = new CompressedMatrixBlock(that);
 			((CompressedMatrixBlock)that).compress();
+			copy = false;
 		}
+		
+		//(copy of) rhs column groups w/ col index shifting
 		ArrayList<ColGroup> inColGroups = ((CompressedMatrixBlock) that)._colGroups;
 		for( ColGroup group : inColGroups ) {
-			ColGroup tmp = ConverterUtils.copyColGroup(group);
+			ColGroup tmp = copy ? ConverterUtils.copyColGroup(group) : group;
 			tmp.shiftColIndices(clen);
 			ret2._colGroups.add(tmp);
 		}
@@ -940,26 +1104,36 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		else
 			ret.reset(rl, cl, false, rl*cl);
 		
-		//compute matrix mult
-		if( mv1.getNumRows()>1 && mv2.getNumColumns()==1 ) { //MV right
-			CompressedMatrixBlock cmb = (CompressedMatrixBlock)mv1;
-			MatrixBlock mb = (MatrixBlock) mv2;
-			if( op.getNumThreads()>1 )
-				cmb.rightMultByVector(mb, ret, op.getNumThreads());
+		//compute matrix mult (other input decompressed if necessary)
+		boolean right = (mv1 == this);
+		int k = op.getNumThreads();
+		if( right && mv2.getNumColumns()==1 ) { //MV right
+			MatrixBlock mb = getUncompressed(mv2);
+			if( k>1 )
+				rightMultByVector(mb, ret, k);
 			else
-				cmb.rightMultByVector(mb, ret);
+				rightMultByVector(mb, ret);
 		}
-		else if( mv1.getNumRows()==1 && mv2.getNumColumns()>1 ) { //MV left
-			MatrixBlock mb = (MatrixBlock) mv1;
-			if( op.getNumThreads()>1 )
-				leftMultByVectorTranspose(_colGroups, mb, ret, false, op.getNumThreads());
+		else if( !right && mv1.getNumRows()==1 ) { //MV left
+			MatrixBlock mb = getUncompressed(mv1);
+			if( k>1 )
+				leftMultByVectorTranspose(_colGroups, mb, ret, false, k);
 			else
 				leftMultByVectorTranspose(_colGroups, mb, ret, false);
 		}
-		else {
-			//NOTE: we could decompress and invoke super.aggregateBinary but for now
-			//we want to have an eager fail if this happens
-			throw new DMLRuntimeException("Unsupported matrix-matrix multiplication over compressed matrix block.");
+		else if( right ) { //MM right
+			MatrixBlock mb = getDense(getUncompressed(mv2));
+			if( k>1 )
+				rightMultByMatrix(mb, ret, k);
+			else
+				rightMultByMatrix(mb, ret);
+		}
+		else { //MM left
+			MatrixBlock mb = getDense(getUncompressed(mv1));
+			if( k>1 )
+				leftMultByMatrix(_colGroups, mb, ret, k);
+			else
+				leftMultByMatrix(_colGroups, mb, ret);
 		}
 		
 		if( LOG.isDebugEnabled() )
@@ -1021,18 +1195,30 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		if(    op.getNumThreads() > 1 
 			&& getExactSizeOnDisk() > MIN_PAR_AGG_THRESHOLD ) 
 		{
-			//multi-threaded execution of all groups 
+			//multi-threaded execution of all groups, row-partitioned for row aggregates 
+			//and sums over multiple segments (balanced even for skewed column groups)
+			boolean rowPart = (op.indexFn instanceof ReduceCol) || (op.aggOp.increOp.fn 
+				instanceof KahanFunction && rlen > BitmapEncoder.BITMAP_BLOCK_SZ);
 			ArrayList<ColGroup>[] grpParts = createStaticTaskPartitioning(
-					(op.indexFn instanceof ReduceCol) ? 1 : op.getNumThreads(), false);
+					rowPart ? 1 : op.getNumThreads(), false);
 			ColGroupUncompressed uc = getUncompressedColGroup();
 			try {
 				//compute uncompressed column group in parallel (otherwise bottleneck)
-				if( uc != null )
+				if( uc != null && op.indexFn instanceof ReduceRow ) {
+					//column aggregates: shift into the group's columns
+					MatrixBlock tmp = (MatrixBlock)uc.getData().aggregateUnaryOperations(
+						op, new MatrixBlock(), blockingFactorRow, blockingFactorCol, indexesIn, false);
+					int[] cix = uc.getColIndices();
+					for( int i=0; i<tmp.getNumRows(); i++ )
+						for( int j=0; j<cix.length; j++ )
+							ret.quickSetValue(i, cix[j], tmp.quickGetValue(i, j));
+				}
+				else if( uc != null )
 					 ret = (MatrixBlock)uc.getData().aggregateUnaryOperations(op, ret, blockingFactorRow, blockingFactorCol, indexesIn, false);					
 				//compute all compressed column groups
 				ExecutorService pool = Executors.newFixedThreadPool( op.getNumThreads() );
 				ArrayList<UnaryAggregateTask> tasks = new ArrayList<UnaryAggregateTask>();
-				if( op.indexFn instanceof ReduceCol && grpParts.length > 0 ) {
+				if( rowPart && grpParts.length > 0 ) {
 					int seqsz = BitmapEncoder.BITMAP_BLOCK_SZ;
 					int blklen = (int)(Math.ceil((double)rlen/op.getNumThreads()));
 					blklen += (blklen%seqsz != 0)?seqsz-blklen%seqsz:0;
@@ -1045,14 +1231,15 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				List<Future<MatrixBlock>> rtasks = pool.invokeAll(tasks);	
 				pool.shutdown();
 				
-				//aggregate partial results
-				if( op.indexFn instanceof ReduceAll ) {
-					double val = ret.quickGetValue(0, 0);
-					for( Future<MatrixBlock> rtask : rtasks )
-						val = op.aggOp.increOp.fn.execute(val, 
-								rtask.get().quickGetValue(0, 0));
-					ret.quickSetValue(0, 0, val);
-				}		
+				//aggregate partial results (incl corrections)
+				if( UnaryAggregateTask.hasPartialOutput(op) ) {
+					for( Future<MatrixBlock> rtask : rtasks ) {
+						if( op.aggOp.correctionExists )
+							ret.incrementalAggregate(op.aggOp, rtask.get());
+						else
+							ret.binaryOperationsInPlace(op.aggOp.increOp, rtask.get());
+					}
+				}
 			}
 			catch(Exception ex) {
 				throw new DMLRuntimeException(ex);
@@ -1064,7 +1251,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				if( grp instanceof ColGroupUncompressed )
 					grp.unaryAggregateOperations(op, ret);
 			
-			//process OLE/RLE column groups
+			//process OLE/RLE/DDC column groups
 			for (ColGroup grp : _colGroups)
 				if( !(grp instanceof ColGroupUncompressed) )
 					grp.unaryAggregateOperations(op, ret);
@@ -1172,12 +1359,32 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				ExecutorService pool = Executors.newFixedThreadPool( k );
 				ArrayList<MatrixMultTransposeTask> tasks = new ArrayList<MatrixMultTransposeTask>();
 				int numgrp = _colGroups.size();
-				int blklen = (int)(Math.ceil((double)numgrp/(2*k)));
-				for( int i=0; i<2*k & i*blklen<clen; i++ )
-					tasks.add(new MatrixMultTransposeTask(_colGroups, out, i*blklen, Math.min((i+1)*blklen, numgrp)));
-				List<Future<Object>> ret = pool.invokeAll(tasks);
-				for( Future<Object> tret : ret )
-					tret.get(); //check for errors
+				if( isSkewedTsmmWorkload(k) ) {
+					//row partitioning over all groups, w/ partial outputs
+					int seqsz = BitmapEncoder.BITMAP_BLOCK_SZ;
+					int blklen = (int)(Math.ceil((double)rlen/k));
+					blklen += (blklen%seqsz != 0)?seqsz-blklen%seqsz:0;
+					for( int i=0; i<k & i*blklen<rlen; i++ )
+						tasks.add(new MatrixMultTransposeTask(_colGroups, new MatrixBlock(clen, clen, false),
+							0, numgrp, i*blklen, Math.min((i+1)*blklen, rlen)));
+				}
+				else {
+					//column group partitioning, w/ disjoint outputs
+					int blklen = (int)(Math.ceil((double)numgrp/(2*k)));
+					for( int i=0; i<2*k & i*blklen<numgrp; i++ )
+						tasks.add(new MatrixMultTransposeTask(_colGroups, out, 
+							i*blklen, Math.min((i+1)*blklen, numgrp), 0, rlen));
+				}
+				List<Future<MatrixBlock>> ret = pool.invokeAll(tasks);
+				double[] c = out.getDenseBlock();
+				for( Future<MatrixBlock> tret : ret ) {
+					MatrixBlock partial = tret.get(); //check for errors
+					if( partial != out ) {
+						double[] a = partial.getDenseBlock();
+						for( int i=0; i<c.length; i++ )
+							c[i] += a[i];
+					}
+				}
 				pool.shutdown();
 			}
 			catch(Exception ex) {
@@ -1339,6 +1546,141 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		result.recomputeNonZeros();
 	}
 
+	/**
+	 * Multiply this matrix block by a dense matrix on the right, where each
+	 * column group pre-aggregates its distinct values against all columns of 
+	 * the right-hand side at once.
+	 * 
+	 * @param matrix dense right-hand side matrix
+	 * @param result buffer to hold the result
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private void rightMultByMatrix(MatrixBlock matrix, MatrixBlock result)
+		throws DMLRuntimeException 
+	{
+		// initialize and allocate the result
+		result.allocateDenseBlock();
+		
+		// delegate matrix-matrix operation to each column group
+		if( !matrix.isEmptyBlock(false) )
+			for( ColGroup grp : _colGroups )
+				grp.rightMultByMatrix(matrix, result, 0, result.getNumRows());
+		
+		// post-processing
+		result.recomputeNonZeros();
+	}
+	
+	/**
+	 * Multi-threaded version of rightMultByMatrix over row ranges.
+	 * 
+	 * @param matrix dense right-hand side matrix
+	 * @param result buffer to hold the result
+	 * @param k number of threads
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private void rightMultByMatrix(MatrixBlock matrix, MatrixBlock result, int k)
+		throws DMLRuntimeException 
+	{
+		// initialize and allocate the result
+		result.allocateDenseBlock();
+		if( matrix.isEmptyBlock(false) )
+			return;
+		
+		//multi-threaded execution of all groups over aligned row ranges
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			int rlen = getNumRows();
+			int seqsz = BitmapEncoder.BITMAP_BLOCK_SZ;
+			int blklen = (int)(Math.ceil((double)rlen/k));
+			blklen += (blklen%seqsz != 0)?seqsz-blklen%seqsz:0;
+			ArrayList<RightMatrixMatrixMultTask> tasks = new ArrayList<RightMatrixMatrixMultTask>();
+			for( int i=0; i<k & i*blklen<rlen; i++ )
+				tasks.add(new RightMatrixMatrixMultTask(_colGroups, matrix, result, i*blklen, Math.min((i+1)*blklen,rlen)));
+			List<Future<Object>> ret = pool.invokeAll(tasks);
+			for( Future<Object> tret : ret )
+				tret.get(); //check for errors
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		// post-processing
+		result.recomputeNonZeros();
+	}
+	
+	/**
+	 * Multiply this matrix block by a dense matrix on the left, where each
+	 * column group pre-aggregates the rows of the left-hand side per distinct
+	 * value before scaling with the distinct values.
+	 * 
+	 * @param colGroups list of column groups
+	 * @param matrix dense left-hand side matrix
+	 * @param result buffer to hold the result
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void leftMultByMatrix(List<ColGroup> colGroups, MatrixBlock matrix, MatrixBlock result) 
+		throws DMLRuntimeException 
+	{
+		// initialize and allocate the result
+		result.allocateDenseBlock();
+		
+		// delegate matrix-matrix operation to each column group
+		if( !matrix.isEmptyBlock(false) )
+			for( ColGroup grp : colGroups )
+				grp.leftMultByMatrix(matrix, result, 0, matrix.getNumRows());
+		
+		// post-processing
+		result.recomputeNonZeros();
+	}
+	
+	/**
+	 * Multi-threaded version of leftMultByMatrix over column groups and
+	 * row ranges of the left-hand side, which both write disjoint parts 
+	 * of the output.
+	 * 
+	 * @param colGroups list of column groups
+	 * @param matrix dense left-hand side matrix
+	 * @param result buffer to hold the result
+	 * @param k number of threads
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void leftMultByMatrix(List<ColGroup> colGroups, MatrixBlock matrix, MatrixBlock result, int k) 
+		throws DMLRuntimeException 
+	{
+		// initialize and allocate the result
+		result.allocateDenseBlock();
+		if( matrix.isEmptyBlock(false) )
+			return;
+		
+		//multi-threaded execution over row ranges and, if necessary, groups
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			int rlen = matrix.getNumRows();
+			int numRBlks = Math.min(rlen, k);
+			int numGBlks = Math.min(colGroups.size(), (int)Math.ceil((double)k/numRBlks));
+			int blklen = (int)(Math.ceil((double)rlen/numRBlks));
+			ArrayList<LeftMatrixMatrixMultTask> tasks = new ArrayList<LeftMatrixMatrixMultTask>();
+			for( int i=0; i<numRBlks & i*blklen<rlen; i++ )
+				for( int j=0; j<numGBlks; j++ ) {
+					ArrayList<ColGroup> groups = new ArrayList<ColGroup>();
+					for( int g=j; g<colGroups.size(); g+=numGBlks )
+						groups.add(colGroups.get(g));
+					tasks.add(new LeftMatrixMatrixMultTask(groups, matrix, result, i*blklen, Math.min((i+1)*blklen,rlen)));
+				}
+			List<Future<Object>> ret = pool.invokeAll(tasks);
+			for( Future<Object> tret : ret )
+				tret.get(); //check for errors
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		// post-processing
+		result.recomputeNonZeros();
+	}
+
 	private static void leftMultByTransposeSelf(ArrayList<ColGroup> groups, MatrixBlock result, int gl, int gu)
 		throws DMLRuntimeException 
 	{
@@ -1375,6 +1717,78 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			}
 		}
 	}
+	
+	private static void leftMultByTransposeSelf(ArrayList<ColGroup> groups, MatrixBlock result, int gl, int gu, int rl, int ru)
+		throws DMLRuntimeException 
+	{
+		final int numRows = groups.get(0).getNumRows();
+		final int numGroups = groups.size();
+		
+		//full row range: column-group-partitioned tsmm
+		if( rl == 0 && ru == numRows ) {
+			leftMultByTransposeSelf(groups, result, gl, gu);
+			return;
+		}
+		
+		//preallocated dense vector, maintained zero outside [rl,ru)
+		MatrixBlock lhs = new MatrixBlock(numRows, 1, false);
+		lhs.allocateDenseBlock();
+		double[] a = lhs.getDenseBlock();
+		result.allocateDenseBlock();
+		
+		//approach: same as above but restricted to the row range,
+		//i.e., partial outputs that need to be summed up 
+		for( int i=gl; i<gu; i++ ) 
+		{
+			ColGroup group = groups.get(i);	
+			int[] ixgroup = group.getColIndices();
+			List<ColGroup> tmpList = groups.subList(i, numGroups);
+			
+			for( int j=0; j<ixgroup.length; j++ ) {
+				//decompress single column, restricted to row range
+				Arrays.fill(a, rl, ru, 0);
+				group.decompressToBlock(lhs, j, rl, ru);
+				
+				if( lhs.recomputeNonZeros(rl, ru-1, 0, 0) > 0 ) {
+					//compute vector-matrix partial result (lhs in row layout)
+					MatrixBlock tmpret = new MatrixBlock(1,result.getNumColumns(),false);
+					tmpret.allocateDenseBlock();
+					for( ColGroup grp : tmpList )
+						grp.leftMultByRowVector(lhs, tmpret, rl, ru);
+					tmpret.recomputeNonZeros();
+					
+					//write partial results (disjoint non-zeros)
+					LinearAlgebraUtils.copyNonZerosToRowCol(result, tmpret, ixgroup[j]);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Determines if the work of column-group-partitioned tsmm is too skewed 
+	 * to utilize k threads, i.e., if a single group exceeds the fair share of
+	 * a thread, in which case we partition the rows of all groups instead.
+	 * 
+	 * @param k number of threads
+	 * @return true if row partitioning should be used
+	 */
+	private boolean isSkewedTsmmWorkload(int k) {
+		//row partitioning requires multiple segments and bounded partial outputs
+		if( rlen <= BitmapEncoder.BITMAP_BLOCK_SZ 
+			|| 8L * k * clen * clen > MAX_PAR_TSMM_PARTIALS )
+			return false;
+		
+		//work per group: number of columns times remaining groups
+		int numgrp = _colGroups.size();
+		long[] work = new long[numgrp];
+		long total = 0, max = 0;
+		for( int i=0; i<numgrp; i++ ) {
+			work[i] = (long)_colGroups.get(i).getNumCols() * (numgrp - i);
+			total += work[i];
+			max = Math.max(max, work[i]);
+		}
+		return max > total / k;
+	}
 
 	@SuppressWarnings("unchecked")
 	private ArrayList<ColGroup>[] createStaticTaskPartitioning(int k, boolean inclUncompressed)
@@ -1466,24 +1880,80 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		}
 	}
 	
-	private static class MatrixMultTransposeTask implements Callable<Object> 
+	private static class RightMatrixMatrixMultTask implements Callable<Object> 
+	{
+		private ArrayList<ColGroup> _groups = null;
+		private MatrixBlock _matrix = null;
+		private MatrixBlock _ret = null;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected RightMatrixMatrixMultTask( ArrayList<ColGroup> groups, MatrixBlock matrix, MatrixBlock ret, int rl, int ru)  {
+			_groups = groups;
+			_matrix = matrix;
+			_ret = ret;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException 
+		{
+			// delegate matrix-matrix operation to each column group
+			for( ColGroup grp : _groups )
+				grp.rightMultByMatrix(_matrix, _ret, _rl, _ru);
+			return null;
+		}
+	}
+	
+	private static class LeftMatrixMatrixMultTask implements Callable<Object> 
+	{
+		private ArrayList<ColGroup> _groups = null;
+		private MatrixBlock _matrix = null;
+		private MatrixBlock _ret = null;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected LeftMatrixMatrixMultTask( ArrayList<ColGroup> groups, MatrixBlock matrix, MatrixBlock ret, int rl, int ru)  {
+			_groups = groups;
+			_matrix = matrix;
+			_ret = ret;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException 
+		{
+			// delegate matrix-matrix operation to each column group
+			for( ColGroup grp : _groups )
+				grp.leftMultByMatrix(_matrix, _ret, _rl, _ru);
+			return null;
+		}
+	}
+	
+	private static class MatrixMultTransposeTask implements Callable<MatrixBlock> 
 	{
 		private ArrayList<ColGroup> _groups = null;
 		private MatrixBlock _ret = null;
 		private int _gl = -1;
 		private int _gu = -1;
+		private int _rl = -1;
+		private int _ru = -1;
 		
-		protected MatrixMultTransposeTask(ArrayList<ColGroup> groups, MatrixBlock ret, int gl, int gu)  {
+		protected MatrixMultTransposeTask(ArrayList<ColGroup> groups, MatrixBlock ret, int gl, int gu, int rl, int ru)  {
 			_groups = groups;
 			_ret = ret;
 			_gl = gl;
 			_gu = gu;
+			_rl = rl;
+			_ru = ru;
 		}
 		
 		@Override
-		public Object call() throws DMLRuntimeException {
-			leftMultByTransposeSelf(_groups, _ret, _gl, _gu);
-			return null;
+		public MatrixBlock call() throws DMLRuntimeException {
+			leftMultByTransposeSelf(_groups, _ret, _gl, _gu, _rl, _ru);
+			return _ret;
 		}
 	}
 	
@@ -1501,23 +1971,32 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			_rl = rl;
 			_ru = ru;
 			
-			if( _op.indexFn instanceof ReduceAll ) { //sum
+			if( hasPartialOutput(_op) ) { //sum, colSums
 				_ret = new MatrixBlock(ret.getNumRows(), ret.getNumColumns(), false);
 				_ret.allocateDenseBlock();
 				if( _op.aggOp.increOp.fn instanceof Builtin )
 					System.arraycopy(ret.getDenseBlock(), 0, _ret.getDenseBlock(), 0, ret.getNumRows()*ret.getNumColumns());
 			}
-			else { //colSums
+			else { //rowSums, colMins/colMaxs (disjoint outputs)
 				_ret = ret;
 			}
 		}
 		
+		protected static boolean hasPartialOutput(AggregateUnaryOperator op) {
+			return op.indexFn instanceof ReduceAll || (op.indexFn instanceof ReduceRow 
+				&& op.aggOp.increOp.fn instanceof KahanFunction);
+		}
+		
 		@Override
 		public MatrixBlock call() throws DMLRuntimeException {
 			// delegate unary aggregate operation to each column group
 			// (uncompressed column group handles separately)
-			for( ColGroup grp : _groups )
-				((ColGroupBitmap)grp).unaryAggregateOperations(_op, _ret, _rl, _ru);
+			for( ColGroup grp : _groups ) {
+				if( grp instanceof ColGroupDDC )
+					((ColGroupDDC)grp).unaryAggregateOperations(_op, _ret, _rl, _ru);
+				else
+					((ColGroupBitmap)grp).unaryAggregateOperations(_op, _ret, _rl, _ru);
+			}
 			return _ret;
 		}
 	}
@@ -1607,35 +2086,108 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	@Override
 	public MatrixValue unaryOperations(UnaryOperator op, MatrixValue result) 
 			throws DMLRuntimeException {
-		printDecompressWarning("unaryOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		return tmp.unaryOperations(op, result);
+		//call uncompressed matrix unary if necessary
+		if( !isCompressed() )
+			return super.unaryOperations(op, result);
+		
+		//decompress for sparse-unsafe operations (dense, incompressible output)
+		if( !op.sparseSafe ) {
+			printDecompressWarning("unaryOperations-sparse-unsafe");
+			return decompress().unaryOperations(op, result);
+		}
+		
+		//apply the operation to the distinct values of each column group
+		CompressedMatrixBlock ret = allocateCompressedOutput(result);
+		ArrayList<ColGroup> newColGroups = new ArrayList<ColGroup>();
+		for (ColGroup grp : _colGroups)
+			newColGroups.add(grp.unaryOperation(op));
+		ret._colGroups = newColGroups;
+		ret.setNonZeros(nonZeros); //upper bound
+		
+		return ret;
 	}
 
 	@Override
 	public void unaryOperationsInPlace(UnaryOperator op) 
 			throws DMLRuntimeException {
-		printDecompressWarning("unaryOperationsInPlace");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		tmp.unaryOperationsInPlace(op);
+		//call uncompressed matrix unary if necessary
+		if( !isCompressed() ) {
+			super.unaryOperationsInPlace(op);
+			return;
+		}
+		
+		//obtain result and replace the contents of this block
+		MatrixBlock tmp = (MatrixBlock) unaryOperations(op, new MatrixBlock());
+		replaceContents(tmp);
 	}
 
 	@Override
 	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) 
 			throws DMLRuntimeException {
-		printDecompressWarning("binaryOperations", (MatrixBlock)thatValue);
-		MatrixBlock left = isCompressed() ? decompress() : this;
-		MatrixBlock right = getUncompressed(thatValue);
-		return left.binaryOperations(op, right, result);
+		MatrixBlock that = (MatrixBlock) thatValue;
+		
+		//call uncompressed matrix binary if necessary
+		if( !isCompressed() )
+			return super.binaryOperations(op, getUncompressed(that), result);
+		
+		//decompress for all but matrix-rowvector operations
+		if( isCompressed(that) || that.getNumRows() != 1 || that.getNumColumns() != clen ) {
+			printDecompressWarning("binaryOperations", that);
+			return decompress().binaryOperations(op, getUncompressed(that), result);
+		}
+		
+		//apply the operation to the distinct values of each column group
+		double[] v = DataConverter.convertToDoubleVector(that);
+		CompressedMatrixBlock ret = allocateCompressedOutput(result);
+		ArrayList<ColGroup> newColGroups = new ArrayList<ColGroup>();
+		for (ColGroup grp : _colGroups)
+			newColGroups.add(grp.binaryRowOperation(op, v));
+		ret._colGroups = newColGroups;
+		
+		//nnz maintenance (upper bound for sparse-safe operations)
+		boolean sparseSafe = true;
+		for( int j=0; j<clen && sparseSafe; j++ )
+			sparseSafe &= (op.fn.execute(0d, v[j]) == 0);
+		ret.setNonZeros(sparseSafe ? nonZeros : (long)rlen*clen);
+		
+		return ret;
 	}
 
 	@Override
 	public void binaryOperationsInPlace(BinaryOperator op, MatrixValue thatValue) 
 			throws DMLRuntimeException {
-		printDecompressWarning("binaryOperationsInPlace", (MatrixBlock)thatValue);
-		MatrixBlock left = isCompressed() ? decompress() : this;
-		MatrixBlock right = getUncompressed(thatValue);
-		left.binaryOperationsInPlace(op, right);
+		//call uncompressed matrix binary if necessary
+		if( !isCompressed() ) {
+			super.binaryOperationsInPlace(op, getUncompressed(thatValue));
+			return;
+		}
+		
+		//obtain result and replace the contents of this block
+		MatrixBlock tmp = (MatrixBlock) binaryOperations(op, thatValue, new MatrixBlock());
+		replaceContents(tmp);
+	}
+
+	private CompressedMatrixBlock allocateCompressedOutput(MatrixValue result) {
+		CompressedMatrixBlock ret = null;
+		if( result==null || !(result instanceof CompressedMatrixBlock) )
+			ret = new CompressedMatrixBlock(getNumRows(), getNumColumns(), sparse);
+		else {
+			ret = (CompressedMatrixBlock) result;
+			ret.reset(rlen, clen);
+		}
+		return ret;
+	}
+	
+	private void replaceContents(MatrixBlock tmp) {
+		if( isCompressed(tmp) ) {
+			_colGroups = ((CompressedMatrixBlock)tmp)._colGroups;
+			nonZeros = tmp.getNonZeros();
+		}
+		else {
+			//fallback of sparse-unsafe operations to uncompressed block
+			_colGroups = null;
+			copy(tmp);
+		}
 	}
 
 	@Override
@@ -1714,12 +2266,70 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 
 	@Override
 	public MatrixBlock sliceOperations(int rl, int ru, int cl, int cu, CacheBlock ret) 
-			throws DMLRuntimeException {
-		printDecompressWarning("sliceOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		return tmp.sliceOperations(rl, ru, cl, cu, ret);
+			throws DMLRuntimeException 
+	{
+		//call uncompressed slice if necessary
+		if( !isCompressed() ) {
+			return super.sliceOperations(rl, ru, cl, cu, ret);
+		}
+		
+		//check the validity of bounds
+		if ( rl < 0 || rl >= rlen || ru < rl || ru >= rlen
+				|| cl < 0 || cu < cl || cu >= clen ) {
+			throw new DMLRuntimeException("Invalid values for matrix indexing: ["+(rl+1)+":"+(ru+1)+"," + (cl+1)+":"+(cu+1)+"] " +
+							"must be within matrix dimensions ["+rlen+","+clen+"]");
+		}
+		
+		//slice in compressed form
+		CompressedMatrixBlock ret2 = sliceCompressed(rl, ru, cl, cu);
+		
+		//decompress single-row slices (no benefit from compression)
+		if( ret2.getNumRows() == 1 ) {
+			MatrixBlock tmp = ret2.decompress();
+			tmp.recomputeNonZeros();
+			return tmp;
+		}
+		
+		return ret2;
+	}	
+	/**
+	 * Slices the given row and column range of this compressed block in 
+	 * compressed form, including single-row slices (e.g., for the blocks
+	 * of persisted compressed matrices).
+	 * 
+	 * @param rl row lower bound, inclusive
+	 * @param ru row upper bound, inclusive
+	 * @param cl column lower bound, inclusive
+	 * @param cu column upper bound, inclusive
+	 * @return compressed block of the sliced range
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public CompressedMatrixBlock sliceCompressed(int rl, int ru, int cl, int cu) 
+		throws DMLRuntimeException
+	{
+		//slice overlapping column groups w/ column index remapping
+		//(groups are sliced in compressed form, incl row ranges)
+		final int m = ru-rl+1;
+		final int n = cu-cl+1;
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(m, n, isInSparseFormat());
+		ret.allocateColGroupList();
+		for( ColGroup grp : _colGroups )
+			if( grp.isOverlapping(cl, cu+1) )
+				ret._colGroups.add(grp.sliceOperations(rl, ru+1, cl, cu+1));
+		
+		//meta data maintenance (upper bound for partially zero tuples)
+		int[] rnnz = new int[m];
+		for( ColGroup grp : ret._colGroups )
+			grp.countNonZerosPerRow(rnnz, 0, m);
+		long nnz = 0;
+		for( int i=0; i<m; i++ )
+			nnz += rnnz[i];
+		ret.setNonZeros(nnz);
+		
+		return ret;
 	}
 
+
 	@Override
 	public void sliceOperations(ArrayList<IndexedMatrixValue> outlist, IndexRange range, 
 			int rowCut, int colCut, int normalBlockRowFactor,
@@ -1996,6 +2606,14 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				(MatrixBlock)mVal;
 	}
 
+	private static MatrixBlock getDense(MatrixBlock mb) {
+		if( !mb.isInSparseFormat() )
+			return mb;
+		MatrixBlock ret = new MatrixBlock();
+		ret.copy(mb, false);
+		return ret;
+	}
+	
 	private void printDecompressWarning(String operation) {
 		if( isCompressed() ) {
 			LOG.warn("Operation '"+operation+"' not supported yet - decompressing for ULA operations.");
@@ -26,11 +26,9 @@ import java.util.PriorityQueue;
 import java.util.TreeMap;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
-import org.apache.sysml.runtime.compress.estim.CompressedSizeEstimator;
 
 public class PlanningCoCoder 
 {
@@ -39,11 +37,33 @@ public class PlanningCoCoder
 	private final static float PARTITION_WEIGHT = 0.05F; //higher values lead to more grouping
 	private final static float PARTITION_SIZE = PARTITION_WEIGHT * GROUPABILITY_THRESHOLD;
 
-	public static List<int[]> findCocodesByPartitioning(CompressedSizeEstimator sizeEstimator, List<Integer> availCols, 
-			List<Integer> colsCardinalities, List<Long> compressedSize, int numRows, double sparsity, int k) 
+	/**
+	 * Finds column groups to co-code via bin packing of columns into partitions 
+	 * and greedy merging of column groups within each partition. Partitions are 
+	 * processed in parallel if there are enough partitions, otherwise the 
+	 * size estimates of candidate merges within a partition are computed in 
+	 * parallel. Once the given time budget is exceeded, no further candidate 
+	 * merges are evaluated and the already evaluated merges are applied.
+	 * 
+	 * @param memo memo table of compressed size estimates
+	 * @param availCols available columns
+	 * @param colsCardinalities estimated column cardinalities
+	 * @param compressedSize estimated compressed column sizes
+	 * @param numRows number of rows
+	 * @param sparsity matrix sparsity
+	 * @param pool thread pool for parallel planning, or null
+	 * @param k degree of parallelism
+	 * @param timeout time budget in milliseconds (&lt;=0 for unbounded)
+	 * @return list of column groups (sorted column indexes)
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static List<int[]> findCocodesByPartitioning(PlanningMemoTable memo, List<Integer> availCols, 
+			List<Integer> colsCardinalities, List<Long> compressedSize, int numRows, double sparsity, ExecutorService pool, int k, long timeout) 
 		throws DMLRuntimeException 
 	{
 		List<int[]> retGroups = new ArrayList<int[]>();
+		long deadline = (timeout > 0) ? 
+			System.nanoTime() + timeout * 1000000 : Long.MAX_VALUE;
 		
 		// filtering out non-groupable columns as singleton groups
 		// weighted of each column is the ratio of its cardinality to the number
@@ -69,27 +89,31 @@ public class PlanningCoCoder
 		float weight = computeWeightForCoCoding(numRows, sparsity);
 		TreeMap<Float, List<List<Integer>>> bins = new PlanningBinPacker(
 				weight, groupCols, groupColWeights).packFirstFit();
-
+		int numBins = 0;
+		for (List<List<Integer>> binList : bins.values())
+			numBins += binList.size();
+		
 		// brute force grouping within each partition
-		retGroups.addAll( (k > 1) ?
-				getCocodingGroupsBruteForce(bins, groupColsInfo, sizeEstimator, numRows, k) :
-				getCocodingGroupsBruteForce(bins, groupColsInfo, sizeEstimator, numRows));
+		retGroups.addAll( (pool != null && numBins >= k) ?
+				getCocodingGroupsBruteForce(bins, groupColsInfo, memo, numRows, pool, deadline) :
+				getCocodingGroupsBruteForce(bins, groupColsInfo, memo, numRows, deadline, pool, k));
 			
 		return retGroups;
 	}
 
-	private static List<int[]> getCocodingGroupsBruteForce(TreeMap<Float, List<List<Integer>>> bins, HashMap<Integer, GroupableColInfo> groupColsInfo, CompressedSizeEstimator estim, int rlen) 
+	private static List<int[]> getCocodingGroupsBruteForce(TreeMap<Float, List<List<Integer>>> bins, HashMap<Integer, GroupableColInfo> groupColsInfo, PlanningMemoTable memo, int rlen, long deadline, ExecutorService pool, int k) 
+		throws DMLRuntimeException 
 	{
-		List<int[]> retGroups = new ArrayList<int[]>();		
+		List<int[]> retGroups = new ArrayList<int[]>();
 		for (List<List<Integer>> binList : bins.values()) {
 			for (List<Integer> bin : binList) {
 				// building an array of singleton CoCodingGroup
 				ArrayList<PlanningCoCodingGroup> sgroups = new ArrayList<PlanningCoCodingGroup>();
 				for (Integer col : bin)
 					sgroups.add(new PlanningCoCodingGroup(col, groupColsInfo.get(col)));
-				// brute force co-coding	
+				// brute force co-coding (w/ parallel merge evaluation)
 				PlanningCoCodingGroup[] outputGroups = findCocodesBruteForce(
-						estim, rlen, sgroups.toArray(new PlanningCoCodingGroup[0]));
+						memo, rlen, sgroups.toArray(new PlanningCoCodingGroup[0]), deadline, pool, k);
 				for (PlanningCoCodingGroup grp : outputGroups)
 					retGroups.add(grp.getColIndices());
 			}
@@ -98,12 +122,11 @@ public class PlanningCoCoder
 		return retGroups;
 	}
 
-	private static List<int[]> getCocodingGroupsBruteForce(TreeMap<Float, List<List<Integer>>> bins, HashMap<Integer, GroupableColInfo> groupColsInfo, CompressedSizeEstimator estim, int rlen, int k) 
+	private static List<int[]> getCocodingGroupsBruteForce(TreeMap<Float, List<List<Integer>>> bins, HashMap<Integer, GroupableColInfo> groupColsInfo, PlanningMemoTable memo, int rlen, ExecutorService pool, long deadline) 
 		throws DMLRuntimeException 
 	{
 		List<int[]> retGroups = new ArrayList<int[]>();		
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
 			ArrayList<CocodeTask> tasks = new ArrayList<CocodeTask>();
 			for (List<List<Integer>> binList : bins.values())
 				for (List<Integer> bin : binList) {
@@ -111,13 +134,12 @@ public class PlanningCoCoder
 					ArrayList<PlanningCoCodingGroup> sgroups = new ArrayList<PlanningCoCodingGroup>();
 					for (Integer col : bin)
 						sgroups.add(new PlanningCoCodingGroup(col, groupColsInfo.get(col)));
-					tasks.add(new CocodeTask(estim, sgroups, rlen));
+					tasks.add(new CocodeTask(memo, sgroups, rlen, deadline));
 				}
 			List<Future<PlanningCoCodingGroup[]>> rtask = pool.invokeAll(tasks);	
 			for( Future<PlanningCoCodingGroup[]> lrtask : rtask )
 				for (PlanningCoCodingGroup grp : lrtask.get())
 					retGroups.add(grp.getColIndices());
-			pool.shutdown();
 		}
 		catch(Exception ex) {
 			throw new DMLRuntimeException(ex);
@@ -131,32 +153,35 @@ public class PlanningCoCoder
 	 * pairs of column groups into larger groups. Each phase of the greedy
 	 * algorithm considers all combinations of pairs to merge.
 	 * 
-	 * @param sizeEstimator compressed size estimator
+	 * @param memo memo table of compressed size estimates
 	 * @param numRowsWeight number of rows weight
 	 * @param singltonGroups planning co-coding groups
+	 * @param deadline deadline for evaluating candidate merges (nano time)
+	 * @param pool thread pool for evaluating candidate merges, or null
+	 * @param k degree of parallelism
 	 * @return
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
 	 */
 	private static PlanningCoCodingGroup[] findCocodesBruteForce(
-			CompressedSizeEstimator sizeEstimator, float numRowsWeight,
-			PlanningCoCodingGroup[] singltonGroups) 
+			PlanningMemoTable memo, float numRowsWeight,
+			PlanningCoCodingGroup[] singltonGroups, long deadline, ExecutorService pool, int k) 
+		throws DMLRuntimeException
 	{
 		// Populate a priority queue with all available 2-column cocodings.
-		PriorityQueue<PlanningGroupMergeAction> q = new PriorityQueue<PlanningGroupMergeAction>();
+		ArrayList<PlanningCoCodingGroup[]> candidates = new ArrayList<PlanningCoCodingGroup[]>();
 		for (int leftIx = 0; leftIx < singltonGroups.length; leftIx++) {
 			PlanningCoCodingGroup leftGrp = singltonGroups[leftIx];
 			for (int rightIx = leftIx + 1; rightIx < singltonGroups.length; rightIx++) {
 				PlanningCoCodingGroup rightGrp = singltonGroups[rightIx];
 				// at least one of the two groups should be low-cardinality
 				float cardRatio = leftGrp.getCardinalityRatio() + rightGrp.getCardinalityRatio(); 
-				if ( cardRatio < GROUPABILITY_THRESHOLD) {
-					PlanningGroupMergeAction potentialMerge = new PlanningGroupMergeAction(
-							sizeEstimator, numRowsWeight, leftGrp, rightGrp);
-					if (potentialMerge.getChangeInSize() < 0) {
-						q.add(potentialMerge);
-					}
-				}
+				if ( cardRatio < GROUPABILITY_THRESHOLD)
+					candidates.add(new PlanningCoCodingGroup[]{leftGrp, rightGrp});
 			}
 		}
+		PriorityQueue<PlanningGroupMergeAction> q = new PriorityQueue<PlanningGroupMergeAction>(
+				Math.max(candidates.size(), 1));
+		q.addAll(evaluateMerges(memo, numRowsWeight, candidates, deadline, pool, k));
 		PlanningCoCodingGroup[] colGroups = singltonGroups;
 		
 		// Greedily merge groups until we can no longer reduce the number of
@@ -190,26 +215,80 @@ public class PlanningCoCoder
 				newColGroups[newColGroups.length - 1] = mergedGrp;
 
 				// Consider merging the new group with all the other
-				// pre-existing groups.
+				// pre-existing groups (unless the time budget is exceeded).
+				candidates.clear();
 				for (int i = 0; i < newColGroups.length - 1; i++) {
 					PlanningCoCodingGroup newLeftGrp = newColGroups[i];
 					PlanningCoCodingGroup newRightGrp = mergedGrp;
 					if (newLeftGrp.getCardinalityRatio()
-							+ newRightGrp.getCardinalityRatio() < GROUPABILITY_THRESHOLD) {
-						PlanningGroupMergeAction newPotentialMerge = new PlanningGroupMergeAction(
-								sizeEstimator, numRowsWeight, newLeftGrp,
-								newRightGrp);
-						if (newPotentialMerge.getChangeInSize() < 0) {
-							q.add(newPotentialMerge);
-						}
-					}
+							+ newRightGrp.getCardinalityRatio() < GROUPABILITY_THRESHOLD)
+						candidates.add(new PlanningCoCodingGroup[]{newLeftGrp, newRightGrp});
 				}
+				q.addAll(evaluateMerges(memo, numRowsWeight, candidates, deadline, pool, k));
 				colGroups = newColGroups;
 			}
 		}
 		return colGroups;
 	}
 
+	/**
+	 * Evaluates the given candidate merges and returns all merges that 
+	 * reduce the estimated compressed size. Candidates are skipped once 
+	 * the deadline is exceeded.
+	 * 
+	 * @param memo memo table of compressed size estimates
+	 * @param numRowsWeight number of rows weight
+	 * @param candidates candidate pairs of column groups
+	 * @param deadline deadline for evaluating candidate merges (nano time)
+	 * @param pool thread pool for evaluating candidate merges, or null
+	 * @param k degree of parallelism
+	 * @return list of beneficial merge actions
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static List<PlanningGroupMergeAction> evaluateMerges(PlanningMemoTable memo, float numRowsWeight,
+			List<PlanningCoCodingGroup[]> candidates, long deadline, ExecutorService pool, int k) 
+		throws DMLRuntimeException
+	{
+		//sequential evaluation of candidate merges
+		if( pool == null || candidates.size() <= 1 )
+			return evaluateMerges(memo, numRowsWeight, candidates, deadline);
+		
+		//parallel evaluation of candidate merges
+		List<PlanningGroupMergeAction> ret = new ArrayList<PlanningGroupMergeAction>();
+		try {
+			ArrayList<MergeEvalTask> tasks = new ArrayList<MergeEvalTask>();
+			int blklen = (int)(Math.ceil((double)candidates.size()/k));
+			for( int i=0; i<k & i*blklen<candidates.size(); i++ )
+				tasks.add(new MergeEvalTask(memo, numRowsWeight, candidates.subList(
+						i*blklen, Math.min((i+1)*blklen, candidates.size())), deadline));
+			for( Future<List<PlanningGroupMergeAction>> rtask : pool.invokeAll(tasks) )
+				ret.addAll(rtask.get());
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		return ret;
+	}
+	
+	private static List<PlanningGroupMergeAction> evaluateMerges(PlanningMemoTable memo, float numRowsWeight,
+			List<PlanningCoCodingGroup[]> candidates, long deadline) 
+	{
+		List<PlanningGroupMergeAction> ret = new ArrayList<PlanningGroupMergeAction>();
+		for( PlanningCoCodingGroup[] pair : candidates ) {
+			if( System.nanoTime() > deadline ) {
+				memo.setTimeout(); //skipped remaining candidates
+				break;
+			}
+			PlanningGroupMergeAction potentialMerge = new PlanningGroupMergeAction(
+					memo, numRowsWeight, pair[0], pair[1]);
+			if (potentialMerge.getChangeInSize() < 0)
+				ret.add(potentialMerge);
+		}
+		
+		return ret;
+	}
+
 	private static float computeWeightForCoCoding(int numRows, double sparsity) {
 		//we use a constant partition size (independent of the number of rows
 		//in order to ensure constant compression speed independent of blocking)
@@ -237,21 +316,43 @@ public class PlanningCoCoder
 
 	private static class CocodeTask implements Callable<PlanningCoCodingGroup[]> 
 	{
-		private CompressedSizeEstimator _estim = null;
+		private PlanningMemoTable _memo = null;
 		private ArrayList<PlanningCoCodingGroup> _sgroups = null;
 		private int _rlen = -1;
+		private long _deadline = -1;
 		
-		protected CocodeTask( CompressedSizeEstimator estim, ArrayList<PlanningCoCodingGroup> sgroups, int rlen )  {
-			_estim = estim;
+		protected CocodeTask( PlanningMemoTable memo, ArrayList<PlanningCoCodingGroup> sgroups, int rlen, long deadline )  {
+			_memo = memo;
 			_sgroups = sgroups;
 			_rlen = rlen;
+			_deadline = deadline;
 		}
 		
 		@Override
 		public PlanningCoCodingGroup[] call() throws DMLRuntimeException {
 			// brute force co-coding	
-			return findCocodesBruteForce(_estim, _rlen, 
-					_sgroups.toArray(new PlanningCoCodingGroup[0]));
+			return findCocodesBruteForce(_memo, _rlen, 
+					_sgroups.toArray(new PlanningCoCodingGroup[0]), _deadline, null, 1);
+		}
+	}
+	
+	private static class MergeEvalTask implements Callable<List<PlanningGroupMergeAction>> 
+	{
+		private PlanningMemoTable _memo = null;
+		private float _numRowsWeight = -1;
+		private List<PlanningCoCodingGroup[]> _candidates = null;
+		private long _deadline = -1;
+		
+		protected MergeEvalTask( PlanningMemoTable memo, float numRowsWeight, List<PlanningCoCodingGroup[]> candidates, long deadline )  {
+			_memo = memo;
+			_numRowsWeight = numRowsWeight;
+			_candidates = candidates;
+			_deadline = deadline;
+		}
+		
+		@Override
+		public List<PlanningGroupMergeAction> call() {
+			return evaluateMerges(_memo, _numRowsWeight, _candidates, _deadline);
 		}
 	}
 }
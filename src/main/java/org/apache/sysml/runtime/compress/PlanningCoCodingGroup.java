@@ -22,7 +22,6 @@ package org.apache.sysml.runtime.compress;
 import java.util.Arrays;
 
 import org.apache.sysml.runtime.compress.PlanningCoCoder.GroupableColInfo;
-import org.apache.sysml.runtime.compress.estim.CompressedSizeEstimator;
 import org.apache.sysml.runtime.compress.estim.CompressedSizeInfo;
 
 /** 
@@ -52,11 +51,11 @@ public class PlanningCoCodingGroup
 	 * 
 	 * @param grp1   first group of columns to merge
 	 * @param grp2   second group to merge
-	 * @param bitmapSizeEstimator bitmap size estimator
+	 * @param memo   memo table of bitmap size estimates
 	 * @param numRowsWeight numRows x sparsity
 	 */
 	public PlanningCoCodingGroup(PlanningCoCodingGroup grp1, PlanningCoCodingGroup grp2,
-			CompressedSizeEstimator bitmapSizeEstimator, float numRowsWeight) 
+			PlanningMemoTable memo, float numRowsWeight) 
 	{
 		// merge sorted non-empty arrays
 		_colIndexes = new int[grp1._colIndexes.length + grp2._colIndexes.length];		
@@ -80,7 +79,7 @@ public class PlanningCoCodingGroup
 		}
 		
 		// estimating size info
-		CompressedSizeInfo groupSizeInfo = bitmapSizeEstimator
+		CompressedSizeInfo groupSizeInfo = memo
 				.estimateCompressedColGroupSize(_colIndexes);
 		_estSize = groupSizeInfo.getMinSize();
 		_cardRatio = groupSizeInfo.getEstCarinality() / numRowsWeight;
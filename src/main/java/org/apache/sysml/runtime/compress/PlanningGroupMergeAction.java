@@ -19,8 +19,6 @@
 
 package org.apache.sysml.runtime.compress;
 
-import org.apache.sysml.runtime.compress.estim.CompressedSizeEstimator;
-
 /**
  * Internal data structure for tracking potential merges of column groups in
  * co-coding calculations.
@@ -34,11 +32,11 @@ class PlanningGroupMergeAction implements Comparable<PlanningGroupMergeAction>
 	private long _changeInSize;
 
 	
-	public PlanningGroupMergeAction(CompressedSizeEstimator sizeEstimator,
+	public PlanningGroupMergeAction(PlanningMemoTable memo,
 			float numRowsWeight, PlanningCoCodingGroup leftGrp, PlanningCoCodingGroup rightGrp) {
 		_leftGrp = leftGrp;
 		_rightGrp = rightGrp;
-		_mergedGrp = new PlanningCoCodingGroup(leftGrp, rightGrp, sizeEstimator, numRowsWeight);
+		_mergedGrp = new PlanningCoCodingGroup(leftGrp, rightGrp, memo, numRowsWeight);
 
 		// Negative size change ==> Decrease in size
 		_changeInSize = _mergedGrp.getEstSize() 
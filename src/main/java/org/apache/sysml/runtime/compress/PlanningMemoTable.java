@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.compress;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sysml.runtime.compress.estim.CompressedSizeEstimator;
+import org.apache.sysml.runtime.compress.estim.CompressedSizeInfo;
+
+/**
+ * Thread-safe memo table of size estimates of (co-coded) column groups,
+ * which avoids redundant sample-based estimation for column groups that
+ * are evaluated multiple times during compression planning. The memo 
+ * table also records if the planning deadline was hit.
+ *
+ */
+public class PlanningMemoTable
+{
+	private final CompressedSizeEstimator _estim;
+	private final ConcurrentHashMap<ColIndexes, CompressedSizeInfo> _memo;
+	private final AtomicInteger _numEstimates = new AtomicInteger(0);
+	private final AtomicInteger _numHits = new AtomicInteger(0);
+	private volatile boolean _timeout = false;
+
+	public PlanningMemoTable(CompressedSizeEstimator estim) {
+		_estim = estim;
+		_memo = new ConcurrentHashMap<ColIndexes, CompressedSizeInfo>();
+	}
+
+	/**
+	 * Obtains the size estimate of the given sorted column indexes, either
+	 * from the memo table or via the underlying size estimator.
+	 *
+	 * @param colIndexes sorted column indexes
+	 * @return compressed size info
+	 */
+	public CompressedSizeInfo estimateCompressedColGroupSize(int[] colIndexes) {
+		ColIndexes key = new ColIndexes(colIndexes);
+		CompressedSizeInfo ret = _memo.get(key);
+		if( ret != null ) {
+			_numHits.incrementAndGet();
+			return ret;
+		}
+
+		//note: concurrent estimates of the same group are rare and benign
+		//(key w/ copy of column indexes to prevent corruption on caller updates)
+		ret = _estim.estimateCompressedColGroupSize(colIndexes);
+		_memo.put(new ColIndexes(colIndexes.clone()), ret);
+		_numEstimates.incrementAndGet();
+		return ret;
+	}
+
+	public CompressedSizeEstimator getEstimator() {
+		return _estim;
+	}
+
+	public int getNumEstimates() {
+		return _numEstimates.get();
+	}
+
+	public int getNumHits() {
+		return _numHits.get();
+	}
+
+	public void setTimeout() {
+		_timeout = true;
+	}
+
+	public boolean isTimeout() {
+		return _timeout;
+	}
+
+	private static class ColIndexes
+	{
+		private final int[] _cols;
+		private final int _hash;
+
+		public ColIndexes(int[] cols) {
+			_cols = cols;
+			_hash = Arrays.hashCode(cols);
+		}
+
+		@Override
+		public int hashCode() {
+			return _hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return (o instanceof ColIndexes)
+				&& Arrays.equals(_cols, ((ColIndexes)o)._cols);
+		}
+	}
+}
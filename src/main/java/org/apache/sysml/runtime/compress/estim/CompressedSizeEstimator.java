@@ -20,6 +20,9 @@
 package org.apache.sysml.runtime.compress.estim;
 
 import org.apache.sysml.runtime.compress.BitmapEncoder;
+import org.apache.sysml.runtime.compress.ColGroupDDC1;
+import org.apache.sysml.runtime.compress.ColGroupDDC2;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.compress.UncompressedBitmap;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 
@@ -29,9 +32,12 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 public abstract class CompressedSizeEstimator 
 {
 	protected MatrixBlock _data;
+	protected final int _numRows;
 
 	public CompressedSizeEstimator(MatrixBlock data) {
 		_data = data;
+		_numRows = CompressedMatrixBlock.TRANSPOSE_INPUT ? 
+				_data.getNumColumns() : _data.getNumRows();
 	}
 
 	public abstract CompressedSizeInfo estimateCompressedColGroupSize(int[] colIndexes);
@@ -108,6 +114,27 @@ public abstract class CompressedSizeEstimator
 		return ret;
 	}
 
+	/**
+	 * Estimates the number of bytes needed to encode this column group 
+	 * in DDC1 or DDC2 format.
+	 * 
+	 * @param numVals number of value tuples (incl zero tuple)
+	 * @param numRows number of rows
+	 * @param numCols number of columns
+	 * @return number of bytes to encode column group in DDC format
+	 */
+	protected static long getDDCSize(int numVals, int numRows, int numCols) {
+		//DDC not applicable if number of codes exceeded
+		if( numVals > ColGroupDDC2.MAX_TUPLES )
+			return Long.MAX_VALUE;
+		long ret = 0;
+		//distinct value tuples [double per col]
+		ret += 8L * numVals * numCols;
+		//code per row [byte or char]
+		ret += ((numVals > ColGroupDDC1.MAX_TUPLES) ? 2L : 1L) * numRows;
+		return ret;
+	}
+
 	protected static class SizeEstimationFactors {
  		protected int numVals;   //num value tuples
  		protected int numSegs;   //num OLE segments 
@@ -48,6 +48,7 @@ public class CompressedSizeEstimatorExact extends CompressedSizeEstimator
 		//construct new size info summary
 		return new CompressedSizeInfo(fact.numVals,
 				getRLESize(fact.numVals, fact.numRuns, ubm.getNumColumns()),
-				getOLESize(fact.numVals, fact.numOffs, fact.numSegs, ubm.getNumColumns()));
+				getOLESize(fact.numVals, fact.numOffs, fact.numSegs, ubm.getNumColumns()),
+				getDDCSize(fact.numVals + (fact.numOffs<_numRows ? 1 : 0), _numRows, ubm.getNumColumns()));
 	}
 }
@@ -33,6 +33,7 @@ import org.apache.sysml.runtime.compress.ReaderColumnSelectionDense;
 import org.apache.sysml.runtime.compress.ReaderColumnSelectionDenseSample;
 import org.apache.sysml.runtime.compress.ReaderColumnSelectionSparse;
 import org.apache.sysml.runtime.compress.UncompressedBitmap;
+import org.apache.sysml.runtime.compress.estim.SizeEstimatorFactory.EstimatorType;
 import org.apache.sysml.runtime.compress.utils.DblArray;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 
@@ -46,14 +47,12 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 
 	private int[] _sampleRows = null;
 	private RandomDataGenerator _rng = null;
-	private int _numRows = -1;
+	private EstimatorType _type = EstimatorType.HAAS_STOKES;
 
 	public CompressedSizeEstimatorSample(MatrixBlock data, int[] sampleRows) {
 		super(data);
 		_sampleRows = sampleRows;
 		_rng = new RandomDataGenerator();
-		_numRows = CompressedMatrixBlock.TRANSPOSE_INPUT ? 
-				_data.getNumColumns() : _data.getNumRows();
 	}
 
 	public CompressedSizeEstimatorSample(MatrixBlock mb, int sampleSize) {
@@ -61,6 +60,11 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 		_sampleRows = getSortedUniformSample(_numRows, sampleSize);
 	}
 
+	public CompressedSizeEstimatorSample(MatrixBlock mb, int sampleSize, EstimatorType type) {
+		this(mb, sampleSize);
+		_type = type;
+	}
+
 	/**
 	 * set the sample rows (assumed to be sorted)
 	 * 
@@ -116,12 +120,15 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 				* (2.0f * BitmapEncoder.BITMAP_BLOCK_SZ + _numRows) / 2
 				/ BitmapEncoder.BITMAP_BLOCK_SZ);
 		int totalNumSeg = fact.numSegs + numUnseenSeg;
-		int totalNumRuns = getNumRuns(ubm, sampleSize, _numRows) + unseen;
+		int totalNumRuns = (_type == EstimatorType.HYBRID_SKEW) ?
+				getNumRunsFromSample(ubm, colIndexes, totalCardinality) :
+				getNumRuns(ubm, sampleSize, _numRows) + unseen;
 
 		//construct new size info summary
 		return new CompressedSizeInfo(totalCardinality,
 				getRLESize(totalCardinality, totalNumRuns, colIndexes.length),
-				getOLESize(totalCardinality, totalNumOffs, totalNumSeg, colIndexes.length));
+				getOLESize(totalCardinality, totalNumOffs, totalNumSeg, colIndexes.length),
+				getDDCSize(totalCardinality + (totalNumOffs<_numRows ? 1 : 0), _numRows, colIndexes.length));
 	}
 
 	@Override
@@ -133,11 +140,79 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 		//construct new size info summary
 		return new CompressedSizeInfo(fact.numVals,
 				getRLESize(fact.numVals, fact.numRuns, ubm.getNumColumns()),
-				getOLESize(fact.numVals, fact.numOffs, fact.numSegs, ubm.getNumColumns()));
+				getOLESize(fact.numVals, fact.numOffs, fact.numSegs, ubm.getNumColumns()),
+				getDDCSize(fact.numVals + (fact.numOffs<_numRows ? 1 : 0), _numRows, ubm.getNumColumns()));
 	}
 
 	private int getNumDistinctValues(int[] colIndexes) {
-		return haasAndStokes(colIndexes);
+		ReaderColumnSelection reader =  new ReaderColumnSelectionDenseSample(_data, 
+				colIndexes, _sampleRows, !CompressedMatrixBlock.MATERIALIZE_ZEROS);
+		int sampleSize = _sampleRows.length;
+		switch( _type ) {
+			case SHLOSSER:           return shlosserEstimator(_numRows, sampleSize, reader);
+			case SMOOTHED_JACKKNIFE: return smoothedJackknifeEstimator(_numRows, sampleSize, reader);
+			case SHLOSSER_JACKKNIFE: return shlosserJackknifeEstimator(_numRows, sampleSize, reader);
+			case GUARANTEED_ERROR:   return guaranteedErrorEstimator(_numRows, sampleSize, reader);
+			case HYBRID_SKEW:        return hybridSkewEstimator(_numRows, sampleSize, reader);
+			default:                 return haasAndStokes(_numRows, sampleSize, reader);
+		}
+	}
+
+	/**
+	 * Estimates the number of runs by scaling the runs observed in the sample
+	 * (i.e., over consecutive sample rows). The fraction of sample rows that
+	 * continue the run of their predecessor is split into the expected chance
+	 * continuation of independent values (collision probability of the sample
+	 * frequencies) and the excess continuation due to clustering. Assuming 
+	 * geometric run lengths, the excess continuation is scaled from the gap of
+	 * consecutive sample rows (numRows/sampleSize) to consecutive rows. This
+	 * yields about one run per non-zero offset for random data and about one
+	 * run per distinct value for clustered data (e.g., sorted columns).
+	 * 
+	 * @param ubm uncompressed bitmap of the sample
+	 * @param colIndexes column indexes
+	 * @param totalCardinality estimated number of distinct values
+	 * @return estimated number of runs
+	 */
+	private int getNumRunsFromSample(UncompressedBitmap ubm, int[] colIndexes, int totalCardinality) {
+		//count continued runs of non-zero values over consecutive sample rows
+		ReaderColumnSelection reader = new ReaderColumnSelectionDenseSample(
+				_data, colIndexes, _sampleRows, false);
+		int samplePairs = 0, sampleCont = 0, sampleNonZeros = 0;
+		DblArray prev = null;
+		DblArray row = null;
+		while( (row = reader.nextRow()) != null ) {
+			if( DblArray.isZero(row) ) {
+				prev = null;
+				continue;
+			}
+			boolean cont = (prev != null && prev.equals(row));
+			samplePairs += (prev != null) ? 1 : 0;
+			sampleCont += cont ? 1 : 0;
+			if( !cont ) //copy of reused row
+				prev = new DblArray(row);
+			sampleNonZeros++;
+		}
+		if( samplePairs == 0 )
+			return Math.max(Math.round((float)sampleNonZeros * _numRows / _sampleRows.length), totalCardinality);
+		
+		//chance continuation of independent values
+		double pChance = 0;
+		for( int i=0; i<ubm.getNumValues(); i++ ) {
+			double freq = (double)ubm.getOffsetsList(i).length / sampleNonZeros;
+			pChance += freq * freq;
+		}
+		pChance = Math.min(pChance, 1);
+		
+		//scale significant excess continuation (3 std deviations of the 
+		//binomial chance continuations) from sample gap to row gap
+		double pSample = (double)sampleCont / samplePairs;
+		double pExcess = 0;
+		if( pChance < 1 && pSample - pChance > 3 * Math.sqrt(pChance*(1-pChance)/samplePairs) )
+			pExcess = (pSample-pChance) / (1-pChance);
+		double pRow = pChance + (1-pChance) * Math.pow(pExcess, (double)_sampleRows.length / _numRows);
+		double numOffs = (double)sampleNonZeros * _numRows / _sampleRows.length;
+		return (int) Math.max(Math.round(numOffs * (1 - pRow)), totalCardinality);
 	}
 
 	private int getNumRuns(UncompressedBitmap sampleUncompressedBitmap,
@@ -303,12 +378,6 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 		return Math.round(numRuns);
 	}
 
-	private int haasAndStokes(int[] colIndexes) {
-		ReaderColumnSelection reader =  new ReaderColumnSelectionDenseSample(_data, 
-				colIndexes, _sampleRows, !CompressedMatrixBlock.MATERIALIZE_ZEROS);
-		return haasAndStokes(_numRows, _sampleRows.length, reader);
-	}
-
 	/**
 	 * TODO remove, just for local debugging.
 	 * 
@@ -357,7 +426,6 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 	 *             a reader for the sampled rows
 	 * @return error estimator
 	 */
-	@SuppressWarnings("unused")
 	private static int guaranteedErrorEstimator(int nRows, int sampleSize,
 			ReaderColumnSelection sampleRowsReader) {
 		HashMap<DblArray, Integer> valsCount = getValCounts(sampleRowsReader);
@@ -384,7 +452,6 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 	 * @param sampleRowsReader reader
 	 * @return estimator
 	 */
-	@SuppressWarnings("unused")
 	private static int shlosserEstimator(int nRows, int sampleSize,
 			ReaderColumnSelection sampleRowsReader) 
 	{
@@ -396,6 +463,9 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 			ReaderColumnSelection sampleRowsReader,
 			HashMap<DblArray, Integer> valsCount) 
 	{
+		// all values in the sample are zeros
+		if (valsCount.size() == 0)
+			return 1;
 		double q = ((double) sampleSize) / nRows;
 		double oneMinusQ = 1 - q;
 
@@ -422,7 +492,6 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 	 * @param sampleRowsReader row reader
 	 * @return estimator
 	 */
-	@SuppressWarnings("unused")
 	private static int smoothedJackknifeEstimator(int nRows, int sampleSize,
 			ReaderColumnSelection sampleRowsReader) 
 	{
@@ -518,12 +587,31 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 	 * @param sampleRowsReader row reader
 	 * @return estimator
 	 */
-	@SuppressWarnings("unused")
 	private static int shlosserJackknifeEstimator(int nRows, int sampleSize,
 			ReaderColumnSelection sampleRowsReader) {
 		HashMap<DblArray, Integer> valsCount = getValCounts(sampleRowsReader);
+		// all values in the sample are zeros
+		if (valsCount.size() == 0)
+			return 1;
 
-		// uniformity chi-square test
+		if (isUniformSample(sampleSize, valsCount)) {
+			// uniform
+			return smoothedJackknifeEstimator(nRows, sampleSize,
+					sampleRowsReader, valsCount);
+		} else {
+			return shlosserEstimator(nRows, sampleSize, sampleRowsReader,
+					valsCount);
+		}
+	}
+
+	/**
+	 * Chi-square test for uniformity of the value counts in the sample.
+	 * 
+	 * @param sampleSize sample size
+	 * @param valsCount value counts of sample
+	 * @return true if the sample passes the uniformity test
+	 */
+	private static boolean isUniformSample(int sampleSize, HashMap<DblArray, Integer> valsCount) {
 		double nBar = ((double) sampleSize) / valsCount.size();
 		// test-statistic
 		double u = 0;
@@ -531,18 +619,45 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 			u += Math.pow(cnt - nBar, 2);
 		}
 		u /= nBar;
-		if (sampleSize != usedSampleSize)
-			computeCriticalValue(sampleSize);
-		if (u < uniformityCriticalValue) {
-			// uniform
-			return smoothedJackknifeEstimator(nRows, sampleSize,
-					sampleRowsReader, valsCount);
-		} else {
-			return shlosserEstimator(nRows, sampleSize, sampleRowsReader,
-					valsCount);
+		synchronized( CompressedSizeEstimatorSample.class ) {
+			if (sampleSize != usedSampleSize)
+				computeCriticalValue(sampleSize);
+			return u < uniformityCriticalValue;
 		}
 	}
 
+	/**
+	 * Skew-aware hybrid estimator, which uses the smoothed jackknife for 
+	 * samples that pass the uniformity test (incl. nearly unique columns), and
+	 * the geometric mean of the Shlosser and Haas and Stokes estimators for 
+	 * skewed samples (e.g., zipf distributions), where the former tends to
+	 * overestimate and the latter tends to underestimate. The estimate is
+	 * bounded by the observed and maximum possible number of distinct values.
+	 * 
+	 * @param nRows number of rows
+	 * @param sampleSize sample size
+	 * @param sampleRowsReader row reader
+	 * @return estimator
+	 */
+	private static int hybridSkewEstimator(int nRows, int sampleSize,
+			ReaderColumnSelection sampleRowsReader) 
+	{
+		HashMap<DblArray, Integer> valsCount = getValCounts(sampleRowsReader);
+		// all values in the sample are zeros
+		if (valsCount.size() == 0)
+			return 1;
+		
+		int d = valsCount.size();
+		long estimate;
+		if (isUniformSample(sampleSize, valsCount))
+			estimate = smoothedJackknifeEstimator(nRows, sampleSize, sampleRowsReader, valsCount);
+		else
+			estimate = Math.round(Math.sqrt((double) shlosserEstimator(nRows, sampleSize, 
+				sampleRowsReader, valsCount) * haasAndStokes(nRows, sampleSize, valsCount)));
+		
+		return (int) Math.max(d, Math.min(estimate, nRows - sampleSize + d));
+	}
+
 	/*
 	 * In the shlosserSmoothedJackknifeEstimator as long as the sample size did
 	 * not change, we will have the same critical value each time the estimator
@@ -573,7 +688,12 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 	private static int haasAndStokes(int nRows, int sampleSize,
 			ReaderColumnSelection sampleRowsReader) 
 	{
-		HashMap<DblArray, Integer> valsCount = getValCounts(sampleRowsReader);
+		return haasAndStokes(nRows, sampleSize, getValCounts(sampleRowsReader));
+	}
+
+	private static int haasAndStokes(int nRows, int sampleSize,
+			HashMap<DblArray, Integer> valsCount) 
+	{
 		// all values in the sample are zeros.
 		if (valsCount.size() == 0)
 			return 1;
@@ -28,6 +28,7 @@ public class CompressedSizeInfo
 	private int _estCard = -1;
 	private long _rleSize = -1; 
 	private long _oleSize = -1;
+	private long _ddcSize = Long.MAX_VALUE;
 
 	public CompressedSizeInfo() {
 		
@@ -39,6 +40,11 @@ public class CompressedSizeInfo
 		_oleSize = oleSize;
 	}
 
+	public CompressedSizeInfo(int estCard, long rleSize, long oleSize, long ddcSize) {
+		this(estCard, rleSize, oleSize);
+		_ddcSize = ddcSize;
+	}
+
 	public void setRLESize(long rleSize) {
 		_rleSize = rleSize;
 	}
@@ -55,8 +61,16 @@ public class CompressedSizeInfo
 		return _oleSize;
 	}
 
+	public void setDDCSize(long ddcSize) {
+		_ddcSize = ddcSize;
+	}
+
+	public long getDDCSize() {
+		return _ddcSize;
+	}
+
 	public long getMinSize() {
-		return Math.min(_rleSize, _oleSize);
+		return Math.min(Math.min(_rleSize, _oleSize), _ddcSize);
 	}
 
 	public void setEstCardinality(int estCard) {
@@ -19,16 +19,53 @@
 
 package org.apache.sysml.runtime.compress.estim;
 
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 
 public class SizeEstimatorFactory 
 {
 	public static final float SAMPLING_RATIO = 0.01f; //conservative default
 
-	@SuppressWarnings("unused")
-	public static CompressedSizeEstimator getSizeEstimator(MatrixBlock data, int numRows) {
-		return (SAMPLING_RATIO == 1.0) ?
+	public enum EstimatorType {
+		EXACT,              //exact sizes (full data scan)
+		HAAS_STOKES,        //sample-based, Haas and Stokes hybrid (default)
+		SHLOSSER,           //sample-based, Shlosser
+		SMOOTHED_JACKKNIFE, //sample-based, smoothed jackknife
+		SHLOSSER_JACKKNIFE, //sample-based, Shlosser/jackknife via uniformity test
+		GUARANTEED_ERROR,   //sample-based, guaranteed error estimator
+		HYBRID_SKEW,        //sample-based, skew-aware hybrid
+	}
+	
+	public static CompressedSizeEstimator getSizeEstimator(MatrixBlock data, int numRows) 
+		throws DMLRuntimeException
+	{
+		return getSizeEstimator(data, numRows, getEstimatorType(), SAMPLING_RATIO);
+	}
+	
+	public static CompressedSizeEstimator getSizeEstimator(MatrixBlock data, int numRows, EstimatorType type, double ratio) {
+		return (type == EstimatorType.EXACT || ratio >= 1) ?
 				new CompressedSizeEstimatorExact(data):
-				new CompressedSizeEstimatorSample(data, (int) (numRows*SAMPLING_RATIO));
+				new CompressedSizeEstimatorSample(data, (int) (numRows*ratio), type);
+	}
+	
+	/**
+	 * Obtains the configured size estimator type (compressed.linalg.estimator).
+	 * 
+	 * @return size estimator type
+	 * @throws DMLRuntimeException if the configured type is invalid
+	 */
+	public static EstimatorType getEstimatorType() 
+		throws DMLRuntimeException 
+	{
+		String type = ConfigurationManager.getDMLConfig()
+				.getTextValue(DMLConfig.COMPRESSED_ESTIMATOR);
+		try {
+			return EstimatorType.valueOf(type.trim().toUpperCase());
+		}
+		catch(IllegalArgumentException ex) {
+			throw new DMLRuntimeException("Invalid compressed size estimator: "+type);
+		}
 	}
 }
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.compress.estim;
+
+import java.util.ArrayList;
+
+import org.apache.sysml.parser.DataExpression;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.compress.estim.SizeEstimatorFactory.EstimatorType;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.wink.json4j.JSONObject;
+
+/**
+ * Command line tool for the validation of the sample-based size estimators
+ * against the exact estimator on real data sets. For each input matrix
+ * (with meta data file) and estimator, the tool reports per column the
+ * estimated and exact cardinality, the ratio of estimated and exact
+ * compressed sizes, and the estimation time, as well as a summary of the
+ * size ratios (geometric mean and max of estimation errors).
+ *
+ * Usage: SizeEstimatorValidation [-ratio &lt;r&gt;] [-estimators &lt;t1,t2,...&gt;] &lt;input&gt; [&lt;input&gt; ...]
+ */
+public class SizeEstimatorValidation
+{
+	public static void main(String[] args)
+		throws Exception
+	{
+		//parse arguments
+		double ratio = SizeEstimatorFactory.SAMPLING_RATIO;
+		ArrayList<EstimatorType> types = new ArrayList<EstimatorType>();
+		ArrayList<String> inputs = new ArrayList<String>();
+		for( int i=0; i<args.length; i++ ) {
+			if( args[i].equals("-ratio") && i+1<args.length )
+				ratio = Double.parseDouble(args[++i]);
+			else if( args[i].equals("-estimators") && i+1<args.length )
+				for( String type : args[++i].split(",") )
+					types.add(EstimatorType.valueOf(type.trim().toUpperCase()));
+			else
+				inputs.add(args[i]);
+		}
+		if( inputs.isEmpty() ) {
+			System.err.println("Usage: SizeEstimatorValidation [-ratio <r>] "
+				+ "[-estimators <t1,t2,...>] <input> [<input> ...]");
+			System.exit(1);
+		}
+		if( types.isEmpty() )
+			for( EstimatorType type : EstimatorType.values() )
+				if( type != EstimatorType.EXACT )
+					types.add(type);
+
+		//validate estimators per input
+		for( String fname : inputs ) {
+			MatrixBlock mb = readMatrix(fname);
+			System.out.println("Input "+fname+" (nnz="+mb.getNonZeros()+"):");
+			runValidation(mb, types, ratio);
+		}
+	}
+
+	private static MatrixBlock readMatrix(String fname)
+		throws Exception
+	{
+		//read json meta data
+		String fnamemtd = DataExpression.getMTDFileName(fname);
+		JSONObject jmtd = new DataExpression().readMetadataFile(fnamemtd, false);
+		long rows = jmtd.getLong(DataExpression.READROWPARAM);
+		long cols = jmtd.getLong(DataExpression.READCOLPARAM);
+		int brlen = jmtd.containsKey(DataExpression.ROWBLOCKCOUNTPARAM)?
+				jmtd.getInt(DataExpression.ROWBLOCKCOUNTPARAM) : -1;
+		int bclen = jmtd.containsKey(DataExpression.COLUMNBLOCKCOUNTPARAM)?
+				jmtd.getInt(DataExpression.COLUMNBLOCKCOUNTPARAM) : -1;
+		InputInfo iinfo = InputInfo.stringExternalToInputInfo(
+				jmtd.getString(DataExpression.FORMAT_TYPE));
+
+		//read matrix (and transpose input as for compression)
+		MatrixBlock mb = DataConverter.readMatrixFromHDFS(fname, iinfo, rows, cols, brlen, bclen);
+		return !CompressedMatrixBlock.TRANSPOSE_INPUT ? mb : LibMatrixReorg.transpose(mb,
+			new MatrixBlock(mb.getNumColumns(), mb.getNumRows(), mb.isInSparseFormat()));
+	}
+
+	private static void runValidation(MatrixBlock mbt, ArrayList<EstimatorType> types, double ratio)
+		throws Exception
+	{
+		boolean trans = CompressedMatrixBlock.TRANSPOSE_INPUT;
+		int numRows = trans ? mbt.getNumColumns() : mbt.getNumRows();
+		int numCols = trans ? mbt.getNumRows() : mbt.getNumColumns();
+
+		//exact sizes per column
+		CompressedSizeEstimator exact = SizeEstimatorFactory
+			.getSizeEstimator(mbt, numRows, EstimatorType.EXACT, 1.0);
+		CompressedSizeInfo[] infos = new CompressedSizeInfo[numCols];
+		long t0 = System.nanoTime();
+		for( int j=0; j<numCols; j++ )
+			infos[j] = exact.estimateCompressedColGroupSize(new int[]{j});
+		System.out.println("  EXACT: time="+getTime(t0)+"ms");
+
+		//estimated sizes per column and estimator
+		for( EstimatorType type : types ) {
+			CompressedSizeEstimator est = SizeEstimatorFactory
+				.getSizeEstimator(mbt, numRows, type, ratio);
+			double sumLogErr = 0, maxErr = 1;
+			long t1 = System.nanoTime();
+			for( int j=0; j<numCols; j++ ) {
+				long t2 = System.nanoTime();
+				CompressedSizeInfo info = est.estimateCompressedColGroupSize(new int[]{j});
+				double sratio = (double)info.getMinSize() / infos[j].getMinSize();
+				double err = Math.max(sratio, 1/sratio);
+				sumLogErr += Math.log(err);
+				maxErr = Math.max(maxErr, err);
+				System.out.println("  "+type.name()+" (col "+(j+1)+"): card="+info.getEstCarinality()
+					+" (exact "+infos[j].getEstCarinality()+"), size ratio="+String.format("%.3f", sratio)
+					+", time="+getTime(t2)+"ms");
+			}
+			System.out.println("  "+type.name()+": mean error="+String.format("%.3f", Math.exp(sumLogErr/numCols))
+				+"x, max error="+String.format("%.3f", maxErr)+"x, time="+getTime(t1)+"ms");
+		}
+	}
+
+	private static String getTime(long t0) {
+		return String.format("%.3f", ((double)(System.nanoTime()-t0))/1000000);
+	}
+}
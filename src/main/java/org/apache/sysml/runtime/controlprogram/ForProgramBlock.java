@@ -28,6 +28,7 @@ import org.apache.sysml.parser.ForStatementBlock;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
@@ -136,23 +137,31 @@ public class ForProgramBlock extends ProgramBlock
 		{
 			// prepare update in-place variables
 			UpdateType[] flags = prepareUpdateInPlaceVariables(ec, _tid);
+			ArrayList<CacheableData<?>> loopReads = prepareLoopReadVariables(ec);
 			
-			// run for loop body for each instance of predicate sequence 
-			SequenceIterator seqIter = new SequenceIterator(iterVarName, from, to, incr);
-			for( IntObject iterVar : seqIter ) 
+			try
 			{
-				//set iteration variable
-				ec.setVariable(iterVarName, iterVar); 
+				// run for loop body for each instance of predicate sequence 
+				SequenceIterator seqIter = new SequenceIterator(iterVarName, from, to, incr);
+				for( IntObject iterVar : seqIter ) 
+				{
+					//set iteration variable
+					ec.setVariable(iterVarName, iterVar); 
+					
+					//execute all child blocks
+					for(int i=0 ; i < this._childBlocks.size() ; i++) {
+						ec.updateDebugState( i );
+						_childBlocks.get(i).execute(ec);
+					}				
+				}
 				
-				//execute all child blocks
-				for(int i=0 ; i < this._childBlocks.size() ; i++) {
-					ec.updateDebugState( i );
-					_childBlocks.get(i).execute(ec);
-				}				
+				// reset update-in-place variables
+				resetUpdateInPlaceVariableFlags(ec, flags);
+			}
+			finally {
+				// reset loop read variables (also on errors and stop)
+				resetLoopReadVariables(loopReads);
 			}
-			
-			// reset update-in-place variables
-			resetUpdateInPlaceVariableFlags(ec, flags);
 		}
 		catch (DMLScriptException e) {
 			//propagate stop call
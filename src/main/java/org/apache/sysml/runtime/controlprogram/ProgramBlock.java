@@ -34,6 +34,11 @@ import org.apache.sysml.parser.StatementBlock;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.controlprogram.caching.BufferSizeController;
+import org.apache.sysml.runtime.controlprogram.caching.CachePrefetcher;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
@@ -164,6 +169,10 @@ public class ProgramBlock
 			throw new DMLRuntimeException("Unable to recompile program block.", ex);
 		}
 		
+		//adapt buffer pool size to (recompiled) operation memory estimates
+		if( BufferSizeController.isEnabled() )
+			BufferSizeController.adjust(_sb);
+		
 		//actual instruction execution
 		executeInstructions(tmp, ec);
 	}
@@ -216,6 +225,10 @@ public class ProgramBlock
 			//indexed access required due to dynamic add
 			Instruction currInst = inst.get(i);
 			
+			//prefetch restorable inputs of subsequent instructions
+			if( CachePrefetcher.isEnabled() )
+				CachePrefetcher.prefetchInputs(inst, i, ec);
+			
 			//execute instruction
 			ec.updateDebugState(i);
 			executeSingleInstruction(currInst, ec);
@@ -356,6 +369,39 @@ public class ProgramBlock
 		return flags;
 	}
 
+	/**
+	 * Marks all data objects that are read but not updated in the loop body 
+	 * (i.e., loop-invariant reads) as loop reads for cost-aware buffer pool
+	 * eviction. The returned objects are unmarked on loop exit.
+	 * 
+	 * @param ec execution context
+	 * @return list of marked data objects, or null if not applicable
+	 */
+	protected ArrayList<CacheableData<?>> prepareLoopReadVariables(ExecutionContext ec) 
+	{
+		if( _sb == null || _sb.variablesRead() == null 
+			|| LazyWriteBuffer.getPolicy() != RPolicy.COST )
+			return null;
+		
+		ArrayList<CacheableData<?>> ret = new ArrayList<CacheableData<?>>();
+		for( String varname : _sb.variablesRead().getVariableNames() ) {
+			Data dat = ec.getVariable(varname);
+			if( dat instanceof CacheableData && !_sb.variablesUpdated().containsVariable(varname) ) {
+				CacheableData<?> cd = (CacheableData<?>) dat;
+				cd.setLoopRead(true);
+				ret.add(cd);
+			}
+		}
+		return ret;
+	}
+	
+	protected void resetLoopReadVariables(ArrayList<CacheableData<?>> vars) {
+		if( vars == null )
+			return;
+		for( CacheableData<?> cd : vars )
+			cd.setLoopRead(false);
+	}
+	
 	protected void resetUpdateInPlaceVariableFlags(ExecutionContext ec, UpdateType[] flags) 
 		throws DMLRuntimeException
 	{
@@ -27,6 +27,7 @@ import org.apache.sysml.parser.WhileStatementBlock;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
@@ -159,19 +160,27 @@ public class WhileProgramBlock extends ProgramBlock
 		{
 			// prepare update in-place variables
 			UpdateType[] flags = prepareUpdateInPlaceVariables(ec, _tid);
+			ArrayList<CacheableData<?>> loopReads = prepareLoopReadVariables(ec);
 			
-			//run loop body until predicate becomes false
-			while( executePredicate(ec).getBooleanValue() )
-			{		
-				//execute all child blocks
-				for (int i=0 ; i < _childBlocks.size() ; i++) {
-					ec.updateDebugState(i);
-					_childBlocks.get(i).execute(ec);
+			try
+			{
+				//run loop body until predicate becomes false
+				while( executePredicate(ec).getBooleanValue() )
+				{		
+					//execute all child blocks
+					for (int i=0 ; i < _childBlocks.size() ; i++) {
+						ec.updateDebugState(i);
+						_childBlocks.get(i).execute(ec);
+					}
 				}
+				
+				// reset update-in-place variables
+				resetUpdateInPlaceVariableFlags(ec, flags);
+			}
+			finally {
+				// reset loop read variables (also on errors and stop)
+				resetLoopReadVariables(loopReads);
 			}
-			
-			// reset update-in-place variables
-			resetUpdateInPlaceVariableFlags(ec, flags);
 		}
 		catch (DMLScriptException e) {
 			//propagate stop call
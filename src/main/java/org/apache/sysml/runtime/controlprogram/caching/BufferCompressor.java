@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.sysml.api.DMLScript;
+
+/**
+ * Lightweight, pure-Java block compression of serialized cache blocks in the
+ * buffer pool and eviction files. The encoding follows the LZ4 block format
+ * (sequences of literal runs and matches with 2-byte offsets), using a greedy
+ * single-probe hash table and accelerated skipping over incompressible regions.
+ * A compressed blob is prefixed with the uncompressed length, and compressed
+ * blocks are flagged in the cache block code, which makes eviction files
+ * self-describing. Blocks are only compressed if the compression ratio exceeds
+ * a minimum, otherwise the compression is aborted early and skipped.
+ */
+public class BufferCompressor
+{
+	//flag of compressed blocks in cache block codes
+	public static final int COMPRESSED_FLAG = 0x40;
+
+	//max ratio of compressed and uncompressed size (otherwise skipped)
+	public static final double MAX_COMPRESSION_RATIO = 0.8;
+
+	private static final int HEADER_SIZE = 4;     //uncompressed length
+	private static final int MIN_MATCH = 4;       //min match length
+	private static final int MAX_OFFSET = 65535;  //max match offset
+	private static final int LAST_LITERALS = 5;   //min literals at end
+	private static final int MF_LIMIT = 12;       //min bytes after match start
+	private static final int HASH_LOG = 12;       //hash table of 4K entries
+	private static final int SKIP_TRIGGER = 6;    //acceleration after 64 misses
+
+	private static final ThreadLocal<int[]> _hashTable = new ThreadLocal<int[]>() {
+		@Override
+		protected int[] initialValue() { return new int[1 << HASH_LOG]; }
+	};
+
+	public static boolean isCompressed(int code) {
+		return (code & COMPRESSED_FLAG) != 0;
+	}
+
+	public static int getCompressedCode(int code) {
+		return code | COMPRESSED_FLAG;
+	}
+
+	public static int getBlockCode(int code) {
+		return code & ~COMPRESSED_FLAG;
+	}
+
+	/**
+	 * Compresses the first len bytes of the given byte array.
+	 *
+	 * @param src serialized cache block
+	 * @param len number of bytes
+	 * @return compressed blob, or null if incompressible
+	 */
+	public static byte[] compress(byte[] src, int len)
+	{
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+
+		//compress into temporary (pooled) buffer of max compressed size
+		byte[] dst = PageCache.allocPage((int)(MAX_COMPRESSION_RATIO * len));
+		int clen = (dst.length > HEADER_SIZE) ? compress(src, len, dst) : -1;
+		byte[] ret = null;
+		if( clen > 0 ) {
+			ret = new byte[clen];
+			System.arraycopy(dst, 0, ret, 0, clen);
+		}
+		PageCache.putPage(dst);
+
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementCompressions(len, (ret!=null) ? clen : -1, System.nanoTime()-t0);
+		return ret;
+	}
+
+	/**
+	 * Decompresses the given compressed blob. The returned byte array
+	 * is obtained from the page cache and can be returned after use.
+	 *
+	 * @param src compressed blob
+	 * @return uncompressed byte array
+	 * @throws IOException if the blob is corrupted
+	 */
+	public static byte[] decompress(byte[] src)
+		throws IOException
+	{
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+
+		int len = readIntBE(src, 0);
+		byte[] dst = PageCache.allocPage(len);
+		try {
+			int ulen = decompress(src, HEADER_SIZE, src.length, dst);
+			if( ulen != len )
+				throw new IOException("Invalid uncompressed length: "+ulen+" (expected "+len+").");
+		}
+		catch(ArrayIndexOutOfBoundsException ex) {
+			throw new IOException("Corrupted compressed block.", ex);
+		}
+
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementDecompressions(System.nanoTime()-t0);
+		return dst;
+	}
+
+	private static int compress(byte[] src, int len, byte[] dst)
+	{
+		int[] table = _hashTable.get();
+		Arrays.fill(table, -1);
+		writeIntBE(dst, 0, len);
+		int op = HEADER_SIZE;
+		int ip = 0, anchor = 0;
+		int limit = len - MF_LIMIT;
+		int matchLimit = len - LAST_LITERALS;
+		int misses = 0;
+
+		//greedy match search w/ single probe hash table
+		while( ip < limit ) {
+			int seq = readIntLE(src, ip);
+			int h = (seq * -1640531535) >>> (32 - HASH_LOG);
+			int ref = table[h];
+			table[h] = ip;
+			if( ref < 0 || ip - ref > MAX_OFFSET || readIntLE(src, ref) != seq ) {
+				ip += 1 + (misses++ >>> SKIP_TRIGGER);
+				continue;
+			}
+
+			//extend match forward and backward
+			int mlen = MIN_MATCH;
+			while( ip + mlen < matchLimit && src[ref+mlen] == src[ip+mlen] )
+				mlen++;
+			while( ip > anchor && ref > 0 && src[ip-1] == src[ref-1] ) {
+				ip--; ref--; mlen++;
+			}
+
+			//emit sequence of literals and match
+			op = writeSequence(src, anchor, ip - anchor, ip - ref, mlen, dst, op);
+			if( op < 0 )
+				return -1;
+			ip += mlen;
+			anchor = ip;
+			misses = 0;
+		}
+
+		//emit last literals
+		return writeSequence(src, anchor, len - anchor, 0, 0, dst, op);
+	}
+
+	private static int writeSequence(byte[] src, int lpos, int llen, int offset, int mlen, byte[] dst, int op)
+	{
+		//check output capacity (token, lengths, literals, offset)
+		if( op + 1 + llen/255 + 1 + llen + 2 + (mlen/255 + 1) > dst.length )
+			return -1;
+
+		//write token and literal length
+		int tokenPos = op++;
+		int ml = (mlen > 0) ? mlen - MIN_MATCH : 0;
+		dst[tokenPos] = (byte)((Math.min(llen, 15) << 4) | Math.min(ml, 15));
+		if( llen >= 15 )
+			op = writeLength(llen - 15, dst, op);
+
+		//copy literals
+		System.arraycopy(src, lpos, dst, op, llen);
+		op += llen;
+
+		//write offset and match length
+		if( mlen > 0 ) {
+			dst[op++] = (byte) offset;
+			dst[op++] = (byte)(offset >>> 8);
+			if( ml >= 15 )
+				op = writeLength(ml - 15, dst, op);
+		}
+		return op;
+	}
+
+	private static int writeLength(int len, byte[] dst, int op) {
+		while( len >= 255 ) {
+			dst[op++] = (byte)255;
+			len -= 255;
+		}
+		dst[op++] = (byte)len;
+		return op;
+	}
+
+	private static int decompress(byte[] src, int ip, int end, byte[] dst)
+	{
+		int op = 0;
+		while( ip < end ) {
+			//read token and literals
+			int token = src[ip++] & 0xFF;
+			int llen = token >>> 4;
+			if( llen == 15 ) {
+				int b;
+				do { b = src[ip++] & 0xFF; llen += b; } while( b == 255 );
+			}
+			System.arraycopy(src, ip, dst, op, llen);
+			ip += llen;
+			op += llen;
+			if( ip >= end )
+				break; //last literals
+
+			//read offset and match length
+			int offset = (src[ip++] & 0xFF) | ((src[ip++] & 0xFF) << 8);
+			int mlen = token & 0x0F;
+			if( mlen == 15 ) {
+				int b;
+				do { b = src[ip++] & 0xFF; mlen += b; } while( b == 255 );
+			}
+			mlen += MIN_MATCH;
+
+			//copy match (byte-wise for overlapping matches)
+			int ref = op - offset;
+			if( offset >= mlen )
+				System.arraycopy(dst, ref, dst, op, mlen);
+			else
+				for( int i=0; i<mlen; i++ )
+					dst[op+i] = dst[ref+i];
+			op += mlen;
+		}
+		return op;
+	}
+
+	private static int readIntLE(byte[] buff, int pos) {
+		return (buff[pos] & 0xFF) | ((buff[pos+1] & 0xFF) << 8)
+			| ((buff[pos+2] & 0xFF) << 16) | ((buff[pos+3] & 0xFF) << 24);
+	}
+
+	private static int readIntBE(byte[] buff, int pos) {
+		return ((buff[pos] & 0xFF) << 24) | ((buff[pos+1] & 0xFF) << 16)
+			| ((buff[pos+2] & 0xFF) << 8) | (buff[pos+3] & 0xFF);
+	}
+
+	private static void writeIntBE(byte[] buff, int pos, int val) {
+		buff[pos]   = (byte)(val >>> 24);
+		buff[pos+1] = (byte)(val >>> 16);
+		buff[pos+2] = (byte)(val >>> 8);
+		buff[pos+3] = (byte) val;
+	}
+}
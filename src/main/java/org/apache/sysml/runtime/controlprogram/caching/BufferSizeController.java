@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.lops.LopProperties.ExecType;
+import org.apache.sysml.parser.StatementBlock;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+
+/**
+ * Adaptive sizing of the buffer pool write buffer within configurable bounds
+ * (fractions of the max heap), instead of a fixed fraction. The target size is
+ * the max heap minus a GC headroom and the memory demand of everything else,
+ * where the latter is the max of the observed live heap outside the buffer pool
+ * (usage after the last GC) and the memory estimate of the current operations
+ * (max CP operation estimate of the executed program block). The buffer shrinks
+ * immediately but grows gradually, and a collection usage threshold notification
+ * of the heap pools triggers an immediate shrink under memory pressure. The max
+ * size is capped at 1-MEM_UTIL_FACTOR of the max heap, which is not reserved for
+ * operations by the optimizer.
+ */
+public class BufferSizeController
+{
+	private static final Log LOG = LogFactory.getLog(BufferSizeController.class.getName());
+	
+	//fraction of max heap reserved as GC headroom
+	private static final double HEADROOM = 0.1;
+	
+	//min interval between heap observations (in nano sec)
+	private static final long OBSERVE_INTERVAL = 100L * 1000000;
+	
+	//min growth of the buffer size (fraction of max heap)
+	private static final double MIN_GROWTH = 0.01;
+	
+	//enabled flag (opt-in via config) and bounds in bytes
+	private static volatile boolean _enabled = false;
+	private static long _minSize = 0;
+	private static long _maxSize = 0;
+	
+	//observed heap usage and operation memory estimate in bytes
+	private static volatile long _liveHeap = 0;
+	private static volatile long _lastObserve = 0;
+	private static volatile long _opMem = 0;
+	
+	//registered listener of heap collection usage notifications
+	private static GCListener _listener = null;
+	
+	public static synchronized void init() {
+		cleanup();
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		_enabled = conf.getBooleanValue(DMLConfig.CACHING_BUFFER_ADAPTIVE);
+		if( !_enabled )
+			return;
+		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
+		double min = conf.getDoubleValue(DMLConfig.CACHING_BUFFER_MIN);
+		double max = conf.getDoubleValue(DMLConfig.CACHING_BUFFER_MAX);
+		_minSize = (long)(Math.max(Math.min(min, max), 0) * maxMem);
+		double cap = Math.min(1-OptimizerUtils.MEM_UTIL_FACTOR, 1-HEADROOM);
+		_minSize = Math.min(_minSize, (long)(cap * maxMem));
+		_maxSize = (long)(Math.min(Math.max(min, max), cap) * maxMem);
+		_opMem = 0;
+		_lastObserve = 0;
+		_listener = new GCListener();
+		_listener.register();
+		adjust();
+	}
+	
+	public static synchronized void cleanup() {
+		//restore fixed buffer size
+		if( _enabled )
+			LazyWriteBuffer.resize(LazyWriteBuffer.getWriteBufferSize());
+		_enabled = false;
+		if( _listener != null )
+			_listener.unregister();
+		_listener = null;
+	}
+	
+	public static boolean isEnabled() {
+		return _enabled;
+	}
+	
+	/**
+	 * Updates the operation memory estimate with the max memory estimate
+	 * of CP operations of the given statement block, and adjusts the
+	 * buffer size accordingly.
+	 * 
+	 * @param sb statement block of the program block to be executed
+	 */
+	public static void adjust(StatementBlock sb) {
+		if( !_enabled )
+			return;
+		try {
+			if( sb != null && sb.get_hops() != null ) {
+				IdentityHashMap<Hop, Hop> memo = new IdentityHashMap<Hop, Hop>();
+				double est = 0;
+				for( Hop hop : sb.get_hops() )
+					est = Math.max(est, getMaxOperationMemory(hop, memo));
+				_opMem = (long)Math.min(est, InfrastructureAnalyzer.getLocalMaxMemory());
+			}
+		}
+		catch(Exception ex) {
+			LOG.debug("Failed to obtain operation memory estimates.", ex);
+		}
+		adjust();
+	}
+	
+	/**
+	 * Updates the operation memory estimate and adjusts the buffer size.
+	 * 
+	 * @param opMem operation memory estimate in bytes
+	 */
+	public static void adjust(long opMem) {
+		if( !_enabled )
+			return;
+		_opMem = opMem;
+		adjust();
+	}
+	
+	public static long getOperationMemory() {
+		return _opMem;
+	}
+	
+	public static long getMinSize() {
+		return _minSize;
+	}
+	
+	public static long getMaxSize() {
+		return _maxSize;
+	}
+	
+	private static void adjust() {
+		long now = System.nanoTime();
+		if( now - _lastObserve > OBSERVE_INTERVAL ) {
+			_liveHeap = getLiveHeap();
+			_lastObserve = now;
+		}
+		adjust(_liveHeap, false);
+	}
+	
+	private static synchronized void adjust(long liveHeap, boolean pressure) {
+		if( !_enabled )
+			return;
+		
+		//compute target size (max heap minus headroom and other demand)
+		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
+		long other = Math.max(liveHeap - LazyWriteBuffer.getCurrentSize(), _opMem);
+		long target = (long)((1-HEADROOM) * maxMem) - Math.max(other, 0);
+		target = Math.max(Math.min(target, _maxSize), _minSize);
+		
+		//shrink immediately, grow gradually (but not under memory pressure)
+		long limit = LazyWriteBuffer.getLimit();
+		long newLimit = limit;
+		if( target < limit )
+			newLimit = target;
+		else if( !pressure && target - limit > MIN_GROWTH * maxMem )
+			newLimit = limit + (target - limit) / 2;
+		else if( !pressure && target == _maxSize )
+			newLimit = target;
+		if( newLimit != limit ) {
+			LazyWriteBuffer.resize(newLimit);
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementBufferResizes(newLimit < limit);
+			if( LOG.isTraceEnabled() )
+				LOG.trace("Resized buffer pool from "+limit+" to "+newLimit+" bytes (live heap="
+					+liveHeap+", op mem="+_opMem+(pressure?", gc pressure":"")+").");
+		}
+	}
+	
+	private static double getMaxOperationMemory(Hop hop, IdentityHashMap<Hop, Hop> memo) {
+		if( memo.containsKey(hop) )
+			return 0;
+		double ret = 0;
+		for( Hop in : hop.getInput() )
+			ret = Math.max(ret, getMaxOperationMemory(in, memo));
+		if( hop.getExecType() == ExecType.CP && hop.isMemEstimated() )
+			ret = Math.max(ret, hop.getMemEstimate());
+		memo.put(hop, hop);
+		return ret;
+	}
+	
+	private static List<MemoryPoolMXBean> getHeapPools() {
+		List<MemoryPoolMXBean> ret = new ArrayList<MemoryPoolMXBean>();
+		for( MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans() )
+			if( pool.getType() == MemoryType.HEAP && pool.isValid() )
+				ret.add(pool);
+		return ret;
+	}
+	
+	/**
+	 * Returns the live heap usage, i.e., the usage after the last GC of all
+	 * heap pools (or the current usage if unavailable).
+	 * 
+	 * @return live heap in bytes
+	 */
+	private static long getLiveHeap() {
+		long ret = 0;
+		for( MemoryPoolMXBean pool : getHeapPools() ) {
+			MemoryUsage usage = pool.getCollectionUsage();
+			ret += (usage != null) ? usage.getUsed() : pool.getUsage().getUsed();
+		}
+		return ret;
+	}
+	
+	/**
+	 * Listener of heap collection usage threshold notifications, where the
+	 * thresholds are set to the max pool sizes minus the GC headroom, and
+	 * the previous thresholds (e.g., of other monitoring tools) are restored
+	 * on unregister.
+	 */
+	private static class GCListener implements NotificationListener
+	{
+		//previous collection usage thresholds by pool name
+		private final HashMap<String, Long> _thresholds = new HashMap<String, Long>();
+		
+		public void register() {
+			for( MemoryPoolMXBean pool : getHeapPools() )
+				if( pool.isCollectionUsageThresholdSupported() && pool.getUsage().getMax() > 0 ) {
+					_thresholds.put(pool.getName(), pool.getCollectionUsageThreshold());
+					pool.setCollectionUsageThreshold((long)((1-HEADROOM) * pool.getUsage().getMax()));
+				}
+			((NotificationEmitter)ManagementFactory.getMemoryMXBean())
+				.addNotificationListener(this, null, null);
+		}
+		
+		public void unregister() {
+			try {
+				((NotificationEmitter)ManagementFactory.getMemoryMXBean())
+					.removeNotificationListener(this);
+				for( MemoryPoolMXBean pool : getHeapPools() )
+					if( _thresholds.containsKey(pool.getName()) )
+						pool.setCollectionUsageThreshold(_thresholds.get(pool.getName()));
+				_thresholds.clear();
+			}
+			catch(Exception ex) {
+				LOG.debug("Failed to unregister gc listener.", ex);
+			}
+		}
+		
+		@Override
+		public void handleNotification(Notification notification, Object handback) {
+			if( MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED
+				.equals(notification.getType()) ) 
+			{
+				//shrink buffer pool under memory pressure
+				_liveHeap = getLiveHeap();
+				_lastObserve = System.nanoTime();
+				adjust(_liveHeap, true);
+			}
+		}
+	}
+}
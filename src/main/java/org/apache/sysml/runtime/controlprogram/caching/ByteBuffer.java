@@ -25,7 +25,6 @@ import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.IOException;
 
-import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
@@ -39,33 +38,49 @@ public class ByteBuffer
 	private boolean _serialized;	
 	private boolean _shallow;
 	private boolean _matrix;
+	private int _code;
+	private boolean _compress;
+	private boolean _compressed;
 	private long _size;
+	private int _pins = 0;        //number of concurrent readers
+	private boolean _freed = false;
 	
 	protected byte[]     _bdata = null; //sparse matrix
 	protected CacheBlock _cdata = null; //dense matrix/frame
 	
+	//meta data for cost-aware eviction
+	private CacheableData<?> _owner = null;
+	private double _priorityBase = 0;
+	
 	public ByteBuffer( long size ) {
+		this(size, false);
+	}
+	
+	public ByteBuffer( long size, boolean compress ) {
 		_size = size;
+		_compress = compress && size <= Integer.MAX_VALUE;
 		_serialized = false;
 	}
 
 	public void serializeBlock( CacheBlock cb ) 
 		throws IOException
 	{	
-		_shallow = cb.isShallowSerialize();
 		_matrix = (cb instanceof MatrixBlock);
+		_code = CacheBlockFactory.getCode(cb);
+		_shallow = cb.isShallowSerialize() && !_compress;
 		
 		try
 		{
 			if( !_shallow ) //SPARSE/DENSE -> SPARSE
 			{
 				//deep serialize (for compression)
-				if( CacheableData.CACHING_BUFFER_PAGECACHE )
-					_bdata = PageCache.getPage((int)_size);
-				if( _bdata==null )
-					_bdata = new byte[(int)_size];
+				_bdata = PageCache.allocPage((int)_size);
 				DataOutput dout = new CacheDataOutput(_bdata);
 				cb.write(dout);
+				
+				//lightweight compression (if compressible)
+				if( _compress )
+					compressBuffer(cb);
 			}
 			else //SPARSE/DENSE -> DENSE
 			{
@@ -80,15 +95,35 @@ public class ByteBuffer
 		_serialized = true;
 	}
 
+	private void compressBuffer( CacheBlock cb ) {
+		byte[] cdata = BufferCompressor.compress(_bdata, (int)_size);
+		if( cdata == null && !cb.isShallowSerialize() )
+			return; //keep uncompressed bytes
+		
+		//replace serialized bytes by compressed bytes, or fall back
+		//to shallow serialize for incompressible dense blocks
+		PageCache.putPage(_bdata);
+		_bdata = cdata;
+		_compressed = (cdata != null);
+		if( !_compressed ) {
+			_cdata = cb;
+			_shallow = true;
+		}
+	}
+	
 	public CacheBlock deserializeBlock() 
 		throws IOException
 	{
 		CacheBlock ret = null;
 		
-		if( !_shallow ) { //sparse matrix / string frame
+		if( _compressed ) { //compressed matrix / frame
+			ret = CacheBlockFactory.newInstance(
+				BufferCompressor.getCompressedCode(_code), _bdata);
+		}
+		else if( !_shallow ) { //sparse matrix / string frame
 			DataInput din = _matrix ? new CacheDataInput(_bdata) :
 				new DataInputStream(new ByteArrayInputStream(_bdata));
-			ret = _matrix ? new MatrixBlock() : new FrameBlock();
+			ret = CacheBlockFactory.newInstance(_code);
 			ret.readFields(din);
 		}
 		else { //dense matrix/frame
@@ -98,12 +133,23 @@ public class ByteBuffer
 		return ret;
 	}
 
+	public boolean evictBuffer( String fname, MappedEvictionStore store ) 
+		throws IOException
+	{
+		//write to memory-mapped store if supported, otherwise to local file
+		boolean mapped = (store != null) && (!_shallow ? 
+			store.writeBytes(fname, getFileCode(), _bdata) : store.writeBlock(fname, _cdata));
+		if( !mapped )
+			evictBuffer(fname);
+		return mapped;
+	}
+	
 	public void evictBuffer( String fname ) 
 		throws IOException
 	{
 		if( !_shallow ) {
-			//write out byte serialized array
-			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+			//write out byte serialized array (compressed blocks as is)
+			LocalFileUtils.writeCacheBlockToLocal(fname, getFileCode(), _bdata);
 		}
 		else {
 			//serialize cache block to output stream
@@ -111,6 +157,10 @@ public class ByteBuffer
 		}
 	}
 	
+	private int getFileCode() {
+		return _compressed ? BufferCompressor.getCompressedCode(_code) : _code;
+	}
+	
 	/**
 	 * Returns the buffer size in bytes.
 	 * 
@@ -119,16 +169,73 @@ public class ByteBuffer
 	public long getSize() {
 		return _size;
 	}
+	
+	/**
+	 * Shrinks the buffer size to the compressed size, if compressed.
+	 * NOTE: the caller is responsible for the buffer pool accounting.
+	 * 
+	 * @return number of released bytes
+	 */
+	public long shrinkToCompressedSize() {
+		if( !_compressed || _bdata == null )
+			return 0;
+		long delta = _size - _bdata.length;
+		_size = _bdata.length;
+		return delta;
+	}
+	
+	public boolean isCompressed() {
+		return _compressed;
+	}
 
 	public boolean isShallow() {
 		return _shallow;
 	}
 	
-	public void freeMemory()
+	public CacheableData<?> getOwner() {
+		return _owner;
+	}
+	
+	public void setOwner(CacheableData<?> owner) {
+		_owner = owner;
+	}
+	
+	public double getPriorityBase() {
+		return _priorityBase;
+	}
+	
+	public void setPriorityBase(double base) {
+		_priorityBase = base;
+	}
+	
+	/**
+	 * Pins the buffer for a reader that deserializes outside the
+	 * buffer pool critical section, which defers the release of the
+	 * buffer memory (i.e., page reuse) until unpinned.
+	 */
+	public synchronized void pin() {
+		_pins++;
+	}
+	
+	public synchronized void unpin() {
+		if( --_pins == 0 && _freed )
+			releaseMemory();
+	}
+	
+	public synchronized void freeMemory()
 	{
 		//clear strong references to buffer/matrix
+		//(deferred if pinned by concurrent readers)
+		_owner = null;
+		_freed = true;
+		if( _pins == 0 )
+			releaseMemory();
+	}
+	
+	private void releaseMemory() {
 		if( !_shallow ) {
-			if( CacheableData.CACHING_BUFFER_PAGECACHE )
+			//return uncompressed pages for reuse
+			if( !_compressed )
 				PageCache.putPage(_bdata);
 			_bdata = null;
 		}
@@ -19,8 +19,13 @@
 
 package org.apache.sysml.runtime.controlprogram.caching;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
@@ -37,12 +42,42 @@ public class CacheBlockFactory
 		switch( code ) {
 			case 0: return new MatrixBlock();
 			case 1: return new FrameBlock();
+			case 2: return new CompressedMatrixBlock();
 		}
 		throw new RuntimeException("Unsupported cache block type: "+code);
 	}
 
+	/**
+	 * Creates a new matrix/frame block of the given code and deserializes
+	 * it from the given byte array, which is decompressed if the code 
+	 * indicates a compressed block.
+	 * 
+	 * @param code cache block code (optionally flagged as compressed)
+	 * @param data serialized cache block
+	 * @return cache block
+	 * @throws IOException if IOException occurs
+	 */
+	public static CacheBlock newInstance(int code, byte[] data) 
+		throws IOException 
+	{
+		boolean compressed = BufferCompressor.isCompressed(code);
+		if( compressed )
+			data = BufferCompressor.decompress(data);
+		CacheBlock ret = newInstance(BufferCompressor.getBlockCode(code));
+		DataInput din = (ret instanceof MatrixBlock) ? new CacheDataInput(data) :
+			new DataInputStream(new ByteArrayInputStream(data));
+		ret.readFields(din);
+		
+		//return decompressed bytes for reuse (deep copied on read)
+		if( compressed )
+			PageCache.putPage(data);
+		return ret;
+	}
+
 	public static int getCode(CacheBlock block) {
-		if( block instanceof MatrixBlock )
+		if( block instanceof CompressedMatrixBlock )
+			return 2;
+		else if( block instanceof MatrixBlock )
 			return 0;
 		else if( block instanceof FrameBlock )
 			return 1;
@@ -52,7 +87,8 @@ public class CacheBlockFactory
 	public static ArrayList<?> getPairList(CacheBlock block) {
 		int code = getCode(block);
 		switch( code ) {
-			case 0: return new ArrayList<Pair<MatrixIndexes,MatrixBlock>>();
+			case 0:
+			case 2: return new ArrayList<Pair<MatrixIndexes,MatrixBlock>>();
 			case 1: return new ArrayList<Pair<Long,FrameBlock>>();
 		}
 		throw new RuntimeException("Unsupported cache block type: "+code);
@@ -24,6 +24,7 @@ import java.io.IOException;
 
 import org.apache.sysml.runtime.matrix.data.MatrixBlockDataInput;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.FastByteArrayCodec;
 
 public class CacheDataInput implements DataInput, MatrixBlockDataInput
 {
@@ -77,17 +78,20 @@ public class CacheDataInput implements DataInput, MatrixBlockDataInput
 
 	@Override
 	public short readShort() throws IOException {
-		throw new IOException("Not supported.");
+		return (short)readUnsignedShort();
 	}
 
 	@Override
 	public int readUnsignedShort() throws IOException {
-		throw new IOException("Not supported.");
+		int ret = baToShort(_buff, _count);
+		_count += 2;
+		
+		return ret;
 	}
 
 	@Override
 	public char readChar() throws IOException {
-		throw new IOException("Not supported.");
+		return (char)readUnsignedShort();
 	}
 
 	@Override
@@ -144,20 +148,9 @@ public class CacheDataInput implements DataInput, MatrixBlockDataInput
 	public long readDoubleArray(int len, double[] varr) 
 		throws IOException 
 	{
-		//counter for non-zero elements
-		long nnz = 0;
-		
-		int off = _count;
-		for( int i=0; i<len; i++ ) 
-		{
-			//core deserialization
-			long tmp = baToLong(_buff, off+i*8);
-			varr[i] = Double.longBitsToDouble( tmp );
-			
-			//nnz maintenance
-			nnz += (varr[i]!=0) ? 1 : 0; 
-		}
-		_count = off + len*8;
+		//deserialize entire array from buffer (bulk conversion, incl nnz maintenance)
+		long nnz = FastByteArrayCodec.baToDoubleArray(_buff, _count, varr, 0, len);
+		_count += len*8;
 		
 		return nnz;
 	}
@@ -176,18 +169,9 @@ public class CacheDataInput implements DataInput, MatrixBlockDataInput
 			
 			if( lnnz > 0 ) //non-zero row
 			{
-				//get handle to sparse (allocate if necessary)
-				rows.allocate(i, lnnz);
-				
-				//read single sparse row
-				for( int j=0; j<lnnz; j++ ) 
-				{	
-					int aix = baToInt(_buff, _count);
-					long tmp = baToLong(_buff, _count+4);
-					double aval = Double.longBitsToDouble( tmp );
-					rows.append(i, aix, aval);
-					_count+=12;
-				}
+				//read single sparse row (bulk conversion)
+				FastByteArrayCodec.baToSparseRow(_buff, _count, rows, i, lnnz);
+				_count += lnnz*12;
 				
 				nnz += lnnz;	
 			}
@@ -196,6 +180,13 @@ public class CacheDataInput implements DataInput, MatrixBlockDataInput
 		return nnz;
 	}
 
+	private static int baToShort( byte[] ba, final int off )
+	{
+		//shift and add 2 bytes into single (unsigned) short
+		return ((ba[off+0] & 0xFF) << 8) +
+			   ((ba[off+1] & 0xFF) << 0);
+	}
+
 	private static int baToInt( byte[] ba, final int off )
 	{
 		//shift and add 4 bytes into single int
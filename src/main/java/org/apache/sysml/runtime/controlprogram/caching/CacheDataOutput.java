@@ -26,6 +26,7 @@ import java.io.UTFDataFormatException;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.matrix.data.MatrixBlockDataOutput;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.FastByteArrayCodec;
 
 /**
  * Custom DataOutput to serialize directly into the given byte array.
@@ -91,7 +92,8 @@ public class CacheDataOutput implements DataOutput, MatrixBlockDataOutput
 
 	@Override
 	public void writeChar(int v) throws IOException {
-		throw new IOException("Not supported.");
+		shortToBa(v, _buff, _count);
+		_count += 2;
 	}
 
 	@Override
@@ -151,18 +153,11 @@ public class CacheDataOutput implements DataOutput, MatrixBlockDataOutput
 	public void writeDoubleArray(int len, double[] varr) 
 		throws IOException
 	{
-		//original buffer offset
-		int off = _count;
-		
-		//serialize entire array into buffer
-		for( int i=0; i<len; i++ )
-		{
-		    long tmp = Double.doubleToRawLongBits(varr[i]);
-		    longToBa(tmp, _buff, off+i*8);
-		}
+		//serialize entire array into buffer (bulk conversion)
+		FastByteArrayCodec.doubleArrayToBa(varr, 0, len, _buff, _count);
 		
 		//update buffer offset
-		_count = off + len*8;
+		_count += len*8;
 	}
 	
 	@Override
@@ -182,14 +177,10 @@ public class CacheDataOutput implements DataOutput, MatrixBlockDataOutput
 				double[] avals = rows.values(i);
 				
 				writeInt( alen );
-
-				for( int j=apos; j<apos+alen; j++ )
-				{
-					intToBa(aix[j], _buff, _count);
-					long tmp2 = Double.doubleToRawLongBits(avals[j]);
-					longToBa(tmp2, _buff, _count+4);
-					_count += 12;
-				}	
+				
+				//serialize entire row into buffer (bulk conversion)
+				FastByteArrayCodec.sparseRowToBa(aix, avals, apos, alen, _buff, _count);
+				_count += alen*12;
 			}
 			else 
 				writeInt( 0 );
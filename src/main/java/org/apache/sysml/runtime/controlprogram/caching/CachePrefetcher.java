@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+
+/**
+ * Prefetcher for matrix inputs of upcoming instructions. Before executing an
+ * instruction, we look ahead a few instructions of the current program block and
+ * asynchronously restore matrix inputs that are evicted (buffer pool, local files)
+ * or not yet read (HDFS) into the soft reference cache. The lookahead stops at
+ * any instruction with unknown outputs (e.g., MR/Spark jobs, function calls),
+ * inputs produced within the lookahead window are skipped, and the total size of
+ * in-flight prefetches is bounded by the local memory budget. Pending prefetches
+ * are cancelled if the data object is cleared (e.g., on rmvar).
+ */
+public class CachePrefetcher
+{
+	private static final Log LOG = LogFactory.getLog(CachePrefetcher.class.getName());
+
+	//enabled flag (opt-in via config)
+	private static volatile boolean _enabled = false;
+
+	//thread pool of daemon prefetch threads
+	private static ExecutorService _pool = null;
+
+	//in-flight prefetches (by object identity) and their total size in bytes
+	private static final ConcurrentHashMap<MatrixObject, PrefetchTask> _inflight =
+		new ConcurrentHashMap<MatrixObject, PrefetchTask>();
+	private static final AtomicLong _inflightSize = new AtomicLong(0);
+
+	public static synchronized void init() {
+		cleanup();
+		_enabled = ConfigurationManager.getDMLConfig()
+			.getBooleanValue(DMLConfig.CACHING_PREFETCH);
+		if( _enabled ) {
+			_pool = Executors.newFixedThreadPool(
+				CacheableData.CACHING_PREFETCH_THREADS, new PrefetchThreadFactory());
+		}
+	}
+
+	public static synchronized void cleanup() {
+		_enabled = false;
+		if( _pool != null )
+			_pool.shutdownNow();
+		_pool = null;
+		_inflight.clear();
+		_inflightSize.set(0);
+	}
+
+	public static boolean isEnabled() {
+		return _enabled;
+	}
+
+	/**
+	 * Returns the number of in-flight prefetches.
+	 * NOTE: use only for debugging or testing.
+	 *
+	 * @return number of in-flight prefetches
+	 */
+	public static int getNumInflight() {
+		return _inflight.size();
+	}
+
+	/**
+	 * Cancels the pending prefetch of the given data object, if any. Called
+	 * with the monitor of the data object held (e.g., on clear data), which
+	 * guarantees that the data object is not restored after the cancel.
+	 *
+	 * @param cd cacheable data object
+	 */
+	public static void cancel(CacheableData<?> cd) {
+		if( _inflight.isEmpty() )
+			return;
+		PrefetchTask task = _inflight.get(cd);
+		if( task != null )
+			task.cancel();
+	}
+
+	/**
+	 * Issues asynchronous prefetches for restorable matrix inputs of the
+	 * instructions following the given position.
+	 *
+	 * @param inst list of instructions of the current program block
+	 * @param pos position of the instruction to be executed next
+	 * @param ec execution context
+	 */
+	public static void prefetchInputs(ArrayList<Instruction> inst, int pos, ExecutionContext ec)
+	{
+		ExecutorService pool = _pool;
+		if( !_enabled || pool == null )
+			return;
+
+		//outputs of the current instruction and the lookahead window
+		HashSet<String> outputs = new HashSet<String>();
+		long budget = -1;
+
+		int end = Math.min(pos+CacheableData.CACHING_PREFETCH_LOOKAHEAD, inst.size()-1);
+		for( int i=pos; i<=end; i++ )
+		{
+			Instruction tmp = inst.get(i);
+			if( tmp instanceof VariableCPInstruction ) {
+				//meta data operations (incl targets of cpvar/mvvar)
+				VariableCPInstruction vinst = (VariableCPInstruction) tmp;
+				if( vinst.getInput2() != null )
+					outputs.add(vinst.getInput2().getName());
+				if( vinst.getOutputVariableName() != null )
+					outputs.add(vinst.getOutputVariableName());
+				continue;
+			}
+			if( !(tmp instanceof ComputationCPInstruction) )
+				break; //unknown outputs
+
+			ComputationCPInstruction cinst = (ComputationCPInstruction) tmp;
+			if( i > pos ) {
+				for( CPOperand in : new CPOperand[]{cinst.input1, cinst.input2, cinst.input3} ) {
+					if( in == null || !in.getDataType().isMatrix() || outputs.contains(in.getName()) )
+						continue;
+					Data dat = ec.getVariable(in.getName());
+					if( !(dat instanceof MatrixObject) || _inflight.containsKey(dat) )
+						continue;
+					MatrixObject mo = (MatrixObject) dat;
+					MatrixCharacteristics mc = mo.getMatrixCharacteristics();
+					if( !mc.dimsKnown() )
+						continue;
+					long size = OptimizerUtils.estimateSizeExactSparsity(mc);
+					if( budget < 0 ) //lazy probe of memory budget
+						budget = (long)OptimizerUtils.getLocalMemBudget() - _inflightSize.get();
+					if( size > budget || !mo.isPrefetchable() )
+						continue;
+					PrefetchTask task = new PrefetchTask(mo, size);
+					if( _inflight.putIfAbsent(mo, task) != null )
+						continue;
+
+					//issue asynchronous prefetch
+					budget -= size;
+					_inflightSize.addAndGet(size);
+					if( DMLScript.STATISTICS )
+						CacheStatistics.incrementPrefetches(false);
+					task.setFuture(pool.submit(task));
+				}
+			}
+			if( cinst.output != null )
+				outputs.add(cinst.output.getName());
+		}
+	}
+
+	private static class PrefetchTask implements Runnable
+	{
+		private final MatrixObject _mo;
+		private final long _size;
+		private final AtomicBoolean _released = new AtomicBoolean(false);
+		private volatile boolean _cancelled = false;
+		private volatile Future<?> _future = null;
+
+		public PrefetchTask(MatrixObject mo, long size) {
+			_mo = mo;
+			_size = size;
+		}
+
+		public void setFuture(Future<?> future) {
+			_future = future;
+			if( _cancelled )
+				future.cancel(false);
+		}
+
+		public void cancel() {
+			_cancelled = true;
+			Future<?> future = _future;
+			if( future != null )
+				future.cancel(false);
+			release();
+		}
+
+		@Override
+		public void run() {
+			try {
+				//check for cancel under the monitor of the data object
+				synchronized( _mo ) {
+					if( !_cancelled && _mo.prefetch() && DMLScript.STATISTICS )
+						CacheStatistics.incrementPrefetches(true);
+				}
+			}
+			catch(Exception ex) {
+				//prefetch is best effort (restore on acquire)
+				LOG.debug("Failed to prefetch "+_mo.getVarName()+".", ex);
+			}
+			finally {
+				release();
+			}
+		}
+
+		private void release() {
+			if( _released.compareAndSet(false, true) ) {
+				_inflightSize.addAndGet(-_size);
+				_inflight.remove(_mo, this);
+			}
+		}
+	}
+
+	private static class PrefetchThreadFactory implements ThreadFactory
+	{
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "SystemML-Prefetcher");
+			t.setDaemon(true);
+			return t;
+		}
+	}
+}
@@ -20,11 +20,15 @@
 package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * This singleton provides basic caching statistics in CP.
  * 
  * 1) Hit statistics for caching (mem, fs, hdfs, total)
+ * 2) Eviction statistics (sync, async, latency histogram)
+ * 3) Prefetch statistics (issued, restored)
+ * 4) Compression statistics (blocks, skipped, bytes, times)
  * 
  * NOTE: In order to provide accurate statistics in multi-threaded
  * synchronized increments are required. Since those functions are 
@@ -67,6 +71,39 @@ public class CacheStatistics
 	private static AtomicLong _ctimeAcquireM   = null; //in nano sec
 	private static AtomicLong _ctimeRelease    = null; //in nano sec
 	private static AtomicLong _ctimeExport     = null; //in nano sec
+	
+	//eviction statistics (sync by writer, async by background evictor)
+	private static AtomicLong _numEvictSync    = null;
+	private static AtomicLong _numEvictAsync   = null;
+	private static AtomicLongArray _evictLatHist = null; //see EVICT_LAT_BOUNDS
+	
+	//prefetch statistics (issued by lookahead, restored by prefetch threads)
+	private static AtomicLong _numPrefetchIssued = null;
+	private static AtomicLong _numPrefetchDone   = null;
+	
+	//compression statistics (compressed and skipped blocks, bytes, times)
+	private static AtomicLong _numCompressed     = null;
+	private static AtomicLong _numCompressSkip   = null;
+	private static AtomicLong _compressBytesIn   = null;
+	private static AtomicLong _compressBytesOut  = null;
+	private static AtomicLong _ctimeCompress     = null; //in nano sec
+	private static AtomicLong _ctimeDecompress   = null; //in nano sec
+	
+	//page cache statistics (pooled page hits, misses, dropped pages)
+	private static AtomicLong _numPageHits       = null;
+	private static AtomicLong _numPageMisses     = null;
+	private static AtomicLong _numPageDrops      = null;
+	
+	//adaptive buffer size statistics (number of grow/shrink resizes)
+	private static AtomicLong _numBufferGrow     = null;
+	private static AtomicLong _numBufferShrink   = null;
+	
+	//export deduplication statistics (skipped writes by lineage or content)
+	private static AtomicLong _numExportSkipLin  = null;
+	private static AtomicLong _numExportSkipCont = null;
+	
+	//upper bounds of eviction latency histogram buckets (in milli sec)
+	private static final long[] EVICT_LAT_BOUNDS = new long[]{1, 10, 100, 1000};
 
 	static
 	{
@@ -89,6 +126,30 @@ public class CacheStatistics
 		_ctimeAcquireM = new AtomicLong(0);
 		_ctimeRelease = new AtomicLong(0);
 		_ctimeExport = new AtomicLong(0);
+		
+		_numEvictSync = new AtomicLong(0);
+		_numEvictAsync = new AtomicLong(0);
+		_evictLatHist = new AtomicLongArray(EVICT_LAT_BOUNDS.length+1);
+		
+		_numPrefetchIssued = new AtomicLong(0);
+		_numPrefetchDone = new AtomicLong(0);
+		
+		_numCompressed = new AtomicLong(0);
+		_numCompressSkip = new AtomicLong(0);
+		_compressBytesIn = new AtomicLong(0);
+		_compressBytesOut = new AtomicLong(0);
+		_ctimeCompress = new AtomicLong(0);
+		_ctimeDecompress = new AtomicLong(0);
+		
+		_numPageHits = new AtomicLong(0);
+		_numPageMisses = new AtomicLong(0);
+		_numPageDrops = new AtomicLong(0);
+		
+		_numBufferGrow = new AtomicLong(0);
+		_numBufferShrink = new AtomicLong(0);
+		
+		_numExportSkipLin = new AtomicLong(0);
+		_numExportSkipCont = new AtomicLong(0);
 	}
 	
 	public static void incrementTotalHits()
@@ -253,6 +314,144 @@ public class CacheStatistics
 	}
 	
 
+	public static void incrementEvictions(boolean async, long latency)
+	{
+		if( async )
+			_numEvictAsync.incrementAndGet();
+		else
+			_numEvictSync.incrementAndGet();
+		
+		//determine histogram bucket (latency in nano sec)
+		int pos = 0;
+		while( pos < EVICT_LAT_BOUNDS.length && latency >= EVICT_LAT_BOUNDS[pos]*1000000 )
+			pos++;
+		_evictLatHist.incrementAndGet(pos);
+	}
+	
+	public static long getSyncEvictions()
+	{
+		return _numEvictSync.get();
+	}
+	
+	public static long getAsyncEvictions()
+	{
+		return _numEvictAsync.get();
+	}
+	
+	public static void incrementPrefetches(boolean done)
+	{
+		if( done )
+			_numPrefetchDone.incrementAndGet();
+		else
+			_numPrefetchIssued.incrementAndGet();
+	}
+	
+	public static long getIssuedPrefetches()
+	{
+		return _numPrefetchIssued.get();
+	}
+	
+	public static long getDonePrefetches()
+	{
+		return _numPrefetchDone.get();
+	}
+	
+	public static void incrementCompressions(long bytesIn, long bytesOut, long time)
+	{
+		//negative output size indicates skipped (incompressible) blocks
+		if( bytesOut >= 0 ) {
+			_numCompressed.incrementAndGet();
+			_compressBytesIn.addAndGet(bytesIn);
+			_compressBytesOut.addAndGet(bytesOut);
+		}
+		else
+			_numCompressSkip.incrementAndGet();
+		_ctimeCompress.addAndGet(time);
+	}
+	
+	public static void incrementDecompressions(long time)
+	{
+		_ctimeDecompress.addAndGet(time);
+	}
+	
+	public static long getCompressedBlocks()
+	{
+		return _numCompressed.get();
+	}
+	
+	public static long getCompressSkippedBlocks()
+	{
+		return _numCompressSkip.get();
+	}
+	
+	public static double getCompressionRatio()
+	{
+		long out = _compressBytesOut.get();
+		return (out > 0) ? (double)_compressBytesIn.get() / out : 1;
+	}
+	
+	public static void incrementPageRequests(boolean hit)
+	{
+		if( hit )
+			_numPageHits.incrementAndGet();
+		else
+			_numPageMisses.incrementAndGet();
+	}
+	
+	public static void incrementPageDrops()
+	{
+		_numPageDrops.incrementAndGet();
+	}
+	
+	public static long getPageHits()
+	{
+		return _numPageHits.get();
+	}
+	
+	public static long getPageMisses()
+	{
+		return _numPageMisses.get();
+	}
+	
+	public static long getPageDrops()
+	{
+		return _numPageDrops.get();
+	}
+	
+	public static void incrementBufferResizes(boolean shrink)
+	{
+		if( shrink )
+			_numBufferShrink.incrementAndGet();
+		else
+			_numBufferGrow.incrementAndGet();
+	}
+	
+	public static long getBufferResizes()
+	{
+		return _numBufferGrow.get() + _numBufferShrink.get();
+	}
+	
+	public static void incrementExportSkips(boolean content)
+	{
+		if( content )
+			_numExportSkipCont.incrementAndGet();
+		else
+			_numExportSkipLin.incrementAndGet();
+	}
+	
+	public static long getExportSkips()
+	{
+		return _numExportSkipLin.get() + _numExportSkipCont.get();
+	}
+	
+	public static long[] getEvictionLatencyHistogram()
+	{
+		long[] ret = new long[_evictLatHist.length()];
+		for( int i=0; i<ret.length; i++ )
+			ret[i] = _evictLatHist.get(i);
+		return ret;
+	}
+
 	public static String displayHits()
 	{	
 		StringBuilder sb = new StringBuilder();
@@ -297,5 +496,95 @@ public class CacheStatistics
 		return sb.toString();
 	}
 	
+	public static String displayEvictions()
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numEvictSync.get());
+		sb.append("/");
+		sb.append(_numEvictAsync.get());
+		
+		return sb.toString();
+	}
+	
+	public static String displayEvictionLatency()
+	{
+		StringBuilder sb = new StringBuilder();
+		for( int i=0; i<_evictLatHist.length(); i++ ) {
+			if( i > 0 )
+				sb.append("/");
+			sb.append(_evictLatHist.get(i));
+		}
+		
+		return sb.toString();
+	}
+	
+	public static String displayPrefetches()
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numPrefetchIssued.get());
+		sb.append("/");
+		sb.append(_numPrefetchDone.get());
+		
+		return sb.toString();
+	}
+	
+	public static String displayCompression()
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numCompressed.get());
+		sb.append("/");
+		sb.append(_numCompressSkip.get());
+		sb.append("/");
+		sb.append(String.format("%.2f", getCompressionRatio()));
+		
+		return sb.toString();
+	}
+	
+	public static String displayCompressionTime()
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%.3f", ((double)_ctimeCompress.get())/1000000000)); //in sec
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimeDecompress.get())/1000000000)); //in sec
+		
+		return sb.toString();
+	}
+	
+	public static String displayBufferResizes()
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numBufferGrow.get());
+		sb.append("/");
+		sb.append(_numBufferShrink.get());
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)LazyWriteBuffer.getLimit())/1048576)); //in MB
+		
+		return sb.toString();
+	}
+	
+	public static String displayExportSkips()
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numExportSkipLin.get());
+		sb.append("/");
+		sb.append(_numExportSkipCont.get());
+		
+		return sb.toString();
+	}
+	
+	public static String displayPageCache()
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numPageHits.get());
+		sb.append("/");
+		sb.append(_numPageMisses.get());
+		sb.append("/");
+		sb.append(_numPageDrops.get());
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)PageCache.getSize())/1048576)); //in MB
+		
+		return sb.toString();
+	}
+	
 	
 }
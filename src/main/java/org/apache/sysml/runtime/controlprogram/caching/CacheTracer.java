@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+
+/**
+ * Optional per-variable trace of buffer pool events, i.e., acquire read/modify,
+ * release, evict, and restore with variable name, size, latency, and source or
+ * target location. The tracer maintains per-variable aggregates for a summary of
+ * the top thrashing variables (most evictions and restores) in the statistics
+ * output, and optionally appends all events to a local csv file.
+ */
+public class CacheTracer
+{
+	private static final Log LOG = LogFactory.getLog(CacheTracer.class.getName());
+	
+	public enum EventType {
+		ACQUIRE_READ,
+		ACQUIRE_MODIFY,
+		RELEASE,
+		EVICT,
+		RESTORE,
+	}
+	
+	public enum Location {
+		MEM,    //in-memory (incl soft reference cache)
+		BUFFER, //buffer pool
+		MMAP,   //memory-mapped eviction store
+		FS,     //local eviction file
+		HDFS,   //persistent read
+		RDD,    //spark rdd
+		NONE,   //new data
+	}
+	
+	//enabled flag (opt-in via config)
+	private static volatile boolean _enabled = false;
+	
+	//per-variable aggregates and optional event dump
+	private static final ConcurrentHashMap<String, VarTrace> _vars = 
+		new ConcurrentHashMap<String, VarTrace>();
+	private static BufferedWriter _dump = null;
+	private static long _tstart = 0;
+	
+	//location of the last restore per thread (set by the buffer pool)
+	private static final ThreadLocal<Location> _restoreLoc = new ThreadLocal<Location>();
+	
+	public static synchronized void init() {
+		cleanup();
+		_vars.clear();
+		_tstart = System.nanoTime();
+		_enabled = ConfigurationManager.getDMLConfig()
+			.getBooleanValue(DMLConfig.CACHING_TRACE);
+		String fname = ConfigurationManager.getDMLConfig()
+			.getTextValue(DMLConfig.CACHING_TRACE_FILE);
+		if( _enabled && fname != null && !fname.trim().isEmpty() ) {
+			try {
+				_dump = new BufferedWriter(new FileWriter(fname.trim()));
+				_dump.write("time_ns,event,var,size,latency_ns,location\n");
+			}
+			catch(IOException ex) {
+				LOG.warn("Failed to create buffer pool trace file "+fname+".", ex);
+				IOUtilFunctions.closeSilently(_dump);
+				_dump = null;
+			}
+		}
+	}
+	
+	/**
+	 * Disables tracing and closes the event dump, but retains the
+	 * per-variable aggregates until the next init.
+	 */
+	public static synchronized void cleanup() {
+		_enabled = false;
+		IOUtilFunctions.closeSilently(_dump);
+		_dump = null;
+	}
+	
+	public static boolean isEnabled() {
+		return _enabled;
+	}
+	
+	/**
+	 * Traces a buffer pool event of the given variable.
+	 * 
+	 * @param type event type
+	 * @param var variable name
+	 * @param size size in bytes (in-memory or serialized)
+	 * @param latency latency in nano seconds
+	 * @param loc source or target location
+	 */
+	public static void trace(EventType type, String var, long size, long latency, Location loc) {
+		if( !_enabled )
+			return;
+		
+		//update per-variable aggregates
+		VarTrace vt = _vars.get(var);
+		if( vt == null ) {
+			VarTrace tmp = _vars.putIfAbsent(var, vt = new VarTrace());
+			vt = (tmp != null) ? tmp : vt;
+		}
+		vt.update(type, size, latency);
+		
+		//append event to dump
+		if( _dump != null ) {
+			String line = (System.nanoTime()-_tstart) + "," + type.name() + "," 
+				+ var + "," + size + "," + latency + "," + loc.name() + "\n";
+			synchronized( CacheTracer.class ) {
+				try {
+					if( _dump != null )
+						_dump.write(line);
+				}
+				catch(IOException ex) {
+					LOG.warn("Failed to write buffer pool trace, disabled dump.", ex);
+					IOUtilFunctions.closeSilently(_dump);
+					_dump = null;
+				}
+			}
+		}
+	}
+	
+	public static void setRestoreLocation(Location loc) {
+		_restoreLoc.set(loc);
+	}
+	
+	/**
+	 * Returns and resets the location of the last restore of the
+	 * current thread.
+	 * 
+	 * @return location, FS if unknown
+	 */
+	public static Location getRestoreLocation() {
+		Location ret = _restoreLoc.get();
+		_restoreLoc.remove();
+		return (ret != null) ? ret : Location.FS;
+	}
+	
+	public static long getNumEvents(String var, EventType type) {
+		VarTrace vt = _vars.get(var);
+		return (vt != null) ? vt.counts.get(type.ordinal()) : 0;
+	}
+	
+	public static int getNumVariables() {
+		return _vars.size();
+	}
+	
+	/**
+	 * Returns a summary of the top-k thrashing variables, ordered by 
+	 * their number of evictions and restores.
+	 * 
+	 * @param k maximum number of variables
+	 * @return summary string
+	 */
+	public static String displayTopThrashing(int k)
+	{
+		//get top k via sort (w/o variables never evicted or restored)
+		ArrayList<Entry<String,VarTrace>> tmp = new ArrayList<Entry<String,VarTrace>>(_vars.entrySet());
+		Collections.sort(tmp, new Comparator<Entry<String,VarTrace>>() {
+			@Override
+			public int compare(Entry<String,VarTrace> e1, Entry<String,VarTrace> e2) {
+				long t1 = e1.getValue().getThrashing();
+				long t2 = e2.getValue().getThrashing();
+				return (t1 < t2) ? 1 : (t1 > t2) ? -1 : 0;
+			}
+		});
+		
+		//prepare output string
+		StringBuilder sb = new StringBuilder();
+		for( int i=0; i<Math.min(k, tmp.size()); i++ ) {
+			Entry<String,VarTrace> e = tmp.get(i);
+			VarTrace vt = e.getValue();
+			if( vt.getThrashing() == 0 )
+				break;
+			sb.append("-- "+(i+1)+") \t");
+			sb.append(e.getKey());
+			sb.append(" \t");
+			sb.append(String.format("%.3f", ((double)vt.maxSize.get())/1048576)); //in MB
+			sb.append(" MB \t");
+			sb.append(vt.counts.get(EventType.ACQUIRE_READ.ordinal())
+				+ vt.counts.get(EventType.ACQUIRE_MODIFY.ordinal()));
+			sb.append("/");
+			sb.append(vt.counts.get(EventType.EVICT.ordinal()));
+			sb.append("/");
+			sb.append(vt.counts.get(EventType.RESTORE.ordinal()));
+			sb.append(" \t");
+			sb.append(String.format("%.3f", ((double)vt.times.get(EventType.EVICT.ordinal()))/1000000000));
+			sb.append("/");
+			sb.append(String.format("%.3f", ((double)vt.times.get(EventType.RESTORE.ordinal()))/1000000000));
+			sb.append(" sec\n");
+		}
+		
+		return (sb.length() > 0) ? sb.toString() : "-\n";
+	}
+	
+	/**
+	 * Aggregated event counts, latencies, and max size of a variable.
+	 */
+	private static class VarTrace
+	{
+		private final AtomicLongArray counts = new AtomicLongArray(EventType.values().length);
+		private final AtomicLongArray times = new AtomicLongArray(EventType.values().length);
+		private final AtomicLong maxSize = new AtomicLong(0);
+		
+		public void update(EventType type, long size, long latency) {
+			counts.incrementAndGet(type.ordinal());
+			times.addAndGet(type.ordinal(), latency);
+			long tmp = maxSize.get();
+			while( size > tmp && !maxSize.compareAndSet(tmp, size) )
+				tmp = maxSize.get();
+		}
+		
+		public long getThrashing() {
+			return counts.get(EventType.EVICT.ordinal())
+				+ counts.get(EventType.RESTORE.ordinal());
+		}
+	}
+}
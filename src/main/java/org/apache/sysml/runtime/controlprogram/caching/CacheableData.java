@@ -22,6 +22,7 @@ package org.apache.sysml.runtime.controlprogram.caching;
 import java.io.File;
 import java.io.IOException;
 import java.lang.ref.SoftReference;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang.mutable.MutableBoolean;
 import org.apache.commons.logging.Log;
@@ -32,6 +33,8 @@ import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheTracer.EventType;
+import org.apache.sysml.runtime.controlprogram.caching.CacheTracer.Location;
 import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUObject;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
@@ -70,11 +73,16 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public static final long 	CACHING_THRESHOLD = 4*1024; //obj not s.t. caching if below threshold [in bytes]
 	public static final double 	CACHING_BUFFER_SIZE = 0.15; 
 	public static final RPolicy CACHING_BUFFER_POLICY = RPolicy.FIFO; 
-	public static final boolean CACHING_BUFFER_PAGECACHE = false; 
+	public static final int     CACHING_BUFFER_MAX_SHARDS = 64; //max number of buffer pool shards
+	public static final double  CACHING_BUFFER_PAGECACHE_SIZE = 0.05; //max size of pooled pages [in fraction of max heap]
 	public static final boolean CACHING_WRITE_CACHE_ON_READ = false;	
 	public static final String  CACHING_COUNTER_GROUP_NAME    = "SystemML Caching Counters";
 	public static final String  CACHING_EVICTION_FILEEXTENSION = ".dat";
 	public static final boolean CACHING_ASYNC_FILECLEANUP = true;
+	public static final double  CACHING_BUFFER_HIGH_WATERMARK = 0.9; //start async eviction (fraction of buffer size)
+	public static final double  CACHING_BUFFER_LOW_WATERMARK = 0.7;  //stop async eviction (fraction of buffer size)
+	public static final int     CACHING_PREFETCH_LOOKAHEAD = 3;      //number of instructions for input prefetch
+	public static final int     CACHING_PREFETCH_THREADS = 2;        //max number of concurrent prefetch threads
     
 	/**
 	 * Defines all possible cache status types for a data blob.
@@ -100,7 +108,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
     };
 	
 	/** Global flag indicating if caching is enabled (controls eviction) */
-	private static boolean _activeFlag = false;
+	private static volatile boolean _activeFlag = false;
 	
 	/** Global sequence for generating unique ids. */
 	private static IDSequence _seq = null;   
@@ -173,7 +181,11 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	private String  _varName = "";         //plan variable name
 	private String  _cacheFileName = null; //local eviction file name
 	private boolean _requiresLocalWrite = false; //flag if local write for read obj
+	
+	//number of active loops that read this data object (for cost-aware eviction)
+	private final AtomicInteger _numLoopReads = new AtomicInteger(0);
 	private boolean _isAcquireFromEmpty = false; //flag if read from status empty 
+	private long _version = 0; //modification version (lineage for export deduplication)
 	
 	//spark-specific handles
 	//note: we use the abstraction of LineageObjects for two reasons: (1) to keep track of cleanup
@@ -237,6 +249,17 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public String getVarName() {
 		return _varName;
 	}
+	
+	/**
+	 * Returns the name of this object in buffer pool traces, i.e., the
+	 * variable name or a unique id if not bound to a variable.
+	 * 
+	 * @return trace name
+	 */
+	public String getTraceName() {
+		return (_varName != null && !_varName.isEmpty()) ? 
+			_varName : "_id"+_uniqueID;
+	}
 
 	public boolean isHDFSFileExists() {
 		return _hdfsFileExists;
@@ -251,12 +274,25 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	}
 
 	public synchronized void setFileName( String file ) {
-		if( _hdfsFileName!=null && !_hdfsFileName.equals(file) )
+		if( _hdfsFileName!=null && !_hdfsFileName.equals(file) ) {
 			if( !isEmpty(true) )
 				_dirtyFlag = true;
+			_version++;
+		}
 		_hdfsFileName = file;
 	}
 	
+	/**
+	 * Returns the lineage key of the current data of this object, i.e.,
+	 * the unique id and modification version, which changes whenever
+	 * the data is marked dirty or the backing file changes.
+	 * 
+	 * @return lineage key
+	 */
+	public synchronized String getLineageKey() {
+		return _uniqueID + "@" + _version;
+	}
+	
 	/**
 	 * <code>true</code> if the in-memory or evicted matrix may be different from
 	 * the matrix located at {@link #_hdfsFileName}; <code>false</code> if the two
@@ -269,6 +305,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	}
 
 	public void setDirty(boolean flag) {
+		if( flag ) //new lineage of modified data
+			_version++;
 		_dirtyFlag = flag;
 	}
 
@@ -368,7 +406,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	{
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Acquire read "+getVarName());
-		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		boolean trace = CacheTracer.isEnabled();
+		long t0 = (DMLScript.STATISTICS || trace) ? System.nanoTime() : 0;
 		
 		if ( !isAvailableToRead() )
 			throw new CacheException ("MatrixObject not available to read.");
@@ -383,6 +422,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			if( _data == null )
 				getCache();
 		}
+		Location loc = (_data != null) ? Location.MEM : null;
 		//read data from HDFS/RDD if required
 		//(probe data for cache_nowrite / jvm_reuse)  
 		if( isEmpty(true) && _data==null ) 
@@ -400,6 +440,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 					
 					//read cacheable data from hdfs
 					_data = readBlobFromHDFS( _hdfsFileName );
+					loc = Location.HDFS;
 					
 					//mark for initial local write despite read operation
 					_requiresLocalWrite = CACHING_WRITE_CACHE_ON_READ;
@@ -409,6 +450,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 					//read matrix from rdd (incl execute pending rdd operations)
 					MutableBoolean writeStatus = new MutableBoolean();
 					_data = readBlobFromRDD( getRDDHandle(), writeStatus );
+					loc = Location.RDD;
 					
 					//mark for initial local write (prevent repeated execution of rdd operations)
 					if( writeStatus.booleanValue() )
@@ -439,6 +481,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			long t1 = System.nanoTime();
 			CacheStatistics.incrementAcquireRTime(t1-t0);
 		}
+		if( trace ) {
+			CacheTracer.trace(EventType.ACQUIRE_READ, getTraceName(), _data.getInMemorySize(), 
+				System.nanoTime()-t0, (loc != null) ? loc : CacheTracer.getRestoreLocation());
+		}
 		
 		return _data;
 	}
@@ -459,7 +505,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	{
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Acquire modify "+getVarName());
-		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		boolean trace = CacheTracer.isEnabled();
+		long t0 = (DMLScript.STATISTICS || trace) ? System.nanoTime() : 0;
 		
 		if ( !isAvailableToModify() )
 			throw new CacheException("MatrixObject not available to modify.");
@@ -467,6 +514,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		//get object from cache
 		if( _data == null )
 			getCache();
+		Location loc = (_data != null) ? Location.MEM : null;
 
 		//read data from HDFS if required
 		if( isEmpty(true) && _data == null )
@@ -479,6 +527,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			try
 			{
 				_data = readBlobFromHDFS( _hdfsFileName );
+				loc = Location.HDFS;
 			}
 			catch (IOException e)
 			{
@@ -496,6 +545,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			long t1 = System.nanoTime();
 			CacheStatistics.incrementAcquireMTime(t1-t0);
 		}
+		if( trace ) {
+			CacheTracer.trace(EventType.ACQUIRE_MODIFY, getTraceName(), _data.getInMemorySize(), 
+				System.nanoTime()-t0, (loc != null) ? loc : CacheTracer.getRestoreLocation());
+		}
 		
 		return _data;
 	}
@@ -517,7 +570,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	{
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Acquire modify newdata "+getVarName());
-		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		boolean trace = CacheTracer.isEnabled();
+		long t0 = (DMLScript.STATISTICS || trace) ? System.nanoTime() : 0;
 		
 		if (! isAvailableToModify ())
 			throw new CacheException ("CacheableData not available to modify.");
@@ -541,6 +595,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			long t1 = System.nanoTime();
 			CacheStatistics.incrementAcquireMTime(t1-t0);
 		}
+		if( trace ) {
+			CacheTracer.trace(EventType.ACQUIRE_MODIFY, getTraceName(), 
+				_data.getInMemorySize(), System.nanoTime()-t0, Location.NONE);
+		}
 		
 		return _data;
 	}
@@ -562,9 +620,12 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	{
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Release "+getVarName());
-		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		boolean trace = CacheTracer.isEnabled();
+		long t0 = (DMLScript.STATISTICS || trace) ? System.nanoTime() : 0;
+		long size = trace ? _data.getInMemorySize() : 0;
 		
 		boolean write = false;
+		boolean buffered = false;
 		if ( isModify() )
 		{
 			//set flags for write
@@ -591,7 +652,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 				//evict blob
 				String filePath = getCacheFilePathAndName();
 				try {
-					LazyWriteBuffer.writeBlock(filePath, _data);
+					LazyWriteBuffer.writeBlock(filePath, _data, this);
+					buffered = true;
 				}
 				catch (Exception e)
 				{
@@ -612,6 +674,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			long t1 = System.nanoTime();
 			CacheStatistics.incrementReleaseTime(t1-t0);
 		}
+		if( trace ) {
+			CacheTracer.trace(EventType.RELEASE, getTraceName(), size, 
+				System.nanoTime()-t0, buffered ? Location.BUFFER : Location.MEM);
+		}
 	}
 	
 	protected void clearReusableData() {}
@@ -639,6 +705,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			throw new CacheException ("CacheableData (" + getDebugName() + ") not available to "
 					+ "modify. Status = " + getStatusAsString() + ".");
 		
+		// cancel pending prefetch (not restored after clear)
+		CachePrefetcher.cancel(this);
+		
 		// clear existing WB / FS representation (but prevent unnecessary probes)
 		if( !(isEmpty(true)||(_data!=null && isBelowCachingThreshold()) 
 			  ||(_data!=null && !isCachingActive()) )) //additional condition for JMLC
@@ -737,9 +806,23 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		else {
 			pWrite = true;  // i.e., export is called from "write" instruction
 		}
+		
+		//export format for deduplication (null if not registrable)
+		String format = (ExportRegistry.isEnabled() && formatProperties == null) ? 
+			getExportFormat(outputFormat) : null;
 
 		//actual export (note: no direct transfer of local copy in order to ensure blocking (and hence, parallelism))
-		if(  isDirty()  ||      //use dirty for skipping parallel exports
+		if( (isDirty() || pWrite) && 
+			ExportRegistry.isUnchanged(fName, format, getLineageKey(), ExportRegistry.NO_FINGERPRINT) )
+		{
+			// CASE 0: unmodified data already exported to fname (skip write, w/o restoring the data)
+			LOG.trace(this.getDebugName() + ": Skip export to " + fName + " since the data is unchanged.");
+			if ( !pWrite )
+				setDirty(false);
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementExportSkips(false);
+		}
+		else if(  isDirty()  ||      //use dirty for skipping parallel exports
 		    (pWrite && !isEqualOutputFormat(outputFormat)) ) 
 		{		  
 			// CASE 1: dirty in-mem matrix or pWrite w/ different format (write matrix to fname; load into memory if evicted)
@@ -766,11 +849,23 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 				getCache();
 			acquire( false, _data==null ); //incl. read matrix if evicted	
 			
-			// b) write the matrix 
+			// b) write the matrix (unless the same content was already exported to fname)
 			try
 			{
-				writeMetaData( fName, outputFormat, formatProperties );
-				writeBlobToHDFS( fName, outputFormat, replication, formatProperties );
+				long fp = (format != null && ExportRegistry.isContentEnabled()) ? 
+					ExportRegistry.getFingerprint(_data) : ExportRegistry.NO_FINGERPRINT;
+				if( fp != ExportRegistry.NO_FINGERPRINT //fingerprint match, confirmed by comparison
+					&& ExportRegistry.isUnchanged(fName, format, getLineageKey(), fp)
+					&& isEqualExportedData(fName, outputFormat) ) {
+					LOG.trace(this.getDebugName() + ": Skip export to " + fName + " since the content is unchanged.");
+					if( DMLScript.STATISTICS )
+						CacheStatistics.incrementExportSkips(true);
+				}
+				else {
+					writeMetaData( fName, outputFormat, formatProperties );
+					writeBlobToHDFS( fName, outputFormat, replication, formatProperties );
+				}
+				ExportRegistry.register(fName, format, getLineageKey(), fp);
 				if ( !pWrite )
 					setDirty(false);
 			}
@@ -795,6 +890,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 				else //write might trigger rdd operations and nnz maintenance
 					writeBlobFromRDDtoHDFS(getRDDHandle(), fName, outputFormat);
 				writeMetaData( fName, outputFormat, formatProperties );
+				ExportRegistry.register(fName, format, getLineageKey(), ExportRegistry.NO_FINGERPRINT);
 			}
 			catch (Exception e) {
 				throw new CacheException ("Export to " + fName + " failed.", e);
@@ -808,6 +904,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			{
 				writeBlobFromRDDtoHDFS(getRDDHandle(), fName, outputFormat);
 				writeMetaData( fName, outputFormat, formatProperties );
+				ExportRegistry.register(fName, format, getLineageKey(), ExportRegistry.NO_FINGERPRINT);
 			}
 			catch (Exception e) {
 				throw new CacheException ("Export to " + fName + " failed.", e);
@@ -851,6 +948,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	{
 		String cacheFilePathAndName = getCacheFilePathAndName();
 		long begin = LOG.isTraceEnabled() ? System.currentTimeMillis() : 0;
+		long t0 = CacheTracer.isEnabled() ? System.nanoTime() : 0;
 		
 		if( LOG.isTraceEnabled() )
 			LOG.trace ("CACHE: Restoring matrix...  " + getVarName() + "  HDFS path: " + 
@@ -872,6 +970,13 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	    
 	    if( LOG.isTraceEnabled() )
 	    	LOG.trace("Restoring matrix - COMPLETED ... " + (System.currentTimeMillis()-begin) + " msec.");
+	    if( CacheTracer.isEnabled() ) {
+	    	//keep restore location for subsequent acquire event
+	    	Location loc = CacheTracer.getRestoreLocation();
+	    	CacheTracer.trace(EventType.RESTORE, getTraceName(), 
+	    		_data.getInMemorySize(), System.nanoTime()-t0, loc);
+	    	CacheTracer.setRestoreLocation(loc);
+	    }
 	}		
 
 	protected abstract T readBlobFromCache(String fname)
@@ -895,6 +1000,61 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			LOG.trace("Freeing evicted matrix - COMPLETED ... " + (System.currentTimeMillis()-begin) + " msec.");		
 	}
 
+	/**
+	 * Marks or unmarks this data object as read in the body of an active 
+	 * loop, which is used as remaining-use information for the cost-aware
+	 * buffer pool eviction.
+	 * 
+	 * @param flag true if loop entry, false if loop exit
+	 */
+	public void setLoopRead(boolean flag) {
+		if( flag )
+			_numLoopReads.incrementAndGet();
+		else
+			_numLoopReads.decrementAndGet();
+	}
+	
+	public boolean isLoopRead() {
+		return _numLoopReads.get() > 0;
+	}
+	
+	/**
+	 * Indicates if this data object is neither pinned nor in the soft reference
+	 * cache but can be restored from the buffer pool, evicted local files, or
+	 * HDFS (excluding pending RDD operations and GPU-resident data).
+	 * 
+	 * @return true if the data object should be prefetched
+	 */
+	public synchronized boolean isPrefetchable() {
+		if( _data != null || (_cache != null && _cache.get() != null) 
+			|| getRDDHandle() != null || _gpuHandle != null )
+			return false;
+		return isCached(false) || (isEmpty(true) && _hdfsFileName != null);
+	}
+	
+	/**
+	 * Restores the data object into the soft reference cache (via acquire read
+	 * and release) in order to hide restore latency of subsequent instructions.
+	 * Synchronized in order to make the acquire and release atomic with regard 
+	 * to concurrent acquire modify of the main thread.
+	 * 
+	 * @return true if the data object was restored
+	 * @throws CacheException if CacheException occurs
+	 */
+	public synchronized boolean prefetch() 
+		throws CacheException
+	{
+		if( !isPrefetchable() )
+			return false;
+		//probe existence of not yet read persistent inputs 
+		if( isEmpty(false) && !_hdfsFileExists 
+			&& !MapReduceTool.existsFileOnHDFS(_hdfsFileName) )
+			return false;
+		acquireRead();
+		release();
+		return true;
+	}
+
 	protected boolean isBelowCachingThreshold() {
 		return (_data.getInMemorySize() <= CACHING_THRESHOLD);
 	}
@@ -962,6 +1122,45 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		}
 	}
 
+	/**
+	 * Indicates if the given existing file contains exactly the current 
+	 * in-memory data (used to confirm content fingerprints before skipping
+	 * a redundant export).
+	 * 
+	 * @param fname file name
+	 * @param outputFormat output format or null (format of meta data)
+	 * @return true if equal data
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected boolean isEqualExportedData(String fname, String outputFormat)
+		throws IOException, DMLRuntimeException
+	{
+		return false; //default: no content comparison
+	}
+	
+	/**
+	 * Returns the output format of an export including the blocksizes,
+	 * which are both required to determine if an exported file is unchanged.
+	 * 
+	 * @param outputFormat output format or null (format of meta data)
+	 * @return export format, or null if unknown
+	 */
+	private String getExportFormat( String outputFormat )
+	{
+		try {
+			MatrixFormatMetaData iimd = (MatrixFormatMetaData) _metaData;
+			OutputInfo oinfo = (outputFormat != null) ? OutputInfo.stringToOutputInfo(outputFormat) 
+				: InputInfo.getMatchingOutputInfo(iimd.getInputInfo());
+			MatrixCharacteristics mc = iimd.getMatrixCharacteristics();
+			return OutputInfo.outputInfoToString(oinfo) + "_" 
+				+ mc.getRowsPerBlock() + "x" + mc.getColsPerBlock();
+		}
+		catch(Exception ex) {
+			return null;
+		}
+	}
+	
 	protected boolean isEqualOutputFormat( String outputFormat )
 	{
 		boolean ret = true;
@@ -1216,8 +1415,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	// --------- STATIC CACHE INIT/CLEANUP OPERATIONS ----------
 
 	public synchronized static void cleanupCacheDir() {
-		//cleanup remaining cached writes
+		//cleanup remaining cached writes and exports
 		LazyWriteBuffer.cleanup();
+		ExportRegistry.cleanup();
 		
 		//delete cache dir and files
 		cleanupCacheDir(true);
@@ -1283,13 +1483,14 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			throw new IOException(e);
 		}
 	
-		//init write-ahead buffer
+		//init write-ahead buffer and export registry
 		LazyWriteBuffer.init();
+		ExportRegistry.init();
 		
 		_activeFlag = true; //turn on caching
 	}
 	
-	public static synchronized boolean isCachingActive() {
+	public static boolean isCachingActive() {
 		return _activeFlag;
 	}
 	
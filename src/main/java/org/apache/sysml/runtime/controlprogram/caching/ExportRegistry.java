@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hadoop.fs.ContentSummary;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+
+/**
+ * Registry of files written by exports of cacheable data, which allows
+ * skipping redundant writes of unchanged data to the same file. Each entry
+ * records the output format, the lineage of the written data (unique id and
+ * modification version of the exporting data object), an optional content
+ * fingerprint of matrix blocks, and the file status (length, number of files,
+ * modification time) after the write. An export is skipped if the data has
+ * the same lineage and the file is unchanged. Content-based deduplication
+ * (optional) uses the fingerprint only as a filter, i.e., callers confirm
+ * equal fingerprints by comparing the data with the existing file. Entries
+ * are invalidated on deletes and renames through MapReduceTool, and the file
+ * status guards against other modifications.
+ *
+ * NOTE: exports with custom file format properties (e.g., csv header or
+ * delimiter) are not registered, because these properties are not tracked.
+ */
+public class ExportRegistry
+{
+	//fingerprint of blocks w/o content fingerprint (e.g., frames)
+	public static final long NO_FINGERPRINT = 0;
+
+	private static final ConcurrentHashMap<String, ExportEntry> _exports =
+		new ConcurrentHashMap<String, ExportEntry>();
+	private static volatile boolean _enabled = false;
+	private static volatile boolean _content = false;
+
+	public static synchronized void init() {
+		cleanup();
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		_enabled = conf.getBooleanValue(DMLConfig.CACHING_EXPORT_DEDUP);
+		_content = _enabled && conf.getBooleanValue(DMLConfig.CACHING_EXPORT_DEDUP_CONTENT);
+	}
+
+	public static synchronized void cleanup() {
+		_enabled = false;
+		_content = false;
+		_exports.clear();
+	}
+
+	public static boolean isEnabled() {
+		return _enabled;
+	}
+
+	public static boolean isContentEnabled() {
+		return _content;
+	}
+
+	public static int getNumEntries() {
+		return _exports.size();
+	}
+
+	/**
+	 * Indicates if the given file already contains the data with the given
+	 * lineage (or content fingerprint, if available) in the given format.
+	 * Note that a fingerprint match requires a subsequent comparison of the
+	 * data, because fingerprints are subject to collisions.
+	 *
+	 * @param fname file name
+	 * @param format output format (incl. blocksizes), or null if not registrable
+	 * @param lineage lineage key of exported data
+	 * @param fingerprint content fingerprint, or NO_FINGERPRINT
+	 * @return true if the file is unchanged and the export can be skipped
+	 */
+	public static boolean isUnchanged( String fname, String format, String lineage, long fingerprint )
+	{
+		if( !_enabled || fname == null || format == null )
+			return false;
+		ExportEntry entry = _exports.get(getKey(fname));
+		if( entry == null || !entry.format.equals(format)
+			|| !(entry.lineage.equals(lineage) || (_content 
+				&& fingerprint != NO_FINGERPRINT && entry.fingerprint == fingerprint)) )
+			return false;
+
+		//check for modifications of the file and meta data file
+		boolean ret = false;
+		try {
+			long[] status = getFileStatus(fname);
+			ret = (status != null && entry.len == status[0] && entry.numFiles == status[1]
+				&& entry.modTime == status[2] && getFileStatus(fname+".mtd") != null);
+		}
+		catch(Exception ex) {
+			//ignore, treated as modified file
+		}
+		if( !ret )
+			invalidate(fname);
+		return ret;
+	}
+
+	/**
+	 * Registers a successful export of data with the given lineage and
+	 * fingerprint to the given file.
+	 *
+	 * @param fname file name
+	 * @param format output format, or null if not registrable
+	 * @param lineage lineage key of exported data
+	 * @param fingerprint content fingerprint, or NO_FINGERPRINT
+	 */
+	public static void register( String fname, String format, String lineage, long fingerprint )
+	{
+		if( !_enabled || fname == null )
+			return;
+		if( format == null ) {
+			invalidate(fname);
+			return;
+		}
+		try {
+			long[] status = getFileStatus(fname);
+			if( status != null ) {
+				_exports.put(getKey(fname), new ExportEntry(format,
+					lineage, fingerprint, status[0], status[1], status[2]));
+				return;
+			}
+		}
+		catch(Exception ex) {
+			//ignore, not registered
+		}
+		invalidate(fname);
+	}
+
+	/**
+	 * Moves the entry of a renamed file, because renames preserve the
+	 * file content and status.
+	 *
+	 * @param src source file name
+	 * @param dst destination file name
+	 */
+	public static void rename( String src, String dst ) {
+		if( _exports.isEmpty() || src == null || dst == null )
+			return;
+		ExportEntry entry = _exports.remove(getKey(src));
+		if( entry != null )
+			_exports.put(getKey(dst), entry);
+		else
+			invalidate(dst);
+	}
+
+	public static void invalidate( String fname ) {
+		if( !_exports.isEmpty() && fname != null )
+			_exports.remove(getKey(fname));
+	}
+
+	/**
+	 * Computes a content fingerprint of the given cache block, which is
+	 * independent of the dense or sparse representation.
+	 *
+	 * @param cb cache block
+	 * @return fingerprint, or NO_FINGERPRINT if not supported
+	 */
+	public static long getFingerprint( CacheBlock cb )
+	{
+		if( !(cb instanceof MatrixBlock) || cb instanceof CompressedMatrixBlock )
+			return NO_FINGERPRINT;
+
+		MatrixBlock mb = (MatrixBlock) cb;
+		int m = mb.getNumRows();
+		int n = mb.getNumColumns();
+		long h = mix(((long)m << 32) | n) ^ mix(mb.getNonZeros());
+		if( mb.isEmptyBlock(false) ) {
+			//no cells (fingerprint of dimensions)
+		}
+		else if( mb.isInSparseFormat() ) {
+			SparseBlock a = mb.getSparseBlock();
+			for( int i=0; i<m; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					if( avals[j] != 0 )
+						h = hashCell(h, (long)i*n+aix[j], avals[j]);
+			}
+		}
+		else {
+			double[] a = mb.getDenseBlock();
+			int len = Math.min(a.length, m*n);
+			for( int i=0; i<len; i++ )
+				if( a[i] != 0 )
+					h = hashCell(h, i, a[i]);
+		}
+		return (h != NO_FINGERPRINT) ? h : 1;
+	}
+
+	private static long hashCell( long h, long pos, double val ) {
+		//note: position and value hashed separately (no structured collisions)
+		return h * 0x100000001B3L + mix(mix(pos) + Double.doubleToLongBits(val));
+	}
+
+	private static long mix( long x ) {
+		//64bit finalizer of murmur3
+		x ^= x >>> 33;
+		x *= 0xff51afd7ed558ccdL;
+		x ^= x >>> 33;
+		x *= 0xc4ceb9fe1a85ec53L;
+		x ^= x >>> 33;
+		return x;
+	}
+
+	private static String getKey( String fname ) {
+		return new Path(fname).toString();
+	}
+
+	private static long[] getFileStatus( String fname )
+		throws Exception
+	{
+		Path path = new Path(fname);
+		FileSystem fs = FileSystem.get(ConfigurationManager.getCachedJobConf());
+		if( !fs.exists(path) )
+			return null;
+		FileStatus stat = fs.getFileStatus(path);
+		if( stat.isDirectory() ) {
+			ContentSummary cs = fs.getContentSummary(path);
+			return new long[]{cs.getLength(), cs.getFileCount(), stat.getModificationTime()};
+		}
+		return new long[]{stat.getLen(), 1, stat.getModificationTime()};
+	}
+
+	private static class ExportEntry
+	{
+		private final String format;
+		private final String lineage;
+		private final long fingerprint;
+		private final long len;
+		private final long numFiles;
+		private final long modTime;
+
+		public ExportEntry(String format, String lineage, long fingerprint, long len, long numFiles, long modTime) {
+			this.format = format;
+			this.lineage = lineage;
+			this.fingerprint = fingerprint;
+			this.len = len;
+			this.numFiles = numFiles;
+			this.modTime = modTime;
+		}
+	}
+}
@@ -160,7 +160,7 @@ public class FrameObject extends CacheableData<FrameBlock>
 	
 	@Override
 	protected FrameBlock readBlobFromCache(String fname) throws IOException {
-		return (FrameBlock)LazyWriteBuffer.readBlock(fname, false);
+		return (FrameBlock)LazyWriteBuffer.readBlock(fname);
 	}
 
 	@Override
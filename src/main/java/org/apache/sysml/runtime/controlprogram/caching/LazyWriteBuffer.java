@@ -20,44 +20,102 @@
 package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.io.IOException;
-import java.util.Iterator;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map.Entry;
+import java.util.TreeMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.controlprogram.caching.CacheTracer.EventType;
+import org.apache.sysml.runtime.controlprogram.caching.CacheTracer.Location;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
+/**
+ * Buffer pool of serialized cache blocks with eviction to local FS. In order
+ * to reduce contention of concurrent writers and readers (e.g., local parfor
+ * workers), the buffer pool is partitioned into shards by hash of the file name,
+ * each with its own eviction queue and pending async evictions, synchronized on
+ * the shard. The buffer size is maintained via atomic updates, and writers,
+ * readers, and the background evictor lock at most one shard at a time. Victims
+ * are selected round-robin across shards, i.e., the eviction order of the given
+ * policy is exact per shard and approximate across shards.
+ */
 public class LazyWriteBuffer 
 {
+	private static final Log LOG = LogFactory.getLog(LazyWriteBuffer.class.getName());
+
 	public enum RPolicy {
 		FIFO, //first-in, first-out eviction
-		LRU   //least recently used eviction
+		LRU,  //least recently used eviction
+		COST  //cost-aware eviction (size, restore cost, loop reads)
 	}
 	
-	//global size limit in bytes
-	private static long _limit; 
-	
-	//current size in bytes
-	private static long _size;  
+	//cost model of cost-aware eviction (restore from local FS)
+	private static final double COST_RESTORE_LATENCY = 1e-3;    //in sec
+	private static final double COST_RESTORE_BANDWIDTH = 200e6; //in bytes/sec
 	
-	//eviction queue of <filename,buffer> pairs (implemented via linked hash map 
-	//for (1) queue semantics and (2) constant time get/insert/delete operations)
-	private static EvictionQueue _mQueue;
+	//global size limit in bytes (adaptive if enabled)
+	private static volatile long _limit;
+
+	//current size in bytes (incl pending async evictions)
+	private static final AtomicLong _size = new AtomicLong(0);
+
+	//high and low watermarks in bytes for async eviction
+	private static volatile long _highWatermark;
+	private static volatile long _lowWatermark;
+
+	//shards of <filename,buffer> eviction queues and pending evictions
+	private static BufferShard[] _shards;
+
+	//number of pending evictions (across shards) and monitor of waiting writers
+	private static final AtomicInteger _numEvicting = new AtomicInteger(0);
+	private static final Object _evictSignal = new Object();
+
+	//round-robin position for victim selection across shards
+	private static final AtomicInteger _evictPos = new AtomicInteger(0);
+
+	//background evictor for async eviction between watermarks
+	private static volatile BufferEvictor _evictor;
+
+	//memory-mapped store for evicted blocks (opt-in via config)
+	private static MappedEvictionStore _mStore;
 	
 	//file cleaner for synchronous or asynchronous delete of evicted files
 	private static FileCleaner _fClean;
 	
+	//lightweight compression of serialized blocks (opt-in via config)
+	private static boolean _compress = false;
+
+	//eviction policy and priority inflation of cost-aware eviction
+	//(inflation updated w/o global lock, which is benign for aging)
+	private static RPolicy _policy = CacheableData.CACHING_BUFFER_POLICY;
+	private static volatile double _costInflation = 0;
+
 	static {
 		//obtain the logical buffer size in bytes
 		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
-		_limit = (long)(CacheableData.CACHING_BUFFER_SIZE * maxMem);
+		setLimit((long)(CacheableData.CACHING_BUFFER_SIZE * maxMem));
 	}
 
 	public static void writeBlock( String fname, CacheBlock cb ) 
 		throws IOException
+	{
+		writeBlock(fname, cb, null);
+	}
+
+	public static void writeBlock( String fname, CacheBlock cb, CacheableData<?> owner )
+		throws IOException
 	{	
 		//obtain basic meta data of cache block
 		long lSize = cb.getExactSerializedSize();  
@@ -68,39 +126,47 @@ public class LazyWriteBuffer
 		if( !requiresWrite ) 
 		{			
 			//create byte buffer handle (no block allocation yet)
-			ByteBuffer bbuff = new ByteBuffer( lSize );
+			ByteBuffer bbuff = new ByteBuffer( lSize, _compress );
+			bbuff.setOwner(owner);
 			int numEvicted = 0;
 			
-			//modify buffer pool
-			synchronized( _mQueue )
-			{
-				//evict matrices to make room (by default FIFO)
-				while( _size+lSize >= _limit )
-				{
-					//remove first entry from eviction queue
-					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-					String ftmp = entry.getKey();
-					ByteBuffer tmp = entry.getValue();
+			//reserve memory and evict blocks to make room (by default FIFO); with
+			//async eviction, the writer only blocks if the hard limit is reached
+			long size = _size.addAndGet(lSize);
+			while( size >= _limit ) {
+				if( evictVictim(false) )
+					numEvicted++;
+				else if( !waitForEviction() )
+					break; //no evictable blocks
+				size = _size.get();
+			}
 					
-					if( tmp != null ) {
-						//wait for pending serialization
-						tmp.checkSerialized();
-						
-						//evict matrix
-						tmp.evictBuffer(ftmp);
-						tmp.freeMemory();
-						_size-=tmp.getSize();
-						numEvicted++;
-					}
-				}
-				
-				//put placeholder into buffer pool (reserve mem) 
-				_mQueue.addLast(fname, bbuff);
-				_size += lSize;	
+			//put placeholder into buffer pool
+			BufferShard shard = getShard(fname);
+			synchronized( shard ) {
+				bbuff.setPriorityBase(_costInflation);
+				shard.queue.addLast(fname, bbuff);
 			}
+						
+			//trigger async eviction if high watermark reached
+			BufferEvictor evictor = _evictor;
+			if( evictor != null && size >= _highWatermark )
+				evictor.wakeup();
 			
 			//serialize matrix (outside synchronized critical path)
 			bbuff.serializeBlock(cb); 
+
+			//release reserved memory of compressed blocks (if not yet
+			//removed, which keeps the accounting consistent with evictions)
+			if( bbuff.isCompressed() ) {
+				synchronized( shard ) {
+					if( shard.queue.get(fname) == bbuff || shard.evicting.get(fname) == bbuff ) {
+						_size.addAndGet(-bbuff.shrinkToCompressedSize());
+						if( shard.queue.get(fname) == bbuff )
+							shard.queue.updatePriority(fname);
+					}
+				}
+			}
 			
 			if( DMLScript.STATISTICS ) {
 				CacheStatistics.incrementFSBuffWrites();
@@ -110,9 +176,14 @@ public class LazyWriteBuffer
 		else
 		{
 			//write directly to local FS (bypass buffer if too large)
-			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+			long t0 = CacheTracer.isEnabled() ? System.nanoTime() : 0;
+			boolean mapped = (_mStore != null && _mStore.writeBlock(fname, cb));
+			if( !mapped )
+				LocalFileUtils.writeCacheBlockToLocal(fname, cb);
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSWrites();
+			if( CacheTracer.isEnabled() )
+				traceEviction(owner, fname, lSize, t0, mapped);
 		}	
 	}
 
@@ -120,81 +191,311 @@ public class LazyWriteBuffer
 	{
 		boolean requiresDelete = true;
 		
-		synchronized( _mQueue )
+		BufferShard shard = getShard(fname);
+		synchronized( shard )
 		{
 			//remove queue entry 
-			ByteBuffer ldata = _mQueue.remove(fname);
+			ByteBuffer ldata = shard.queue.remove(fname);
 			if( ldata != null ) {
-				_size -= ldata.getSize(); 
+				_size.addAndGet(-ldata.getSize());
 				requiresDelete = false;
 				ldata.freeMemory(); //cleanup
 			}
+
+			//wait for pending async eviction before delete
+			try {
+				while( shard.evicting.containsKey(fname) )
+					shard.wait();
+			}
+			catch(InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				LOG.warn("Interrupted while waiting for eviction of "+fname+".");
+			}
 		}
 		
 		//delete from FS if required
-		if( requiresDelete )
+		if( requiresDelete && (_mStore == null || !_mStore.delete(fname)) )
 			_fClean.deleteFile(fname);
 	}
 
-	public static CacheBlock readBlock( String fname, boolean matrix ) 
+	public static CacheBlock readBlock( String fname )
 		throws IOException
 	{
 		CacheBlock cb = null;
 		ByteBuffer ldata = null;
 		
 		//probe write buffer
-		synchronized( _mQueue )
+		BufferShard shard = getShard(fname);
+		synchronized( shard )
 		{
-			ldata = _mQueue.get(fname);
+			ldata = shard.queue.get(fname);
+			if( ldata != null )
+				ldata.pin(); //protect against concurrent eviction
 			
 			//modify eviction order (accordingly to access)
-			if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU 
-				&& ldata != null )
-			{
+			if( _policy == RPolicy.LRU && ldata != null ) {
 				//reinsert entry at end of eviction queue
-				_mQueue.remove( fname );
-				_mQueue.addLast( fname, ldata );
+				shard.queue.remove( fname );
+				shard.queue.addLast( fname, ldata );
+			}
+			else if( _policy == RPolicy.COST && ldata != null ) {
+				//refresh priority base on access
+				ldata.setPriorityBase(_costInflation);
+				shard.queue.updatePriority(fname);
+			}
+
+			//deserialize pending async eviction (within critical section
+			//because the evictor frees the buffer once written)
+			if( ldata == null && shard.evicting.containsKey(fname) ) {
+				cb = shard.evicting.get(fname).deserializeBlock();
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementFSBuffHits();
+				if( CacheTracer.isEnabled() )
+					CacheTracer.setRestoreLocation(Location.BUFFER);
+				return cb;
 			}
 		}
 		
 		//deserialize or read from FS if required
 		if( ldata != null )
 		{
-			cb = ldata.deserializeBlock();
+			try {
+				cb = ldata.deserializeBlock();
+			}
+			finally {
+				ldata.unpin();
+			}
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSBuffHits();
+			if( CacheTracer.isEnabled() )
+				CacheTracer.setRestoreLocation(Location.BUFFER);
 		}
 		else
 		{
-			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix); 
+			Location loc = Location.MMAP;
+			if( _mStore != null )
+				cb = _mStore.readBlock(fname);
+			if( cb == null ) {
+				cb = LocalFileUtils.readCacheBlockFromLocal(fname);
+				loc = Location.FS;
+			}
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSHits();
+			if( CacheTracer.isEnabled() )
+				CacheTracer.setRestoreLocation(loc);
 		}
 		
 		return cb;
 	}
 
 	public static void init() {
-		_mQueue = new EvictionQueue();
+		init(getDefaultNumShards());
+	}
+
+	/**
+	 * Initializes the write buffer with the given number of shards.
+	 * NOTE: use the number of shards only for debugging or testing.
+	 *
+	 * @param numShards number of shards
+	 */
+	public static void init(int numShards) {
+		if( _evictor != null )
+			_evictor.shutdown();
+		_shards = new BufferShard[Math.max(numShards, 1)];
+		for( int i=0; i<_shards.length; i++ )
+			_shards[i] = new BufferShard();
 		_fClean = new FileCleaner();
-		_size = 0;
-		if( CacheableData.CACHING_BUFFER_PAGECACHE )
-			PageCache.init();
+		_size.set(0);
+		_numEvicting.set(0);
+		_evictor = null;
+		if( ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.CACHING_EVICTION_ASYNC) ) {
+			_evictor = new BufferEvictor();
+			_evictor.start();
+		}
+		_compress = ConfigurationManager.getDMLConfig()
+			.getBooleanValue(DMLConfig.CACHING_COMPRESSION);
+		_policy = readPolicy();
+		_costInflation = 0;
+		if( _mStore != null )
+			_mStore.close();
+		_mStore = null;
+		if( ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.CACHING_EVICTION_MMAP)
+			&& CacheableData.cacheEvictionLocalFilePath != null )
+			_mStore = new MappedEvictionStore(CacheableData.cacheEvictionLocalFilePath);
+		PageCache.init();
+		CachePrefetcher.init();
+		CacheTracer.init();
+		BufferSizeController.init();
 	}
 
 	public static void cleanup() {
-		if( _mQueue != null )
-			_mQueue.clear();
+		if( _evictor != null )
+			_evictor.shutdown();
+		_evictor = null;
+		if( _shards != null )
+			for( BufferShard shard : _shards )
+				synchronized( shard ) {
+					shard.queue.clear();
+				}
 		if( _fClean != null )
 			_fClean.close();
-		if( CacheableData.CACHING_BUFFER_PAGECACHE )
-			PageCache.clear();
+		if( _mStore != null )
+			_mStore.close();
+		_mStore = null;
+		PageCache.clear();
+		CachePrefetcher.cleanup();
+		CacheTracer.cleanup();
+		BufferSizeController.cleanup();
+	}
+
+	public static RPolicy getPolicy() {
+		return _policy;
+	}
+
+	private static RPolicy readPolicy() {
+		String policy = ConfigurationManager.getDMLConfig()
+			.getTextValue(DMLConfig.CACHING_BUFFER_POLICY);
+		try {
+			return RPolicy.valueOf(policy.trim().toUpperCase());
+		}
+		catch(Exception ex) {
+			LOG.warn("Invalid buffer pool eviction policy '"+policy+"', using "
+				+CacheableData.CACHING_BUFFER_POLICY.name()+".");
+			return CacheableData.CACHING_BUFFER_POLICY;
+		}
+	}
+
+	private static int getDefaultNumShards() {
+		//one shard per core (i.e., max local parfor degree of parallelism)
+		int k = InfrastructureAnalyzer.getLocalParallelism();
+		return Math.min(Math.max(k, 1), CacheableData.CACHING_BUFFER_MAX_SHARDS);
 	}
 
 	public static long getWriteBufferSize() {
 		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
 		return (long)(CacheableData.CACHING_BUFFER_SIZE * maxMem);
 	}
+
+	/**
+	 * Returns the current size of the write buffer in bytes,
+	 * including pending async evictions.
+	 *
+	 * @return current size in bytes
+	 */
+	public static long getCurrentSize() {
+		return _size.get();
+	}
+
+	public static int getNumShards() {
+		return _shards.length;
+	}
+
+	/**
+	 * Sets the write buffer limit and the derived watermarks for async eviction.
+	 * NOTE: use only for debugging or testing.
+	 *
+	 * @param limit buffer limit in bytes
+	 */
+	public static void setLimit( long limit ) {
+		_limit = limit;
+		_highWatermark = (long)(CacheableData.CACHING_BUFFER_HIGH_WATERMARK * limit);
+		_lowWatermark = (long)(CacheableData.CACHING_BUFFER_LOW_WATERMARK * limit);
+	}
+
+	public static long getLimit() {
+		return _limit;
+	}
+
+	/**
+	 * Resizes the write buffer (e.g., by the adaptive buffer size controller),
+	 * and triggers async eviction if the new high watermark is exceeded, or
+	 * evicts synchronously down to the new limit if async eviction is disabled.
+	 *
+	 * @param limit buffer limit in bytes
+	 */
+	public static void resize( long limit ) {
+		setLimit(limit);
+		BufferEvictor evictor = _evictor;
+		if( evictor != null && _size.get() >= _highWatermark )
+			evictor.wakeup();
+		else if( evictor == null && _shards != null ) {
+			try {
+				int numEvicted = 0;
+				while( _size.get() >= _limit && evictVictim(false) )
+					numEvicted++;
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementFSWrites(numEvicted);
+			}
+			catch(IOException ex) {
+				LOG.error("Failed eviction on resize.", ex);
+			}
+		}
+	}
+
+	private static BufferShard getShard( String fname ) {
+		return _shards[(fname.hashCode() & Integer.MAX_VALUE) % _shards.length];
+	}
+
+	/**
+	 * Evicts the next victim, selected round-robin across shards, where
+	 * entries read in active loops are only evicted if no other entries exist.
+	 *
+	 * @param async true if called by the background evictor
+	 * @return true if a victim was evicted
+	 * @throws IOException if IOException occurs
+	 */
+	private static boolean evictVictim( boolean async )
+		throws IOException
+	{
+		BufferShard[] shards = _shards;
+		int pos = _evictPos.getAndIncrement() & Integer.MAX_VALUE;
+		for( int pass=0; pass<2; pass++ )
+			for( int i=0; i<shards.length; i++ )
+				if( shards[(pos+i) % shards.length].evictVictim(pass==1, async) )
+					return true;
+		return false;
+	}
+
+	/**
+	 * Indicates if there are no pending evictions and the background
+	 * evictor (if enabled) is idle, i.e., waits for the high watermark.
+	 * NOTE: use only for debugging or testing.
+	 *
+	 * @return true if no evictions are pending
+	 */
+	public static boolean isEvictionIdle() {
+		BufferEvictor evictor = _evictor;
+		return _numEvicting.get() == 0 && (evictor == null || evictor.isIdle());
+	}
+
+	private static boolean waitForEviction()
+		throws IOException
+	{
+		synchronized( _evictSignal ) {
+			if( _numEvicting.get() == 0 )
+				return false;
+			try {
+				_evictSignal.wait();
+			}
+			catch(InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while waiting for eviction.", ex);
+			}
+			return true;
+		}
+	}
+
+	private static void signalEviction() {
+		synchronized( _evictSignal ) {
+			_numEvicting.decrementAndGet();
+			_evictSignal.notifyAll();
+		}
+	}
+
+	private static void traceEviction( CacheableData<?> owner, String fname, long size, long t0, boolean mapped ) {
+		CacheTracer.trace(EventType.EVICT, (owner != null) ? owner.getTraceName() : fname,
+			size, System.nanoTime()-t0, mapped ? Location.MMAP : Location.FS);
+	}
 	
 	/**
 	 * Print current status of buffer pool, including all entries.
@@ -207,21 +508,28 @@ public class LazyWriteBuffer
 		System.out.println("WRITE BUFFER STATUS ("+position+") --");
 		
 		//print buffer meta data
+		int size = 0;
+		for( BufferShard shard : _shards )
+			size += shard.queue.size();
 		System.out.println("\tWB: Buffer Meta Data: " +
 				     "limit="+_limit+", " +
-				     "size[bytes]="+_size+", " +
-				     "size[elements]="+_mQueue.size()+"/"+_mQueue.size());
+				     "size[bytes]="+_size.get()+", " +
+				     "size[elements]="+size+"/"+size+", " +
+				     "shards="+_shards.length);
 		
 		//print current buffer entries
-		int count = _mQueue.size();
-		for( Entry<String, ByteBuffer> entry : _mQueue.entrySet() )
-		{
-			String fname = entry.getKey();
-			ByteBuffer bbuff = entry.getValue();
+		int count = size;
+		for( BufferShard shard : _shards )
+			synchronized( shard ) {
+				for( Entry<String, ByteBuffer> entry : shard.queue.entrySet() )
+				{
+					String fname = entry.getKey();
+					ByteBuffer bbuff = entry.getValue();
 			
-			System.out.println("\tWB: buffer element ("+count+"): "+fname+", "+bbuff.getSize()+", "+bbuff.isShallow());
-			count--;
-		}
+					System.out.println("\tWB: buffer element ("+count+"): "+fname+", "+bbuff.getSize()+", "+bbuff.isShallow());
+					count--;
+				}
+			}
 	}
 	
 	/**
@@ -233,48 +541,320 @@ public class LazyWriteBuffer
 	public static void forceEviction() 
 		throws IOException 
 	{
-		//evict all matrices and frames
-		while( !_mQueue.isEmpty() )
+		for( BufferShard shard : _shards )
+			shard.evictAll();
+	}
+
+	/**
+	 * Shard of the buffer pool, consisting of an eviction queue and the pending
+	 * async evictions, which are already removed from the eviction queue but not
+	 * yet written to local FS. All accesses are synchronized on the shard.
+	 */
+	private static class BufferShard
+	{
+		//eviction queue of <filename,buffer> pairs (implemented via linked hash map
+		//for (1) queue semantics and (2) constant time get/insert/delete operations)
+		private final EvictionQueue queue = new EvictionQueue();
+
+		//pending evictions of <filename,buffer> pairs (sync and async)
+		private final HashMap<String, ByteBuffer> evicting = new HashMap<String, ByteBuffer>();
+
+		/**
+		 * Evicts the next victim of this shard. The buffer remains readable
+		 * until written, and its memory is only released after the write, which
+		 * keeps the buffer size accounting exact. On write errors, the buffer
+		 * is put back into the eviction queue.
+		 *
+		 * @param inclLoopRead true if entries read in active loops are evictable
+		 * @param async true if called by the background evictor
+		 * @return true if a victim was evicted
+		 * @throws IOException if IOException occurs
+		 */
+		public boolean evictVictim( boolean inclLoopRead, boolean async )
+			throws IOException
 		{
-			//remove first entry from eviction queue
-			Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
+			//obtain next eviction candidate
+			Entry<String, ByteBuffer> entry = null;
+			synchronized( this ) {
+				if( queue.isEmpty() || (entry = queue.removeVictim(inclLoopRead)) == null )
+					return false;
+				evicting.put(entry.getKey(), entry.getValue());
+				_numEvicting.incrementAndGet();
+			}
+
+			//evict buffer outside critical section
+			String fname = entry.getKey();
 			ByteBuffer tmp = entry.getValue();
-			
-			if( tmp != null ) {
-				//wait for pending serialization
+			CacheableData<?> owner = tmp.getOwner();
+			long t0 = (DMLScript.STATISTICS || CacheTracer.isEnabled()) ? System.nanoTime() : 0;
+			boolean success = false, mapped = false;
+			try {
 				tmp.checkSerialized();
+				mapped = tmp.evictBuffer(fname, _mStore);
+				success = true;
+			}
+			finally {
+				//release memory and notify waiting readers and writers
+				synchronized( this ) {
+					evicting.remove(fname);
+					if( success )
+						tmp.freeMemory();
+					else
+						queue.addLast(fname, tmp);
+					notifyAll();
+				}
+				if( success )
+					_size.addAndGet(-tmp.getSize());
+				signalEviction();
+			}
+			
+			if( DMLScript.STATISTICS ) {
+				CacheStatistics.incrementEvictions(async, System.nanoTime()-t0);
+				if( async )
+					CacheStatistics.incrementFSWrites();
+			}
+			if( CacheTracer.isEnabled() )
+				traceEviction(owner, fname, tmp.getSize(), t0, mapped);
+			return true;
+		}
 				
-				//evict matrix
-				tmp.evictBuffer(entry.getKey());
-				tmp.freeMemory();
+		public synchronized void evictAll()
+			throws IOException
+		{
+			//wait for pending async evictions
+			try {
+				while( !evicting.isEmpty() )
+					wait();
+			}
+			catch(InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while waiting for eviction.", ex);
+			}
+
+			//evict all matrices and frames
+			while( !queue.isEmpty() )
+			{
+				//remove first entry from eviction queue
+				Entry<String, ByteBuffer> entry = queue.removeFirst();
+				ByteBuffer tmp = entry.getValue();
+
+				if( tmp != null ) {
+					//wait for pending serialization
+					tmp.checkSerialized();
+
+					//evict matrix
+					CacheableData<?> owner = tmp.getOwner();
+					long t0 = CacheTracer.isEnabled() ? System.nanoTime() : 0;
+					boolean mapped = tmp.evictBuffer(entry.getKey(), _mStore);
+					if( CacheTracer.isEnabled() )
+						traceEviction(owner, entry.getKey(), tmp.getSize(), t0, mapped);
+					tmp.freeMemory();
+					_size.addAndGet(-tmp.getSize());
+				}
 			}
 		}
 	}
 	
 	/**
 	 * Extended LinkedHashMap with convenience methods for adding and removing 
-	 * last/first entries.
+	 * last/first entries. For the cost-aware policy, the queue additionally
+	 * maintains an index of its entries ordered by eviction priority (and queue
+	 * order for ties), which allows victim selection in logarithmic time.
 	 * 
 	 */
 	private static class EvictionQueue extends LinkedHashMap<String, ByteBuffer>
 	{
 		private static final long serialVersionUID = -5208333402581364859L;
 		
+		//priority index of queue entries (only maintained for cost policy)
+		private final TreeMap<PriorityKey, String> _index = new TreeMap<PriorityKey, String>();
+		private final HashMap<String, PriorityKey> _keys = new HashMap<String, PriorityKey>();
+		private long _seq = 0;
+
 		public void addLast( String fname, ByteBuffer bbuff ) {
 			//put entry into eviction queue w/ 'addLast' semantics
 			put(fname, bbuff);
 		}
 		
+		@Override
+		public ByteBuffer put( String fname, ByteBuffer bbuff ) {
+			ByteBuffer ret = super.put(fname, bbuff);
+			if( _policy == RPolicy.COST ) {
+				PriorityKey key = _keys.remove(fname);
+				if( key != null )
+					_index.remove(key);
+				index(fname, bbuff, (key != null) ? key.seq : _seq++);
+			}
+			return ret;
+		}
+
+		@Override
+		public ByteBuffer remove( Object fname ) {
+			ByteBuffer ret = super.remove(fname);
+			PriorityKey key = _keys.remove(fname);
+			if( key != null )
+				_index.remove(key);
+			return ret;
+		}
+
+		@Override
+		public void clear() {
+			super.clear();
+			_index.clear();
+			_keys.clear();
+		}
+
+		/**
+		 * Updates the eviction priority of the given entry after changes
+		 * of its priority base or size (w/o modifying the queue order).
+		 *
+		 * @param fname file name
+		 */
+		public void updatePriority( String fname ) {
+			PriorityKey key = _keys.remove(fname);
+			if( key != null ) {
+				_index.remove(key);
+				index(fname, get(fname), key.seq);
+			}
+		}
+
 		public Entry<String, ByteBuffer> removeFirst() 
 		{
-			//move iterator to first entry
-			Iterator<Entry<String, ByteBuffer>> iter = entrySet().iterator();
-			Entry<String, ByteBuffer> entry = iter.next();
+			//obtain and remove first entry
+			String fname = keySet().iterator().next();
+			return new SimpleEntry<String, ByteBuffer>(fname, remove(fname));
+		}
 			
-			//remove current iterator entry
-			iter.remove();
+		public Entry<String, ByteBuffer> removeVictim( boolean inclLoopRead )
+		{
+			if( _policy != RPolicy.COST )
+				return removeFirst();
 			
-			return entry;
+			//greedy-dual-size: evict entry w/ min priority (base + cost/size),
+			//where entries read in active loops are only evicted if no other
+			//entries exist, and ties are resolved in queue order (i.e., FIFO)
+			for( Entry<PriorityKey, String> entry : _index.entrySet() ) {
+				String fname = entry.getValue();
+				ByteBuffer bbuff = get(fname);
+				CacheableData<?> owner = bbuff.getOwner();
+				if( !inclLoopRead && owner != null && owner.isLoopRead() )
+					continue;
+				remove(fname);
+
+				//inflate priority base for aging of remaining entries
+				_costInflation = Math.max(_costInflation, entry.getKey().priority);
+				return new SimpleEntry<String, ByteBuffer>(fname, bbuff);
+			}
+			return null;
+		}
+
+		private void index( String fname, ByteBuffer bbuff, long seq ) {
+			PriorityKey key = new PriorityKey(getEvictionPriority(bbuff), seq);
+			_index.put(key, fname);
+			_keys.put(fname, key);
+		}
+
+		private static double getEvictionPriority(ByteBuffer bbuff) {
+			//restore cost per byte (small buffers are more expensive
+			//per byte due to the fixed latency of local reads)
+			double size = Math.max(bbuff.getSize(), 1);
+			double cost = COST_RESTORE_LATENCY + size / COST_RESTORE_BANDWIDTH;
+			return bbuff.getPriorityBase() + cost / size;
+		}
+	}
+
+	/**
+	 * Key of the priority index, ordered by eviction priority and queue order.
+	 */
+	private static class PriorityKey implements Comparable<PriorityKey>
+	{
+		private final double priority;
+		private final long seq;
+
+		public PriorityKey(double priority, long seq) {
+			this.priority = priority;
+			this.seq = seq;
+		}
+
+		@Override
+		public int compareTo(PriorityKey that) {
+			int ret = Double.compare(priority, that.priority);
+			return (ret != 0) ? ret : (seq < that.seq ? -1 : (seq > that.seq ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Background evictor that proactively writes cold buffers (in eviction
+	 * queue order) to local FS once the buffer size exceeds the high watermark
+	 * until it drops below the low watermark. Writers wake up the evictor via
+	 * unpark (i.e., without a global monitor). On write errors, the evictor
+	 * terminates, i.e., falls back to synchronous eviction on the writer threads,
+	 * which surfaces the error. The evictor is disabled by default (opt-in via
+	 * caching.eviction.async), i.e., writers evict synchronously.
+	 */
+	private static class BufferEvictor extends Thread
+	{
+		private volatile boolean _stop = false;
+		private volatile boolean _idle = false;
+
+		public BufferEvictor() {
+			super("SystemML-BufferEvictor");
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			boolean active = false;
+			while( !_stop ) {
+				//wait until the high watermark is reached
+				if( _size.get() < (active ? _lowWatermark : _highWatermark) ) {
+					active = false;
+					park();
+					continue;
+				}
+				active = true;
+
+				//evict next victim across shards
+				try {
+					if( !evictVictim(true) ) {
+						active = false;
+						park();
+					}
+				}
+				catch(IOException ex) {
+					LOG.error("Failed async eviction.", ex);
+					_evictor = null;
+					_stop = true;
+				}
+			}
+		}
+
+		public void wakeup() {
+			LockSupport.unpark(this);
+		}
+
+		public boolean isIdle() {
+			return _idle;
+		}
+
+		private void park() {
+			//park w/o timeout (woken up by writers, resize, and shutdown;
+			//an unpark before the park is not lost but returns immediately)
+			_idle = true;
+			LockSupport.park(this);
+			_idle = false;
+		}
+
+		public void shutdown() {
+			_stop = true;
+			wakeup();
+			//wait for pending eviction
+			try {
+				join();
+			}
+			catch(InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
 		}
 	}
 	
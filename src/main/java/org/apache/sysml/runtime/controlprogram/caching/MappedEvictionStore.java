@@ -0,0 +1,448 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+
+/**
+ * Memory-mapped store for evicted buffer pool blocks, which keeps all
+ * evicted blocks in a few large segment files instead of one file per block.
+ * Dense and sparse matrix blocks are written in a raw layout (dense: values,
+ * sparse: CSR row pointers, column indexes, and values) in native byte order,
+ * and restored by bulk copy into new arrays, which avoids the stream-based
+ * serialization and deserialization. Other blocks (frames, compressed blocks)
+ * are rejected and remain subject to the file-based eviction.
+ *
+ * Extents are allocated first-fit from the free lists of deleted extents
+ * (coalesced with adjacent free space) or via bump pointers per segment.
+ * Dedicated segments of large blocks are dropped once their extent has been
+ * deleted, and close unmaps all segments before deleting the files.
+ */
+public class MappedEvictionStore
+{
+	//default segment size, larger blocks get their own segment
+	public static final long SEGMENT_SIZE = 128L*1024*1024; //128MB
+
+	private static final int HEADER_SIZE = 24; //type, rows, cols, code/pad, nnz/len
+	private static final int TYPE_EMPTY = 0;
+	private static final int TYPE_DENSE = 1;
+	private static final int TYPE_CSR   = 2;
+	private static final int TYPE_BYTES = 3;
+
+	private final String _dir;
+	private final ArrayList<Segment> _segments = new ArrayList<Segment>();
+	private final HashMap<String, Extent> _extents = new HashMap<String, Extent>();
+	private int _segmentID = 0;
+
+	public MappedEvictionStore(String dir) {
+		_dir = dir;
+	}
+
+	/**
+	 * Writes the given cache block in raw layout if supported.
+	 *
+	 * @param fname eviction file name (key)
+	 * @param cb cache block
+	 * @return true if written, false if not supported
+	 * @throws IOException if IOException occurs
+	 */
+	public boolean writeBlock(String fname, CacheBlock cb)
+		throws IOException
+	{
+		if( !(cb instanceof MatrixBlock) || cb instanceof CompressedMatrixBlock )
+			return false;
+		MatrixBlock mb = (MatrixBlock) cb;
+		int type = mb.isEmptyBlock(false) ? TYPE_EMPTY :
+			mb.isInSparseFormat() ? TYPE_CSR : TYPE_DENSE;
+		long nnz = (type == TYPE_CSR) ? mb.getSparseBlock().size() : mb.getNonZeros();
+		long len = HEADER_SIZE + getDataSize(type, mb.getNumRows(), mb.getNumColumns(), nnz);
+		if( len > Integer.MAX_VALUE - 8 )
+			return false;
+
+		//allocate extent and write header and data
+		Extent ext = allocate(fname, (int)len);
+		java.nio.ByteBuffer buff = ext.getBuffer();
+		buff.putInt(type).putInt(mb.getNumRows()).putInt(mb.getNumColumns()).putInt(0).putLong(nnz);
+		if( type == TYPE_DENSE )
+			writeDense(buff, mb);
+		else if( type == TYPE_CSR )
+			writeCSR(buff, mb);
+		return true;
+	}
+
+	/**
+	 * Writes the given serialized cache block.
+	 *
+	 * @param fname eviction file name (key)
+	 * @param code cache block type code
+	 * @param data serialized cache block
+	 * @return true if written, false if not supported
+	 * @throws IOException if IOException occurs
+	 */
+	public boolean writeBytes(String fname, int code, byte[] data)
+		throws IOException
+	{
+		if( HEADER_SIZE + (long)data.length > Integer.MAX_VALUE - 8 )
+			return false;
+
+		//allocate extent and write header and data
+		Extent ext = allocate(fname, HEADER_SIZE + data.length);
+		java.nio.ByteBuffer buff = ext.getBuffer();
+		buff.putInt(TYPE_BYTES).putInt(0).putInt(0).putInt(code).putLong(data.length);
+		buff.put(data);
+		return true;
+	}
+
+	/**
+	 * Reads the cache block of the given file name.
+	 *
+	 * @param fname eviction file name (key)
+	 * @return cache block, or null if not contained
+	 * @throws IOException if IOException occurs
+	 */
+	public CacheBlock readBlock(String fname)
+		throws IOException
+	{
+		Extent ext = null;
+		synchronized( this ) {
+			ext = _extents.get(fname);
+		}
+		if( ext == null )
+			return null;
+
+		//read header and data by bulk copy
+		java.nio.ByteBuffer buff = ext.getBuffer();
+		int type = buff.getInt();
+		int rows = buff.getInt();
+		int cols = buff.getInt();
+		int code = buff.getInt();
+		long nnz = buff.getLong();
+		switch( type ) {
+			case TYPE_EMPTY:
+				return new MatrixBlock(rows, cols, true);
+			case TYPE_DENSE:
+				return readDense(buff, rows, cols, nnz);
+			case TYPE_CSR:
+				return readCSR(buff, rows, cols, nnz);
+			default: {
+				byte[] data = new byte[(int)nnz];
+				buff.get(data);
+				return CacheBlockFactory.newInstance(code, data);
+			}
+		}
+	}
+
+	/**
+	 * Deletes the extent of the given file name.
+	 *
+	 * @param fname eviction file name (key)
+	 * @return true if deleted, false if not contained
+	 */
+	public synchronized boolean delete(String fname) {
+		Extent ext = _extents.remove(fname);
+		if( ext == null )
+			return false;
+		Segment seg = ext.seg;
+		seg.free(ext.off, ext.len);
+		
+		//drop empty dedicated segments of large blocks (w/o explicit 
+		//unmap because of potentially concurrent reads of the extent)
+		if( seg.live == 0 && seg.size > SEGMENT_SIZE ) {
+			_segments.remove(seg);
+			IOUtilFunctions.closeSilently(seg.file);
+			new File(seg.fname).delete();
+		}
+		return true;
+	}
+
+	public synchronized boolean contains(String fname) {
+		return _extents.containsKey(fname);
+	}
+
+	public synchronized int getNumSegments() {
+		return _segments.size();
+	}
+
+	/**
+	 * Returns the allocated space of all segments (up to the bump pointers),
+	 * including free extents below the bump pointers.
+	 * 
+	 * @return size in bytes
+	 */
+	public synchronized long getAllocatedSize() {
+		long size = 0;
+		for( Segment seg : _segments )
+			size += seg.pos;
+		return size;
+	}
+
+	/**
+	 * Unmaps, closes, and deletes all segment files. This requires that
+	 * there are no concurrent reads or writes.
+	 */
+	public synchronized void close() {
+		for( Segment seg : _segments ) {
+			unmap(seg.buff);
+			IOUtilFunctions.closeSilently(seg.file);
+			new File(seg.fname).delete();
+		}
+		_segments.clear();
+		_extents.clear();
+	}
+
+	private synchronized Extent allocate(String fname, int len)
+		throws IOException
+	{
+		//robustness for overwrites w/o prior delete
+		delete(fname);
+
+		//find segment w/ sufficient free space (free lists or bump pointer)
+		int len8 = (len + 7) / 8 * 8; //8-byte alignment
+		long off = -1;
+		Segment seg = null;
+		for( int i=0; i<_segments.size() && off < 0; i++ ) {
+			seg = _segments.get(i);
+			off = seg.alloc(len8);
+		}
+
+		//create new segment if required
+		if( off < 0 ) {
+			seg = new Segment(_dir + CacheableData.cacheEvictionLocalFilePrefix
+				+ "_mmap" + (_segmentID++) + CacheableData.CACHING_EVICTION_FILEEXTENSION,
+				Math.max(SEGMENT_SIZE, len8));
+			_segments.add(seg);
+			off = seg.alloc(len8);
+		}
+
+		Extent ext = new Extent(seg, (int)off, len8);
+		_extents.put(fname, ext);
+		return ext;
+	}
+
+	/**
+	 * Releases the mapping of the given buffer, which otherwise remains until
+	 * garbage collection of the buffer (and prevents file deletes on some
+	 * platforms). Since there is no public API for unmapping, this uses the
+	 * buffer cleaner (Java 8) or Unsafe.invokeCleaner (Java 9+) if available.
+	 * 
+	 * @param buff mapped byte buffer
+	 */
+	private static void unmap(MappedByteBuffer buff) {
+		try {
+			Method mcleaner = buff.getClass().getMethod("cleaner");
+			mcleaner.setAccessible(true);
+			Object cleaner = mcleaner.invoke(buff);
+			if( cleaner != null ) {
+				Method mclean = cleaner.getClass().getMethod("clean");
+				mclean.setAccessible(true);
+				mclean.invoke(cleaner);
+			}
+			return;
+		}
+		catch(Exception ex) {
+			//ignore, try unsafe
+		}
+		try {
+			Class<?> clazz = Class.forName("sun.misc.Unsafe");
+			Field funsafe = clazz.getDeclaredField("theUnsafe");
+			funsafe.setAccessible(true);
+			clazz.getMethod("invokeCleaner", java.nio.ByteBuffer.class)
+				.invoke(funsafe.get(null), buff);
+		}
+		catch(Exception ex) {
+			//ignore, unmapped on garbage collection
+		}
+	}
+
+	private static long getDataSize(int type, int rows, int cols, long nnz) {
+		switch( type ) {
+			case TYPE_DENSE: return 8L * rows * cols;
+			case TYPE_CSR:   return 4L * (rows + 1 + nnz + (rows + 1 + nnz) % 2) + 8L * nnz;
+			default:         return 0;
+		}
+	}
+
+	private static void writeDense(java.nio.ByteBuffer buff, MatrixBlock mb) {
+		buff.asDoubleBuffer().put(mb.getDenseBlock(), 0, mb.getNumRows()*mb.getNumColumns());
+	}
+
+	private static MatrixBlock readDense(java.nio.ByteBuffer buff, int rows, int cols, long nnz) {
+		MatrixBlock ret = new MatrixBlock(rows, cols, false);
+		ret.allocateDenseBlock();
+		buff.asDoubleBuffer().get(ret.getDenseBlock(), 0, rows*cols);
+		ret.setNonZeros(nnz);
+		return ret;
+	}
+
+	private static void writeCSR(java.nio.ByteBuffer buff, MatrixBlock mb) {
+		SparseBlock sblock = mb.getSparseBlock();
+		int rows = mb.getNumRows();
+		int nnz = (int) sblock.size();
+		int pos = buff.position();
+		int ixpos = pos + 4*(rows + 1);
+		int valpos = pos + 4*(rows + 1 + nnz + (rows + 1 + nnz) % 2);
+
+		if( sblock instanceof SparseBlockCSR ) {
+			//bulk copy of csr arrays (w/ offset of row-range views)
+			SparseBlockCSR csr = (SparseBlockCSR) sblock;
+			int[] rptr = csr.rowPointers();
+			int p0 = rptr[0];
+			if( p0 == 0 )
+				((java.nio.ByteBuffer)buff.position(pos)).asIntBuffer().put(rptr, 0, rows+1);
+			else
+				for( int i=0; i<=rows; i++ )
+					buff.putInt(pos + 4*i, rptr[i] - p0);
+			((java.nio.ByteBuffer)buff.position(ixpos)).asIntBuffer().put(csr.indexes(), p0, nnz);
+			((java.nio.ByteBuffer)buff.position(valpos)).asDoubleBuffer().put(csr.values(), p0, nnz);
+		}
+		else {
+			//row-wise copy of other sparse blocks into csr layout
+			int rptr = 0;
+			for( int i=0; i<rows; i++ ) {
+				buff.putInt(pos + 4*i, rptr);
+				if( sblock.isEmpty(i) )
+					continue;
+				int apos = sblock.pos(i);
+				int alen = sblock.size(i);
+				((java.nio.ByteBuffer)buff.position(ixpos + 4*rptr)).asIntBuffer().put(sblock.indexes(i), apos, alen);
+				((java.nio.ByteBuffer)buff.position(valpos + 8*rptr)).asDoubleBuffer().put(sblock.values(i), apos, alen);
+				rptr += alen;
+			}
+			buff.putInt(pos + 4*rows, rptr);
+		}
+	}
+
+	private static MatrixBlock readCSR(java.nio.ByteBuffer buff, int rows, int cols, long nnz) {
+		int pos = buff.position();
+		int[] rptr = new int[rows+1];
+		int[] ix = new int[(int)nnz];
+		double[] vals = new double[(int)nnz];
+		((java.nio.ByteBuffer)buff.position(pos)).asIntBuffer().get(rptr);
+		((java.nio.ByteBuffer)buff.position(pos + 4*(rows+1))).asIntBuffer().get(ix);
+		((java.nio.ByteBuffer)buff.position(pos + 4*(int)(rows + 1 + nnz + (rows + 1 + nnz) % 2)))
+			.asDoubleBuffer().get(vals);
+		return new MatrixBlock(rows, cols, nnz, new SparseBlockCSR(rptr, ix, vals, (int)nnz));
+	}
+
+	private static class Segment
+	{
+		private final String fname;
+		private final RandomAccessFile file;
+		private final MappedByteBuffer buff;
+		private final long size;
+		private long pos = 0;  //bump pointer
+		private long live = 0; //allocated bytes
+		//free extents below the bump pointer (offset -> length)
+		private final TreeMap<Long, Long> holes = new TreeMap<Long, Long>();
+
+		public Segment(String fname, long size)
+			throws IOException
+		{
+			this.fname = fname;
+			this.size = size;
+			file = new RandomAccessFile(fname, "rw");
+			buff = file.getChannel().map(MapMode.READ_WRITE, 0, size);
+		}
+		
+		public long alloc(long len) {
+			long off = -1;
+			//first-fit allocation from free extents
+			Iterator<Entry<Long, Long>> iter = holes.entrySet().iterator();
+			while( iter.hasNext() && off < 0 ) {
+				Entry<Long, Long> hole = iter.next();
+				if( hole.getValue() >= len ) {
+					off = hole.getKey();
+					iter.remove();
+					if( hole.getValue() > len )
+						holes.put(off + len, hole.getValue() - len);
+				}
+			}
+			//bump allocation
+			if( off < 0 && size - pos >= len ) {
+				off = pos;
+				pos += len;
+			}
+			live += (off >= 0) ? len : 0;
+			return off;
+		}
+		
+		public void free(long off, long len) {
+			live -= len;
+			if( live == 0 ) {
+				holes.clear();
+				pos = 0;
+				return;
+			}
+			//coalesce with adjacent free extents
+			Entry<Long, Long> prev = holes.floorEntry(off);
+			if( prev != null && prev.getKey() + prev.getValue() == off ) {
+				holes.remove(prev.getKey());
+				off = prev.getKey();
+				len += prev.getValue();
+			}
+			Long next = holes.remove(off + len);
+			if( next != null )
+				len += next;
+			//return free space at the end to the bump pointer
+			if( off + len == pos )
+				pos = off;
+			else
+				holes.put(off, len);
+		}
+	}
+
+	private static class Extent
+	{
+		private final Segment seg;
+		private final int off;
+		private final int len;
+
+		public Extent(Segment seg, int off, int len) {
+			this.seg = seg;
+			this.off = off;
+			this.len = len;
+		}
+
+		public java.nio.ByteBuffer getBuffer() {
+			//independent view for concurrent reads/writes of disjoint extents
+			java.nio.ByteBuffer ret = seg.buff.duplicate();
+			ret.position(off).limit(off + len);
+			return ret.slice().order(ByteOrder.nativeOrder());
+		}
+	}
+}
@@ -31,6 +31,7 @@ import org.apache.sysml.lops.Lop;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
@@ -414,7 +415,7 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 	
 	@Override
 	protected MatrixBlock readBlobFromCache(String fname) throws IOException {
-		return (MatrixBlock)LazyWriteBuffer.readBlock(fname, true);
+		return (MatrixBlock)LazyWriteBuffer.readBlock(fname);
 	}
 	
 
@@ -533,16 +534,7 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 			OutputInfo oinfo = (ofmt != null ? OutputInfo.stringToOutputInfo (ofmt) : 
 					InputInfo.getMatchingOutputInfo (iimd.getInputInfo ()));
 			
-			// when outputFormat is binaryblock, make sure that matrixCharacteristics has correct blocking dimensions
-			// note: this is only required if singlenode (due to binarycell default) 
-			if ( oinfo == OutputInfo.BinaryBlockOutputInfo && DMLScript.rtplatform == RUNTIME_PLATFORM.SINGLE_NODE &&
-				(mc.getRowsPerBlock() != ConfigurationManager.getBlocksize() || mc.getColsPerBlock() != ConfigurationManager.getBlocksize()) ) 
-			{
-				DataConverter.writeMatrixToHDFS(_data, fname, oinfo, new MatrixCharacteristics(mc.getRows(), mc.getCols(), ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize(), mc.getNonZeros()), rep, fprop);
-			}
-			else {
-				DataConverter.writeMatrixToHDFS(_data, fname, oinfo, mc, rep, fprop);
-			}
+			DataConverter.writeMatrixToHDFS(_data, fname, oinfo, getWriteCharacteristics(oinfo, mc), rep, fprop);
 
 			if( LOG.isTraceEnabled() )
 				LOG.trace("Writing matrix to HDFS ("+fname+") - COMPLETED... " + (System.currentTimeMillis()-begin) + " msec.");
@@ -555,6 +547,52 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 			CacheStatistics.incrementHDFSWrites();
 	}
 	
+	@Override
+	protected boolean isEqualExportedData(String fname, String ofmt)
+		throws IOException, DMLRuntimeException
+	{
+		MatrixFormatMetaData iimd = (MatrixFormatMetaData) _metaData;
+		MatrixCharacteristics mc = iimd.getMatrixCharacteristics();
+		OutputInfo oinfo = (ofmt != null ? OutputInfo.stringToOutputInfo (ofmt) : 
+			InputInfo.getMatchingOutputInfo (iimd.getInputInfo ()));
+		if( _data == null || _data instanceof CompressedMatrixBlock )
+			return false;
+		
+		//read existing file and compare all cells (incl. NaNs)
+		MatrixCharacteristics mcw = getWriteCharacteristics(oinfo, mc);
+		MatrixBlock mb = DataConverter.readMatrixFromHDFS(fname, OutputInfo.getMatchingInputInfo(oinfo), 
+			mc.getRows(), mc.getCols(), mcw.getRowsPerBlock(), mcw.getColsPerBlock());
+		if( mb.getNumRows() != _data.getNumRows() || mb.getNumColumns() != _data.getNumColumns() )
+			return false;
+		for( int i=0; i<mb.getNumRows(); i++ )
+			for( int j=0; j<mb.getNumColumns(); j++ ) {
+				double v1 = mb.quickGetValue(i, j);
+				double v2 = _data.quickGetValue(i, j);
+				if( v1 != v2 && !(Double.isNaN(v1) && Double.isNaN(v2)) )
+					return false;
+			}
+		return true;
+	}
+	
+	/**
+	 * Returns the matrix characteristics used to write the matrix in the given
+	 * format, i.e., for binaryblock, make sure that matrixCharacteristics has correct 
+	 * blocking dimensions (note: this is only required if singlenode (due to binarycell default)). 
+	 * 
+	 * @param oinfo output info
+	 * @param mc matrix characteristics of meta data
+	 * @return matrix characteristics of written file
+	 */
+	private static MatrixCharacteristics getWriteCharacteristics(OutputInfo oinfo, MatrixCharacteristics mc) {
+		if ( (oinfo == OutputInfo.BinaryBlockOutputInfo || oinfo == OutputInfo.CompressedBinaryBlockOutputInfo) 
+			&& DMLScript.rtplatform == RUNTIME_PLATFORM.SINGLE_NODE &&
+			(mc.getRowsPerBlock() != ConfigurationManager.getBlocksize() || mc.getColsPerBlock() != ConfigurationManager.getBlocksize()) ) 
+		{
+			return new MatrixCharacteristics(mc.getRows(), mc.getCols(), ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize(), mc.getNonZeros());
+		}
+		return mc;
+	}
+	
 	@Override
 	protected void writeBlobFromRDDtoHDFS(RDDObject rdd, String fname, String outputFormat) 
 	    throws IOException, DMLRuntimeException
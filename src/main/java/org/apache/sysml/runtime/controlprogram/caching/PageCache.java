@@ -16,54 +16,200 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-
 package org.apache.sysml.runtime.controlprogram.caching;
 
-import java.lang.ref.SoftReference;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 
+/**
+ * Thread-safe pool of byte arrays (pages), organized by size classes of
+ * exact array length, which allows reusing serialization buffers of the
+ * buffer pool and buffers of local file streams across iterations. The
+ * total size of pooled pages is bounded by a hard memory limit, and pages
+ * are rejected (dropped) if the limit or the number of size classes is
+ * exceeded. Empty size classes are retired to make room for new classes.
+ * 
+ * NOTE: pages are held via strong references in order to guarantee the
+ * memory bound and exact accounting; clear releases all pooled pages.
+ * Since this memory is not part of the optimizer's memory budget, the
+ * page cache is disabled by default (see caching.buffer.pagecache).
+ */
 public class PageCache 
 {
+	private static final int CLEANUP_THRESHOLD = 128; //max number of size classes
+	private static final int MIN_PAGE_SIZE = 1024;    //min size of pooled pages
 	
-	private static final int CLEANUP_THRESHOLD = 128;
-	private static HashMap<Integer, LinkedList<SoftReference<byte[]>>> _pool;
-
-	public static void init()
-	{
-		_pool = new HashMap<Integer, LinkedList<SoftReference<byte[]>>>();
+	private static final ConcurrentHashMap<Integer, SizeClass> _pool = 
+		new ConcurrentHashMap<Integer, SizeClass>();
+	private static final AtomicLong _size = new AtomicLong(0);
+	private static volatile long _limit = getDefaultLimit();
+	private static volatile boolean _enabled = false;
+	
+	public static void init() {
+		clear();
+		_limit = getDefaultLimit();
+		_enabled = ConfigurationManager.getDMLConfig()
+			.getBooleanValue(DMLConfig.CACHING_BUFFER_PAGECACHE);
 	}
-
-	public static void clear()
-	{
-		_pool = null;
+	
+	public static boolean isEnabled() {
+		return _enabled;
 	}
 
-	public static void putPage( byte[] data )
+	public static void clear() {
+		for( Integer len : _pool.keySet() ) {
+			SizeClass sc = _pool.remove(len);
+			if( sc != null )
+				_size.addAndGet(-sc.retire());
+		}
+	}
+	
+	/**
+	 * Returns the given page to the pool, if the memory bound allows.
+	 * The caller must not use the page afterwards.
+	 * 
+	 * @param data page
+	 * @return true if the page was pooled, false if dropped
+	 */
+	public static boolean putPage( byte[] data )
 	{
-		//cleanup if too many different size lists
-		if( _pool.size()>CLEANUP_THRESHOLD )
-			_pool.clear();
+		if( !_enabled 
+			|| data == null || data.length < MIN_PAGE_SIZE )
+			return false;
+		
+		//reserve memory (drop page if the hard limit is reached)
+		int len = data.length;
+		if( _size.addAndGet(len) > _limit ) {
+			_size.addAndGet(-len);
+			return dropPage();
+		}
 		
-		LinkedList<SoftReference<byte[]>> list = _pool.get( data.length );
-		if( list==null ){
-			list = new LinkedList<SoftReference<byte[]>>();
-			_pool.put(data.length, list);
+		//obtain size class, and retire empty classes if too many
+		SizeClass sc = _pool.get(len);
+		if( sc == null ) {
+			if( _pool.size() >= CLEANUP_THRESHOLD )
+				retireEmptyClasses();
+			if( _pool.size() < CLEANUP_THRESHOLD ) {
+				SizeClass tmp = _pool.putIfAbsent(len, sc = new SizeClass());
+				sc = (tmp != null) ? tmp : sc;
+			}
 		}
-		list.addLast(new SoftReference<byte[]>(data));	
+		
+		//add page (fails if class concurrently retired)
+		if( sc == null || !sc.offer(data) ) {
+			_size.addAndGet(-len);
+			return dropPage();
+		}
+		return true;
 	}
 
+	/**
+	 * Obtains a pooled page of exactly the given size.
+	 * 
+	 * @param size page size in bytes
+	 * @return page, or null if no page of this size is pooled
+	 */
 	public static byte[] getPage( int size )
 	{
-		LinkedList<SoftReference<byte[]>> list = _pool.get( size );
-		if( list!=null ) {
-			while( !list.isEmpty() ){
-				SoftReference<byte[]> ref = list.removeFirst();
-				byte[] tmp = ref.get();
-				if( tmp!=null )
-					return tmp;
-			}
+		if( !_enabled || size < MIN_PAGE_SIZE )
+			return null;
+		SizeClass sc = _pool.get(size);
+		byte[] ret = (sc != null) ? sc.poll() : null;
+		if( ret != null )
+			_size.addAndGet(-size);
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementPageRequests(ret != null);
+		return ret;
+	}
+	
+	/**
+	 * Obtains a pooled page of the given size, or allocates a new page.
+	 * 
+	 * @param size page size in bytes
+	 * @return page
+	 */
+	public static byte[] allocPage( int size ) {
+		byte[] ret = getPage(size);
+		return (ret != null) ? ret : new byte[size];
+	}
+	
+	public static long getSize() {
+		return _size.get();
+	}
+	
+	public static long getLimit() {
+		return _limit;
+	}
+	
+	/**
+	 * Sets the memory bound of pooled pages in bytes.
+	 * NOTE: use only for debugging or testing.
+	 * 
+	 * @param limit memory bound in bytes
+	 */
+	public static void setLimit( long limit ) {
+		_limit = limit;
+	}
+	
+	private static long getDefaultLimit() {
+		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
+		return (long)(CacheableData.CACHING_BUFFER_PAGECACHE_SIZE * maxMem);
+	}
+	
+	private static boolean dropPage() {
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementPageDrops();
+		return false;
+	}
+	
+	private static void retireEmptyClasses() {
+		for( Integer len : _pool.keySet() ) {
+			SizeClass sc = _pool.get(len);
+			if( sc != null && sc.retireIfEmpty() )
+				_pool.remove(len, sc);
+		}
+	}
+	
+	/**
+	 * Pages of a single size class, reused in LIFO order (recently used
+	 * pages are more likely to reside in the CPU caches). Retired classes
+	 * reject new pages, which keeps the pool accounting exact under
+	 * concurrent removal of size classes.
+	 */
+	private static class SizeClass
+	{
+		private final ArrayDeque<byte[]> _pages = new ArrayDeque<byte[]>();
+		private boolean _retired = false;
+		
+		public synchronized boolean offer( byte[] data ) {
+			if( _retired )
+				return false;
+			_pages.addLast(data);
+			return true;
+		}
+		
+		public synchronized byte[] poll() {
+			return _pages.pollLast();
+		}
+		
+		public synchronized boolean retireIfEmpty() {
+			_retired |= _pages.isEmpty();
+			return _retired;
+		}
+		
+		public synchronized long retire() {
+			long size = 0;
+			for( byte[] page : _pages )
+				size += page.length;
+			_pages.clear();
+			_retired = true;
+			return size;
 		}
-		return null;
 	}
 }
@@ -39,9 +39,11 @@ import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.api.MLContextProxy;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.hops.rewrite.RewriteCompressedReblock;
 import org.apache.sysml.lops.Checkpoint;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.Program;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
@@ -520,10 +522,22 @@ public class SparkExecutionContext extends ExecutionContext
 			int bclen = (int) mo.getNumColumnsPerBlock();
 			
 			//create partitioned matrix block and release memory consumed by input
+			//(compressed inputs are sliced per block in compressed form)
 			MatrixBlock mb = mo.acquireRead();
+			boolean compress = isCompressedBroadcast(mb, mo.getMatrixCharacteristics());
 			PartitionedBlock<MatrixBlock> pmb = new PartitionedBlock<MatrixBlock>(mb, brlen, bclen);
 			mo.release();
 			
+			//compress partitions of uncompressed inputs, with fallback to the uncompressed
+			//partitions if the compressed partitions still exceed the broadcast memory budget
+			//(note: partitions of compressed inputs are always smaller than uncompressed)
+			if( compress && !(mb instanceof CompressedMatrixBlock && ((CompressedMatrixBlock)mb).isCompressed()) ) {
+				int k = OptimizerUtils.getConstrainedNumThreads(-1);
+				if( !pmb.compressBlocks(k, (long)getBroadcastMemoryBudget()) && LOG.isDebugEnabled() )
+					LOG.debug("Compressed broadcast of "+varname+" exceeds the broadcast memory budget ("
+						+ OptimizerUtils.toMB(getBroadcastMemoryBudget())+"MB), fallback to uncompressed broadcast.");
+			}
+			
 			//determine coarse-grained partitioning
 			int numPerPart = PartitionedBroadcast.computeBlocksPerPartition(mo.getNumRows(), mo.getNumColumns(), brlen, bclen);
 			int numParts = (int) Math.ceil((double)pmb.getNumRowBlocks()*pmb.getNumColumnBlocks() / numPerPart); 
@@ -555,6 +569,24 @@ public class SparkExecutionContext extends ExecutionContext
 		return bret;
 	}
 	
+	/**
+	 * Indicates if the partitions of a matrix broadcast should be compressed, which 
+	 * applies for compressed inputs, or if compressed linear algebra is enabled and 
+	 * the uncompressed partitions would exceed the broadcast memory budget. Note that 
+	 * the number of blocks per partition is still determined by the matrix dimensions. 
+	 * 
+	 * @param mb matrix block
+	 * @param mc matrix characteristics
+	 * @return true if broadcast partitions should be compressed
+	 */
+	public static boolean isCompressedBroadcast(MatrixBlock mb, MatrixCharacteristics mc) {
+		if( mb instanceof CompressedMatrixBlock && ((CompressedMatrixBlock)mb).isCompressed() )
+			return true;
+		return RewriteCompressedReblock.isEnabledCompression()
+			&& mc.getRows() > 1 && mc.getCols() > 1
+			&& OptimizerUtils.estimatePartitionedSizeExactSparsity(mc) > getBroadcastMemoryBudget();
+	}
+	
 	@SuppressWarnings("unchecked")
 	public PartitionedBroadcast<FrameBlock> getBroadcastForFrameVariable( String varname) 
 		throws DMLRuntimeException
@@ -787,6 +787,8 @@ public class JCudaObject extends GPUObject {
 				SparseBlockCSR csrBlock = null;
 				if (block instanceof SparseBlockCSR){ 
 					csrBlock = (SparseBlockCSR)block;
+					if (csrBlock.rowPointers()[0] > 0) // compact row-range view w/ offset into shared arrays
+						csrBlock = new SparseBlockCSR(csrBlock);
 				} else if (block instanceof SparseBlockCOO) {
 					// TODO - should we do this on the GPU using cusparse<t>coo2csr() ?
 					long t0 = System.nanoTime();
@@ -22,6 +22,7 @@ package org.apache.sysml.runtime.instructions.spark;
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.storage.StorageLevel;
 import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.hops.rewrite.RewriteCompressedReblock;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
@@ -31,6 +32,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyze
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.instructions.cp.BooleanObject;
 import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.spark.CompressionSPInstruction.CompressionFunction;
 import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysml.runtime.instructions.spark.functions.CopyFrameBlockFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.CreateSparseBlockFunction;
@@ -123,8 +125,13 @@ public class CheckpointSPInstruction extends UnarySPInstruction
 						.mapValues(new CopyFrameBlockFunction(false));	
 			}
 		
+			//compress blocks if compressed checkpoint, otherwise
 			//convert mcsr into memory-efficient csr if potentially sparse
-			if( input1.getDataType()==DataType.MATRIX 
+			if( input1.getDataType()==DataType.MATRIX && isCompressedCheckpoint(mcIn) ) {
+				out = ((JavaPairRDD<MatrixIndexes,MatrixBlock>)out)
+					.mapValues(new CompressionFunction());
+			}
+			else if( input1.getDataType()==DataType.MATRIX 
 				&& OptimizerUtils.checkSparseBlockCSRConversion(mcIn) ) 
 			{				
 				out = ((JavaPairRDD<MatrixIndexes,MatrixBlock>)out)
@@ -158,6 +165,21 @@ public class CheckpointSPInstruction extends UnarySPInstruction
 		sec.setVariable( output.getName(), cd);
 	}
 
+	/**
+	 * Indicates if the blocks of the given matrix should be persisted in compressed
+	 * form, which applies if compressed linear algebra is enabled, the storage level
+	 * is MEMORY_AND_DISK (i.e., deserialized blocks that might spill to disk), and 
+	 * the matrix has both dimensions larger than one (see compressed reblock).
+	 * 
+	 * @param mc matrix characteristics
+	 * @return true if compressed checkpoint
+	 */
+	private boolean isCompressedCheckpoint(MatrixCharacteristics mc) {
+		return RewriteCompressedReblock.isEnabledCompression()
+			&& _level.equals(StorageLevel.MEMORY_AND_DISK())
+			&& mc.getRows() > 1 && mc.getCols() > 1;
+	}
+
 	public static int getNumCoalescePartitions(MatrixCharacteristics mc, JavaPairRDD<?,?> in)
 	{
 		if( mc.dimsKnown(true) ) {
@@ -79,6 +79,11 @@ public class CompressionSPInstruction extends UnarySPInstruction
 		public MatrixBlock call(MatrixBlock arg0) 
 			throws Exception 
 		{
+			//prevent redundant compression (e.g., of compressed checkpoints)
+			if( arg0 instanceof CompressedMatrixBlock 
+				&& ((CompressedMatrixBlock)arg0).isCompressed() )
+				return arg0;
+			
 			CompressedMatrixBlock cmb = new CompressedMatrixBlock(arg0);
 			cmb.compress();
 			
@@ -31,8 +31,10 @@ import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlockFactory;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OperationsOnMatrixValues;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.util.FastBufferedDataInputStream;
@@ -75,16 +77,26 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		int nrblks = getNumRowBlocks();
 		int ncblks = getNumColumnBlocks();
 		int code = CacheBlockFactory.getCode(block);
+		boolean compressed = (block instanceof CompressedMatrixBlock 
+			&& ((CompressedMatrixBlock)block).isCompressed());
 		
 		try
 		{
 			_partBlocks = new CacheBlock[nrblks * ncblks];
 			for( int i=0, ix=0; i<nrblks; i++ )
 				for( int j=0; j<ncblks; j++, ix++ ) {
-					T tmp = (T) CacheBlockFactory.newInstance(code);
-					block.sliceOperations(i*_brlen, Math.min((i+1)*_brlen, rlen)-1, 
-							           j*_bclen, Math.min((j+1)*_bclen, clen)-1, tmp);
-					_partBlocks[ix] = tmp;
+					int rl = i*_brlen, ru = Math.min((i+1)*_brlen, rlen)-1;
+					int cl = j*_bclen, cu = Math.min((j+1)*_bclen, clen)-1;
+					if( compressed ) {
+						//slice in compressed form (w/o decompression, incl single-row 
+						//blocks in order to guarantee a single block type)
+						_partBlocks[ix] = ((CompressedMatrixBlock)block).sliceCompressed(rl, ru, cl, cu);
+					}
+					else {
+						T tmp = (T) CacheBlockFactory.newInstance(code);
+						block.sliceOperations(rl, ru, cl, cu, tmp);
+						_partBlocks[ix] = tmp;
+					}
 				}
 		}
 		catch(Exception ex) {
@@ -191,6 +203,65 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		return ret;
 	}
 
+	/**
+	 * Compresses all matrix blocks of this partitioned block. Blocks that are 
+	 * empty or do not benefit from compression are kept in uncompressed form, 
+	 * but wrapped into compressed matrix blocks in order to guarantee a single 
+	 * block type for serialization.
+	 * 
+	 * @param k number of threads per block compression
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public void compressBlocks(int k) 
+		throws DMLRuntimeException 
+	{
+		compressBlocks(k, -1);
+	}
+	
+	/**
+	 * Compresses all matrix blocks of this partitioned block, if the total
+	 * in-memory size of the compressed blocks does not exceed the given
+	 * maximum size. Otherwise, all blocks are kept unchanged.
+	 * 
+	 * @param k number of threads per block compression
+	 * @param maxSize maximum in-memory size (&lt;=0 for unbounded)
+	 * @return true if the blocks have been compressed
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public boolean compressBlocks(int k, long maxSize) 
+		throws DMLRuntimeException 
+	{
+		CacheBlock[] cblocks = new CacheBlock[_partBlocks.length];
+		long size = 24 + 32; //header, block array
+		for( int i=0; i<_partBlocks.length; i++ ) {
+			if( !(_partBlocks[i] instanceof MatrixBlock) )
+				throw new DMLRuntimeException("Unsupported compression of cache block type: "
+						+ _partBlocks[i].getClass().getName());
+			if( _partBlocks[i] instanceof CompressedMatrixBlock ) {
+				cblocks[i] = _partBlocks[i];
+			}
+			else {
+				//compress block, fallback to uncompressed block if no size reduction
+				MatrixBlock mb = (MatrixBlock) _partBlocks[i];
+				CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+				if( !mb.isEmptyBlock(false) ) {
+					cmb.compress(k);
+					if( cmb.getInMemorySize() >= mb.getInMemorySize() )
+						cmb = new CompressedMatrixBlock(mb);
+				}
+				cblocks[i] = cmb;
+			}
+			
+			//early abort if compressed blocks exceed the maximum size
+			size += cblocks[i].getInMemorySize();
+			if( maxSize > 0 && size > maxSize )
+				return false;
+		}
+		
+		_partBlocks = cblocks;
+		return true;
+	}
+
 	public long getExactSerializedSize() {
 		long ret = 24; //header
 		
@@ -268,7 +339,7 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		DataInput dis = is;
 		
 		int code = readHeader(dis);
-		if( is instanceof ObjectInputStream && code == 0) {	// Apply only for MatrixBlock at this point as a temporary workaround
+		if( is instanceof ObjectInputStream && code != 1) {	// Apply only for (compressed) MatrixBlock at this point as a temporary workaround
 															// We will generalize this code by adding UTF functionality to support Frame
 			//fast deserialize of dense/sparse blocks
 			ObjectInputStream ois = (ObjectInputStream)is;
@@ -25,6 +25,7 @@ import org.apache.spark.api.java.function.PairFlatMapFunction;
 import scala.Tuple2;
 
 import org.apache.sysml.lops.Checkpoint;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.instructions.spark.data.LazyIterableIterator;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
@@ -71,8 +72,13 @@ public class CopyBlockPairFunction implements PairFlatMapFunction<Iterator<Tuple
 				MatrixIndexes ix = new MatrixIndexes(arg._1());
 				MatrixBlock block = null;
 				//always create deep copies in more memory-efficient CSR representation 
-				//if block is already in sparse format			
-				if( Checkpoint.CHECKPOINT_SPARSE_CSR && arg._2.isInSparseFormat() )
+				//if block is already in sparse format (compressed blocks are copied
+				//with their column groups, e.g., if read in compressed format)
+				if( arg._2 instanceof CompressedMatrixBlock ) {
+					block = new CompressedMatrixBlock();
+					block.copy(arg._2());
+				}
+				else if( Checkpoint.CHECKPOINT_SPARSE_CSR && arg._2.isInSparseFormat() )
 					block = new MatrixBlock(arg._2, SparseBlock.Type.CSR, true);
 				else
 					block = new MatrixBlock(arg._2());
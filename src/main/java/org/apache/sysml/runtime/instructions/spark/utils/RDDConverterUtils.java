@@ -22,6 +22,7 @@ package org.apache.sysml.runtime.instructions.spark.utils;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -359,8 +360,11 @@ public class RDDConverterUtils
 				else if( tmp.isInSparseFormat() ) //SPARSE ROW
 				{
 					SparseBlock sblock = tmp.getSparseBlock();
+					int pos = sblock.pos(0);
+					int len = sblock.size(0);
 					ret.add(new LabeledPoint(arg0.getValue(i, arg0.getNumColumns()-1), 
-							Vectors.sparse(sblock.size(0), sblock.indexes(0), sblock.values(0))));
+							Vectors.sparse(len, Arrays.copyOfRange(sblock.indexes(0), pos, pos+len), 
+								Arrays.copyOfRange(sblock.values(0), pos, pos+len))));
 				}
 				else // DENSE ROW
 				{
@@ -51,11 +51,13 @@ public class MatrixReaderFactory
 		}
 		else if( iinfo == InputInfo.BinaryCellInputInfo ) 
 			reader = new ReaderBinaryCell();
-		else if( iinfo == InputInfo.BinaryBlockInputInfo ) {
+		else if( iinfo == InputInfo.BinaryBlockInputInfo 
+			|| iinfo == InputInfo.CompressedBinaryBlockInputInfo ) {
+			boolean compressed = (iinfo == InputInfo.CompressedBinaryBlockInputInfo);
 			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR )
-				reader = new ReaderBinaryBlockParallel( false );
+				reader = new ReaderBinaryBlockParallel( false, compressed );
 			else
-				reader = new ReaderBinaryBlock( false );
+				reader = new ReaderBinaryBlock( false, compressed );
 		}
 		else {
 			throw new DMLRuntimeException("Failed to create matrix reader for unknown input info: "
@@ -89,11 +91,13 @@ public class MatrixReaderFactory
 		}
 		else if( iinfo == InputInfo.BinaryCellInputInfo ) 
 			reader = new ReaderBinaryCell();
-		else if( iinfo == InputInfo.BinaryBlockInputInfo ) {
+		else if( iinfo == InputInfo.BinaryBlockInputInfo 
+			|| iinfo == InputInfo.CompressedBinaryBlockInputInfo ) {
+			boolean compressed = (iinfo == InputInfo.CompressedBinaryBlockInputInfo);
 			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR )
-				reader = new ReaderBinaryBlockParallel( props.localFS );
+				reader = new ReaderBinaryBlockParallel( props.localFS, compressed );
 			else
-				reader = new ReaderBinaryBlock( props.localFS );
+				reader = new ReaderBinaryBlock( props.localFS, compressed );
 		}
 		else {
 			throw new DMLRuntimeException("Failed to create matrix reader for unknown input info: "
@@ -66,11 +66,13 @@ public class MatrixWriterFactory
 		else if( oinfo == OutputInfo.BinaryCellOutputInfo ) {
 			writer = new WriterBinaryCell();
 		}
-		else if( oinfo == OutputInfo.BinaryBlockOutputInfo ) {
+		else if( oinfo == OutputInfo.BinaryBlockOutputInfo 
+				|| oinfo == OutputInfo.CompressedBinaryBlockOutputInfo ) {
+			boolean compressed = (oinfo == OutputInfo.CompressedBinaryBlockOutputInfo);
 			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) )
-				writer = new WriterBinaryBlockParallel(replication);
+				writer = new WriterBinaryBlockParallel(replication, compressed);
 			else
-				writer = new WriterBinaryBlock(replication);
+				writer = new WriterBinaryBlock(replication, compressed);
 		}
 		else {
 			throw new DMLRuntimeException("Failed to create matrix writer for unknown output info: "
@@ -22,6 +22,10 @@ package org.apache.sysml.runtime.io;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -30,6 +34,7 @@ import org.apache.hadoop.mapred.JobConf;
 
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
@@ -38,10 +43,17 @@ import org.apache.sysml.runtime.matrix.mapred.MRJobConfiguration;
 public class ReaderBinaryBlock extends MatrixReader
 {
 	protected boolean _localFS = false;
+	protected boolean _compressed = false;
 	
 	public ReaderBinaryBlock( boolean localFS )
+	{
+		this(localFS, false);
+	}
+	
+	public ReaderBinaryBlock( boolean localFS, boolean compressed )
 	{
 		_localFS = localFS;
+		_compressed = compressed;
 	}
 	
 	public void setLocalFS(boolean flag) {
@@ -52,9 +64,6 @@ public class ReaderBinaryBlock extends MatrixReader
 	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
 		throws IOException, DMLRuntimeException 
 	{
-		//allocate output matrix block
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, brlen, bclen, estnnz, false, false);
-		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
 		FileSystem fs = _localFS ? FileSystem.getLocal(job) : FileSystem.get(job);
@@ -62,6 +71,13 @@ public class ReaderBinaryBlock extends MatrixReader
 		
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
+		
+		//core read of compressed blocks (w/o recompression)
+		if( _compressed )
+			return readCompressedBinaryBlockMatrixFromHDFS(path, job, fs, rlen, clen, brlen, bclen, 1);
+		
+		//allocate output matrix block
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, brlen, bclen, estnnz, false, false);
 	
 		//core read 
 		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, brlen, bclen);
@@ -188,12 +204,149 @@ public class ReaderBinaryBlock extends MatrixReader
 		}
 	}
 
+	/**
+	 * Reads a matrix of compressed blocks and assembles the compressed blocks
+	 * into a single compressed matrix block without recompression. If the
+	 * blocks do not have consistent column groups (e.g., blocks compressed
+	 * independently), the blocks are decompressed into an uncompressed output.
+	 * 
+	 * @param path file path
+	 * @param job job configuration
+	 * @param fs file system
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param brlen number of rows in block
+	 * @param bclen number of columns in block
+	 * @param k degree of parallelism over files
+	 * @return compressed or uncompressed matrix block
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected static MatrixBlock readCompressedBinaryBlockMatrixFromHDFS( Path path, JobConf job, FileSystem fs, long rlen, long clen, int brlen, int bclen, int k ) 
+		throws IOException, DMLRuntimeException
+	{
+		//read compressed blocks of all files (sequential or parallel over files)
+		Path[] files = getSequenceFilePaths(fs, path);
+		CompressedMatrixBlock[][] blocks = new CompressedMatrixBlock
+			[(int)Math.max(Math.ceil((double)rlen/brlen),1)][(int)Math.max(Math.ceil((double)clen/bclen),1)];
+		if( k > 1 && files.length > 1 ) {
+			ExecutorService pool = Executors.newFixedThreadPool(Math.min(k, files.length));
+			try {
+				ArrayList<ReadCompressedFileTask> tasks = new ArrayList<ReadCompressedFileTask>();
+				for( Path lpath : files )
+					tasks.add(new ReadCompressedFileTask(lpath, job, fs, blocks, rlen, clen, brlen, bclen));
+				for( Future<Object> task : pool.invokeAll(tasks) )
+					task.get();
+			}
+			catch(Exception ex) {
+				throw new IOException("Failed parallel read of compressed binary block input.", ex);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+		else {
+			for( Path lpath : files )
+				readCompressedBinaryBlocksFromHDFS(lpath, job, fs, blocks, rlen, clen, brlen, bclen);
+		}
+		
+		//assemble compressed output block from the blocks' column groups
+		MatrixBlock ret = CompressedMatrixBlock.assemble(blocks, (int)rlen, (int)clen, bclen);
+		if( ret != null )
+			return ret;
+		
+		//fallback: decompress blocks into uncompressed output block
+		long lnnz = 0;
+		for( CompressedMatrixBlock[] row : blocks )
+			for( CompressedMatrixBlock blk : row )
+				lnnz += (blk != null) ? blk.getNonZeros() : 0;
+		ret = createOutputMatrixBlock(rlen, clen, brlen, bclen, lnnz, true, false);
+		for( int i=0; i<blocks.length; i++ )
+			for( int j=0; j<blocks[i].length; j++ ) {
+				if( blocks[i][j] == null || blocks[i][j].isEmptyBlock(false) )
+					continue;
+				MatrixBlock value = blocks[i][j].isCompressed() ? 
+					blocks[i][j].decompress() : blocks[i][j];
+				int row_offset = i*brlen;
+				int col_offset = j*bclen;
+				ret.copy( row_offset, row_offset+value.getNumRows()-1, 
+						  col_offset, col_offset+value.getNumColumns()-1, value, false );
+			}
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
+	@SuppressWarnings("deprecation")
+	private static void readCompressedBinaryBlocksFromHDFS( Path path, JobConf job, FileSystem fs, CompressedMatrixBlock[][] dest, long rlen, long clen, int brlen, int bclen )
+		throws IOException
+	{
+		MatrixIndexes key = new MatrixIndexes(); 
+		CompressedMatrixBlock value = new CompressedMatrixBlock();
+		
+		//directly read from sequence file (no reuse of blocks)
+		SequenceFile.Reader reader = new SequenceFile.Reader(fs,path,job);
+		try
+		{
+			while( reader.next(key, value) )
+			{	
+				int row_offset = (int)(key.getRowIndex()-1)*brlen;
+				int col_offset = (int)(key.getColumnIndex()-1)*bclen;
+				int rows = value.getNumRows();
+				int cols = value.getNumColumns();
+				
+				//bound check per block
+				if( row_offset + rows < 0 || row_offset + rows > rlen || col_offset + cols<0 || col_offset + cols > clen )
+				{
+					throw new IOException("Matrix block ["+(row_offset+1)+":"+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+							              "out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+				}
+				
+				dest[(int)key.getRowIndex()-1][(int)key.getColumnIndex()-1] = value;
+				value = new CompressedMatrixBlock();
+			}
+		}
+		finally
+		{
+			IOUtilFunctions.closeSilently(reader);
+		}
+	}
+	
+	private static class ReadCompressedFileTask implements Callable<Object> 
+	{
+		private Path _path = null;
+		private JobConf _job = null;
+		private FileSystem _fs = null;
+		private CompressedMatrixBlock[][] _dest = null;
+		private long _rlen = -1;
+		private long _clen = -1;
+		private int _brlen = -1;
+		private int _bclen = -1;
+		
+		public ReadCompressedFileTask(Path path, JobConf job, FileSystem fs, CompressedMatrixBlock[][] dest, long rlen, long clen, int brlen, int bclen) {
+			_path = path;
+			_fs = fs;
+			_job = job;
+			_dest = dest;
+			_rlen = rlen;
+			_clen = clen;
+			_brlen = brlen;
+			_bclen = bclen;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			readCompressedBinaryBlocksFromHDFS(_path, _job, _fs, _dest, _rlen, _clen, _brlen, _bclen);
+			return null;
+		}
+	}
+
 	@SuppressWarnings("deprecation")
 	private void readBinaryBlockMatrixBlocksFromHDFS( Path path, JobConf job, FileSystem fs, Collection<IndexedMatrixValue> dest, long rlen, long clen, int brlen, int bclen )
 		throws IOException
 	{
 		MatrixIndexes key = new MatrixIndexes(); 
-		MatrixBlock value = new MatrixBlock();
 			
 		//set up preferred custom serialization framework for binary block format
 		if( MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION )
@@ -203,6 +356,8 @@ public class ReaderBinaryBlock extends MatrixReader
 		{
 			//directly read from sequence files (individual partfiles)
 			SequenceFile.Reader reader = new SequenceFile.Reader(fs,lpath,job);
+			boolean compressed = CompressedMatrixBlock.class.equals(reader.getValueClass());
+			MatrixBlock value = compressed ? new CompressedMatrixBlock() : new MatrixBlock();
 			
 			try
 			{
@@ -221,7 +376,9 @@ public class ReaderBinaryBlock extends MatrixReader
 					}
 			
 					//copy block to result
-					dest.add(new IndexedMatrixValue(new MatrixIndexes(key), new MatrixBlock(value)));
+					MatrixBlock block = compressed ? new CompressedMatrixBlock() : new MatrixBlock();
+					block.copy(value);
+					dest.add(new IndexedMatrixValue(new MatrixIndexes(key), block));
 				}
 			}
 			finally
@@ -47,7 +47,12 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 	
 	public ReaderBinaryBlockParallel( boolean localFS )
 	{
-		super(localFS);
+		this(localFS, false);
+	}
+	
+	public ReaderBinaryBlockParallel( boolean localFS, boolean compressed )
+	{
+		super(localFS, compressed);
 		_numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
 	}
 	
@@ -55,9 +60,6 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
 		throws IOException, DMLRuntimeException 
 	{	
-		//allocate output matrix block (incl block allocation for parallel)
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, brlen, bclen, estnnz, true, true);
-		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
 		FileSystem fs = _localFS ? FileSystem.getLocal(job) : FileSystem.get(job);
@@ -65,6 +67,13 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 				
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
+		
+		//core read of compressed blocks (w/o recompression)
+		if( _compressed )
+			return readCompressedBinaryBlockMatrixFromHDFS(path, job, fs, rlen, clen, brlen, bclen, _numThreads);
+		
+		//allocate output matrix block (incl block allocation for parallel)
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, brlen, bclen, estnnz, true, true);
 	
 		//core read 
 		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, brlen, bclen);
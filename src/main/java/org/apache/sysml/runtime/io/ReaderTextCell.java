@@ -39,6 +39,7 @@ import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockArena;
 import org.apache.sysml.runtime.util.FastStringTokenizer;
 
 public class ReaderTextCell extends MatrixReader
@@ -67,9 +68,9 @@ public class ReaderTextCell extends MatrixReader
 	
 		//core read 
 		if( fs.isDirectory(path) )
-			readTextCellMatrixFromHDFS(path, job, ret, rlen, clen, brlen, bclen);
+			readTextCellMatrixFromHDFS(path, job, ret, rlen, clen, brlen, bclen, estnnz);
 		else
-			readRawTextCellMatrixFromHDFS(path, job, fs, ret, rlen, clen, brlen, bclen, _isMMFile);
+			readRawTextCellMatrixFromHDFS(path, job, fs, ret, rlen, clen, brlen, bclen, estnnz, _isMMFile);
 		
 		//finally check if change of sparse/dense block representation required
 		if( !ret.isInSparseFormat() )
@@ -86,7 +87,7 @@ public class ReaderTextCell extends MatrixReader
 		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, brlen, bclen, estnnz, true, false);
 	
 		//core read 
-		readRawTextCellMatrixFromInputStream(is, ret, rlen, clen, brlen, bclen, _isMMFile);
+		readRawTextCellMatrixFromInputStream(is, ret, rlen, clen, brlen, bclen, estnnz, _isMMFile);
 		
 		//finally check if change of sparse/dense block representation required
 		if( !ret.isInSparseFormat() )
@@ -96,7 +97,7 @@ public class ReaderTextCell extends MatrixReader
 		return ret;
 	}
 
-	private void readTextCellMatrixFromHDFS( Path path, JobConf job, MatrixBlock dest, long rlen, long clen, int brlen, int bclen )
+	private void readTextCellMatrixFromHDFS( Path path, JobConf job, MatrixBlock dest, long rlen, long clen, int brlen, int bclen, long estnnz )
 		throws IOException
 	{
 		boolean sparse = dest.isInSparseFormat();
@@ -114,6 +115,11 @@ public class ReaderTextCell extends MatrixReader
 		{
 			FastStringTokenizer st = new FastStringTokenizer(' ');
 			
+			//incremental construction into arena-backed sparse block
+			//(if arena guaranteed to fit into int range, otherwise mcsr)
+			if( sparse && SparseBlockArena.isValidCapacity(rlen, estnnz) )
+				dest.allocateSparseArenaBlock(estnnz);
+			
 			for(InputSplit split: splits)
 			{
 				RecordReader<LongWritable,Text> reader = informat.getRecordReader(split, job, Reporter.NULL);
@@ -129,8 +135,6 @@ public class ReaderTextCell extends MatrixReader
 							double lvalue = st.nextDouble();
 							dest.appendValue(row, col, lvalue);
 						}
-						
-						dest.sortSparseRows();
 					} 
 					else //DENSE<-value
 					{
@@ -147,6 +151,10 @@ public class ReaderTextCell extends MatrixReader
 					IOUtilFunctions.closeSilently(reader);
 				}
 			}
+			
+			//sort and compact sparse rows into csr
+			if( sparse )
+				dest.compactSparseArenaBlock();
 		}
 		catch(Exception ex) {
 			//post-mortem error handling and bounds checking
@@ -158,17 +166,17 @@ public class ReaderTextCell extends MatrixReader
 		}
 	}
 
-	private void readRawTextCellMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest, long rlen, long clen, int brlen, int bclen, boolean matrixMarket )
+	private void readRawTextCellMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest, long rlen, long clen, int brlen, int bclen, long estnnz, boolean matrixMarket )
 		throws IOException
 	{
 		//create input stream for path
 		InputStream inputStream = fs.open(path);
 		
 		//actual read
-		readRawTextCellMatrixFromInputStream(inputStream, dest, rlen, clen, brlen, bclen, matrixMarket);
+		readRawTextCellMatrixFromInputStream(inputStream, dest, rlen, clen, brlen, bclen, estnnz, matrixMarket);
 	}
 
-	private void readRawTextCellMatrixFromInputStream( InputStream is, MatrixBlock dest, long rlen, long clen, int brlen, int bclen, boolean matrixMarket )
+	private void readRawTextCellMatrixFromInputStream( InputStream is, MatrixBlock dest, long rlen, long clen, int brlen, int bclen, long estnnz, boolean matrixMarket )
 			throws IOException
 	{
 		BufferedReader br = new BufferedReader(new InputStreamReader( is ));	
@@ -206,6 +214,10 @@ public class ReaderTextCell extends MatrixReader
 			
 			if( sparse ) //SPARSE<-value
 			{
+				//incremental construction into arena-backed sparse block
+				//(if arena guaranteed to fit into int range, otherwise mcsr)
+				if( SparseBlockArena.isValidCapacity(rlen, estnnz) )
+					dest.allocateSparseArenaBlock(estnnz);
 				while( (value=br.readLine())!=null )
 				{
 					st.reset( value ); //reinit tokenizer
@@ -215,7 +227,8 @@ public class ReaderTextCell extends MatrixReader
 					dest.appendValue(row, col, lvalue);
 				}
 				
-				dest.sortSparseRows();
+				//sort and compact sparse rows into csr
+				dest.compactSparseArenaBlock();
 			} 
 			else //DENSE<-value
 			{
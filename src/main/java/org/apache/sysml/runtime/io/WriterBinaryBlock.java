@@ -27,7 +27,9 @@ import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
@@ -39,9 +41,15 @@ import org.apache.sysml.runtime.util.MapReduceTool;
 public class WriterBinaryBlock extends MatrixWriter
 {
 	protected int _replication = -1;
+	protected boolean _compressed = false;
 	
 	public WriterBinaryBlock( int replication ) {
+		this(replication, false);
+	}
+	
+	public WriterBinaryBlock( int replication, boolean compressed ) {
 		_replication  = replication;
+		_compressed = compressed;
 	}
 
 	@Override
@@ -60,8 +68,22 @@ public class WriterBinaryBlock extends MatrixWriter
 		if( MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION )
 			MRJobConfiguration.addBinaryBlockSerializationFramework( job );
 		
+		//prepare compressed/uncompressed input, where uncompressed inputs are
+		//compressed once to obtain consistent column groups for all blocks
+		boolean compressedIn = (src instanceof CompressedMatrixBlock 
+			&& ((CompressedMatrixBlock)src).isCompressed());
+		int k = OptimizerUtils.getConstrainedNumThreads(-1);
+		if( _compressed && !compressedIn && !src.isEmptyBlock(false) ) {
+			CompressedMatrixBlock tmp = new CompressedMatrixBlock(src);
+			tmp.compress(k);
+			src = tmp;
+		}
+		else if( !_compressed && compressedIn ) {
+			src = ((CompressedMatrixBlock)src).decompress(k);
+		}
+		
 		//core write sequential/parallel
-		if( src.isDiag() )
+		if( src.isDiag() && !_compressed )
 			writeDiagBinaryBlockMatrixToHDFS(path, job, fs, src, rlen, clen, brlen, bclen);
 		else
 			writeBinaryBlockMatrixToHDFS(path, job, fs, src, rlen, clen, brlen, bclen);
@@ -104,6 +126,8 @@ public class WriterBinaryBlock extends MatrixWriter
 		boolean sparse = src.isInSparseFormat();
 		int rlen = src.getNumRows();
 		int clen = src.getNumColumns();
+		Class<? extends MatrixBlock> valueClass = _compressed ? 
+				CompressedMatrixBlock.class : MatrixBlock.class;
 		
 		// 1) create sequence file writer, with right replication factor 
 		// (config via MRConfigurationNames.DFS_REPLICATION not possible since sequence file internally calls fs.getDefaultReplication())
@@ -111,12 +135,12 @@ public class WriterBinaryBlock extends MatrixWriter
 		if( _replication > 0 ) //if replication specified (otherwise default)
 		{
 			//copy of SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class), except for replication
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class, job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096),
+			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, valueClass, job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096),
 					                         (short)_replication, fs.getDefaultBlockSize(), null, new SequenceFile.Metadata());	
 		}
 		else	
 		{
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class);
+			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, valueClass);
 		}
 		
 		try
@@ -135,7 +159,32 @@ public class WriterBinaryBlock extends MatrixWriter
 			{
 				//directly write single block
 				indexes.setIndexes(1, 1);
-				writer.append(indexes, src);
+				writer.append(indexes, _compressed ? toCompressedBlock(src) : src);
+			}
+			else if( _compressed ) //general case compressed
+			{
+				//create and write subblocks of matrix, sliced in compressed form 
+				//(except for empty inputs, which are written as uncompressed blocks)
+				boolean compressedIn = (src instanceof CompressedMatrixBlock 
+					&& ((CompressedMatrixBlock)src).isCompressed());
+				for(int blockRow = rl/brlen; blockRow < (int)Math.ceil(ru/(double)brlen); blockRow++)
+					for(int blockCol = 0; blockCol < (int)Math.ceil(src.getNumColumns()/(double)bclen); blockCol++)
+					{
+						int maxRow = (blockRow*brlen + brlen < src.getNumRows()) ? brlen : src.getNumRows() - blockRow*brlen;
+						int maxCol = (blockCol*bclen + bclen < src.getNumColumns()) ? bclen : src.getNumColumns() - blockCol*bclen;
+				
+						int row_offset = blockRow*brlen;
+						int col_offset = blockCol*bclen;
+						
+						MatrixBlock block = compressedIn ? ((CompressedMatrixBlock)src).sliceCompressed( 
+								row_offset, row_offset+maxRow-1, col_offset, col_offset+maxCol-1 ) :
+							toCompressedBlock(src.sliceOperations(row_offset, row_offset+maxRow-1, 
+								col_offset, col_offset+maxCol-1, new MatrixBlock()));
+						
+						//append block to sequence file
+						indexes.setIndexes(blockRow+1, blockCol+1);
+						writer.append(indexes, block);
+					}
 			}
 			else //general case
 			{
@@ -173,6 +222,12 @@ public class WriterBinaryBlock extends MatrixWriter
 		}
 	}
 
+	private static MatrixBlock toCompressedBlock(MatrixBlock mb) {
+		//wrap uncompressed blocks w/o compression
+		return (mb instanceof CompressedMatrixBlock) ? 
+			mb : new CompressedMatrixBlock(mb);
+	}
+
 	@SuppressWarnings("deprecation")
 	protected final void writeDiagBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen, long clen, int brlen, int bclen ) 
 		throws IOException, DMLRuntimeException
@@ -34,6 +34,7 @@ import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.MapReduceTool;
@@ -44,13 +45,18 @@ public class WriterBinaryBlockParallel extends WriterBinaryBlock
 		super(replication);
 	}
 	
+	public WriterBinaryBlockParallel( int replication, boolean compressed ) {
+		super(replication, compressed);
+	}
+	
 	@Override
 	protected void writeBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen, long clen, int brlen, int bclen )
 		throws IOException, DMLRuntimeException
 	{
 		//estimate output size and number of output blocks (min 1)
-		int numPartFiles = (int)(OptimizerUtils.estimatePartitionedSizeExactSparsity(rlen, clen, 
-				brlen, bclen, src.getNonZeros()) / InfrastructureAnalyzer.getHDFSBlockSize());
+		long size = (src instanceof CompressedMatrixBlock) ? src.getExactSizeOnDisk() :
+			OptimizerUtils.estimatePartitionedSizeExactSparsity(rlen, clen, brlen, bclen, src.getNonZeros());
+		int numPartFiles = (int)(size / InfrastructureAnalyzer.getHDFSBlockSize());
 		numPartFiles = Math.max(numPartFiles, 1);
 		
 		//determine degree of parallelism
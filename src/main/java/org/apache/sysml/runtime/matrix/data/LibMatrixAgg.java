@@ -2909,7 +2909,7 @@ public class LibMatrixAgg
 		{
 			if( !a.isEmpty(i) ) {
 				int alen = a.size(i);
-				ret *= product(a.values(i), 0, alen);
+				ret *= product(a.values(i), a.pos(i), alen);
 				ret *= (alen<n) ? 0 : 1;
 			}
 			
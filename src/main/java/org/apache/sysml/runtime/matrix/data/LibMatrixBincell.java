@@ -675,12 +675,13 @@ public class LibMatrixBincell
 				SparseBlock b = m2.sparseBlock;
 				if( !b.isEmpty(0) ) 
 				{
-					int blen = b.size(0); //always pos 0
+					int bpos = b.pos(0);
+					int blen = b.size(0);
 					int[] bix = b.indexes(0);
 					double[] bvals = b.values(0);
 					for( int i=0; i<rlen; i++ ) {
 						//for each row iterate only over non-zeros elements in rhs
-						for( int j=0; j<blen; j++ ) {
+						for( int j=bpos; j<bpos+blen; j++ ) {
 							double v1 = m1.quickGetValue(i, bix[j]);
 							double v = op.fn.execute( v1, bvals[j] );
 							ret.appendValue(i, bix[j], v);					
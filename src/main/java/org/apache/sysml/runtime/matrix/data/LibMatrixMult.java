@@ -1228,14 +1228,15 @@ public class LibMatrixMult
 				//parallelization over rows in rhs matrix
 				if( !a.isEmpty(0) ) 
 				{
+					int apos = a.pos(0);
 					int alen = a.size(0);
 					int[] aix = a.indexes(0);
 					double[] avals = a.values(0);					
-					int rlix = (rl==0) ? 0 : a.posFIndexGTE(0,rl);
-					rlix = (rlix>=0) ? rlix : alen;
+					int rlix = (rl==0) ? apos : a.posFIndexGTE(0,rl);
+					rlix = (rlix>=0) ? rlix : apos+alen;
 					
-					for( int k=rlix; k<alen && aix[k]<ru; k++ ) {
-						if( k+1<alen && aix[k+1]<ru )
+					for( int k=rlix; k<apos+alen && aix[k]<ru; k++ ) {
+						if( k+1<apos+alen && aix[k+1]<ru )
 							vectMultiplyAdd2(avals[k], avals[k+1], b, c, aix[k]*n, aix[++k]*n, 0, n);
 						else
 							vectMultiplyAdd(avals[k], b, c, aix[k]*n, 0, n);
@@ -1378,13 +1379,14 @@ public class LibMatrixMult
 				//parallelization over rows in rhs matrix
 				if( !a.isEmpty(0) ) 
 				{
+					int apos = a.pos(0);
 					int alen = a.size(0);
 					int[] aix = a.indexes(0);
 					double[] avals = a.values(0);					
-					int rlix = (rl==0) ? 0 : a.posFIndexGTE(0,rl);
-					rlix = (rlix>=0) ? rlix : alen;
+					int rlix = (rl==0) ? apos : a.posFIndexGTE(0,rl);
+					rlix = (rlix>=0) ? rlix : apos+alen;
 					
-					for( int k=rlix; k<alen && aix[k]<ru; k++ )
+					for( int k=rlix; k<apos+alen && aix[k]<ru; k++ )
 						if( !b.isEmpty(aix[k]) ) {
 							int bpos = b.pos(aix[k]);
 							int blen = b.size(aix[k]);
@@ -1851,9 +1853,10 @@ public class LibMatrixMult
 			if( m==1 ) //VECTOR 
 			{
 				if( !m1.sparseBlock.isEmpty(0) ) {
-					int alen = m1.sparseBlock.size(0); //pos always 0
+					int apos = a.pos(0);
+					int alen = a.size(0);
 					double[] avals = a.values(0);	
-					c[0] = dotProduct(avals, avals, alen);
+					c[0] = dotProduct(avals, avals, apos, apos, alen);
 				}
 			}
 			else //MATRIX
@@ -911,11 +911,14 @@ public class LibMatrixReorg
 		if( m==1 ) //ROW VECTOR TRANSPOSE
 		{
 			//NOTE: called only in sequential execution
-			int alen = a.size(0); //always pos 0
-			int[] aix = a.indexes(0);
-			double[] avals = a.values(0);
-			for( int j=0; j<alen; j++ )
-				c[ aix[j] ] = avals[j];
+			if( !a.isEmpty(0) ) {
+				int apos = a.pos(0);
+				int alen = a.size(0);
+				int[] aix = a.indexes(0);
+				double[] avals = a.values(0);
+				for( int j=apos; j<apos+alen; j++ )
+					c[ aix[j] ] = avals[j];
+			}
 		}
 		else //MATRIX TRANSPOSE
 		{
@@ -1228,10 +1231,11 @@ public class LibMatrixReorg
 			{
 				//note: cache-friendly on a but not c; append-only
 				if( !a.isEmpty(0) ){
-					int alen = a.size(0); //always pos 0
+					int apos = a.pos(0);
+					int alen = a.size(0);
 					int[] aix = a.indexes(0);
 					double[] avals = a.values(0);
-					for( int j=0; j<alen; j++ ) 
+					for( int j=apos; j<apos+alen; j++ ) 
 					{
 						int ci = aix[j]%rows;
 						int cj = aix[j]/rows;       
@@ -84,6 +84,7 @@ import org.apache.sysml.runtime.util.FastBufferedDataInputStream;
 import org.apache.sysml.runtime.util.FastBufferedDataOutputStream;
 import org.apache.sysml.runtime.util.IndexRange;
 import org.apache.sysml.runtime.util.UtilFunctions;
+import org.apache.sysml.utils.Statistics;
 
 
 
@@ -95,6 +96,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	public static final double SPARSITY_TURN_POINT = 0.4;
 	//sparsity threshold for ultra-sparse matrix operations (40nnz in a 1kx1k block)
 	public static final double ULTRA_SPARSITY_TURN_POINT = 0.00004; 
+	//relative hysteresis around the sparsity turn point for representation changes of existing blocks
+	public static final double SPARSITY_HYSTERESIS = 0.1;
 	//default sparse block type: modified compressed sparse rows, for efficient incremental construction
 	public static final SparseBlock.Type DEFAULT_SPARSEBLOCK = SparseBlock.Type.MCSR;
 	//default sparse block type for update in place: compressed sparse rows, to prevent serialization
@@ -391,6 +394,33 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	}
 	
 	
+	/**
+	 * Allocates an arena-backed sparse block for incremental construction via
+	 * appendValue, which avoids per-row object allocations. Once construction 
+	 * finishes, the block needs to be compacted via compactSparseArenaBlock.
+	 * 
+	 * @param estnnz estimated number of non-zeros
+	 */
+	public void allocateSparseArenaBlock(long estnnz) {
+		sparse = true;
+		sparseBlock = new SparseBlockArena(rlen, 
+			(int)Math.min(Math.max(estnnz, 0), Integer.MAX_VALUE));
+		nonZeros = 0;
+	}
+	
+	/**
+	 * Compacts an arena-backed sparse block (if existing) into a CSR
+	 * sparse block with sorted rows, and otherwise sorts the sparse rows.
+	 */
+	public void compactSparseArenaBlock() {
+		if( sparse && sparseBlock instanceof SparseBlockArena ) {
+			sparseBlock.sort();
+			sparseBlock = ((SparseBlockArena)sparseBlock).toCSR();
+		}
+		else
+			sortSparseRows();
+	}
+	
 	/**
 	 * This should be called only in the read and write functions for CP
 	 * This function should be called before calling any setValueDenseUnsafe()
@@ -980,7 +1010,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		throws DMLRuntimeException
 	{
 		//determine target representation
-		boolean sparseDst = evalSparseFormatInMemory(); 
+		boolean sparseDst = evalSparseFormatInMemoryWithHysteresis(); 
 				
 		//check for empty blocks (e.g., sparse-sparse)
 		if( isEmptyBlock(false) )
@@ -988,10 +1018,53 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		//change representation if required (also done for 
 		//empty blocks in order to set representation flags)
-		if( sparse && !sparseDst)
+		if( sparse && !sparseDst) {
 			sparseToDense();
-		else if( !sparse && sparseDst )
+			if( DMLScript.STATISTICS )
+				Statistics.incrementSparseFormatConversions(false);
+		}
+		else if( !sparse && sparseDst ) {
 			denseToSparse();
+			if( DMLScript.STATISTICS )
+				Statistics.incrementSparseFormatConversions(true);
+		}
+	}
+	
+	/**
+	 * Evaluates if this matrix block should be in sparse format in memory,
+	 * given its current representation. In contrast to evalSparseFormatInMemory,
+	 * this decision compares the sizes of the actually used (or default) sparse 
+	 * block type and dense, accounts for row skew of existing MCSR blocks, and
+	 * requires the sparsity to cross the turn point by a relative hysteresis
+	 * before changing the representation. The latter prevents repeated conversions 
+	 * of blocks with sparsity close to the turn point. In any case, the sparse 
+	 * representation is only chosen if it is smaller than dense, which keeps the
+	 * dense size a valid worst-case estimate.
+	 * 
+	 * @return true if matrix block should be in sparse format in memory
+	 */
+	private boolean evalSparseFormatInMemoryWithHysteresis()
+	{
+		//ensure exact size estimates
+		if( nonZeros<=0 )
+			recomputeNonZeros();
+		
+		//determine sparse block type and estimate sizes
+		double lsparsity = ((double)nonZeros/rlen)/clen;
+		boolean existing = (sparse && sparseBlock!=null);
+		SparseBlock.Type stype = existing ? 
+			SparseBlockFactory.getSparseBlockType(sparseBlock) : null;
+		stype = (stype != null) ? stype : DEFAULT_SPARSEBLOCK;
+		double sizeSparse = (existing && stype==SparseBlock.Type.MCSR) ?
+			SparseBlockMCSR.estimateMemory(rlen, 
+				((SparseBlockMCSR)sparseBlock).numNonEmptyRows(), nonZeros) :
+			SparseBlockFactory.estimateSizeSparseInMemory(stype, rlen, clen, lsparsity);
+		double sizeDense = estimateSizeDenseInMemory(rlen, clen);
+		
+		//decide on in-memory representation w/ hysteresis
+		double turnPoint = SPARSITY_TURN_POINT * (sparse ? 
+			1 + SPARSITY_HYSTERESIS : 1 - SPARSITY_HYSTERESIS);
+		return (lsparsity < turnPoint) && (sizeSparse < sizeDense);
 	}
 	
 	/**
@@ -2520,6 +2593,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		//in-memory size given by header if not allocated
 		if( !isAllocated() ) 
 			return 44;
+		//in-memory size of csr row-range views (incl shared arrays)
+		if( sparse && sparseBlock instanceof SparseBlockCSR 
+			&& ((SparseBlockCSR)sparseBlock).isShared() )
+			return 44 + ((SparseBlockCSR)sparseBlock).getExactSizeInMemory();
 		//in-memory size of dense/sparse representation
 		double sp = OptimizerUtils.getSparsity(rlen, clen, nonZeros);
 		return sparse ? estimateSizeSparseInMemory(rlen, clen, sp) : 
@@ -2528,6 +2605,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	
 	@Override
 	public long getExactSerializedSize() {
+		//shallow serialized csr views retain the shared arrays
+		if( sparse && sparseBlock instanceof SparseBlockCSR 
+			&& ((SparseBlockCSR)sparseBlock).isShared() )
+			return Math.max(getExactSizeOnDisk(), getInMemorySize());
 		return getExactSizeOnDisk();
 	}
 	
@@ -3758,6 +3839,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			// copy if entire matrix required
 			result.copy( this );
 		}
+		else if( cl==0 && cu==clen-1 && result_sparsity 
+			&& sparseBlock instanceof SparseBlockCSR ) 
+		{
+			// zero-copy row-range view for csr (copy-on-write)
+			result.sparseBlock = new SparseBlockCSR((SparseBlockCSR)sparseBlock, rl, ru+1);
+			result.nonZeros = result.sparseBlock.size();
+		}
 		else //general case
 		{
 			//core slicing operation (nnz maintained internally)
@@ -3838,6 +3926,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					dest.denseBlock[ix] = denseBlock[i];
 			}
 		}
+		else if( cl==0 && cu==clen-1 ) //ROW RANGE INDEXING
+		{
+			//single copy of contiguous row range
+			System.arraycopy(denseBlock, rl*clen, dest.denseBlock, 0, (ru-rl+1)*clen);
+		}
 		else // GENERAL RANGE INDEXING
 		{
 			//IBM JVM bug (JDK7) causes crash for certain cl/cu values (e.g., divide by zero for 4) 
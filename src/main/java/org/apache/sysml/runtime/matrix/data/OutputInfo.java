@@ -33,6 +33,7 @@ import org.apache.hadoop.mapred.SequenceFileOutputFormat;
 import org.apache.hadoop.mapred.TextOutputFormat;
 import org.apache.sysml.parser.DataExpression;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.matrix.mapred.CSVWriteReducer.RowBlockForTextOutput;
 import org.apache.sysml.runtime.matrix.sort.CompactOutputFormat;
 
@@ -62,6 +63,8 @@ public class OutputInfo implements Serializable
 			MatrixIndexes.class, MatrixCell.class);
 	public static final OutputInfo BinaryBlockOutputInfo=new OutputInfo(
 			SequenceFileOutputFormat.class, MatrixIndexes.class, MatrixBlock.class);
+	public static final OutputInfo CompressedBinaryBlockOutputInfo=new OutputInfo(
+			SequenceFileOutputFormat.class, MatrixIndexes.class, CompressedMatrixBlock.class);
 	public static final OutputInfo BinaryBlockFrameOutputInfo=new OutputInfo(
 			SequenceFileOutputFormat.class, LongWritable.class, FrameBlock.class);
 	public static final OutputInfo OutputInfoForSortInput=new OutputInfo(SequenceFileOutputFormat.class, 
@@ -76,6 +79,8 @@ public class OutputInfo implements Serializable
 	public static InputInfo getMatchingInputInfo(OutputInfo oi) throws DMLRuntimeException {
 		if ( oi == OutputInfo.BinaryBlockOutputInfo )
 			return InputInfo.BinaryBlockInputInfo;
+		else if ( oi == OutputInfo.CompressedBinaryBlockOutputInfo )
+			return InputInfo.CompressedBinaryBlockInputInfo;
 		else if ( oi == OutputInfo.MatrixMarketOutputInfo )
 			return InputInfo.MatrixMarketInputInfo;
 		else if ( oi == OutputInfo.BinaryCellOutputInfo ) 
@@ -107,6 +112,9 @@ public class OutputInfo implements Serializable
 		else if (str.equalsIgnoreCase("binaryblock")) {
 			return BinaryBlockOutputInfo;
 		}
+		else if (str.equalsIgnoreCase("compressedbinaryblock")) {
+			return CompressedBinaryBlockOutputInfo;
+		}
 		else if ( str.equalsIgnoreCase("sort_input") )
 			return OutputInfoForSortInput;
 		else if ( str.equalsIgnoreCase("sort_output"))
@@ -129,6 +137,8 @@ public class OutputInfo implements Serializable
 			return "binarycell";
 		else if ( oi == BinaryBlockOutputInfo )
 			return "binaryblock";
+		else if ( oi == CompressedBinaryBlockOutputInfo )
+			return "compressedbinaryblock";
 		else if ( oi == OutputInfoForSortInput )
 			return "sort_input";
 		else if ( oi == OutputInfoForSortOutput )
@@ -150,6 +160,7 @@ public class OutputInfo implements Serializable
 		else if( oinfo == OutputInfo.CSVOutputInfo )
 			return DataExpression.FORMAT_TYPE_VALUE_CSV;
 		else if( oinfo == OutputInfo.BinaryBlockOutputInfo 
+				|| oinfo == OutputInfo.CompressedBinaryBlockOutputInfo
 				|| oinfo == OutputInfo.BinaryCellOutputInfo )
 			return DataExpression.FORMAT_TYPE_VALUE_BINARY;
 		else
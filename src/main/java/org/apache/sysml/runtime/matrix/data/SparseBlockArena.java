@@ -0,0 +1,460 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+import org.apache.sysml.runtime.util.SortUtils;
+
+/**
+ * SparseBlock implementation that realizes an arena-backed 'modified compressed
+ * sparse row' representation for incremental construction. Similar to MCSR, each
+ * row is stored separately and allows for unsorted appends, but rows are segments
+ * of two large shared primitive arrays (column indexes and values) instead of
+ * separate SparseRow objects. If a row exceeds its capacity, it is either grown in
+ * place (if it is the last segment) or relocated to the end of the arena with
+ * doubled capacity. The arena itself grows by doubling, which gives amortized
+ * constant append costs w/o per-row object and array allocations.
+ *
+ * Relocated rows leave unused segments behind, hence this representation is
+ * intended for construction only and should be compacted via {@link #toCSR()}
+ * once construction finishes.
+ *
+ */
+public class SparseBlockArena extends SparseBlock
+{
+	private static final long serialVersionUID = 4362146547836745212L;
+
+	private int[] _pos = null;       //row segment start positions (size: rlen)
+	private int[] _size = null;      //row segment sizes (size: rlen)
+	private int[] _cap = null;       //row segment capacities (size: rlen)
+	private int[] _indexes = null;   //column index arena (size: >=nnz)
+	private double[] _values = null; //value arena (size: >=nnz)
+	private int _end = 0;            //end of used arena
+
+	public SparseBlockArena(int rlen) {
+		this(rlen, INIT_CAPACITY);
+	}
+
+	public SparseBlockArena(int rlen, int capacity) {
+		_pos = new int[rlen];
+		_size = new int[rlen];
+		_cap = new int[rlen];
+		_indexes = new int[Math.max(capacity, INIT_CAPACITY)];
+		_values = new double[Math.max(capacity, INIT_CAPACITY)];
+		_end = 0;
+	}
+
+	/**
+	 * Indicates if the arena for the given number of rows and estimated
+	 * number of non-zeros is guaranteed to fit into int range. With doubling
+	 * row capacities, each row (incl unused segments of relocations) occupies
+	 * less than 4x its non-zeros, or at least the initial capacity. 
+	 * 
+	 * @param rlen number of rows
+	 * @param estnnz estimated number of non-zeros (<=0 if unknown)
+	 * @return true if the arena fits into int range
+	 */
+	public static boolean isValidCapacity(long rlen, long estnnz) {
+		return estnnz > 0
+			&& 4d * estnnz + 2d * INIT_CAPACITY * rlen <= Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Compacts the arena into a CSR sparse block with rows in order
+	 * and arrays sized to the number of non-zeros.
+	 *
+	 * @return CSR sparse block
+	 */
+	public SparseBlockCSR toCSR() {
+		long size = size();
+		if( size > Integer.MAX_VALUE )
+			throw new RuntimeException("SparseBlockCSR supports nnz<=Integer.MAX_VALUE but got "+size);
+
+		int rlen = numRows();
+		int[] ptr = new int[rlen+1];
+		int[] indexes = new int[(int)size];
+		double[] values = new double[(int)size];
+		for( int i=0, pos=0; i<rlen; i++ ) {
+			int alen = _size[i];
+			if( alen > 0 ) {
+				System.arraycopy(_indexes, _pos[i], indexes, pos, alen);
+				System.arraycopy(_values, _pos[i], values, pos, alen);
+				pos += alen;
+			}
+			ptr[i+1] = pos;
+		}
+
+		return new SparseBlockCSR(ptr, indexes, values, (int)size);
+	}
+
+	///////////////////
+	//SparseBlock implementation
+
+	@Override
+	public void allocate(int r) {
+		//do nothing, allocated on append
+	}
+
+	@Override
+	public void allocate(int r, int nnz) {
+		ensureCapacity(r, nnz);
+	}
+
+	@Override
+	public void allocate(int r, int ennz, int maxnnz) {
+		//do nothing, estimates only (amortized growth on append)
+	}
+
+	@Override
+	public int numRows() {
+		return _size.length;
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return false;
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return false;
+	}
+
+	@Override
+	public void reset() {
+		Arrays.fill(_pos, 0);
+		Arrays.fill(_size, 0);
+		Arrays.fill(_cap, 0);
+		_end = 0;
+	}
+
+	@Override
+	public void reset(int ennz, int maxnnz) {
+		reset();
+	}
+
+	@Override
+	public void reset(int r, int ennz, int maxnnz) {
+		_size[r] = 0;
+	}
+
+	@Override
+	public long size() {
+		long nnz = 0;
+		for( int i=0; i<_size.length; i++ )
+			nnz += _size[i];
+		return nnz;
+	}
+
+	@Override
+	public int size(int r) {
+		return _size[r];
+	}
+
+	@Override
+	public long size(int rl, int ru) {
+		long nnz = 0;
+		for( int i=rl; i<ru; i++ )
+			nnz += _size[i];
+		return nnz;
+	}
+
+	@Override
+	public long size(int rl, int ru, int cl, int cu) {
+		long nnz = 0;
+		for(int i=rl; i<ru; i++)
+			if( !isEmpty(i) ) {
+				int start = posFIndexGTE(i, cl);
+				int end = posFIndexGTE(i, cu);
+				nnz += (start!=-1) ? (end-start) : 0;
+			}
+		return nnz;
+	}
+
+	@Override
+	public boolean isEmpty(int r) {
+		return (_size[r] == 0);
+	}
+
+	@Override
+	public int[] indexes(int r) {
+		return _indexes;
+	}
+
+	@Override
+	public double[] values(int r) {
+		return _values;
+	}
+
+	@Override
+	public int pos(int r) {
+		return _pos[r];
+	}
+
+	@Override
+	public boolean set(int r, int c, double v) {
+		int pos = pos(r);
+		int len = size(r);
+
+		//search for existing col index
+		int index = Arrays.binarySearch(_indexes, pos, pos+len, c);
+		if( index >= 0 ) {
+			//delete/overwrite existing value
+			if( v == 0 ) {
+				shiftLeftAndDelete(r, index);
+				return true; // nnz--
+			}
+			else {
+				_values[index] = v;
+				return false;
+			}
+		}
+
+		//early abort on zero (if no overwrite)
+		if( v==0 ) return false;
+
+		//insert new index-value pair (w/ potential relocation)
+		int offset = Math.abs( index+1 ) - pos;
+		ensureCapacity(r, len+1);
+		pos = pos(r);
+		System.arraycopy(_indexes, pos+offset, _indexes, pos+offset+1, len-offset);
+		System.arraycopy(_values, pos+offset, _values, pos+offset+1, len-offset);
+		_indexes[pos+offset] = c;
+		_values[pos+offset] = v;
+		_size[r]++;
+		return true; // nnz++
+	}
+
+	@Override
+	public void set(int r, SparseRow row, boolean deep) {
+		int alen = row.size();
+		_size[r] = 0;
+		ensureCapacity(r, alen);
+		System.arraycopy(row.indexes(), 0, _indexes, _pos[r], alen);
+		System.arraycopy(row.values(), 0, _values, _pos[r], alen);
+		_size[r] = alen;
+	}
+
+	@Override
+	public void append(int r, int c, double v) {
+		//early abort on zero
+		if( v==0 ) return;
+
+		int len = size(r);
+		ensureCapacity(r, len+1);
+		_indexes[_pos[r]+len] = c;
+		_values[_pos[r]+len] = v;
+		_size[r]++;
+	}
+
+	@Override
+	public void setIndexRange(int r, int cl, int cu, double[] v, int vix, int vlen) {
+		//delete existing values in range if necessary
+		if( !isEmpty(r) )
+			deleteIndexRange(r, cl, cu);
+
+		//insert non-zero values
+		for( int i=vix; i<vix+vlen; i++ )
+			if( v[i] != 0 )
+				set(r, cl+i-vix, v[i]);
+	}
+
+	@Override
+	public void deleteIndexRange(int r, int cl, int cu) {
+		int start = posFIndexGTE(r,cl);
+		if( start < 0 ) //nothing to delete
+			return;
+
+		int pos = pos(r);
+		int len = size(r);
+		int end = posFIndexGTE(r, cu);
+		if( end < 0 ) //delete all remaining
+			end = pos+len;
+
+		//overlapping array copy (shift rhs values left)
+		System.arraycopy(_indexes, end, _indexes, start, pos+len-end);
+		System.arraycopy(_values, end, _values, start, pos+len-end);
+		_size[r] -= (end-start);
+	}
+
+	@Override
+	public void sort() {
+		int rlen = numRows();
+		for( int i=0; i<rlen; i++ )
+			if( !isEmpty(i) )
+				sort(i);
+	}
+
+	@Override
+	public void sort(int r) {
+		int pos = pos(r);
+		int len = size(r);
+
+		if( len<=100 || !SortUtils.isSorted(pos, pos+len, _indexes) )
+			SortUtils.sortByIndex(pos, pos+len, _indexes, _values);
+	}
+
+	@Override
+	public double get(int r, int c) {
+		int pos = pos(r);
+		int len = size(r);
+
+		//search for existing col index in [pos,pos+len)
+		int index = Arrays.binarySearch(_indexes, pos, pos+len, c);
+		return (index >= 0) ? _values[index] : 0;
+	}
+
+	@Override
+	public SparseRow get(int r) {
+		int pos = pos(r);
+		int len = size(r);
+
+		SparseRow row = new SparseRow(len);
+		System.arraycopy(_indexes, pos, row.indexes(), 0, len);
+		System.arraycopy(_values, pos, row.values(), 0, len);
+		row.setSize(len);
+
+		return row;
+	}
+
+	@Override
+	public int posFIndexLTE(int r, int c) {
+		int pos = pos(r);
+		int len = size(r);
+
+		//search for existing col index in [pos,pos+len)
+		int index = Arrays.binarySearch(_indexes, pos, pos+len, c);
+		if( index >= 0  )
+			return (index < pos+len) ? index : -1;
+
+		//search lt col index (see binary search)
+		index = Math.abs( index+1 );
+		return (index-1 >= pos) ? index-1 : -1;
+	}
+
+	@Override
+	public int posFIndexGTE(int r, int c) {
+		int pos = pos(r);
+		int len = size(r);
+
+		//search for existing col index
+		int index = Arrays.binarySearch(_indexes, pos, pos+len, c);
+		if( index >= 0  )
+			return (index < pos+len) ? index : -1;
+
+		//search gt col index (see binary search)
+		index = Math.abs( index+1 );
+		return (index < pos+len) ? index : -1;
+	}
+
+	@Override
+	public int posFIndexGT(int r, int c) {
+		int pos = pos(r);
+		int len = size(r);
+
+		//search for existing col index
+		int index = Arrays.binarySearch(_indexes, pos, pos+len, c);
+		if( index >= 0  )
+			return (index+1 < pos+len) ? index+1 : -1;
+
+		//search gt col index (see binary search)
+		index = Math.abs( index+1 );
+		return (index < pos+len) ? index : -1;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SparseBlockArena: rlen=");
+		sb.append(numRows());
+		sb.append(", nnz=");
+		sb.append(size());
+		sb.append(", arena=");
+		sb.append(_end);
+		sb.append("\n");
+		for( int i=0; i<numRows(); i++ ) {
+			sb.append("row +");
+			sb.append(i);
+			sb.append(": ");
+			//append row
+			int pos = pos(i);
+			int len = size(i);
+			for(int j=pos; j<pos+len; j++) {
+				sb.append(_indexes[j]);
+				sb.append(": ");
+				sb.append(_values[j]);
+				sb.append("\t");
+			}
+			sb.append("\n");
+		}
+
+		return sb.toString();
+	}
+
+	///////////////////////////
+	// private helper methods
+
+	private void ensureCapacity(int r, int minsize) {
+		if( _cap[r] >= minsize )
+			return;
+
+		//compute new row capacity (amortized growth)
+		int oldCap = _cap[r];
+		int newCap = Math.max(minsize, (oldCap==0) ? INIT_CAPACITY :
+			(int)Math.min((long)(oldCap * RESIZE_FACTOR1), Integer.MAX_VALUE));
+
+		if( oldCap > 0 && _pos[r]+oldCap == _end ) {
+			//grow last segment in place
+			resizeArena((long)_end + (newCap-oldCap));
+			_end += newCap - oldCap;
+		}
+		else {
+			//relocate row to end of arena
+			int newPos = _end;
+			resizeArena((long)_end + newCap);
+			System.arraycopy(_indexes, _pos[r], _indexes, newPos, _size[r]);
+			System.arraycopy(_values, _pos[r], _values, newPos, _size[r]);
+			_pos[r] = newPos;
+			_end += newCap;
+		}
+		_cap[r] = newCap;
+	}
+
+	private void resizeArena(long minsize) {
+		if( minsize <= _values.length )
+			return;
+		if( minsize > Integer.MAX_VALUE )
+			throw new RuntimeException("SparseBlockArena supports arena sizes <=Integer.MAX_VALUE but got "+minsize);
+
+		//double arena capacity (amortized growth)
+		int newCap = (int)Math.min(Math.max(minsize, 2L*_values.length), Integer.MAX_VALUE);
+		_indexes = Arrays.copyOf(_indexes, newCap);
+		_values = Arrays.copyOf(_values, newCap);
+	}
+
+	private void shiftLeftAndDelete(int r, int ix) {
+		//overlapping array copy (shift rhs values left by 1)
+		int end = _pos[r] + _size[r];
+		System.arraycopy(_indexes, ix+1, _indexes, ix, end-ix-1);
+		System.arraycopy(_values, ix+1, _values, ix, end-ix-1);
+		_size[r]--;
+	}
+}
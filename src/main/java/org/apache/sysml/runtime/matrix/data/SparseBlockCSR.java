@@ -48,6 +48,7 @@ public class SparseBlockCSR extends SparseBlock
 	private int[] _indexes = null;   //column index array (size: >=nnz)
 	private double[] _values = null; //value array (size: >=nnz)
 	private int _size = 0;           //actual number of nnz
+	private volatile boolean _shared = false; //indexes/values shared w/ row-range views (copy-on-write)
 	
 	public SparseBlockCSR(int rlen) {
 		this(rlen, INIT_CAPACITY);
@@ -67,6 +68,25 @@ public class SparseBlockCSR extends SparseBlock
 		_size = nnz;
 	}
 	
+	/**
+	 * Creates a read-only row-range view [rl,ru) over the given CSR sparse block, 
+	 * which shares the column index and value arrays and only copies the row
+	 * pointers of the range. Both blocks are marked as shared and copy their 
+	 * arrays on their first subsequent modification (copy-on-write). 
+	 * 
+	 * @param sblock sparse block
+	 * @param rl lower row index, starting at 0, inclusive
+	 * @param ru upper row index, starting at 0, exclusive
+	 */
+	public SparseBlockCSR(SparseBlockCSR sblock, int rl, int ru) {
+		_ptr = Arrays.copyOfRange(sblock._ptr, rl, ru+1);
+		_indexes = sblock._indexes;
+		_values = sblock._values;
+		_size = _ptr[ru-rl] - _ptr[0];
+		_shared = true;
+		sblock._shared = true;
+	}
+	
 	/**
 	 * Copy constructor sparse block abstraction. 
 	 * 
@@ -81,10 +101,13 @@ public class SparseBlockCSR extends SparseBlock
 		//special case SparseBlockCSR
 		if( sblock instanceof SparseBlockCSR ) { 
 			SparseBlockCSR ocsr = (SparseBlockCSR)sblock;
+			int p0 = ocsr._ptr[0]; //non-zero for row-range views
 			_ptr = Arrays.copyOf(ocsr._ptr, ocsr.numRows()+1);
-			_indexes = Arrays.copyOf(ocsr._indexes, ocsr._size);
-			_values = Arrays.copyOf(ocsr._values, ocsr._size);
+			_indexes = Arrays.copyOfRange(ocsr._indexes, p0, p0+ocsr._size);
+			_values = Arrays.copyOfRange(ocsr._values, p0, p0+ocsr._size);
 			_size = ocsr._size;
+			if( p0 != 0 )
+				decrPtr(0, p0);
 		}
 		//general case SparseBlock
 		else {
@@ -199,6 +222,18 @@ public class SparseBlockCSR extends SparseBlock
 		return (long) Math.min(size, Long.MAX_VALUE);
 	}
 	
+	/**
+	 * Get the actual in-memory size of the sparse block, including
+	 * the entire shared arrays retained by row-range views.
+	 * 
+	 * @return in-memory size
+	 */
+	public long getExactSizeInMemory() {
+		//32B overhead per array, see estimateMemory
+		return 16 + 4 + 32 + 4L * _ptr.length 
+			+ 32 + 4L * _indexes.length + 32 + 8L * _values.length;
+	}
+	
 	///////////////////
 	//SparseBlock implementation
 
@@ -232,20 +267,35 @@ public class SparseBlockCSR extends SparseBlock
 		return true;
 	}
 	
+	/**
+	 * Indicates if the column index and value arrays are shared with 
+	 * other row-range views and hence copied on the next modification.
+	 * 
+	 * @return true if arrays shared
+	 */
+	public boolean isShared() {
+		return _shared;
+	}
+	
 	@Override 
 	public void reset() {
-		_size = 0;
-		Arrays.fill(_ptr, 0);
+		reset(INIT_CAPACITY, -1);
 	}
 
 	@Override 
 	public void reset(int ennz, int maxnnz) {
+		if( _shared ) { //no need to copy shared arrays
+			_indexes = new int[Math.max(ennz, INIT_CAPACITY)];
+			_values = new double[Math.max(ennz, INIT_CAPACITY)];
+			_shared = false;
+		}
 		_size = 0;
 		Arrays.fill(_ptr, 0);
 	}
 	
 	@Override 
 	public void reset(int r, int ennz, int maxnnz) {
+		materialize();
 		int pos = pos(r);
 		int len = size(r);
 		
@@ -307,6 +357,7 @@ public class SparseBlockCSR extends SparseBlock
 
 	@Override
 	public boolean set(int r, int c, double v) {
+		materialize();
 		int pos = pos(r);
 		int len = size(r);
 		
@@ -341,6 +392,7 @@ public class SparseBlockCSR extends SparseBlock
 
 	@Override
 	public void set(int r, SparseRow row, boolean deep) {
+		materialize();
 		int pos = pos(r);
 		int len = size(r);		
 		int alen = row.size();
@@ -367,7 +419,8 @@ public class SparseBlockCSR extends SparseBlock
 	public void append(int r, int c, double v) {
 		//early abort on zero 
 		if( v==0 ) return;
-	
+		
+		materialize();
 		int pos = pos(r);
 		int len = size(r);
 		if( pos+len == _size ) {
@@ -388,6 +441,8 @@ public class SparseBlockCSR extends SparseBlock
 
 	@Override
 	public void setIndexRange(int r, int cl, int cu, double[] v, int vix, int vlen) {
+		materialize();
+		
 		//delete existing values in range if necessary 
 		if( !isEmpty(r) )
 			deleteIndexRange(r, cl, cu);
@@ -429,6 +484,8 @@ public class SparseBlockCSR extends SparseBlock
 	 * @param vlen right-hand-side dense block value length 
 	 */
 	public void setIndexRange(int rl, int ru, int cl, int cu, double[] v, int vix, int vlen) {
+		materialize();
+		
 		//step 1: determine output nnz
 		int nnz = _size - (int)size(rl, ru, cl, cu);
 		if( v != null )
@@ -503,6 +560,8 @@ public class SparseBlockCSR extends SparseBlock
 	 * @param sb  right-hand-side sparse block
 	 */
 	public void setIndexRange(int rl, int ru, int cl, int cu, SparseBlock sb) {
+		materialize();
+		
 		//step 1: determine output nnz
 		int nnz = (int) (_size - size(rl, ru, cl, cu) 
 				+ ((sb!=null) ? sb.size() : 0));
@@ -564,6 +623,7 @@ public class SparseBlockCSR extends SparseBlock
 
 	@Override
 	public void deleteIndexRange(int r, int cl, int cu) {
+		materialize();
 		int start = posFIndexGTE(r,cl);
 		if( start < 0 ) //nothing to delete 
 			return;		
@@ -583,6 +643,7 @@ public class SparseBlockCSR extends SparseBlock
 
 	@Override
 	public void sort() {
+		materialize();
 		int rlen = numRows();
 		for( int i=0; i<rlen && pos(i)<_size; i++ )
 			sort(i);
@@ -590,6 +651,7 @@ public class SparseBlockCSR extends SparseBlock
 
 	@Override
 	public void sort(int r) {
+		materialize();
 		int pos = pos(r);
 		int len = size(r);
 				
@@ -695,6 +757,19 @@ public class SparseBlockCSR extends SparseBlock
 	///////////////////////////
 	// private helper methods
 	
+	private void materialize() {
+		//copy-on-write of shared arrays (incl compaction of views)
+		if( !_shared )
+			return;
+		int p0 = _ptr[0];
+		int cap = Math.max(_size, INIT_CAPACITY);
+		_indexes = Arrays.copyOfRange(_indexes, p0, p0+cap);
+		_values = Arrays.copyOfRange(_values, p0, p0+cap);
+		if( p0 != 0 )
+			decrPtr(0, p0);
+		_shared = false;
+	}
+	
 	private int newCapacity(int minsize) {
 		//compute new size until minsize reached
 		double tmpCap = _values.length;
@@ -805,7 +880,9 @@ public class SparseBlockCSR extends SparseBlock
 	
 	/**
 	 * Get raw access to underlying array of row pointers
-	 * For use in GPU code
+	 * For use in GPU code. Note that row-range views share the
+	 * index and value arrays with their source, i.e., the row 
+	 * pointers of views start at offset rowPointers()[0]. 
 	 * @return array of row pointers
 	 */
 	public int[] rowPointers() {
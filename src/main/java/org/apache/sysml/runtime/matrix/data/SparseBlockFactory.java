@@ -66,6 +66,12 @@ public abstract class SparseBlockFactory
 		}
 	}
 
+	public static SparseBlock.Type getSparseBlockType( SparseBlock sblock ) {
+		return (sblock instanceof SparseBlockMCSR) ? SparseBlock.Type.MCSR :
+			(sblock instanceof SparseBlockCSR) ? SparseBlock.Type.CSR :
+			(sblock instanceof SparseBlockCOO) ? SparseBlock.Type.COO : null;
+	}
+
 	public static long estimateSizeSparseInMemory(SparseBlock.Type type, long nrows, long ncols, double sparsity) {
 		switch( type ) {
 			case MCSR: return SparseBlockMCSR.estimateMemory(nrows, ncols, sparsity);
@@ -112,6 +112,40 @@ public class SparseBlockMCSR extends SparseBlock
 		return (long) Math.min(size, Long.MAX_VALUE);
 	}
 
+	/**
+	 * Get the estimated in-memory size of the sparse block in MCSR 
+	 * with the given dimensions and number of non-empty rows, which
+	 * accounts for skew of non-zeros across rows.
+	 * 
+	 * @param nrows number of rows
+	 * @param nrowsNnz number of non-empty rows
+	 * @param nnz number of non-zeros
+	 * @return memory estimate
+	 */
+	public static long estimateMemory(long nrows, long nrowsNnz, long nnz) {
+		double cnnz = Math.max(SparseRow.initialCapacity, Math.ceil((double)nnz/Math.max(nrowsNnz,1)));
+		
+		//see estimateMemory(nrows, ncols, sparsity) for per-row overheads
+		double size = 16;                     //object
+		size += nrowsNnz * (116 + cnnz * 12); //sparse rows
+		size += 32 + nrows * 8d;              //references
+		
+		// robustness for long overflows
+		return (long) Math.min(size, Long.MAX_VALUE);
+	}
+	
+	/**
+	 * Get the number of non-empty rows.
+	 * 
+	 * @return number of non-empty rows
+	 */
+	public int numNonEmptyRows() {
+		int ret = 0;
+		for( int i=0; i<_rows.length; i++ )
+			ret += (_rows[i]!=null && !_rows[i].isEmpty()) ? 1 : 0;
+		return ret;
+	}
+
 	///////////////////
 	//SparseBlock implementation
 
@@ -25,6 +25,7 @@ import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
 import org.apache.sysml.runtime.matrix.data.MatrixBlockDataInput;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
 
@@ -46,9 +47,23 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 		if (size <= 0) 
 	    	throw new IllegalArgumentException("Buffer size <= 0");
 		
-		_buff = new byte[ size ];
+		//reuse pooled buffer, returned on close
+		_buff = PageCache.allocPage(size);
 		_bufflen = size;
 	}
+	
+	@Override
+	public void close() 
+		throws IOException 
+	{
+		try {
+			super.close();
+		}
+		finally {
+			PageCache.putPage(_buff);
+			_buff = null;
+		}
+	}
 
 
 	/////////////////////////////
@@ -104,17 +119,19 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 
 	@Override
 	public short readShort() throws IOException {
-		throw new IOException("Not supported.");
+		return (short)readUnsignedShort();
 	}
 
 	@Override
 	public int readUnsignedShort() throws IOException {
-		throw new IOException("Not supported.");
+		readFully(_buff, 0, 2);
+		
+		return baToShort(_buff, 0);
 	}
 
 	@Override
 	public char readChar() throws IOException {
-		throw new IOException("Not supported.");
+		return (char)readUnsignedShort();
 	}
 
 	@Override
@@ -183,15 +200,8 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 			int maxNB = (int)Math.min(_bufflen, ((long)len-i)*8);
 			readFully(_buff, 0, maxNB);
 			
-			for( int j=0, ix=i; j<maxNB; j+=8, ix++ ) 
-			{
-				//core deserialization
-				long tmp = baToLong(_buff, j);
-				varr[ix] = Double.longBitsToDouble( tmp );
-				
-				//nnz maintenance
-				nnz += (varr[ix]!=0) ? 1 : 0; 
-			}
+			//core deserialization (bulk conversion, incl nnz maintenance)
+			nnz += FastByteArrayCodec.baToDoubleArray(_buff, 0, varr, i, maxNB/8);
 		}
 		
 		return nnz;
@@ -211,33 +221,24 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 			
 			if( lnnz > 0 ) //non-zero row
 			{
-				//get handle to sparse (allocate if necessary)
-				rows.allocate(i, lnnz);
-				
 				//read single sparse row
 				//note: cast to long to prevent overflows w/ lnnz*12
 				if( ((long)lnnz*12) < _bufflen )
 				{
 					//single buffer read if sparse row fits in buffer
 					readFully(_buff, 0, lnnz*12);
-								
-					for( int j=0; j<lnnz*12; j+=12 ) 
-					{	
-						int aix = baToInt(_buff, j);
-						long tmp = baToLong(_buff, j+4);
-						double aval = Double.longBitsToDouble( tmp );
-						rows.append(i, aix, aval);
-					}
+					FastByteArrayCodec.baToSparseRow(_buff, 0, rows, i, lnnz);
 				}
 				else
 				{
-					//default case: by value-pair
-					for( int j=0; j<lnnz; j++ ) {
-						readFully(_buff, 0, 12);
-						int aix = baToInt(_buff, 0);
-						long tmp = baToLong(_buff, 4);
-						double aval = Double.longBitsToDouble(tmp);
-						rows.append(i, aix, aval);
+					//default case: by buffer-sized chunks of value-pairs
+					//(get handle to sparse row, allocate if necessary)
+					rows.allocate(i, lnnz);
+					int blen = _bufflen/12;
+					for( int j=0; j<lnnz; j+=blen ) {
+						int lblen = Math.min(lnnz-j, blen);
+						readFully(_buff, 0, lblen*12);
+						FastByteArrayCodec.baToSparseRow(_buff, 0, rows, i, lblen);
 					}
 				}
 				
@@ -248,6 +249,13 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 		return nnz;
 	}
 
+	private static int baToShort( byte[] ba, final int off )
+	{
+		//shift and add 2 bytes into single (unsigned) short
+		return ((ba[off+0] & 0xFF) << 8) +
+			   ((ba[off+1] & 0xFF) << 0);
+	}
+
 	private static int baToInt( byte[] ba, final int off )
 	{
 		//shift and add 4 bytes into single int
@@ -25,6 +25,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UTFDataFormatException;
 
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.matrix.data.MatrixBlockDataOutput;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
@@ -60,7 +61,8 @@ public class FastBufferedDataOutputStream extends FilterOutputStream implements
 	    if( size%8 != 0 )    
 	    	throw new IllegalArgumentException("Buffer size not a multiple of 8.");
 	    
-		_buff = new byte[size];
+		//reuse pooled buffer, returned on close
+		_buff = PageCache.allocPage(size);
 		_bufflen = size;
 	}
 
@@ -112,7 +114,14 @@ public class FastBufferedDataOutputStream extends FilterOutputStream implements
     public void close()
     	throws IOException
     {
-    	super.close();
+    	try {
+    		super.close(); //incl flush
+    	}
+    	finally {
+    		PageCache.putPage(_buff);
+    		_buff = null;
+    		_count = 0;
+    	}
     }
     
     /////////////////////////////
@@ -192,7 +201,11 @@ public class FastBufferedDataOutputStream extends FilterOutputStream implements
 
 	@Override
 	public void writeChar(int v) throws IOException {
-		throw new IOException("Not supported.");
+		if (_count+2 > _bufflen) {
+		    flushBuffer();
+		}
+		shortToBa(v, _buff, _count);
+		_count += 2;
 	}
 
 	@Override
@@ -250,14 +263,10 @@ public class FastBufferedDataOutputStream extends FilterOutputStream implements
 		int blen = _bufflen/8;
 		for( int i=0; i<len; i+=Math.min(len-i, blen) )
 		{
-			//write values of current block
+			//write values of current block (bulk conversion)
 			int lblen = Math.min(len-i, blen);
-			for( int j=0; j<lblen; j++ )
-			{
-				long tmp = Double.doubleToRawLongBits(varr[i+j]);
-				longToBa(tmp, _buff, _count);
-				_count += 8;
-			}	
+			FastByteArrayCodec.doubleArrayToBa(varr, i, lblen, _buff, _count);
+			_count += lblen*8;
 			
 			//flush buffer for current block
 			flushBuffer(); //based on count
@@ -288,26 +297,22 @@ public class FastBufferedDataOutputStream extends FilterOutputStream implements
 					if (_count+alen2 > _bufflen) 
 					    flushBuffer();
 					
-					for( int j=apos; j<apos+alen; j++ )
-					{
-						long tmp2 = Double.doubleToRawLongBits(avals[j]);
-						intToBa(aix[j], _buff, _count);
-						longToBa(tmp2, _buff, _count+4);
-						_count += 12;
-					}
+					//write entire row into buffer (bulk conversion)
+					FastByteArrayCodec.sparseRowToBa(aix, avals, apos, alen, _buff, _count);
+					_count += alen2;
 				}
 				else
 				{
-					//row does not fit in buffer
-					for( int j=apos; j<apos+alen; j++ )
+					//row does not fit in buffer: write buffer-sized chunks 
+					int blen = _bufflen/12;
+					for( int j=apos; j<apos+alen; j+=blen )
 					{
-						if (_count+12 > _bufflen) 
+						int lblen = Math.min(apos+alen-j, blen);
+						if (_count+lblen*12 > _bufflen) 
 						    flushBuffer();
 						
-						long tmp2 = Double.doubleToRawLongBits(avals[j]);
-						intToBa(aix[j], _buff, _count);
-						longToBa(tmp2, _buff, _count+4);
-						_count += 12;
+						FastByteArrayCodec.sparseRowToBa(aix, avals, j, lblen, _buff, _count);
+						_count += lblen*12;
 					}
 				}	
 			}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
+import org.apache.sysml.runtime.matrix.data.SparseRow;
+
+/**
+ * Bulk conversion of primitive arrays from/to byte arrays in the big-endian
+ * layout of java.io.DataOutput, which is the serialization format of matrix blocks.
+ *
+ * Dense double arrays are transferred via bulk get/put of big-endian double
+ * views (java.nio) over the byte arrays, which avoids the per-byte shift-and-mask
+ * loops of the default conversion; sparse rows use the absolute int/double
+ * accessors of the same byte buffer views. The serialized format is identical
+ * to the existing binary block format.
+ *
+ */
+public class FastByteArrayCodec
+{
+	/**
+	 * Writes len doubles from the given double array into the byte array at
+	 * the given offset (8 bytes per value, big-endian).
+	 *
+	 * @param varr double array
+	 * @param vpos start position in double array
+	 * @param len number of values
+	 * @param ba output byte array
+	 * @param off offset in output byte array
+	 */
+	public static void doubleArrayToBa( double[] varr, int vpos, int len, byte[] ba, int off )
+	{
+		wrap(ba, off, len*8).asDoubleBuffer().put(varr, vpos, len);
+	}
+
+	/**
+	 * Reads len doubles from the byte array at the given offset into the
+	 * double array and returns the number of non-zeros.
+	 *
+	 * @param ba input byte array
+	 * @param off offset in input byte array
+	 * @param varr double array
+	 * @param vpos start position in double array
+	 * @param len number of values
+	 * @return number of non-zero values
+	 */
+	public static long baToDoubleArray( byte[] ba, int off, double[] varr, int vpos, int len )
+	{
+		wrap(ba, off, len*8).asDoubleBuffer().get(varr, vpos, len);
+		
+		long nnz = 0;
+		for( int i=vpos; i<vpos+len; i++ )
+			nnz += (varr[i]!=0) ? 1 : 0;
+		return nnz;
+	}
+
+	/**
+	 * Writes alen (column index, value) pairs of a sparse row into the byte array
+	 * at the given offset (12 bytes per pair, big-endian).
+	 *
+	 * @param aix column indexes
+	 * @param avals values
+	 * @param apos start position in sparse row
+	 * @param alen number of non-zeros
+	 * @param ba output byte array
+	 * @param off offset in output byte array
+	 */
+	public static void sparseRowToBa( int[] aix, double[] avals, int apos, int alen, byte[] ba, int off )
+	{
+		ByteBuffer bb = wrap(ba, off, alen*12);
+		for( int j=apos, boff=off; j<apos+alen; j++, boff+=12 ) {
+			bb.putInt(boff, aix[j]);
+			bb.putDouble(boff+4, avals[j]);
+		}
+	}
+
+	/**
+	 * Reads alen (column index, value) pairs from the byte array at the given
+	 * offset and appends them to row r of the given sparse block. For MCSR
+	 * blocks, the pairs are directly decoded into the arrays of the sparse row.
+	 *
+	 * @param ba input byte array
+	 * @param off offset in input byte array
+	 * @param rows sparse block
+	 * @param r row index
+	 * @param alen number of non-zeros
+	 */
+	public static void baToSparseRow( byte[] ba, int off, SparseBlock rows, int r, int alen )
+	{
+		ByteBuffer bb = wrap(ba, off, alen*12);
+		if( rows instanceof SparseBlockMCSR && rows.isEmpty(r) ) {
+			//decode into allocated row arrays (no append overhead)
+			rows.allocate(r, alen);
+			SparseRow row = rows.get(r);
+			row.recap(alen);
+			int[] aix = row.indexes();
+			double[] avals = row.values();
+			for( int j=0, boff=off; j<alen; j++, boff+=12 ) {
+				aix[j] = bb.getInt(boff);
+				avals[j] = bb.getDouble(boff+4);
+			}
+			row.setSize(alen);
+		}
+		else {
+			for( int j=0, boff=off; j<alen; j++, boff+=12 )
+				rows.append(r, bb.getInt(boff), bb.getDouble(boff+4));
+		}
+	}
+
+	private static ByteBuffer wrap( byte[] ba, int off, int len ) {
+		//big-endian view of the given range (bounds checked on wrap)
+		return ByteBuffer.wrap(ba, off, len).order(ByteOrder.BIG_ENDIAN);
+	}
+}
@@ -40,7 +40,9 @@ import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.BufferCompressor;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysml.runtime.controlprogram.caching.CacheBlockFactory;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
@@ -110,15 +112,35 @@ public class LocalFileUtils
 		return (FrameBlock) readWritableFromLocal(filePathAndName, reuse);
 	}
 	
-	/** Reads a matrix/frame block from local file system.
+	/** Reads a matrix/frame block from local file system, where the type of
+	 * block (e.g., uncompressed or compressed matrix) is given by the cache 
+	 * block code in the first byte of the file, which also indicates
+	 * buffer pool compression of the serialized block.
 	 * 
 	 * @param filePathAndName file to read
-	 * @param matrix if true, read matrix. if false, read frame.
 	 * @return cache block (common interface to MatrixBlock and FrameBlock)
 	 * @throws IOException if IOException occurs
 	 */
-	public static CacheBlock readCacheBlockFromLocal(String filePathAndName, boolean matrix) throws IOException {
-		return (CacheBlock) readWritableFromLocal(filePathAndName, matrix?new MatrixBlock():new FrameBlock());
+	public static CacheBlock readCacheBlockFromLocal(String filePathAndName) throws IOException {
+		FileInputStream fis = new FileInputStream( filePathAndName );
+		try {
+			int code = fis.read();
+			if( BufferCompressor.isCompressed(code) ) {
+				//read and decompress entire block
+				byte[] data = new byte[(int)(fis.getChannel().size()-1)];
+				new DataInputStream(fis).readFully(data);
+				return CacheBlockFactory.newInstance(code, data);
+			}
+			CacheBlock ret = CacheBlockFactory.newInstance(code);
+			DataInput in  = !(ret instanceof MatrixBlock) ? 
+					new DataInputStream(new BufferedInputStream(fis, BUFFER_SIZE)) :
+					new FastBufferedDataInputStream(fis, BUFFER_SIZE);
+			ret.readFields(in);
+			return ret;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(fis);
+		}
 	}
 	
 	/**
@@ -168,14 +190,24 @@ public class LocalFileUtils
 		writeWritableToLocal(filePathAndName, fb);
 	}
 	
-	/** Writes a matrix/frame block to local file system.
+	/** Writes a matrix/frame block to local file system, prefixed by its 
+	 * cache block code.
 	 * 
 	 * @param filePathAndName file to write
 	 * @param cb cache block (common interface to matrix block and frame block)
 	 * @throws IOException if IOException occurs
 	 */
 	public static void writeCacheBlockToLocal(String filePathAndName, CacheBlock cb) throws IOException {
-		writeWritableToLocal(filePathAndName, cb);
+		FileOutputStream fos = new FileOutputStream( filePathAndName );
+		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(fos, BUFFER_SIZE);
+		
+		try {
+			out.writeByte(CacheBlockFactory.getCode(cb));
+			cb.write(out);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
 	}
 	
 	/**
@@ -200,7 +232,16 @@ public class LocalFileUtils
 		}	
 	}
 
-	public static void writeByteArrayToLocal( String filePathAndName, byte[] data )
+	/**
+	 * Writes a serialized matrix/frame block to local file system, prefixed
+	 * by the given cache block code.
+	 * 
+	 * @param filePathAndName file to write
+	 * @param code cache block code
+	 * @param data serialized cache block
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeCacheBlockToLocal( String filePathAndName, int code, byte[] data )
 		throws IOException
 	{	
 		//byte array write via java.nio file channel ~10-15% faster than java.io
@@ -209,7 +250,8 @@ public class LocalFileUtils
 			Path path = Paths.get(filePathAndName);
 			channel = FileChannel.open(path, StandardOpenOption.CREATE, 
 				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
-			channel.write(ByteBuffer.wrap(data));
+			channel.write(new ByteBuffer[]{ 
+				ByteBuffer.wrap(new byte[]{(byte)code}), ByteBuffer.wrap(data)});
 		}
 		finally {
 			IOUtilFunctions.closeSilently(channel);
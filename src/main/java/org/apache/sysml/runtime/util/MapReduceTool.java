@@ -43,6 +43,7 @@ import org.apache.sysml.parser.DataExpression;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.ExportRegistry;
 import org.apache.sysml.runtime.io.MatrixReader;
 import org.apache.sysml.runtime.io.MatrixReaderFactory;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
@@ -131,6 +132,7 @@ public class MapReduceTool
 	}
 	
 	public static void deleteFileIfExistOnHDFS(Path outpath, JobConf job) throws IOException {
+		ExportRegistry.invalidate(outpath.toString());
 		if (FileSystem.get(job).exists(outpath)) {
 			FileSystem.get(job).delete(outpath, true);
 		}
@@ -148,6 +150,7 @@ public class MapReduceTool
 	}
 	
 	public static void deleteFileIfExistOnHDFS(String dir) throws IOException {
+		ExportRegistry.invalidate(dir);
 		Path outpath = new Path(dir);
 		FileSystem fs = FileSystem.get(_rJob);
 		if (fs.exists(outpath)) {
@@ -202,6 +205,7 @@ public class MapReduceTool
 		FileSystem fs = FileSystem.get(_rJob);
 		if (fs.exists(originalpath)) {
 			fs.rename(originalpath, newpath);
+			ExportRegistry.rename(originalDir, newDir);
 		}
 		else {
 			throw new FileNotFoundException(originalDir);
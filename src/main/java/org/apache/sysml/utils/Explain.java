@@ -25,6 +25,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.sysml.api.DMLException;
 import org.apache.sysml.hops.FunctionOp;
 import org.apache.sysml.hops.Hop;
@@ -586,12 +587,15 @@ public class Explain
 		
 		//data flow properties
 		if( SHOW_DATA_FLOW_PROPERTIES ) {
-			if( hop.requiresReblock() && hop.requiresCheckpoint() )
-				sb.append(" [rblk,chkpt]");
-			else if( hop.requiresReblock() )
-				sb.append(" [rblk]");
-			else if( hop.requiresCheckpoint() )
-				sb.append(" [chkpt]");
+			ArrayList<String> props = new ArrayList<String>();
+			if( hop.requiresReblock() )
+				props.add("rblk");
+			if( hop.requiresCheckpoint() )
+				props.add("chkpt");
+			if( hop.requiresCompression() )
+				props.add("cmp");
+			if( !props.isEmpty() )
+				sb.append(" [" + StringUtils.join(props, ",") + "]");
 		}
 		
 		//exec type
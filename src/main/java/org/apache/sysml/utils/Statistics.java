@@ -33,6 +33,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.CacheTracer;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
@@ -104,6 +105,13 @@ public class Statistics
 	private static AtomicLong denseBlockAllocationTime = new AtomicLong(0);
 	private static AtomicLong sparseBlockAllocationTime = new AtomicLong(0);
 	
+	//sparse/dense representation changes of matrix blocks (examSparsity)
+	private static AtomicLong denseToSparseConversions = new AtomicLong(0);
+	private static AtomicLong sparseToDenseConversions = new AtomicLong(0);
+	
+	//decompressions of compressed matrix blocks
+	private static AtomicLong decompressions = new AtomicLong(0);
+	
 	public static long cudaInitTime = 0;
 	public static long cudaLibrariesInitTime = 0;
 	public static AtomicLong cudaConversionTime = new AtomicLong(0);	// Measures time spent in converting between sparse block types
@@ -125,6 +133,29 @@ public class Statistics
 			denseBlockAllocationTime.addAndGet(allocationTime);
 	}
 	
+	public static void incrementSparseFormatConversions(boolean toSparse) {
+		if( toSparse )
+			denseToSparseConversions.incrementAndGet();
+		else
+			sparseToDenseConversions.incrementAndGet();
+	}
+	
+	public static long getDenseToSparseConversions() {
+		return denseToSparseConversions.get();
+	}
+	
+	public static long getSparseToDenseConversions() {
+		return sparseToDenseConversions.get();
+	}
+	
+	public static void incrementDecompressions() {
+		decompressions.incrementAndGet();
+	}
+	
+	public static long getDecompressions() {
+		return decompressions.get();
+	}
+	
 	public static synchronized void setNoOfExecutedMRJobs(int iNoOfExecutedMRJobs) {
 		Statistics.iNoOfExecutedMRJobs = iNoOfExecutedMRJobs;
 	}
@@ -373,6 +404,9 @@ public class Statistics
 		
 		denseBlockAllocationTime.set(0);
 		sparseBlockAllocationTime.set(0);
+		denseToSparseConversions.set(0);
+		sparseToDenseConversions.set(0);
+		decompressions.set(0);
 		
 		cudaInitTime = 0;
 		cudaLibrariesInitTime = 0;
@@ -648,10 +682,33 @@ public class Statistics
 			sb.append("Cache hits (Mem, WB, FS, HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (WB, FS, HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			if( CacheStatistics.getSyncEvictions()+CacheStatistics.getAsyncEvictions() > 0 ) {
+				sb.append("Cache evictions (sync, async):\t" + CacheStatistics.displayEvictions() + ".\n");
+				sb.append("Cache evict lat (<1/10/100/1000ms, more):\t" + CacheStatistics.displayEvictionLatency() + ".\n");
+			}
+			if( CacheStatistics.getIssuedPrefetches() > 0 )
+				sb.append("Cache prefetches (issued, done):\t" + CacheStatistics.displayPrefetches() + ".\n");
+			if( CacheStatistics.getCompressedBlocks()+CacheStatistics.getCompressSkippedBlocks() > 0 ) {
+				sb.append("Cache compress (blocks, skip, ratio):\t" + CacheStatistics.displayCompression() + ".\n");
+				sb.append("Cache compress times (comp, decomp):\t" + CacheStatistics.displayCompressionTime() + " sec.\n");
+			}
+			if( CacheStatistics.getPageHits()+CacheStatistics.getPageMisses() > 0 )
+				sb.append("Cache pages (hit, miss, drop, MB):\t" + CacheStatistics.displayPageCache() + ".\n");
+			if( CacheStatistics.getBufferResizes() > 0 )
+				sb.append("Cache buffer resizes (grow, shrink, MB):\t" + CacheStatistics.displayBufferResizes() + ".\n");
+			if( CacheStatistics.getExportSkips() > 0 )
+				sb.append("Cache export skips (lineage, content):\t" + CacheStatistics.displayExportSkips() + ".\n");
+			if( CacheTracer.isEnabled() || CacheTracer.getNumVariables() > 0 )
+				sb.append("Cache top thrashing vars (name, size, acq/evict/restore, evict/restore time):\n" 
+					+ CacheTracer.displayTopThrashing(maxHeavyHitters));
 			if(DMLScript.REUSE_NONZEROED_OUTPUT) {
 				sb.append("Allocation time (Dense/Sparse):\t" + String.format("%.3f", denseBlockAllocationTime.doubleValue()/1000000000) 
 						+ "/" + String.format("%.3f", sparseBlockAllocationTime.doubleValue()/1000000000)  + " sec.\n");
 			}
+			sb.append("Format conversions (d2s, s2d):\t" + denseToSparseConversions.get() 
+					+ "/" + sparseToDenseConversions.get() + ".\n");
+			if( getDecompressions()>0 )
+				sb.append("Compressed block decompressions:\t" + getDecompressions() + ".\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
 			sb.append("HOP DAGs recompile time:\t" + String.format("%.3f", ((double)getHopRecompileTime())/1000000000) + " sec.\n");
 			if( getFunRecompiles()>0 ) {
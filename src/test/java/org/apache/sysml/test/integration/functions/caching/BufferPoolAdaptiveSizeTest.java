@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.HashMap;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.BufferSizeController;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the adaptive sizing of the buffer pool, i.e., the configured bounds,
+ * the immediate shrink for large operation memory estimates (incl eviction of
+ * buffered blocks), the gradual growth, the reset to the fixed buffer size,
+ * the cap of the max size, and the restore of the gc notification thresholds.
+ */
+public class BufferPoolAdaptiveSizeTest extends AutomatedTestBase
+{
+	private final static int rows = 1000;
+	private final static int cols = 1000;
+	private final static double minSize = 0.01;
+	private final static double maxSize = 0.2;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testAdaptiveBounds() {
+		runBufferPoolAdaptiveSizeTest(false);
+	}
+
+	@Test
+	public void testAdaptiveShrinkEviction() {
+		runBufferPoolAdaptiveSizeTest(true);
+	}
+
+	@Test
+	public void testAdaptiveMaxCapThresholds() {
+		try
+		{
+			//set custom collection usage thresholds
+			HashMap<String, Long> thresholds = new HashMap<String, Long>();
+			for( MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans() )
+				if( pool.isValid() && pool.isCollectionUsageThresholdSupported() ) {
+					pool.setCollectionUsageThreshold(7);
+					thresholds.put(pool.getName(), pool.getCollectionUsageThreshold());
+				}
+
+			//setup caching with adaptive buffer size and too large max size
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.CACHING_BUFFER_ADAPTIVE, "true");
+			conf.setTextValue(DMLConfig.CACHING_BUFFER_MAX, "0.9");
+			ConfigurationManager.setLocalConfig(conf);
+			CacheableData.initCaching("tmp_bufferpool_adaptive_test");
+			long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
+			Assert.assertEquals((long)((1-OptimizerUtils.MEM_UTIL_FACTOR)*maxMem),
+				BufferSizeController.getMaxSize());
+			Assert.assertTrue(LazyWriteBuffer.getLimit() <= BufferSizeController.getMaxSize());
+
+			//check restored thresholds on cleanup
+			CacheableData.cleanupCacheDir();
+			for( MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans() )
+				if( thresholds.containsKey(pool.getName()) ) {
+					Assert.assertEquals((long)thresholds.get(pool.getName()), pool.getCollectionUsageThreshold());
+					pool.setCollectionUsageThreshold(0);
+				}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			LazyWriteBuffer.setLimit(LazyWriteBuffer.getWriteBufferSize());
+			CacheableData.cleanupCacheDir();
+			ConfigurationManager.clearLocalConfigs();
+		}
+	}
+
+	/**
+	 *
+	 * @param data write buffered blocks before shrink
+	 */
+	private void runBufferPoolAdaptiveSizeTest(boolean data)
+	{
+		try
+		{
+			//setup caching with adaptive buffer size
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.CACHING_BUFFER_ADAPTIVE, "true");
+			conf.setTextValue(DMLConfig.CACHING_BUFFER_MIN, String.valueOf(minSize));
+			conf.setTextValue(DMLConfig.CACHING_BUFFER_MAX, String.valueOf(maxSize));
+			ConfigurationManager.setLocalConfig(conf);
+			CacheableData.initCaching("tmp_bufferpool_adaptive_test");
+			Assert.assertTrue(BufferSizeController.isEnabled());
+			long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
+			long min = BufferSizeController.getMinSize();
+			long max = BufferSizeController.getMaxSize();
+			Assert.assertEquals((long)(minSize*maxMem), min);
+			Assert.assertEquals((long)(maxSize*maxMem), max);
+			Assert.assertTrue(LazyWriteBuffer.getLimit() >= min && LazyWriteBuffer.getLimit() <= max);
+
+			//write buffered blocks (w/o eviction)
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -1, 1, 1.0, 7));
+			MatrixObject[] mos = new MatrixObject[data ? 
+				(int)(min / mb.getExactSerializedSize()) + 2 : 0];
+			for( int i=0; i<mos.length; i++ ) {
+				MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1, -1);
+				MatrixFormatMetaData meta = new MatrixFormatMetaData(mc,
+					OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
+				mos[i] = new MatrixObject(ValueType.DOUBLE, null, meta);
+				MatrixBlock tmp = new MatrixBlock(rows, cols, false);
+				tmp.copy(mb);
+				tmp.quickSetValue(0, 0, i);
+				mos[i].acquireModify(tmp);
+				mos[i].release();
+			}
+
+			//shrink to min size for large operation estimates
+			BufferSizeController.adjust(maxMem);
+			Assert.assertEquals(min, LazyWriteBuffer.getLimit());
+			for( int i=0; i<500 && LazyWriteBuffer.getCurrentSize() > min; i++ )
+				Thread.sleep(10);
+			Assert.assertTrue(LazyWriteBuffer.getCurrentSize() <= min);
+
+			//gradual growth to max size for small operation estimates
+			long limit = LazyWriteBuffer.getLimit();
+			for( int i=0; i<20 && limit < max; i++ ) {
+				BufferSizeController.adjust(0);
+				Assert.assertTrue(LazyWriteBuffer.getLimit() > limit);
+				limit = LazyWriteBuffer.getLimit();
+			}
+			Assert.assertEquals(max, limit);
+
+			//check restored blocks after eviction
+			for( int i=0; i<mos.length; i++ ) {
+				MatrixBlock tmp = mos[i].acquireRead();
+				Assert.assertEquals(i, tmp.quickGetValue(0, 0), 0);
+				Assert.assertEquals(mb.quickGetValue(rows-1, cols-1), tmp.quickGetValue(rows-1, cols-1), 0);
+				mos[i].release();
+				mos[i].clearData();
+			}
+
+			//reset to fixed buffer size on cleanup
+			CacheableData.cleanupCacheDir();
+			Assert.assertFalse(BufferSizeController.isEnabled());
+			Assert.assertEquals(LazyWriteBuffer.getWriteBufferSize(), LazyWriteBuffer.getLimit());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			LazyWriteBuffer.setLimit(LazyWriteBuffer.getWriteBufferSize());
+			CacheableData.cleanupCacheDir();
+			ConfigurationManager.clearLocalConfigs();
+		}
+	}
+}
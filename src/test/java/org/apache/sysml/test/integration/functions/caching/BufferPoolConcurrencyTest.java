@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.lang.reflect.Method;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Multi-threaded correctness test of the buffer pool, which mimics local
+ * parfor workers that create, read, and remove many small intermediates. The
+ * test covers a single shard (i.e., a global lock) and a sharded buffer pool,
+ * where a small write buffer also exercises the concurrent eviction. All intermediates are removed at the end, so the buffer
+ * size accounting is expected to return to zero.
+ */
+public class BufferPoolConcurrencyTest extends AutomatedTestBase
+{
+	private final static int rows = 64;
+	private final static int cols = 64;
+	private final static int numIterations = 400; //per worker
+	private final static int numBuffered = 4;     //write buffer size in blocks per worker
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testSingleShardFIFO() {
+		runBufferPoolConcurrencyTest(false, RPolicy.FIFO);
+	}
+
+	@Test
+	public void testShardedFIFO() {
+		runBufferPoolConcurrencyTest(true, RPolicy.FIFO);
+	}
+
+	@Test
+	public void testSingleShardCost() {
+		runBufferPoolConcurrencyTest(false, RPolicy.COST);
+	}
+
+	@Test
+	public void testShardedCost() {
+		runBufferPoolConcurrencyTest(true, RPolicy.COST);
+	}
+
+	/**
+	 *
+	 * @param sharded sharded buffer pool (otherwise single shard)
+	 * @param policy buffer pool eviction policy
+	 */
+	private void runBufferPoolConcurrencyTest(boolean sharded, RPolicy policy)
+	{
+		try
+		{
+			//setup caching w/ given number of shards, small write buffer, and async
+			//eviction (at least 8 workers to exercise the concurrent code paths)
+			int k = Math.max(InfrastructureAnalyzer.getLocalParallelism(), 8);
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.CACHING_BUFFER_POLICY, policy.name().toLowerCase());
+			conf.setTextValue(DMLConfig.CACHING_EVICTION_ASYNC, "true");
+			ConfigurationManager.setLocalConfig(conf);
+			CacheableData.initCaching("tmp_bufferpool_concurrency_test");
+			LazyWriteBuffer.init(sharded ? k : 1);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -1, 1, 1.0, 7));
+			LazyWriteBuffer.setLimit(k * numBuffered * mb.getExactSerializedSize());
+
+			//run parallel workers
+			ParWorker[] workers = new ParWorker[k];
+			for( int i=0; i<k; i++ )
+				workers[i] = new ParWorker(mb, i);
+			for( ParWorker worker : workers )
+				worker.start();
+			for( ParWorker worker : workers )
+				worker.join();
+
+			//check worker errors and buffer size
+			for( ParWorker worker : workers )
+				if( worker.getError() != null )
+					throw worker.getError();
+			Assert.assertEquals(0, LazyWriteBuffer.getCurrentSize());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			LazyWriteBuffer.setLimit(LazyWriteBuffer.getWriteBufferSize());
+			CacheableData.cleanupCacheDir();
+			ConfigurationManager.clearLocalConfigs();
+		}
+	}
+
+	/**
+	 * Worker that mimics the buffer pool interactions of a local parfor
+	 * worker, i.e., writes, reads, and removes intermediates per iteration.
+	 */
+	private static class ParWorker extends Thread
+	{
+		private final MatrixBlock _mb;
+		private final int _id;
+		private Exception _error = null;
+
+		public ParWorker(MatrixBlock mb, int id) {
+			_mb = mb;
+			_id = id;
+		}
+
+		public Exception getError() {
+			return _error;
+		}
+
+		@Override
+		public void run() {
+			try {
+				Method clearmo = CacheableData.class
+					.getDeclaredMethod("clearCache", new Class[]{});
+				clearmo.setAccessible(true); //make method public
+				MatrixObject[] live = new MatrixObject[numBuffered];
+				for( int i=0; i<numIterations; i++ ) {
+					//create intermediate (write to buffer pool)
+					MatrixBlock mb = new MatrixBlock(_mb.getNumRows(), _mb.getNumColumns(), false);
+					mb.copy(_mb);
+					mb.quickSetValue(0, 0, _id*numIterations+i);
+					MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1, -1);
+					MatrixFormatMetaData meta = new MatrixFormatMetaData(mc,
+						OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
+					MatrixObject mo = new MatrixObject(ValueType.DOUBLE, null, meta);
+					mo.acquireModify(mb);
+					mo.release();
+
+					//read older intermediate (buffer pool or evicted) and remove
+					int pos = i % live.length;
+					if( live[pos] != null ) {
+						clearmo.invoke(live[pos], new Object[]{});
+						MatrixBlock tmp = live[pos].acquireRead();
+						live[pos].release();
+						if( tmp.quickGetValue(0, 0) != _id*numIterations+i-live.length
+							|| tmp.quickGetValue(rows-1, cols-1) != _mb.quickGetValue(rows-1, cols-1) )
+							throw new RuntimeException("Wrong intermediate in iteration "+i+".");
+						live[pos].clearData();
+					}
+					live[pos] = mo;
+				}
+				for( MatrixObject mo : live )
+					if( mo != null )
+						mo.clearData();
+			}
+			catch(Exception ex) {
+				_error = ex;
+			}
+		}
+	}
+}
@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.File;
+import java.lang.reflect.Method;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.apache.sysml.runtime.controlprogram.caching.MappedEvictionStore;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the buffer pool eviction (with background eviction between the
+ * high and low watermarks) by writing more matrices than fit into a small
+ * write buffer, and reading them back through the buffer pool. The first
+ * matrix is marked as loop read, which the cost-aware policy keeps in the
+ * write buffer, while FIFO evicts it first. Eviction uses either local files
+ * or memory-mapped segment files, whose free space is reused across
+ * interleaved writes and deletes.
+ */
+public class BufferPoolEvictionTest extends AutomatedTestBase
+{
+	private final static int rows = 300;
+	private final static int cols = 200;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.1;
+	private final static int numMatrices = 48;
+	private final static int numBuffered = 16; //write buffer size in matrices
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testEvictionDenseFIFO() {
+		runBufferPoolEvictionTest(sparsity1, RPolicy.FIFO, false, true);
+	}
+
+	@Test
+	public void testEvictionSparseFIFO() {
+		runBufferPoolEvictionTest(sparsity2, RPolicy.FIFO, false, true);
+	}
+
+	@Test
+	public void testEvictionDenseCost() {
+		runBufferPoolEvictionTest(sparsity1, RPolicy.COST, false, true);
+	}
+
+	@Test
+	public void testEvictionSparseCost() {
+		runBufferPoolEvictionTest(sparsity2, RPolicy.COST, false, true);
+	}
+
+	@Test
+	public void testEvictionDenseFIFOMmap() {
+		runBufferPoolEvictionTest(sparsity1, RPolicy.FIFO, true, true);
+	}
+
+	@Test
+	public void testEvictionSparseFIFOMmap() {
+		runBufferPoolEvictionTest(sparsity2, RPolicy.FIFO, true, true);
+	}
+
+	@Test
+	public void testEvictionDenseFIFOSync() {
+		runBufferPoolEvictionTest(sparsity1, RPolicy.FIFO, false, false);
+	}
+
+	@Test
+	public void testEvictionSparseCostSync() {
+		runBufferPoolEvictionTest(sparsity2, RPolicy.COST, false, false);
+	}
+
+	@Test
+	public void testMappedStoreSpaceReuse() {
+		MappedEvictionStore store = null;
+		try
+		{
+			File dir = File.createTempFile("mmap", "");
+			dir.delete();
+			dir.mkdirs();
+			store = new MappedEvictionStore(dir.getAbsolutePath()+File.separator);
+			int n = 64;
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -1, 1, sparsity1, 7));
+			MatrixBlock mb2 = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows/2, cols, -1, 1, sparsity1, 3));
+			for( int i=0; i<n; i++ )
+				Assert.assertTrue(store.writeBlock("b"+i, mb));
+			long size = store.getAllocatedSize();
+
+			//interleaved deletes and writes (w/ splits and coalescing of free extents)
+			for( int k=2; k<6; k++ ) {
+				for( int i=0; i<n; i+=k )
+					Assert.assertTrue(store.delete("b"+i));
+				for( int i=0; i<n; i+=k ) {
+					Assert.assertTrue(store.writeBlock("b"+i, (i/k)%2==0 ? mb : mb2));
+					Assert.assertTrue(store.writeBlock("b"+i, mb));
+				}
+				Assert.assertEquals(size, store.getAllocatedSize());
+				Assert.assertEquals(1, store.getNumSegments());
+			}
+			for( int i=0; i<n; i++ )
+				TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb),
+					DataConverter.convertToDoubleMatrix((MatrixBlock)store.readBlock("b"+i)), rows, cols, 0);
+
+			//delete all and close (unmap and delete segment files)
+			for( int i=0; i<n; i++ )
+				store.delete("b"+i);
+			Assert.assertEquals(0, store.getAllocatedSize());
+			store.close();
+			store = null;
+			Assert.assertEquals(0, dir.listFiles().length);
+			dir.delete();
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			if( store != null )
+				store.close();
+		}
+	}
+
+	/**
+	 *
+	 * @param sparsity sparsity of generated matrices
+	 * @param policy buffer pool eviction policy
+	 * @param mmap use memory-mapped eviction files
+	 * @param async use background eviction
+	 */
+	private void runBufferPoolEvictionTest(double sparsity, RPolicy policy, boolean mmap, boolean async)
+	{
+		boolean oldStats = DMLScript.STATISTICS;
+		DMLScript.STATISTICS = true;
+
+		try
+		{
+			//setup caching with given policy and small write buffer
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.CACHING_BUFFER_POLICY, policy.name().toLowerCase());
+			conf.setTextValue(DMLConfig.CACHING_EVICTION_MMAP, String.valueOf(mmap));
+			conf.setTextValue(DMLConfig.CACHING_EVICTION_ASYNC, String.valueOf(async));
+			ConfigurationManager.setLocalConfig(conf);
+			CacheableData.initCaching("tmp_bufferpool_eviction_test");
+			CacheStatistics.reset();
+			MatrixBlock[] blocks = new MatrixBlock[numMatrices];
+			for( int i=0; i<numMatrices; i++ )
+				blocks[i] = DataConverter.convertToMatrixBlock(
+					getRandomMatrix(rows, cols, -1, 1, sparsity, i+7));
+			long limit = numBuffered * blocks[0].getExactSerializedSize();
+			LazyWriteBuffer.setLimit(limit);
+
+			//write matrices through buffer pool
+			MatrixObject[] mos = new MatrixObject[numMatrices];
+			for( int i=0; i<numMatrices; i++ ) {
+				MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1, -1);
+				MatrixFormatMetaData meta = new MatrixFormatMetaData(mc,
+					OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
+				mos[i] = new MatrixObject(ValueType.DOUBLE, null, meta);
+				mos[i].setLoopRead(i==0);
+				mos[i].acquireModify(blocks[i]);
+				mos[i].release();
+			}
+
+			//wait for background eviction to drop below the high watermark
+			//and to become idle (i.e., complete statistics of all evictions)
+			for( int i=0; i<500 && (LazyWriteBuffer.getCurrentSize() >= CacheableData
+				.CACHING_BUFFER_HIGH_WATERMARK*limit || !LazyWriteBuffer.isEvictionIdle()); i++ )
+				Thread.sleep(10);
+			Assert.assertTrue(LazyWriteBuffer.isEvictionIdle());
+			long[] hist = CacheStatistics.getEvictionLatencyHistogram();
+
+			//check buffer size and eviction statistics
+			long numEvict = CacheStatistics.getSyncEvictions() + CacheStatistics.getAsyncEvictions();
+			long numHist = 0;
+			for( long cnt : hist )
+				numHist += cnt;
+			Assert.assertTrue(LazyWriteBuffer.getCurrentSize() < limit);
+			Assert.assertTrue(numEvict >= numMatrices - numBuffered);
+			Assert.assertEquals(numEvict, numHist);
+			if( !async )
+				Assert.assertEquals(0, CacheStatistics.getAsyncEvictions());
+
+			//read matrices through buffer pool and compare
+			Method clearmo = CacheableData.class
+				.getDeclaredMethod("clearCache", new Class[]{});
+			clearmo.setAccessible(true); //make method public
+			long hitsFS = CacheStatistics.getFSHits();
+			for( int i=0; i<numMatrices; i++ ) {
+				clearmo.invoke(mos[i], new Object[]{});
+				MatrixBlock mb = mos[i].acquireRead();
+				mos[i].release();
+				TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(blocks[i]),
+					DataConverter.convertToDoubleMatrix(mb), rows, cols, 0);
+				
+				//check eviction of loop read matrix
+				if( i==0 ) {
+					Assert.assertEquals("Wrong eviction of loop read matrix w/ "+policy.name()+".",
+						policy == RPolicy.FIFO, CacheStatistics.getFSHits() > hitsFS);
+				}
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			LazyWriteBuffer.setLimit(LazyWriteBuffer.getWriteBufferSize());
+			CacheableData.cleanupCacheDir();
+			ConfigurationManager.clearLocalConfigs();
+			DMLScript.STATISTICS = oldStats;
+		}
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.CachePrefetcher;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysml.runtime.instructions.CPInstructionParser;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the lookahead prefetch of matrix inputs of upcoming instructions,
+ * which are either evicted from a small write buffer or not yet read from
+ * HDFS. After the prefetch, the inputs of the lookahead window are expected
+ * to be restored into memory (i.e., acquire read is a memory hit), while
+ * inputs produced within the window are skipped. Prefetches of cleared
+ * inputs (e.g., on rmvar) are cancelled, i.e., these inputs are not restored.
+ */
+public class BufferPoolPrefetchTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_NAME = "BufferPoolPrefetch";
+	private final static String TEST_CLASS_DIR = TEST_DIR + BufferPoolPrefetchTest.class.getSimpleName() + "/";
+
+	private final static int rows = 300;
+	private final static int cols = 200;
+	private final static double sparsity = 0.7;
+	private final static int numMatrices = 8;
+	private final static int numBuffered = 16; //write buffer size in matrices
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME));
+	}
+
+	@Test
+	public void testPrefetchEvicted() {
+		runBufferPoolPrefetchTest(false, false);
+	}
+
+	@Test
+	public void testPrefetchHDFS() {
+		runBufferPoolPrefetchTest(true, false);
+	}
+
+	@Test
+	public void testPrefetchHDFSCancel() {
+		runBufferPoolPrefetchTest(true, true);
+	}
+
+	/**
+	 *
+	 * @param hdfs inputs not yet read from HDFS (otherwise evicted)
+	 * @param cancel clear inputs after issuing prefetches
+	 */
+	private void runBufferPoolPrefetchTest(boolean hdfs, boolean cancel)
+	{
+		boolean oldStats = DMLScript.STATISTICS;
+		DMLScript.STATISTICS = true;
+
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME);
+
+			//setup caching with prefetch and small write buffer
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.CACHING_PREFETCH, "true");
+			ConfigurationManager.setLocalConfig(conf);
+			CacheableData.initCaching("tmp_bufferpool_prefetch_test");
+			CacheStatistics.reset();
+			MatrixBlock[] blocks = new MatrixBlock[numMatrices];
+			for( int i=0; i<numMatrices; i++ )
+				blocks[i] = DataConverter.convertToMatrixBlock(
+					getRandomMatrix(rows, cols, -1, 1, sparsity, i+7));
+			LazyWriteBuffer.setLimit(numBuffered * blocks[0].getExactSerializedSize());
+
+			//create inputs (evicted or persistent) and bind to variables
+			ExecutionContext ec = ExecutionContextFactory.createContext();
+			MatrixObject[] mos = new MatrixObject[numMatrices];
+			Method clearmo = CacheableData.class
+				.getDeclaredMethod("clearCache", new Class[]{});
+			clearmo.setAccessible(true); //make method public
+			for( int i=0; i<numMatrices; i++ ) {
+				MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols,
+					ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize(), blocks[i].getNonZeros());
+				MatrixFormatMetaData meta = new MatrixFormatMetaData(mc,
+					OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
+				String fname = output("X"+i);
+				if( hdfs )
+					DataConverter.writeMatrixToHDFS(blocks[i], fname, OutputInfo.BinaryBlockOutputInfo, mc);
+				mos[i] = new MatrixObject(ValueType.DOUBLE, fname, meta);
+				if( !hdfs ) {
+					mos[i].acquireModify(blocks[i]);
+					mos[i].release();
+					LazyWriteBuffer.forceEviction();
+					clearmo.invoke(mos[i], new Object[]{});
+				}
+				ec.setVariable("X"+i, mos[i]);
+			}
+
+			//lookahead: X0+X1 (current), X2+X3, T1+X4 (T1 produced in window), X5+X6
+			ArrayList<Instruction> inst = new ArrayList<Instruction>();
+			inst.add(CPInstructionParser.parseSingleInstruction(createBinaryInstruction("X0", "X1", "T0")));
+			inst.add(CPInstructionParser.parseSingleInstruction(createBinaryInstruction("X2", "X3", "T1")));
+			inst.add(CPInstructionParser.parseSingleInstruction(createBinaryInstruction("T1", "X4", "T2")));
+			inst.add(CPInstructionParser.parseSingleInstruction(createBinaryInstruction("X5", "X6", "T3")));
+			inst.add(CPInstructionParser.parseSingleInstruction(createBinaryInstruction("X7", "X7", "T4")));
+			for( int i=0; i<numMatrices; i++ )
+				Assert.assertTrue(mos[i].isPrefetchable());
+
+			//issue prefetch and wait for completion
+			Assert.assertTrue(CachePrefetcher.isEnabled());
+			CachePrefetcher.prefetchInputs(inst, 0, ec);
+			if( cancel ) {
+				//clear inputs (no restore after clear)
+				for( int i=0; i<numMatrices; i++ )
+					mos[i].clearData();
+				for( int i=0; i<500 && CachePrefetcher.getNumInflight() > 0; i++ )
+					Thread.sleep(10);
+				Assert.assertEquals(0, CachePrefetcher.getNumInflight());
+				Assert.assertEquals(5, CacheStatistics.getIssuedPrefetches());
+				for( int i=0; i<numMatrices; i++ )
+					Assert.assertTrue("Restored X"+i+" after clear.", mos[i].isPrefetchable());
+				return;
+			}
+			for( int i=0; i<500 && CachePrefetcher.getNumInflight() > 0; i++ )
+				Thread.sleep(10);
+			Assert.assertEquals(5, CacheStatistics.getIssuedPrefetches());
+			Assert.assertEquals(5, CacheStatistics.getDonePrefetches());
+
+			//check prefetched inputs (in memory) and correctness
+			for( int i=0; i<numMatrices; i++ ) {
+				boolean prefetched = (i>=2 && i<=6);
+				Assert.assertEquals("Wrong prefetch of X"+i+".", prefetched, !mos[i].isPrefetchable());
+				long hitsMem = CacheStatistics.getMemHits();
+				MatrixBlock mb = mos[i].acquireRead();
+				mos[i].release();
+				Assert.assertEquals(prefetched, CacheStatistics.getMemHits() > hitsMem);
+				TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(blocks[i]),
+					DataConverter.convertToDoubleMatrix(mb), rows, cols, 0);
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			LazyWriteBuffer.setLimit(LazyWriteBuffer.getWriteBufferSize());
+			CacheableData.cleanupCacheDir();
+			ConfigurationManager.clearLocalConfigs();
+			DMLScript.STATISTICS = oldStats;
+		}
+	}
+
+	private static String createBinaryInstruction(String in1, String in2, String out) {
+		return "CP" + Lop.OPERAND_DELIMITOR + "+"
+			+ Lop.OPERAND_DELIMITOR + createOperand(in1)
+			+ Lop.OPERAND_DELIMITOR + createOperand(in2)
+			+ Lop.OPERAND_DELIMITOR + createOperand(out);
+	}
+
+	private static String createOperand(String name) {
+		return name + Lop.DATATYPE_PREFIX + "MATRIX" + Lop.VALUETYPE_PREFIX + "DOUBLE";
+	}
+}
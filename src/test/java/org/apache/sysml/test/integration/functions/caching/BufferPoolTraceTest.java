@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.lang.reflect.Method;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.CacheTracer;
+import org.apache.sysml.runtime.controlprogram.caching.CacheTracer.EventType;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the per-variable tracing of buffer pool events, where a small write
+ * buffer forces evictions and restores of repeatedly read variables. The test
+ * checks the per-variable event counts, the summary of top thrashing variables,
+ * and the csv event dump.
+ */
+public class BufferPoolTraceTest extends AutomatedTestBase
+{
+	private final static int rows = 300;
+	private final static int cols = 200;
+	private final static int numMatrices = 4;
+	private final static int numReads = 3;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testTraceSummary() {
+		runBufferPoolTraceTest(false);
+	}
+
+	@Test
+	public void testTraceDump() {
+		runBufferPoolTraceTest(true);
+	}
+
+	/**
+	 *
+	 * @param dump write csv event dump
+	 */
+	private void runBufferPoolTraceTest(boolean dump)
+	{
+		File fdump = null;
+		try
+		{
+			//setup caching with tracing and write buffer of a single matrix
+			fdump = File.createTempFile("trace", ".csv");
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.CACHING_TRACE, "true");
+			if( dump )
+				conf.setTextValue(DMLConfig.CACHING_TRACE_FILE, fdump.getAbsolutePath());
+			ConfigurationManager.setLocalConfig(conf);
+			CacheableData.initCaching("tmp_bufferpool_trace_test");
+			Assert.assertTrue(CacheTracer.isEnabled());
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -1, 1, 1.0, 7));
+			LazyWriteBuffer.setLimit((long)(1.5 * mb.getExactSerializedSize()));
+			Method clearmo = CacheableData.class
+				.getDeclaredMethod("clearCache", new Class[]{});
+			clearmo.setAccessible(true); //make method public
+
+			//create variables (each write evicts the previous one)
+			MatrixObject[] mos = new MatrixObject[numMatrices];
+			for( int i=0; i<numMatrices; i++ ) {
+				MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1, -1);
+				MatrixFormatMetaData meta = new MatrixFormatMetaData(mc,
+					OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
+				mos[i] = new MatrixObject(ValueType.DOUBLE, null, meta);
+				mos[i].setVarName("X"+i);
+				MatrixBlock tmp = new MatrixBlock(rows, cols, false);
+				tmp.copy(mb);
+				mos[i].acquireModify(tmp);
+				mos[i].release();
+				LazyWriteBuffer.forceEviction();
+			}
+
+			//repeatedly read X0 (restored on each read after cache clear)
+			for( int i=0; i<numReads; i++ ) {
+				clearmo.invoke(mos[0], new Object[]{});
+				mos[0].acquireRead();
+				mos[0].release();
+			}
+			String summary = CacheTracer.displayTopThrashing(2);
+			LazyWriteBuffer.cleanup(); //closes dump
+
+			//check per-variable events and summary
+			Assert.assertEquals(numReads, CacheTracer.getNumEvents("X0", EventType.ACQUIRE_READ));
+			Assert.assertEquals(numReads, CacheTracer.getNumEvents("X0", EventType.RESTORE));
+			Assert.assertEquals(1, CacheTracer.getNumEvents("X0", EventType.EVICT));
+			Assert.assertEquals(numReads+1, CacheTracer.getNumEvents("X0", EventType.RELEASE));
+			Assert.assertEquals(0, CacheTracer.getNumEvents("X1", EventType.RESTORE));
+			Assert.assertEquals(numMatrices, CacheTracer.getNumVariables());
+			Assert.assertTrue(summary.startsWith("-- 1) \tX0"));
+			Assert.assertEquals(2, summary.split("\n").length);
+
+			//check csv event dump
+			int numLines = 0, numRestores = 0;
+			BufferedReader br = new BufferedReader(new FileReader(fdump));
+			try {
+				String line = br.readLine();
+				Assert.assertEquals(dump, line != null && line.startsWith("time_ns,event,var"));
+				while( (line = br.readLine()) != null ) {
+					String[] parts = line.split(",");
+					Assert.assertEquals(6, parts.length);
+					numLines++;
+					if( parts[1].equals(EventType.RESTORE.name()) && parts[2].equals("X0") ) {
+						Assert.assertEquals("FS", parts[5]);
+						numRestores++;
+					}
+				}
+			}
+			finally {
+				br.close();
+			}
+			Assert.assertEquals(dump ? numReads : 0, numRestores);
+			Assert.assertTrue(!dump || numLines >= 3*numMatrices + 2*numReads);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			LazyWriteBuffer.setLimit(LazyWriteBuffer.getWriteBufferSize());
+			CacheableData.cleanupCacheDir();
+			ConfigurationManager.clearLocalConfigs();
+			if( fdump != null )
+				fdump.delete();
+		}
+	}
+}
@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.controlprogram.caching.BufferCompressor;
+import org.apache.sysml.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.CacheDataInput;
+import org.apache.sysml.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysml.runtime.controlprogram.caching.MappedEvictionStore;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Round-trip test for the bulk serialization of matrix blocks, covering
+ * the buffer pool (in-memory byte buffers), the eviction to local files or
+ * memory-mapped segment files, and the java serialization used for
+ * broadcasts, as well as the lightweight compression of serialized blocks.
+ *
+ */
+public class CacheBlockSerializationTest extends AutomatedTestBase
+{
+	private final static int rows = 1234;
+	private final static int cols = 567;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.1;
+
+	private enum SerializationPath {
+		BUFFERPOOL,
+		EVICTION,
+		MMAP_EVICTION,
+		BROADCAST,
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testDenseBufferPool() {
+		runSerializationTest(SerializationPath.BUFFERPOOL, sparsity1, null);
+	}
+
+	@Test
+	public void testSparseMCSRBufferPool() {
+		runSerializationTest(SerializationPath.BUFFERPOOL, sparsity2, SparseBlock.Type.MCSR);
+	}
+
+	@Test
+	public void testSparseCSRBufferPool() {
+		runSerializationTest(SerializationPath.BUFFERPOOL, sparsity2, SparseBlock.Type.CSR);
+	}
+
+	@Test
+	public void testDenseEviction() {
+		runSerializationTest(SerializationPath.EVICTION, sparsity1, null);
+	}
+
+	@Test
+	public void testSparseMCSREviction() {
+		runSerializationTest(SerializationPath.EVICTION, sparsity2, SparseBlock.Type.MCSR);
+	}
+
+	@Test
+	public void testSparseCSREviction() {
+		runSerializationTest(SerializationPath.EVICTION, sparsity2, SparseBlock.Type.CSR);
+	}
+
+	@Test
+	public void testDenseMmapEviction() {
+		runSerializationTest(SerializationPath.MMAP_EVICTION, sparsity1, null);
+	}
+
+	@Test
+	public void testSparseMCSRMmapEviction() {
+		runSerializationTest(SerializationPath.MMAP_EVICTION, sparsity2, SparseBlock.Type.MCSR);
+	}
+
+	@Test
+	public void testSparseCSRMmapEviction() {
+		runSerializationTest(SerializationPath.MMAP_EVICTION, sparsity2, SparseBlock.Type.CSR);
+	}
+
+	@Test
+	public void testDenseBroadcast() {
+		runSerializationTest(SerializationPath.BROADCAST, sparsity1, null);
+	}
+
+	@Test
+	public void testSparseMCSRBroadcast() {
+		runSerializationTest(SerializationPath.BROADCAST, sparsity2, SparseBlock.Type.MCSR);
+	}
+
+	@Test
+	public void testSparseCSRBroadcast() {
+		runSerializationTest(SerializationPath.BROADCAST, sparsity2, SparseBlock.Type.CSR);
+	}
+
+	@Test
+	public void testCompressionRoundTripBytes() {
+		runCompressionRoundTripTest();
+	}
+
+	@Test
+	public void testDenseBufferPoolCompression() {
+		runCompressionTest(SerializationPath.BUFFERPOOL, sparsity1, null, true);
+	}
+
+	@Test
+	public void testDenseBufferPoolCompressionIncompressible() {
+		runCompressionTest(SerializationPath.BUFFERPOOL, sparsity1, null, false);
+	}
+
+	@Test
+	public void testSparseCSRBufferPoolCompression() {
+		runCompressionTest(SerializationPath.BUFFERPOOL, sparsity2, SparseBlock.Type.CSR, true);
+	}
+
+	@Test
+	public void testDenseEvictionCompression() {
+		runCompressionTest(SerializationPath.EVICTION, sparsity1, null, true);
+	}
+
+	@Test
+	public void testSparseMCSREvictionCompression() {
+		runCompressionTest(SerializationPath.EVICTION, sparsity2, SparseBlock.Type.MCSR, true);
+	}
+
+	@Test
+	public void testSparseCSRMmapEvictionCompression() {
+		runCompressionTest(SerializationPath.MMAP_EVICTION, sparsity2, SparseBlock.Type.CSR, true);
+	}
+
+	/**
+	 *
+	 * @param path serialization path
+	 * @param sparsity sparsity of input data
+	 * @param stype sparse block type, null for dense
+	 */
+	private void runSerializationTest( SerializationPath path, double sparsity, SparseBlock.Type stype )
+	{
+		try
+		{
+			//generate input data
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 7);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			if( stype != null && stype != MatrixBlock.DEFAULT_SPARSEBLOCK )
+				mb = new MatrixBlock(mb, stype, true);
+
+			//round trip
+			MatrixBlock mb2 = roundTrip(path, mb);
+
+			//check for correct results
+			Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+			Assert.assertEquals(mb.isInSparseFormat(), mb2.isInSparseFormat());
+			double[][] C = DataConverter.convertToDoubleMatrix(mb2);
+			TestUtils.compareMatrices(A, C, rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private void runCompressionRoundTripTest()
+	{
+		try
+		{
+			Random rand = new Random(7);
+			int[] sizes = new int[]{0, 1, 16, 100, 4096, 100000};
+			for( int size : sizes ) {
+				//random bytes (incompressible), runs, and repeated patterns w/ noise
+				byte[][] inputs = new byte[3][size];
+				rand.nextBytes(inputs[0]);
+				for( int i=0; i<size; i++ ) {
+					inputs[1][i] = (byte)(i / 1000);
+					inputs[2][i] = (byte)((i % 37 == 0) ? rand.nextInt() : i % 13);
+				}
+				for( int k=0; k<inputs.length; k++ ) {
+					byte[] cdata = BufferCompressor.compress(inputs[k], size);
+					if( k == 0 || size < 100 )
+						Assert.assertNull(cdata);
+					else {
+						Assert.assertNotNull(cdata);
+						Assert.assertTrue(cdata.length <= BufferCompressor.MAX_COMPRESSION_RATIO*size);
+						Assert.assertTrue(Arrays.equals(inputs[k], BufferCompressor.decompress(cdata)));
+					}
+				}
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param path serialization path (buffer pool, eviction, mmap eviction)
+	 * @param sparsity sparsity of input data
+	 * @param stype sparse block type, null for dense
+	 * @param compressible rounded (compressible) or random input data
+	 */
+	private void runCompressionTest( SerializationPath path, double sparsity, SparseBlock.Type stype, boolean compressible )
+	{
+		try
+		{
+			//generate input data
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 7);
+			if( compressible )
+				A = TestUtils.round(A);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			if( stype != null && stype != MatrixBlock.DEFAULT_SPARSEBLOCK )
+				mb = new MatrixBlock(mb, stype, true);
+
+			//round trip through compressed byte buffer
+			long size = mb.getExactSerializedSize();
+			ByteBuffer bbuff = new ByteBuffer(size, true);
+			bbuff.serializeBlock(mb);
+			MatrixBlock mb2 = null;
+			switch( path ) {
+				case EVICTION: {
+					File f = File.createTempFile("cache", ".tmp");
+					try {
+						bbuff.evictBuffer(f.getAbsolutePath());
+						mb2 = (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(f.getAbsolutePath());
+						if( compressible )
+							Assert.assertTrue(f.length() < size);
+					}
+					finally {
+						f.delete();
+					}
+					break;
+				}
+				case MMAP_EVICTION: {
+					MappedEvictionStore store = new MappedEvictionStore(
+						System.getProperty("java.io.tmpdir") + File.separator);
+					try {
+						bbuff.evictBuffer("mb", store);
+						mb2 = (MatrixBlock) store.readBlock("mb");
+						store.delete("mb");
+					}
+					finally {
+						store.close();
+					}
+					break;
+				}
+				default:
+					mb2 = (MatrixBlock) bbuff.deserializeBlock();
+			}
+			long csize = size - bbuff.shrinkToCompressedSize();
+			bbuff.freeMemory();
+
+			//check compression (or fallback) and correct results
+			Assert.assertEquals(compressible, bbuff.isCompressed());
+			Assert.assertEquals(compressible, csize < size);
+			if( !compressible )
+				Assert.assertTrue(bbuff.isShallow());
+			Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+			Assert.assertEquals(mb.isInSparseFormat(), mb2.isInSparseFormat());
+			double[][] C = DataConverter.convertToDoubleMatrix(mb2);
+			TestUtils.compareMatrices(A, C, rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static MatrixBlock roundTrip( SerializationPath path, MatrixBlock mb )
+		throws Exception
+	{
+		MatrixBlock ret = new MatrixBlock();
+		switch( path ) {
+			case BUFFERPOOL: {
+				byte[] buff = new byte[(int)mb.getExactSerializedSize()];
+				mb.write(new CacheDataOutput(buff));
+				ret.readFields(new CacheDataInput(buff));
+				break;
+			}
+			case EVICTION: {
+				File f = File.createTempFile("cache", ".tmp");
+				try {
+					LocalFileUtils.writeMatrixBlockToLocal(f.getAbsolutePath(), mb);
+					ret = LocalFileUtils.readMatrixBlockFromLocal(f.getAbsolutePath());
+				}
+				finally {
+					f.delete();
+				}
+				break;
+			}
+			case MMAP_EVICTION: {
+				MappedEvictionStore store = new MappedEvictionStore(
+					System.getProperty("java.io.tmpdir") + File.separator);
+				try {
+					store.writeBlock("mb", mb);
+					ret = (MatrixBlock) store.readBlock("mb");
+					store.delete("mb");
+				}
+				finally {
+					store.close();
+				}
+				break;
+			}
+			case BROADCAST: {
+				ByteArrayOutputStream bos = new ByteArrayOutputStream();
+				ObjectOutputStream oos = new ObjectOutputStream(bos);
+				oos.writeObject(mb);
+				oos.close();
+				ObjectInputStream ois = new ObjectInputStream(
+					new ByteArrayInputStream(bos.toByteArray()));
+				ret = (MatrixBlock) ois.readObject();
+				ois.close();
+				break;
+			}
+		}
+		return ret;
+	}
+}
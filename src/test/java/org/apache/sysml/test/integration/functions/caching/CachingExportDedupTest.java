@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.ExportRegistry;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the deduplication of exports of unchanged data, i.e., repeated
+ * exports of the same data object (lineage), exports of different objects
+ * with equal content (fingerprint), and the rewrite of modified data, other
+ * formats, deleted files, and different data with colliding fingerprints.
+ */
+public class CachingExportDedupTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_NAME = "CachingExportDedup";
+	private final static String TEST_CLASS_DIR = TEST_DIR + CachingExportDedupTest.class.getSimpleName() + "/";
+
+	private final static int rows = 500;
+	private final static int cols = 300;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME));
+	}
+
+	@Test
+	public void testExportDedupBinaryDense() {
+		runExportDedupTest("binaryblock", 0.9, true);
+	}
+
+	@Test
+	public void testExportDedupBinarySparse() {
+		runExportDedupTest("binaryblock", 0.05, true);
+	}
+
+	@Test
+	public void testExportDedupText() {
+		runExportDedupTest("textcell", 0.05, true);
+	}
+
+	@Test
+	public void testExportNoDedup() {
+		runExportDedupTest("binaryblock", 0.9, false);
+	}
+
+	@Test
+	public void testExportFingerprintCollision() {
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME);
+			initCaching(true);
+			String fname = output("C");
+
+			//different data w/ equal fingerprints under position-xor hashing
+			MatrixBlock mb1 = new MatrixBlock(1, 2, false);
+			mb1.quickSetValue(0, 0, 1.0);
+			MatrixBlock mb2 = new MatrixBlock(1, 2, false);
+			mb2.quickSetValue(0, 1, 1.0000019073486328);
+			Assert.assertNotEquals(ExportRegistry.getFingerprint(mb1), ExportRegistry.getFingerprint(mb2));
+
+			//export first matrix and inject fingerprint collision with second matrix
+			MatrixObject mo1 = createMatrixObject(output("tmp1"), mb1);
+			mo1.exportData(fname, "binaryblock");
+			Field fexports = ExportRegistry.class.getDeclaredField("_exports");
+			fexports.setAccessible(true);
+			Object entry = ((Map<?,?>)fexports.get(null)).get(new Path(fname).toString());
+			Field ffp = entry.getClass().getDeclaredField("fingerprint");
+			ffp.setAccessible(true);
+			ffp.setLong(entry, ExportRegistry.getFingerprint(mb2));
+
+			//export of second matrix (rewrite, despite equal fingerprint)
+			MatrixObject mo2 = createMatrixObject(output("tmp2"), mb2);
+			mo2.exportData(fname, "binaryblock");
+			checkExport(fname, "binaryblock", mb2, 0, 0);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			cleanupCaching();
+		}
+	}
+
+	/**
+	 *
+	 * @param format output format
+	 * @param sparsity sparsity of exported matrices
+	 * @param dedup export deduplication enabled
+	 */
+	private void runExportDedupTest(String format, double sparsity, boolean dedup)
+	{
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME);
+			initCaching(dedup);
+			String fname = output("X");
+			MatrixBlock mb1 = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -1, 1, sparsity, 7));
+			MatrixBlock mb2 = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -1, 1, sparsity, 3));
+
+			//initial export and repeated export of unchanged object
+			MatrixObject mo = createMatrixObject(output("tmp1"), mb1);
+			mo.exportData(fname, format);
+			checkExport(fname, format, mb1, 0, 0);
+			mo.exportData(fname, format);
+			checkExport(fname, format, mb1, dedup ? 1 : 0, 0);
+
+			//export of different object with equal content (copy in other representation)
+			MatrixBlock mb1c = new MatrixBlock(rows, cols, !mb1.isInSparseFormat());
+			mb1c.copy(mb1, !mb1.isInSparseFormat());
+			MatrixObject mo2 = createMatrixObject(output("tmp2"), mb1c);
+			mo2.exportData(fname, format);
+			checkExport(fname, format, mb1, dedup ? 1 : 0, dedup ? 1 : 0);
+
+			//export of modified object (rewrite)
+			mo.acquireModify(mb2);
+			mo.release();
+			mo.exportData(fname, format);
+			checkExport(fname, format, mb2, dedup ? 1 : 0, dedup ? 1 : 0);
+
+			//export of unchanged object after file deletion (rewrite)
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+			mo.exportData(fname, format);
+			checkExport(fname, format, mb2, dedup ? 1 : 0, dedup ? 1 : 0);
+			mo.exportData(fname, format);
+			checkExport(fname, format, mb2, dedup ? 2 : 0, dedup ? 1 : 0);
+
+			//export of unchanged object in other format (rewrite)
+			String format2 = format.equals("binaryblock") ? "textcell" : "binaryblock";
+			mo.exportData(fname, format2);
+			checkExport(fname, format2, mb2, dedup ? 2 : 0, dedup ? 1 : 0);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			cleanupCaching();
+		}
+	}
+
+	private static void initCaching(boolean dedup)
+		throws Exception
+	{
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.CACHING_EXPORT_DEDUP, String.valueOf(dedup));
+		conf.setTextValue(DMLConfig.CACHING_EXPORT_DEDUP_CONTENT, String.valueOf(dedup));
+		ConfigurationManager.setLocalConfig(conf);
+		CacheableData.initCaching("tmp_caching_export_dedup_test");
+		CacheStatistics.reset();
+		DMLScript.STATISTICS = true;
+		Assert.assertEquals(dedup, ExportRegistry.isEnabled());
+		Assert.assertEquals(dedup, ExportRegistry.isContentEnabled());
+	}
+
+	private static void cleanupCaching() {
+		LazyWriteBuffer.setLimit(LazyWriteBuffer.getWriteBufferSize());
+		CacheableData.cleanupCacheDir();
+		ConfigurationManager.clearLocalConfigs();
+		DMLScript.STATISTICS = false;
+	}
+
+	private static MatrixObject createMatrixObject(String fname, MatrixBlock mb)
+		throws Exception
+	{
+		MatrixCharacteristics mc = new MatrixCharacteristics(mb.getNumRows(), mb.getNumColumns(),
+			ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize(), mb.getNonZeros());
+		MatrixFormatMetaData meta = new MatrixFormatMetaData(mc,
+			OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
+		MatrixObject mo = new MatrixObject(ValueType.DOUBLE, fname, meta);
+		mo.acquireModify(mb);
+		mo.release();
+		return mo;
+	}
+
+	private static void checkExport(String fname, String format, MatrixBlock expected, long skipsLineage, long skipsContent)
+		throws Exception
+	{
+		Assert.assertEquals(skipsLineage+"/"+skipsContent, CacheStatistics.displayExportSkips());
+		InputInfo iinfo = format.equals("binaryblock") ?
+			InputInfo.BinaryBlockInputInfo : InputInfo.TextCellInputInfo;
+		MatrixBlock mb = DataConverter.readMatrixFromHDFS(fname, iinfo, expected.getNumRows(), expected.getNumColumns(),
+			ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(expected),
+			DataConverter.convertToDoubleMatrix(mb), expected.getNumRows(), expected.getNumColumns(), 0);
+	}
+}
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.FastBufferedDataInputStream;
+import org.apache.sysml.runtime.util.FastBufferedDataOutputStream;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the pooled page cache, i.e., the reuse of serialization buffers and
+ * stream buffers in steady state, the hard memory bound, and the consistency
+ * of the pool accounting under concurrent page requests, as well as the
+ * disabled page cache by default.
+ */
+public class PageCacheTest extends AutomatedTestBase
+{
+	private final static int rows = 200;
+	private final static int cols = 100;
+	private final static double sparsity = 0.3;
+	private final static int numIterations = 50;
+	private final static int pageSize = 8192;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testSerializationBufferReuse() {
+		runPageCacheReuseTest(false);
+	}
+
+	@Test
+	public void testStreamBufferReuse() {
+		runPageCacheReuseTest(true);
+	}
+
+	@Test
+	public void testDisabledByDefault() {
+		try
+		{
+			initPageCache(false);
+			Assert.assertFalse(PageCache.isEnabled());
+			Assert.assertFalse(PageCache.putPage(new byte[pageSize]));
+			Assert.assertNull(PageCache.getPage(pageSize));
+			Assert.assertEquals(0, PageCache.getSize());
+		}
+		finally {
+			cleanupPageCache();
+		}
+	}
+
+	@Test
+	public void testMemoryBound() {
+		try
+		{
+			initPageCache(true);
+			PageCache.setLimit(4 * pageSize);
+			for( int i=0; i<8; i++ )
+				PageCache.putPage(new byte[pageSize]);
+			Assert.assertEquals(4 * pageSize, PageCache.getSize());
+			for( int i=0; i<4; i++ )
+				Assert.assertNotNull(PageCache.getPage(pageSize));
+			Assert.assertNull(PageCache.getPage(pageSize));
+			Assert.assertEquals(0, PageCache.getSize());
+		}
+		finally {
+			cleanupPageCache();
+		}
+	}
+
+	@Test
+	public void testManySizeClasses() {
+		try
+		{
+			//more size classes than the cleanup threshold (empty classes retired)
+			initPageCache(true);
+			for( int i=0; i<1000; i++ ) {
+				PageCache.putPage(new byte[pageSize+i]);
+				Assert.assertNotNull(PageCache.getPage(pageSize+i));
+			}
+			PageCache.putPage(new byte[pageSize]);
+			Assert.assertEquals(pageSize, PageCache.getSize());
+			Assert.assertNotNull(PageCache.getPage(pageSize));
+		}
+		finally {
+			cleanupPageCache();
+		}
+	}
+
+	@Test
+	public void testConcurrentRequests() {
+		try
+		{
+			int k = Math.max(InfrastructureAnalyzer.getLocalParallelism(), 8);
+			initPageCache(true);
+			PageCache.setLimit(k * pageSize);
+			Thread[] workers = new Thread[k];
+			final Exception[] errors = new Exception[k];
+			for( int i=0; i<k; i++ ) {
+				final int id = i;
+				workers[i] = new Thread() {
+					@Override
+					public void run() {
+						try {
+							//each worker marks and checks its pages (no shared pages)
+							for( int j=0; j<10000; j++ ) {
+								int size = pageSize + (j % 4) * 8;
+								byte[] page = PageCache.allocPage(size);
+								page[0] = (byte) id;
+								Thread.yield();
+								if( page[0] != (byte) id || page.length != size )
+									throw new RuntimeException("Shared page in iteration "+j+".");
+								PageCache.putPage(page);
+							}
+						}
+						catch(Exception ex) {
+							errors[id] = ex;
+						}
+					}
+				};
+			}
+			for( Thread worker : workers )
+				worker.start();
+			for( Thread worker : workers )
+				worker.join();
+			for( Exception ex : errors )
+				if( ex != null )
+					throw ex;
+			Assert.assertTrue(PageCache.getSize() <= PageCache.getLimit());
+			PageCache.clear();
+			Assert.assertEquals(0, PageCache.getSize());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			cleanupPageCache();
+		}
+	}
+
+	/**
+	 *
+	 * @param stream stream buffers (otherwise buffer pool serialization buffers)
+	 */
+	private void runPageCacheReuseTest(boolean stream)
+	{
+		boolean oldStats = DMLScript.STATISTICS;
+		DMLScript.STATISTICS = true;
+
+		try
+		{
+			initPageCache(true);
+			CacheStatistics.reset();
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -1, 1, sparsity, 7));
+			Assert.assertTrue(mb.isInSparseFormat());
+
+			//repeated round trips (first iteration allocates)
+			for( int i=0; i<numIterations; i++ ) {
+				MatrixBlock mb2 = new MatrixBlock();
+				if( stream ) {
+					ByteArrayOutputStream bos = new ByteArrayOutputStream();
+					FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(bos, pageSize);
+					mb.write(out);
+					out.close();
+					FastBufferedDataInputStream in = new FastBufferedDataInputStream(
+						new ByteArrayInputStream(bos.toByteArray()), pageSize);
+					mb2.readFields(in);
+					in.close();
+				}
+				else {
+					ByteBuffer bbuff = new ByteBuffer(mb.getExactSerializedSize());
+					bbuff.serializeBlock(mb);
+					mb2 = (MatrixBlock) bbuff.deserializeBlock();
+					bbuff.freeMemory();
+				}
+				if( i == 0 )
+					TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb),
+						DataConverter.convertToDoubleMatrix(mb2), rows, cols, 0);
+			}
+
+			//check steady-state reuse (no allocations after first iteration)
+			Assert.assertEquals(1, CacheStatistics.getPageMisses());
+			Assert.assertEquals(stream ? 2*numIterations-1 : numIterations-1, CacheStatistics.getPageHits());
+			Assert.assertEquals(0, CacheStatistics.getPageDrops());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			cleanupPageCache();
+			DMLScript.STATISTICS = oldStats;
+		}
+	}
+
+	private static void initPageCache(boolean enabled) {
+		try {
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.CACHING_BUFFER_PAGECACHE, String.valueOf(enabled));
+			ConfigurationManager.setLocalConfig(conf);
+			PageCache.init();
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static void cleanupPageCache() {
+		ConfigurationManager.clearLocalConfigs();
+		PageCache.init();
+	}
+}
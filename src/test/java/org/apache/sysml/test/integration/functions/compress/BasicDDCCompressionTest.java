@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.ColGroup.CompressionType;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is a compressed matrix block component test for dense dictionary
+ * coded (DDC1/DDC2) column groups, which are selected for dense columns
+ * with few distinct values.
+ */
+public class BasicDDCCompressionTest extends AutomatedTestBase
+{
+	private static final int rows1 = 2071;
+	private static final int rows2 = 20000;
+	private static final int cols = 10;
+	private static final double sparsity = 0.9;
+
+	public enum OpType {
+		DECOMPRESS,
+		MATVECT,
+		VECTMAT,
+		SCALAR,
+		SUM,
+		ROWSUMS,
+		COLMAXS,
+		ROWMINS,
+		SERIALIZE,
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testDDC1Decompress() {
+		runDDCCompressionTest(CompressionType.DDC1, OpType.DECOMPRESS);
+	}
+
+	@Test
+	public void testDDC1MatrixVectorMult() {
+		runDDCCompressionTest(CompressionType.DDC1, OpType.MATVECT);
+	}
+
+	@Test
+	public void testDDC1VectorMatrixMult() {
+		runDDCCompressionTest(CompressionType.DDC1, OpType.VECTMAT);
+	}
+
+	@Test
+	public void testDDC1ScalarSparseUnsafe() {
+		runDDCCompressionTest(CompressionType.DDC1, OpType.SCALAR);
+	}
+
+	@Test
+	public void testDDC1Sum() {
+		runDDCCompressionTest(CompressionType.DDC1, OpType.SUM);
+	}
+
+	@Test
+	public void testDDC1RowSums() {
+		runDDCCompressionTest(CompressionType.DDC1, OpType.ROWSUMS);
+	}
+
+	@Test
+	public void testDDC1ColMaxs() {
+		runDDCCompressionTest(CompressionType.DDC1, OpType.COLMAXS);
+	}
+
+	@Test
+	public void testDDC1RowMins() {
+		runDDCCompressionTest(CompressionType.DDC1, OpType.ROWMINS);
+	}
+
+	@Test
+	public void testDDC1Serialize() {
+		runDDCCompressionTest(CompressionType.DDC1, OpType.SERIALIZE);
+	}
+
+	@Test
+	public void testDDC2Decompress() {
+		runDDCCompressionTest(CompressionType.DDC2, OpType.DECOMPRESS);
+	}
+
+	@Test
+	public void testDDC2MatrixVectorMult() {
+		runDDCCompressionTest(CompressionType.DDC2, OpType.MATVECT);
+	}
+
+	@Test
+	public void testDDC2VectorMatrixMult() {
+		runDDCCompressionTest(CompressionType.DDC2, OpType.VECTMAT);
+	}
+
+	@Test
+	public void testDDC2ScalarSparseUnsafe() {
+		runDDCCompressionTest(CompressionType.DDC2, OpType.SCALAR);
+	}
+
+	@Test
+	public void testDDC2Sum() {
+		runDDCCompressionTest(CompressionType.DDC2, OpType.SUM);
+	}
+
+	@Test
+	public void testDDC2RowSums() {
+		runDDCCompressionTest(CompressionType.DDC2, OpType.ROWSUMS);
+	}
+
+	@Test
+	public void testDDC2ColMaxs() {
+		runDDCCompressionTest(CompressionType.DDC2, OpType.COLMAXS);
+	}
+
+	@Test
+	public void testDDC2RowMins() {
+		runDDCCompressionTest(CompressionType.DDC2, OpType.ROWMINS);
+	}
+
+	@Test
+	public void testDDC2Serialize() {
+		runDDCCompressionTest(CompressionType.DDC2, OpType.SERIALIZE);
+	}
+
+	/**
+	 *
+	 * @param ctype expected compression type
+	 * @param optype operation type
+	 */
+	private void runDDCCompressionTest(CompressionType ctype, OpType optype)
+	{
+		try
+		{
+			//generate input data (few distinct values, incl zeros)
+			int rows = (ctype==CompressionType.DDC1) ? rows1 : rows2;
+			double max = (ctype==CompressionType.DDC1) ? 10 : 999;
+			double[][] input = TestUtils.round(
+				TestUtils.generateTestMatrix(rows, cols, 0, max, sparsity, 7));
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress();
+
+			//check for expected column group type
+			boolean found = false;
+			for( ColGroup grp : cmb.getColGroups() )
+				found |= (grp.getCompType() == ctype);
+			Assert.assertTrue("No column group of type "+ctype+".", found);
+
+			//execute operation on uncompressed and compressed block
+			MatrixBlock ret1 = null, ret2 = null;
+			AggregateOperator aop = new AggregateOperator(0, Plus.getPlusFnObject());
+			AggregateBinaryOperator abop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), aop);
+			switch( optype ) {
+				case DECOMPRESS:
+					ret1 = mb;
+					ret2 = cmb.decompress();
+					break;
+				case MATVECT: {
+					MatrixBlock vector = DataConverter.convertToMatrixBlock(
+						TestUtils.generateTestMatrix(cols, 1, -1, 1, 1.0, 3));
+					ret1 = (MatrixBlock)mb.aggregateBinaryOperations(mb, vector, new MatrixBlock(), abop);
+					ret2 = (MatrixBlock)cmb.aggregateBinaryOperations(cmb, vector, new MatrixBlock(), abop);
+					break;
+				}
+				case VECTMAT: {
+					MatrixBlock vector = DataConverter.convertToMatrixBlock(
+						TestUtils.generateTestMatrix(1, rows, -1, 1, 1.0, 3));
+					ret1 = (MatrixBlock)vector.aggregateBinaryOperations(vector, mb, new MatrixBlock(), abop);
+					ret2 = (MatrixBlock)cmb.aggregateBinaryOperations(vector, cmb, new MatrixBlock(), abop);
+					break;
+				}
+				case SCALAR: {
+					ScalarOperator sop = new RightScalarOperator(Plus.getPlusFnObject(), 7);
+					ret1 = (MatrixBlock)mb.scalarOperations(sop, new MatrixBlock());
+					ret2 = ((CompressedMatrixBlock)cmb.scalarOperations(sop, new MatrixBlock())).decompress();
+					break;
+				}
+				case SERIALIZE: {
+					ByteArrayOutputStream bos = new ByteArrayOutputStream();
+					cmb.write(new DataOutputStream(bos));
+					CompressedMatrixBlock cmb2 = new CompressedMatrixBlock();
+					cmb2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+					ret1 = mb;
+					ret2 = cmb2.decompress();
+					break;
+				}
+				default: {
+					String opcode = (optype==OpType.SUM) ? "uak+" : (optype==OpType.ROWSUMS) ?
+						"uark+" : (optype==OpType.COLMAXS) ? "uacmax" : "uarmin";
+					ret1 = (MatrixBlock)mb.aggregateUnaryOperations(InstructionUtils
+						.parseBasicAggregateUnaryOperator(opcode), new MatrixBlock(), 1000, 1000, null, true);
+					ret2 = (MatrixBlock)cmb.aggregateUnaryOperations(InstructionUtils
+						.parseBasicAggregateUnaryOperator(opcode), new MatrixBlock(), 1000, 1000, null, true);
+				}
+			}
+
+			//compare results
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, ret1.getNumRows(), ret1.getNumColumns(), 0.0000001);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
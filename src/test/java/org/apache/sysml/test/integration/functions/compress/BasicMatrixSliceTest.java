@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.runtime.compress.BitmapEncoder;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ */
+public class BasicMatrixSliceTest extends AutomatedTestBase
+{
+	private static final int rows = 2*BitmapEncoder.BITMAP_BLOCK_SZ + 11;
+	private static final int cols = 20;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final double sparsity3 = 0.0;
+
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+		EMPTY,
+	}
+
+	public enum ValueType {
+		RAND,
+		RAND_ROUND,
+		CONST,
+	}
+
+	public enum SliceType {
+		COLS,      //X[, cl:cu]
+		ROWS,      //X[rl:ru, ]
+		ROWS_COLS, //X[rl:ru, cl:cu]
+		ROW,       //X[rl, ]
+		CBIND_COLS, //cbind(X, 1)[, cl:cu]
+	}
+
+	@Override
+	public void setUp() {
+
+	}
+
+	@Test
+	public void testDenseRoundRandDataSliceCols() {
+		runMatrixSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND, SliceType.COLS);
+	}
+
+	@Test
+	public void testDenseRoundRandDataSliceRows() {
+		runMatrixSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND, SliceType.ROWS);
+	}
+
+	@Test
+	public void testDenseRoundRandDataSliceRowsCols() {
+		runMatrixSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND, SliceType.ROWS_COLS);
+	}
+
+	@Test
+	public void testDenseRoundRandDataSliceRow() {
+		runMatrixSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND, SliceType.ROW);
+	}
+
+	@Test
+	public void testDenseRoundRandDataCbindSliceCols() {
+		runMatrixSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND, SliceType.CBIND_COLS);
+	}
+
+	@Test
+	public void testSparseRoundRandDataSliceCols() {
+		runMatrixSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND, SliceType.COLS);
+	}
+
+	@Test
+	public void testSparseRoundRandDataSliceRows() {
+		runMatrixSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND, SliceType.ROWS);
+	}
+
+	@Test
+	public void testSparseRoundRandDataSliceRowsCols() {
+		runMatrixSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND, SliceType.ROWS_COLS);
+	}
+
+	@Test
+	public void testSparseRoundRandDataCbindSliceCols() {
+		runMatrixSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND, SliceType.CBIND_COLS);
+	}
+
+	@Test
+	public void testDenseRandDataSliceRowsCols() {
+		runMatrixSliceTest(SparsityType.DENSE, ValueType.RAND, SliceType.ROWS_COLS);
+	}
+
+	@Test
+	public void testSparseRandDataSliceRowsCols() {
+		runMatrixSliceTest(SparsityType.SPARSE, ValueType.RAND, SliceType.ROWS_COLS);
+	}
+
+	@Test
+	public void testDenseConstDataSliceRowsCols() {
+		runMatrixSliceTest(SparsityType.DENSE, ValueType.CONST, SliceType.ROWS_COLS);
+	}
+
+	@Test
+	public void testSparseConstDataSliceRowsCols() {
+		runMatrixSliceTest(SparsityType.SPARSE, ValueType.CONST, SliceType.ROWS_COLS);
+	}
+
+	@Test
+	public void testEmptySliceRowsCols() {
+		runMatrixSliceTest(SparsityType.EMPTY, ValueType.RAND, SliceType.ROWS_COLS);
+	}
+
+	/**
+	 *
+	 * @param sptype sparsity type
+	 * @param vtype value type
+	 * @param stype slice type
+	 */
+	private void runMatrixSliceTest(SparsityType sptype, ValueType vtype, SliceType stype)
+	{
+		try
+		{
+			//prepare sparsity for input data
+			double sparsity = -1;
+			switch( sptype ){
+				case DENSE: sparsity = sparsity1; break;
+				case SPARSE: sparsity = sparsity2; break;
+				case EMPTY: sparsity = sparsity3; break;
+			}
+
+			//generate input data
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7);
+			if( vtype==ValueType.RAND_ROUND )
+				input = TestUtils.round(input);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress();
+
+			//optional cbind of intercept column (uncompressed and compressed)
+			MatrixBlock in1 = mb;
+			MatrixBlock in2 = cmb;
+			if( stype == SliceType.CBIND_COLS ) {
+				MatrixBlock ones = DataConverter.convertToMatrixBlock(
+					TestUtils.generateTestMatrix(rows, 1, 1, 1, 1.0, 3));
+				in1 = mb.appendOperations(ones, new MatrixBlock());
+				in2 = cmb.appendOperations(ones, new MatrixBlock());
+			}
+
+			//determine slice range (row range across bitmap segments)
+			int rl = 0, ru = rows-1, cl = 0, cu = in1.getNumColumns()-1;
+			switch( stype ) {
+				case COLS:       cl = 3; cu = 12; break;
+				case ROWS:       rl = BitmapEncoder.BITMAP_BLOCK_SZ-7; ru = rows-3; break;
+				case ROWS_COLS:  rl = 1234; ru = BitmapEncoder.BITMAP_BLOCK_SZ+4321; cl = 3; cu = 12; break;
+				case ROW:        rl = ru = BitmapEncoder.BITMAP_BLOCK_SZ+3; break;
+				case CBIND_COLS: cl = cols-3; break;
+			}
+
+			//slice uncompressed and compressed
+			MatrixBlock ret1 = in1.sliceOperations(rl, ru, cl, cu, new MatrixBlock());
+			MatrixBlock ret2 = in2.sliceOperations(rl, ru, cl, cu, new MatrixBlock());
+			if( stype != SliceType.ROW ) {
+				Assert.assertTrue(ret2 instanceof CompressedMatrixBlock
+					&& ((CompressedMatrixBlock)ret2).isCompressed());
+				Assert.assertTrue(ret2.getNonZeros() >= ret1.getNonZeros());
+				ret2 = ((CompressedMatrixBlock)ret2).decompress();
+			}
+
+			//compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, ru-rl+1, cu-cl+1, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysml.runtime.functionobjects.GreaterThan;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is a compressed matrix block component test for unary and
+ * matrix-rowvector binary operations, which are applied to the distinct
+ * values of column groups without decompression.
+ */
+public class BasicUnaryBinaryOperationsTest extends AutomatedTestBase
+{
+	private static final int rows = 2023;
+	private static final int cols = 20;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+
+	public enum OpType {
+		UNARY_SAFE,   //abs
+		UNARY_UNSAFE, //exp
+		ROW_SAFE,     //A * v
+		ROW_UNSAFE,   //A + v
+		ROW_COMPARE,  //A > v
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testUnarySafeDense() {
+		runUnaryBinaryTest(sparsity1, OpType.UNARY_SAFE, false);
+	}
+
+	@Test
+	public void testUnarySafeSparse() {
+		runUnaryBinaryTest(sparsity2, OpType.UNARY_SAFE, false);
+	}
+
+	@Test
+	public void testUnaryUnsafeDense() {
+		runUnaryBinaryTest(sparsity1, OpType.UNARY_UNSAFE, false);
+	}
+
+	@Test
+	public void testRowSafeDense() {
+		runUnaryBinaryTest(sparsity1, OpType.ROW_SAFE, false);
+	}
+
+	@Test
+	public void testRowSafeSparse() {
+		runUnaryBinaryTest(sparsity2, OpType.ROW_SAFE, false);
+	}
+
+	@Test
+	public void testRowUnsafeDense() {
+		runUnaryBinaryTest(sparsity1, OpType.ROW_UNSAFE, false);
+	}
+
+	@Test
+	public void testRowUnsafeSparse() {
+		runUnaryBinaryTest(sparsity2, OpType.ROW_UNSAFE, false);
+	}
+
+	@Test
+	public void testRowCompareSparse() {
+		runUnaryBinaryTest(sparsity2, OpType.ROW_COMPARE, false);
+	}
+
+	@Test
+	public void testUnarySafeSparseInPlace() {
+		runUnaryBinaryTest(sparsity2, OpType.UNARY_SAFE, true);
+	}
+
+	@Test
+	public void testUnaryUnsafeDenseInPlace() {
+		runUnaryBinaryTest(sparsity1, OpType.UNARY_UNSAFE, true);
+	}
+
+	@Test
+	public void testRowUnsafeSparseInPlace() {
+		runUnaryBinaryTest(sparsity2, OpType.ROW_UNSAFE, true);
+	}
+
+	/**
+	 *
+	 * @param sparsity sparsity of input data
+	 * @param optype operation type
+	 * @param inplace in-place operation
+	 */
+	private void runUnaryBinaryTest(double sparsity, OpType optype, boolean inplace)
+	{
+		boolean oldStats = DMLScript.STATISTICS;
+
+		try
+		{
+			//generate input data (few distinct values, incl negative values)
+			double[][] input = TestUtils.round(
+				TestUtils.generateTestMatrix(rows, cols, -5, 5, sparsity, 7));
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			MatrixBlock vector = DataConverter.convertToMatrixBlock(
+				TestUtils.round(TestUtils.generateTestMatrix(1, cols, -3, 3, 1.0, 3)));
+
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress();
+
+			DMLScript.STATISTICS = true;
+			Statistics.reset();
+
+			//execute operation on uncompressed and compressed block
+			boolean unary = (optype==OpType.UNARY_SAFE || optype==OpType.UNARY_UNSAFE);
+			UnaryOperator uop = new UnaryOperator(Builtin.getBuiltinFnObject(
+				(optype==OpType.UNARY_SAFE) ? BuiltinCode.ABS : BuiltinCode.EXP));
+			BinaryOperator bop = new BinaryOperator( (optype==OpType.ROW_SAFE) ?
+				Multiply.getMultiplyFnObject() : (optype==OpType.ROW_UNSAFE) ?
+				Plus.getPlusFnObject() : GreaterThan.getGreaterThanFnObject());
+			MatrixBlock ret1 = unary ?
+				(MatrixBlock)mb.unaryOperations(uop, new MatrixBlock()) :
+				(MatrixBlock)mb.binaryOperations(bop, vector, new MatrixBlock());
+			MatrixBlock ret2 = null;
+			if( inplace ) {
+				if( unary )
+					cmb.unaryOperationsInPlace(uop);
+				else
+					cmb.binaryOperationsInPlace(bop, vector);
+				ret2 = cmb;
+			}
+			else {
+				ret2 = unary ?
+					(MatrixBlock)cmb.unaryOperations(uop, new MatrixBlock()) :
+					(MatrixBlock)cmb.binaryOperations(bop, vector, new MatrixBlock());
+			}
+
+			//check for dictionary-level execution w/o decompression
+			boolean decomp = (optype==OpType.UNARY_UNSAFE);
+			Assert.assertEquals(decomp ? 1 : 0, Statistics.getDecompressions());
+			Assert.assertEquals(!decomp, ret2 instanceof CompressedMatrixBlock
+				&& ((CompressedMatrixBlock)ret2).isCompressed());
+			if( ret2 instanceof CompressedMatrixBlock )
+				ret2 = ((CompressedMatrixBlock)ret2).decompress();
+
+			//compare results
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, rows, cols, 0.0000001);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			DMLScript.STATISTICS = oldStats;
+		}
+	}
+}
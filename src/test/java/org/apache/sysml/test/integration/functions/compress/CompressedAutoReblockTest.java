@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.rewrite.RewriteCompressedReblock;
+import org.apache.sysml.lops.Compression;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the workload-aware compression decisions of compressed.linalg=auto,
+ * which should only compress matrices that are used in loops by operations
+ * on compressed blocks.
+ */
+public class CompressedAutoReblockTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME1 = "CompressAuto1"; //mv in loop
+	private final static String TEST_NAME2 = "CompressAuto2"; //decompressing ops in loop
+	private final static String TEST_NAME3 = "CompressAuto3"; //mv w/o loop
+	private final static String TEST_NAME4 = "CompressAuto4"; //mv in loop of function
+	private final static String TEST_DIR = "functions/compress/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + CompressedAutoReblockTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemML-config-compress-auto.xml";
+
+	private final static int rows = 1468;
+	private final static int cols = 20;
+	private final static int maxiter = 10;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "w" }));
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "w" }));
+		addTestConfiguration(TEST_NAME3, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME3, new String[] { "w" }));
+		addTestConfiguration(TEST_NAME4, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME4, new String[] { "w" }));
+	}
+
+	@Test
+	public void testAutoCompressMatrixVectorLoop() {
+		runCompressedAutoReblockTest(TEST_NAME1, true);
+	}
+
+	@Test
+	public void testAutoCompressDecompressingLoop() {
+		runCompressedAutoReblockTest(TEST_NAME2, false);
+	}
+
+	@Test
+	public void testAutoCompressNoLoop() {
+		runCompressedAutoReblockTest(TEST_NAME3, false);
+	}
+
+	@Test
+	public void testAutoCompressFunctionLoop() {
+		runCompressedAutoReblockTest(TEST_NAME4, true);
+	}
+
+	@Test
+	public void testCompressConfigValues() {
+		runCompressConfigTest("false", false, false);
+		runCompressConfigTest("true", true, false);
+		runCompressConfigTest("auto", true, true);
+		runCompressConfigTest("AUTO", true, true);
+	}
+
+	private void runCompressConfigTest(String value, boolean enabled, boolean auto)
+	{
+		try {
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.COMPRESSED_LINALG, value);
+			ConfigurationManager.setLocalConfig(conf);
+			Assert.assertEquals(enabled, RewriteCompressedReblock.isEnabledCompression());
+			Assert.assertEquals(auto, RewriteCompressedReblock.isAutoCompression());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			ConfigurationManager.clearLocalConfigs();
+		}
+	}
+
+	/**
+	 *
+	 * @param testname test name
+	 * @param compress expected compression decision
+	 */
+	private void runCompressedAutoReblockTest(String testname, boolean compress)
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.HYBRID;
+
+		try
+		{
+			TestConfiguration config = getTestConfiguration(testname);
+			loadTestConfiguration(config);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testname + ".dml";
+			programArgs = new String[]{ "-explain", "-stats",
+				"-config="+HOME+TEST_CONF, "-args", input("X"),
+				String.valueOf(maxiter), output("w") };
+
+			//generate compressible input data
+			double[][] X = TestUtils.round(getRandomMatrix(rows, cols, 0, 10, 1.0, 7));
+			writeInputMatrixWithMTD("X", X, true);
+
+			runTest(true, false, null, -1);
+
+			//check compression decision
+			boolean compressed = Statistics.getCPHeavyHitterOpCodes().contains(Compression.OPCODE);
+			Assert.assertEquals("Wrong compression decision for "+testname+".", compress, compressed);
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+}
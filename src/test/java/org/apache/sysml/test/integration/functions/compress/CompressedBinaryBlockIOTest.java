@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.io.File;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.io.MatrixReader;
+import org.apache.sysml.runtime.io.MatrixReaderFactory;
+import org.apache.sysml.runtime.io.MatrixWriter;
+import org.apache.sysml.runtime.io.ReaderBinaryBlock;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysml.runtime.io.WriterBinaryBlock;
+import org.apache.sysml.runtime.io.WriterBinaryBlockParallel;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is a component test for the compressed binary block format,
+ * i.e., write and read without recompression, as well as buffer pool
+ * eviction of compressed blocks and exports of compressed blocks, which
+ * use the compressed format only if explicitly requested.
+ */
+public class CompressedBinaryBlockIOTest extends AutomatedTestBase
+{
+	private static final int rows = 2345;
+	private static final int cols = 123;
+	private static final int blksz = 1000;
+	private static final int bclen = 67;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+
+	public enum InputType {
+		DENSE,
+		SPARSE,
+		UNCOMPRESSED,
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testCompressedWriteReadDense() {
+		runCompressedIOTest(InputType.DENSE, false);
+	}
+
+	@Test
+	public void testCompressedWriteReadSparse() {
+		runCompressedIOTest(InputType.SPARSE, false);
+	}
+
+	@Test
+	public void testCompressedWriteReadUncompressed() {
+		runCompressedIOTest(InputType.UNCOMPRESSED, false);
+	}
+
+	@Test
+	public void testCompressedWriteReadDenseParallel() {
+		runCompressedIOTest(InputType.DENSE, true);
+	}
+
+	@Test
+	public void testCompressedWriteReadSparseParallel() {
+		runCompressedIOTest(InputType.SPARSE, true);
+	}
+
+	@Test
+	public void testCompressedExportBinary() {
+		runCompressedExportTest(false);
+	}
+
+	@Test
+	public void testCompressedExportCompressedBinary() {
+		runCompressedExportTest(true);
+	}
+
+	@Test
+	public void testCompressedEvictionDense() {
+		runCompressedEvictionTest(sparsity1);
+	}
+
+	@Test
+	public void testCompressedEvictionSparse() {
+		runCompressedEvictionTest(sparsity2);
+	}
+
+	/**
+	 *
+	 * @param itype input type
+	 * @param parallel use parallel reader and writer
+	 */
+	private void runCompressedIOTest(InputType itype, boolean parallel)
+	{
+		String fname = null;
+		try
+		{
+			//generate input data (w/ partial last row and column blocks)
+			double sparsity = (itype==InputType.SPARSE) ? sparsity2 : sparsity1;
+			double[][] input = TestUtils.round(TestUtils.generateTestMatrix(rows, cols, 0, 10, sparsity, 7));
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			MatrixBlock in = mb;
+			if( itype != InputType.UNCOMPRESSED ) {
+				CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+				cmb.compress();
+				in = cmb;
+			}
+
+			//write in compressed binary block format
+			File f = File.createTempFile("compressed", ".bin");
+			f.delete();
+			fname = f.getAbsolutePath();
+			MatrixWriter writer = parallel ? new WriterBinaryBlockParallel(1, true) :
+				new WriterBinaryBlock(1, true);
+			writer.writeMatrixToHDFS(in, fname, rows, cols, blksz, bclen, mb.getNonZeros());
+
+			//read with compressed binary block reader
+			MatrixReader reader = parallel ? new ReaderBinaryBlockParallel(false, true) :
+				new ReaderBinaryBlock(false, true);
+			MatrixBlock ret = reader.readMatrixFromHDFS(fname, rows, cols, blksz, bclen, mb.getNonZeros());
+
+			//compare read matrix with input
+			Assert.assertTrue(ret instanceof CompressedMatrixBlock
+				&& ((CompressedMatrixBlock)ret).isCompressed());
+			Assert.assertEquals(mb.getNonZeros(), ret.getNonZeros());
+			MatrixBlock ret2 = ((CompressedMatrixBlock)ret).decompress();
+			TestUtils.compareMatrices(input, DataConverter.convertToDoubleMatrix(ret2), rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			try {
+				if( fname != null )
+					MapReduceTool.deleteFileIfExistOnHDFS(fname);
+			}
+			catch(Exception ex) {}
+		}
+	}
+
+	/**
+	 *
+	 * @param compressed export in compressed binary block format
+	 */
+	private void runCompressedExportTest(boolean compressed)
+	{
+		String fname = null;
+		try
+		{
+			//generate and compress input data
+			double[][] input = TestUtils.round(TestUtils.generateTestMatrix(rows, cols, 0, 10, sparsity1, 7));
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress();
+
+			//export of compressed block via matrix object
+			CacheableData.initCaching("tmp_compressed_binaryblock_io_test");
+			File f = File.createTempFile("compressed", ".bin");
+			f.delete();
+			fname = f.getAbsolutePath();
+			int blen = ConfigurationManager.getBlocksize();
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, blen, blen, mb.getNonZeros());
+			MatrixObject mo = new MatrixObject(ValueType.DOUBLE, fname+"_tmp",
+				new MatrixFormatMetaData(mc, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+			mo.acquireModify(cmb);
+			mo.release();
+			mo.exportData(fname, compressed ? "compressedbinaryblock" : "binaryblock");
+
+			//read with reader of requested format (plain binary blocks by default)
+			InputInfo iinfo = compressed ? InputInfo.CompressedBinaryBlockInputInfo : InputInfo.BinaryBlockInputInfo;
+			MatrixBlock ret = MatrixReaderFactory.createMatrixReader(iinfo)
+				.readMatrixFromHDFS(fname, rows, cols, blen, blen, mb.getNonZeros());
+			Assert.assertEquals(compressed, ret instanceof CompressedMatrixBlock
+				&& ((CompressedMatrixBlock)ret).isCompressed());
+			if( compressed )
+				ret = ((CompressedMatrixBlock)ret).decompress();
+			TestUtils.compareMatrices(input, DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.cleanupCacheDir();
+			try {
+				if( fname != null )
+					MapReduceTool.deleteFileIfExistOnHDFS(fname);
+			}
+			catch(Exception ex) {}
+		}
+	}
+
+	/**
+	 *
+	 * @param sparsity sparsity of input data
+	 */
+	private void runCompressedEvictionTest(double sparsity)
+	{
+		try
+		{
+			//generate and compress input data
+			double[][] input = TestUtils.round(TestUtils.generateTestMatrix(rows, cols, 0, 10, sparsity, 7));
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress();
+
+			//round trip through byte buffer and local file
+			ByteBuffer bbuff = new ByteBuffer(cmb.getExactSizeOnDisk());
+			bbuff.serializeBlock(cmb);
+			MatrixBlock ret1 = (MatrixBlock) bbuff.deserializeBlock();
+			MatrixBlock ret2 = null;
+			File f = File.createTempFile("cache", ".tmp");
+			try {
+				bbuff.evictBuffer(f.getAbsolutePath());
+				ret2 = (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(f.getAbsolutePath());
+			}
+			finally {
+				f.delete();
+			}
+			bbuff.freeMemory();
+
+			//check for compressed blocks and correct results
+			for( MatrixBlock ret : new MatrixBlock[]{ret1, ret2} ) {
+				Assert.assertTrue(ret instanceof CompressedMatrixBlock
+					&& ((CompressedMatrixBlock)ret).isCompressed());
+				Assert.assertEquals(mb.getNonZeros(), ret.getNonZeros());
+				MatrixBlock tmp = ((CompressedMatrixBlock)ret).decompress();
+				TestUtils.compareMatrices(input, DataConverter.convertToDoubleMatrix(tmp), rows, cols, 0);
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is a component test for compressed partitioned blocks as used
+ * for broadcast variables, incl. size estimates and serialization.
+ */
+public class CompressedBroadcastTest extends AutomatedTestBase
+{
+	private static final int rows = 2345;
+	private static final int cols = 1234;
+	private static final int blksz = 1000;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+
+	public enum InputType {
+		DENSE,
+		SPARSE,
+		INCOMPRESSIBLE,
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testCompressedBroadcastDense() {
+		runCompressedBroadcastTest(InputType.DENSE, false);
+	}
+
+	@Test
+	public void testCompressedBroadcastSparse() {
+		runCompressedBroadcastTest(InputType.SPARSE, false);
+	}
+
+	@Test
+	public void testCompressedBroadcastIncompressible() {
+		runCompressedBroadcastTest(InputType.INCOMPRESSIBLE, false);
+	}
+
+	@Test
+	public void testCompressedBroadcastPartitionsDense() {
+		runCompressedBroadcastTest(InputType.DENSE, true);
+	}
+
+	@Test
+	public void testCompressedBroadcastPartitionsSparse() {
+		runCompressedBroadcastTest(InputType.SPARSE, true);
+	}
+
+	@Test
+	public void testCompressedBroadcastCompressedInput() {
+		try
+		{
+			//generate and compress input data
+			double[][] input = TestUtils.round(TestUtils.generateTestMatrix(rows, cols, 0, 10, sparsity1, 7));
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress(1);
+
+			//create partitioned block (sliced in compressed form)
+			PartitionedBlock<MatrixBlock> pmb = new PartitionedBlock<MatrixBlock>(cmb, blksz, blksz);
+			for( int i=0; i<pmb.getNumRowBlocks(); i++ )
+				for( int j=0; j<pmb.getNumColumnBlocks(); j++ ) {
+					MatrixBlock blk = pmb.getBlock(i+1, j+1);
+					Assert.assertTrue(blk instanceof CompressedMatrixBlock 
+						&& ((CompressedMatrixBlock)blk).isCompressed());
+					MatrixBlock ret1 = mb.sliceOperations(i*blksz, Math.min((i+1)*blksz, rows)-1,
+						j*blksz, Math.min((j+1)*blksz, cols)-1, new MatrixBlock());
+					MatrixBlock ret2 = ((CompressedMatrixBlock)blk).decompress();
+					TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1),
+						DataConverter.convertToDoubleMatrix(ret2), ret1.getNumRows(), ret1.getNumColumns(), 0);
+				}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	@Test
+	public void testCompressedBroadcastBudgetFallback() {
+		try
+		{
+			//generate input data
+			double[][] input = TestUtils.round(TestUtils.generateTestMatrix(rows, cols, 0, 10, sparsity1, 7));
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+
+			//compression w/ too small budget keeps uncompressed blocks
+			PartitionedBlock<MatrixBlock> pmb = new PartitionedBlock<MatrixBlock>(mb, blksz, blksz);
+			long size1 = pmb.getInMemorySize();
+			Assert.assertFalse(pmb.compressBlocks(1, size1/100));
+			Assert.assertEquals(size1, pmb.getInMemorySize());
+			Assert.assertFalse(pmb.getBlock(1, 1) instanceof CompressedMatrixBlock);
+
+			//compression w/ sufficient budget
+			Assert.assertTrue(pmb.compressBlocks(1, size1));
+			Assert.assertTrue(pmb.getInMemorySize() < size1);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param itype input type
+	 * @param partitions partition the compressed block before serialization
+	 */
+	private void runCompressedBroadcastTest(InputType itype, boolean partitions)
+	{
+		try
+		{
+			//generate input data
+			double sparsity = (itype==InputType.SPARSE) ? sparsity2 : sparsity1;
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, 0, 10, sparsity, 7);
+			if( itype != InputType.INCOMPRESSIBLE )
+				input = TestUtils.round(input);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+
+			//create partitioned block and compress partitions
+			PartitionedBlock<MatrixBlock> pmb = new PartitionedBlock<MatrixBlock>(mb, blksz, blksz);
+			long size1 = pmb.getInMemorySize();
+			pmb.compressBlocks(1);
+			long size2 = pmb.getInMemorySize();
+			if( itype == InputType.INCOMPRESSIBLE )
+				Assert.assertEquals(size1, size2);
+			else
+				Assert.assertTrue("No size reduction: "+size2+" >= "+size1, size2 < size1);
+
+			//serialize and deserialize (complete or partitions)
+			int numBlks = pmb.getNumRowBlocks() * pmb.getNumColumnBlocks();
+			int numPerPart = partitions ? 2 : numBlks;
+			int numParts = (int)Math.ceil((double)numBlks/numPerPart);
+			List<PartitionedBlock<MatrixBlock>> parts = new ArrayList<PartitionedBlock<MatrixBlock>>();
+			for( int i=0; i<numParts; i++ ) {
+				int offset = i * numPerPart;
+				PartitionedBlock<MatrixBlock> tmp = partitions ? pmb.createPartition(
+					offset, Math.min(numPerPart, numBlks-offset), new MatrixBlock()) : pmb;
+				ByteArrayOutputStream bos = new ByteArrayOutputStream();
+				ObjectOutputStream oos = new ObjectOutputStream(bos);
+				oos.writeObject(tmp);
+				oos.close();
+				ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+				@SuppressWarnings("unchecked")
+				PartitionedBlock<MatrixBlock> part = (PartitionedBlock<MatrixBlock>) ois.readObject();
+				parts.add(part);
+				ois.close();
+			}
+
+			//compare deserialized blocks with input
+			for( int i=0, ix=0; i<pmb.getNumRowBlocks(); i++ )
+				for( int j=0; j<pmb.getNumColumnBlocks(); j++, ix++ ) {
+					MatrixBlock blk = parts.get(ix/numPerPart).getBlock(i+1, j+1);
+					Assert.assertTrue(blk instanceof CompressedMatrixBlock);
+					MatrixBlock ret1 = mb.sliceOperations(i*blksz, Math.min((i+1)*blksz, rows)-1,
+						j*blksz, Math.min((j+1)*blksz, cols)-1, new MatrixBlock());
+					MatrixBlock ret2 = ((CompressedMatrixBlock)blk).decompress();
+					TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1),
+						DataConverter.convertToDoubleMatrix(ret2), ret1.getNumRows(), ret1.getNumColumns(), 0);
+				}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
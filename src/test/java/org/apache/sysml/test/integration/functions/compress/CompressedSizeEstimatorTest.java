@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.apache.sysml.runtime.compress.estim.CompressedSizeEstimator;
+import org.apache.sysml.runtime.compress.estim.CompressedSizeInfo;
+import org.apache.sysml.runtime.compress.estim.SizeEstimatorFactory;
+import org.apache.sysml.runtime.compress.estim.SizeEstimatorFactory.EstimatorType;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Validation of sample-based compressed size estimators against the exact
+ * estimator on synthetic distributions. For real data sets and timings, see
+ * the SizeEstimatorValidation tool.
+ */
+public class CompressedSizeEstimatorTest extends AutomatedTestBase
+{
+	private static final int rows = 100000;
+	private static final long seed = 7;
+
+	//max ratio of estimated and exact compressed sizes (in both directions)
+	private static final double maxSizeRatio = 3.0;
+
+	public enum DataType {
+		UNIFORM_LOW,  //uniform, 100 distinct values
+		UNIFORM_HIGH, //uniform, 20000 distinct values
+		ZIPF,         //zipf (s=1.1), 10000 distinct values
+		SORTED_RUNS,  //sorted uniform, 1000 distinct values
+		CLUSTERED,    //unsorted runs (mean length 50), 1000 distinct values
+		UNIQUE,       //nearly unique values
+		SPARSE,       //10% non-zeros, 50 distinct values
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testHaasStokesEstimator() {
+		runSizeEstimatorTest(EstimatorType.HAAS_STOKES, false);
+	}
+
+	@Test
+	public void testShlosserEstimator() {
+		runSizeEstimatorTest(EstimatorType.SHLOSSER, false);
+	}
+
+	@Test
+	public void testSmoothedJackknifeEstimator() {
+		runSizeEstimatorTest(EstimatorType.SMOOTHED_JACKKNIFE, false);
+	}
+
+	@Test
+	public void testShlosserJackknifeEstimator() {
+		runSizeEstimatorTest(EstimatorType.SHLOSSER_JACKKNIFE, false);
+	}
+
+	@Test
+	public void testGuaranteedErrorEstimator() {
+		runSizeEstimatorTest(EstimatorType.GUARANTEED_ERROR, false);
+	}
+
+	@Test
+	public void testHybridSkewEstimator() {
+		runSizeEstimatorTest(EstimatorType.HYBRID_SKEW, true);
+	}
+
+	/**
+	 *
+	 * @param type size estimator type
+	 * @param checkError check the ratio of estimated and exact sizes
+	 */
+	private void runSizeEstimatorTest(EstimatorType type, boolean checkError)
+	{
+		try
+		{
+			//generate input data (one row per distribution, i.e., transposed input)
+			DataType[] dtypes = DataType.values();
+			double[][] input = new double[dtypes.length][];
+			for( int i=0; i<dtypes.length; i++ )
+				input[i] = generateColumn(dtypes[i], rows, seed+i);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+
+			//create exact and sample-based estimators
+			CompressedSizeEstimator exact = SizeEstimatorFactory.getSizeEstimator(
+				mb, rows, EstimatorType.EXACT, 1.0);
+			CompressedSizeEstimator sample = SizeEstimatorFactory.getSizeEstimator(
+				mb, rows, type, SizeEstimatorFactory.SAMPLING_RATIO);
+
+			for( int i=0; i<dtypes.length; i++ ) {
+				int[] colIndexes = new int[]{i};
+				CompressedSizeInfo info1 = exact.estimateCompressedColGroupSize(colIndexes);
+				CompressedSizeInfo info2 = sample.estimateCompressedColGroupSize(colIndexes);
+				double ratio = (double)info2.getMinSize() / info1.getMinSize();
+
+				//check exact cardinality and estimates
+				Assert.assertEquals(countDistinctNonZeros(input[i]), info1.getEstCarinality());
+				Assert.assertTrue(info2.getEstCarinality() >= 1);
+				if( checkError ) {
+					Assert.assertTrue("Size estimation error for "+dtypes[i].name()+": "+ratio,
+						ratio <= maxSizeRatio && ratio >= 1/maxSizeRatio);
+				}
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static double[] generateColumn(DataType dtype, int n, long seed) {
+		Random rand = new Random(seed);
+		double[] ret = new double[n];
+		switch( dtype ) {
+			case UNIFORM_LOW:
+				for( int i=0; i<n; i++ )
+					ret[i] = rand.nextInt(100) + 1;
+				break;
+			case UNIFORM_HIGH:
+				for( int i=0; i<n; i++ )
+					ret[i] = rand.nextInt(20000) + 1;
+				break;
+			case ZIPF: {
+				//inverse transform sampling over zipf cdf
+				double[] cdf = new double[10000];
+				for( int k=0; k<cdf.length; k++ )
+					cdf[k] = ((k>0) ? cdf[k-1] : 0) + 1/Math.pow(k+1, 1.1);
+				for( int i=0; i<n; i++ ) {
+					int pos = Arrays.binarySearch(cdf, rand.nextDouble()*cdf[cdf.length-1]);
+					ret[i] = ((pos < 0) ? -pos-1 : pos) + 1;
+				}
+				break;
+			}
+			case SORTED_RUNS:
+				for( int i=0; i<n; i++ )
+					ret[i] = rand.nextInt(1000) + 1;
+				Arrays.sort(ret);
+				break;
+			case CLUSTERED:
+				for( int i=0; i<n; ) {
+					double val = rand.nextInt(1000) + 1;
+					int len = 1 + rand.nextInt(100);
+					for( int j=0; j<len && i<n; j++ )
+						ret[i++] = val;
+				}
+				break;
+			case UNIQUE:
+				for( int i=0; i<n; i++ )
+					ret[i] = rand.nextDouble() + 1;
+				break;
+			case SPARSE:
+				for( int i=0; i<n; i++ )
+					ret[i] = (rand.nextDouble() < 0.1) ? rand.nextInt(50) + 1 : 0;
+				break;
+		}
+		return ret;
+	}
+
+	private static int countDistinctNonZeros(double[] col) {
+		HashSet<Double> vals = new HashSet<Double>();
+		for( double v : col )
+			if( v != 0 )
+				vals.add(v);
+		return vals.size();
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock.CompressionStatistics;
+import org.apache.sysml.runtime.compress.PlanningMemoTable;
+import org.apache.sysml.runtime.compress.estim.SizeEstimatorFactory;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is a compressed matrix block component test for the parallel 
+ * co-coding planning with and without time budget.
+ */
+public class ParCompressionPlanningTest extends AutomatedTestBase
+{
+	private static final int rows = 150000;
+	private static final int cols = 30;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final int k = 4;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testDenseSequentialPlanning() {
+		runCompressionPlanningTest(sparsity1, 1, -1);
+	}
+
+	@Test
+	public void testSparseSequentialPlanning() {
+		runCompressionPlanningTest(sparsity2, 1, -1);
+	}
+
+	@Test
+	public void testDenseParallelPlanning() {
+		runCompressionPlanningTest(sparsity1, k, -1);
+	}
+
+	@Test
+	public void testSparseParallelPlanning() {
+		runCompressionPlanningTest(sparsity2, k, -1);
+	}
+
+	@Test
+	public void testDenseSequentialPlanningTimeout() {
+		runCompressionPlanningTest(sparsity1, 1, 1);
+	}
+
+	@Test
+	public void testDenseParallelPlanningTimeout() {
+		runCompressionPlanningTest(sparsity1, k, 1);
+	}
+
+	@Test
+	public void testMemoTableKeyCopy() {
+		try
+		{
+			//generate transposed input data (as used for compression planning)
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(TestUtils.round(
+				TestUtils.generateTestMatrix(rows/10, cols, 0, 1, sparsity1, 7)));
+			MatrixBlock mbt = LibMatrixReorg.transpose(mb, new MatrixBlock(cols, rows/10, false));
+			PlanningMemoTable memo = new PlanningMemoTable(
+				SizeEstimatorFactory.getSizeEstimator(mbt, rows/10));
+
+			//update of column indexes by caller after estimate
+			int[] colIndexes = new int[]{1, 2};
+			memo.estimateCompressedColGroupSize(colIndexes);
+			colIndexes[1] = 3;
+			memo.estimateCompressedColGroupSize(new int[]{1, 2});
+			Assert.assertEquals(1, memo.getNumEstimates());
+			Assert.assertEquals(1, memo.getNumHits());
+			memo.estimateCompressedColGroupSize(colIndexes);
+			Assert.assertEquals(2, memo.getNumEstimates());
+			Assert.assertEquals(1, memo.getNumHits());
+			Assert.assertFalse(memo.isTimeout());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param sparsity sparsity of input data
+	 * @param k degree of parallelism
+	 * @param timeout planning time budget in ms
+	 */
+	private void runCompressionPlanningTest(double sparsity, int k, long timeout)
+	{
+		try
+		{
+			//set planning time budget
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.COMPRESSED_PLANNING_TIMEOUT, String.valueOf(timeout));
+			ConfigurationManager.setLocalConfig(conf);
+
+			//generate input data (low cardinality columns, amenable to co-coding)
+			double[][] input = TestUtils.round(
+				TestUtils.generateTestMatrix(rows, cols, 0, 1, sparsity, 7));
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress(k);
+
+			//check planning statistics
+			CompressionStatistics stats = cmb.getCompressionStatistics();
+			Assert.assertTrue(stats.timePhase2 >= 0);
+			Assert.assertTrue(stats.numEstimates >= 0 && stats.numMemoHits >= 0);
+			if( timeout <= 0 ) {
+				Assert.assertTrue(stats.numEstimates > 0);
+				Assert.assertFalse(stats.planningTimeout);
+			}
+
+			//compare decompressed result with input
+			MatrixBlock ret = cmb.decompress();
+			double[][] d = DataConverter.convertToDoubleMatrix(ret);
+			TestUtils.compareMatrices(input, d, rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			ConfigurationManager.clearLocalConfigs();
+		}
+	}
+}
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Test;
+
+/**
+ * This is a compressed matrix block component test for multi-threaded
+ * matrix-matrix multiplications over column groups and row ranges.
+ */
+public class ParMatrixMultTest extends AutomatedTestBase
+{	
+	private static final int rows = 2*65536+7;
+	private static final int cols = 20;
+	private static final int cols2 = 11;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final double sparsity3 = 0.0;
+	
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+		EMPTY,
+	}
+	
+	public enum ValueType {
+		RAND,
+		RAND_ROUND,
+		CONST,
+	}
+	
+	public enum MultType {
+		RIGHT, //X %*% B
+		LEFT,  //A %*% X
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testRightDenseRandDataCompression() {
+		runMatrixMultTest(SparsityType.DENSE, ValueType.RAND, MultType.RIGHT, true);
+	}
+
+	@Test
+	public void testRightDenseRoundRandDataCompression() {
+		runMatrixMultTest(SparsityType.DENSE, ValueType.RAND_ROUND, MultType.RIGHT, true);
+	}
+
+	@Test
+	public void testRightDenseConstDataCompression() {
+		runMatrixMultTest(SparsityType.DENSE, ValueType.CONST, MultType.RIGHT, true);
+	}
+
+	@Test
+	public void testRightSparseRandDataCompression() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.RAND, MultType.RIGHT, true);
+	}
+
+	@Test
+	public void testRightSparseRoundRandDataCompression() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.RAND_ROUND, MultType.RIGHT, true);
+	}
+
+	@Test
+	public void testRightSparseConstDataCompression() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.CONST, MultType.RIGHT, true);
+	}
+
+	@Test
+	public void testRightEmptyRandDataCompression() {
+		runMatrixMultTest(SparsityType.EMPTY, ValueType.RAND, MultType.RIGHT, true);
+	}
+
+	@Test
+	public void testRightEmptyRoundRandDataCompression() {
+		runMatrixMultTest(SparsityType.EMPTY, ValueType.RAND_ROUND, MultType.RIGHT, true);
+	}
+
+	@Test
+	public void testRightEmptyConstDataCompression() {
+		runMatrixMultTest(SparsityType.EMPTY, ValueType.CONST, MultType.RIGHT, true);
+	}
+
+	@Test
+	public void testRightDenseRandDataNoCompression() {
+		runMatrixMultTest(SparsityType.DENSE, ValueType.RAND, MultType.RIGHT, false);
+	}
+
+	@Test
+	public void testRightSparseRandDataNoCompression() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.RAND, MultType.RIGHT, false);
+	}
+
+	@Test
+	public void testRightEmptyRandDataNoCompression() {
+		runMatrixMultTest(SparsityType.EMPTY, ValueType.RAND, MultType.RIGHT, false);
+	}
+
+	@Test
+	public void testLeftDenseRandDataCompression() {
+		runMatrixMultTest(SparsityType.DENSE, ValueType.RAND, MultType.LEFT, true);
+	}
+
+	@Test
+	public void testLeftDenseRoundRandDataCompression() {
+		runMatrixMultTest(SparsityType.DENSE, ValueType.RAND_ROUND, MultType.LEFT, true);
+	}
+
+	@Test
+	public void testLeftDenseConstDataCompression() {
+		runMatrixMultTest(SparsityType.DENSE, ValueType.CONST, MultType.LEFT, true);
+	}
+
+	@Test
+	public void testLeftSparseRandDataCompression() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.RAND, MultType.LEFT, true);
+	}
+
+	@Test
+	public void testLeftSparseRoundRandDataCompression() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.RAND_ROUND, MultType.LEFT, true);
+	}
+
+	@Test
+	public void testLeftSparseConstDataCompression() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.CONST, MultType.LEFT, true);
+	}
+
+	@Test
+	public void testLeftEmptyRandDataCompression() {
+		runMatrixMultTest(SparsityType.EMPTY, ValueType.RAND, MultType.LEFT, true);
+	}
+
+	@Test
+	public void testLeftEmptyRoundRandDataCompression() {
+		runMatrixMultTest(SparsityType.EMPTY, ValueType.RAND_ROUND, MultType.LEFT, true);
+	}
+
+	@Test
+	public void testLeftEmptyConstDataCompression() {
+		runMatrixMultTest(SparsityType.EMPTY, ValueType.CONST, MultType.LEFT, true);
+	}
+
+	@Test
+	public void testLeftDenseRandDataNoCompression() {
+		runMatrixMultTest(SparsityType.DENSE, ValueType.RAND, MultType.LEFT, false);
+	}
+
+	@Test
+	public void testLeftSparseRandDataNoCompression() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.RAND, MultType.LEFT, false);
+	}
+
+	@Test
+	public void testLeftEmptyRandDataNoCompression() {
+		runMatrixMultTest(SparsityType.EMPTY, ValueType.RAND, MultType.LEFT, false);
+	}
+
+	/**
+	 * 
+	 * @param sptype sparsity type
+	 * @param vtype value type
+	 * @param mtype matrix mult type
+	 * @param compress compress input
+	 */
+	private void runMatrixMultTest(SparsityType sptype, ValueType vtype, MultType mtype, boolean compress)
+	{
+		try
+		{
+			//prepare sparsity for input data
+			double sparsity = -1;
+			switch( sptype ){
+				case DENSE: sparsity = sparsity1; break;
+				case SPARSE: sparsity = sparsity2; break;
+				case EMPTY: sparsity = sparsity3; break;
+			}
+			
+			//generate input data
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7);
+			if( vtype==ValueType.RAND_ROUND )
+				input = TestUtils.round(input);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			MatrixBlock matrix = (mtype==MultType.RIGHT) ?
+				DataConverter.convertToMatrixBlock(TestUtils.generateTestMatrix(cols, cols2, -1, 1, 1.0, 3)) :
+				DataConverter.convertToMatrixBlock(TestUtils.generateTestMatrix(cols2, rows, -1, 1, 1.0, 3));
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			if( compress )
+				cmb.compress();
+			
+			//matrix-matrix uncompressed
+			AggregateOperator aop = new AggregateOperator(0, Plus.getPlusFnObject());
+			AggregateBinaryOperator abop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), aop,
+					InfrastructureAnalyzer.getLocalParallelism());
+			MatrixBlock ret1 = (mtype==MultType.RIGHT) ?
+				(MatrixBlock)mb.aggregateBinaryOperations(mb, matrix, new MatrixBlock(), abop) :
+				(MatrixBlock)matrix.aggregateBinaryOperations(matrix, mb, new MatrixBlock(), abop);
+			
+			//matrix-matrix compressed
+			MatrixBlock ret2 = (mtype==MultType.RIGHT) ?
+				(MatrixBlock)cmb.aggregateBinaryOperations(cmb, matrix, new MatrixBlock(), abop) :
+				(MatrixBlock)cmb.aggregateBinaryOperations(matrix, cmb, new MatrixBlock(), abop);
+			
+			//compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, ret1.getNumRows(), ret1.getNumColumns(), 0.0000001);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
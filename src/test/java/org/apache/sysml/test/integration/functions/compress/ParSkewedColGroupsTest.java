@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.util.Arrays;
+
+import org.apache.sysml.lops.MMTSJ.MMTSJType;
+import org.apache.sysml.runtime.compress.BitmapEncoder;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Test;
+
+/**
+ * Correctness test for multi-threaded aggregates and tsmm over skewed
+ * column groups (a single wide co-coded group, a run-heavy group, and a
+ * sparse group), where row partitioning within groups is required to
+ * utilize all threads.
+ */
+public class ParSkewedColGroupsTest extends AutomatedTestBase
+{
+	private static final int rows = 4*BitmapEncoder.BITMAP_BLOCK_SZ+7;
+	private static final int cols1 = 10; //skewed group
+	private static final int cols2 = 10; //uncompressed
+
+	public enum SkewType {
+		CORRELATED, //one wide co-coded group
+		RUNS,       //one wide group with long runs
+		SPARSE,     //one wide group with sparse offset lists
+	}
+
+	public enum OpType {
+		SUM,
+		SUMSQ,
+		COLSUMS,
+		ROWSUMS,
+		TSMM,
+	}
+
+	@Override
+	public void setUp() {
+
+	}
+
+	@Test
+	public void testCorrelatedSum() {
+		runSkewedColGroupsTest(SkewType.CORRELATED, OpType.SUM);
+	}
+
+	@Test
+	public void testCorrelatedSumSq() {
+		runSkewedColGroupsTest(SkewType.CORRELATED, OpType.SUMSQ);
+	}
+
+	@Test
+	public void testCorrelatedColSums() {
+		runSkewedColGroupsTest(SkewType.CORRELATED, OpType.COLSUMS);
+	}
+
+	@Test
+	public void testCorrelatedRowSums() {
+		runSkewedColGroupsTest(SkewType.CORRELATED, OpType.ROWSUMS);
+	}
+
+	@Test
+	public void testCorrelatedTsmm() {
+		runSkewedColGroupsTest(SkewType.CORRELATED, OpType.TSMM);
+	}
+
+	@Test
+	public void testRunsSum() {
+		runSkewedColGroupsTest(SkewType.RUNS, OpType.SUM);
+	}
+
+	@Test
+	public void testRunsSumSq() {
+		runSkewedColGroupsTest(SkewType.RUNS, OpType.SUMSQ);
+	}
+
+	@Test
+	public void testRunsColSums() {
+		runSkewedColGroupsTest(SkewType.RUNS, OpType.COLSUMS);
+	}
+
+	@Test
+	public void testRunsRowSums() {
+		runSkewedColGroupsTest(SkewType.RUNS, OpType.ROWSUMS);
+	}
+
+	@Test
+	public void testRunsTsmm() {
+		runSkewedColGroupsTest(SkewType.RUNS, OpType.TSMM);
+	}
+
+	@Test
+	public void testSparseSum() {
+		runSkewedColGroupsTest(SkewType.SPARSE, OpType.SUM);
+	}
+
+	@Test
+	public void testSparseSumSq() {
+		runSkewedColGroupsTest(SkewType.SPARSE, OpType.SUMSQ);
+	}
+
+	@Test
+	public void testSparseColSums() {
+		runSkewedColGroupsTest(SkewType.SPARSE, OpType.COLSUMS);
+	}
+
+	@Test
+	public void testSparseRowSums() {
+		runSkewedColGroupsTest(SkewType.SPARSE, OpType.ROWSUMS);
+	}
+
+	@Test
+	public void testSparseTsmm() {
+		runSkewedColGroupsTest(SkewType.SPARSE, OpType.TSMM);
+	}
+
+	/**
+	 *
+	 * @param stype type of skewed column group
+	 * @param optype operation type
+	 */
+	private void runSkewedColGroupsTest(SkewType stype, OpType optype)
+	{
+		try
+		{
+			//generate skewed column (replicated into a single wide group)
+			double sparsity = (stype == SkewType.SPARSE) ? 0.1 : 1.0;
+			double[] col = getColumn(TestUtils.round(TestUtils.generateTestMatrix(rows, 1, 0, 10, sparsity, 7)));
+			if( stype == SkewType.RUNS )
+				Arrays.sort(col);
+
+			//generate input data (skewed group and uncompressed columns)
+			double[][] input = TestUtils.generateTestMatrix(rows, cols1+cols2, -10, 10, 1.0, 3);
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols1; j++ )
+					input[i][j] = col[i];
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress();
+
+			//execute uncompressed, and compressed w/ single and multiple threads
+			//(at least 4 threads to exercise the multi-threaded code paths)
+			int k = Math.max(InfrastructureAnalyzer.getLocalParallelism(), 4);
+			MatrixBlock ret1 = executeOperation(mb, optype, k);
+			MatrixBlock ret2 = executeOperation(cmb, optype, 1);
+			MatrixBlock ret3 = executeOperation(cmb, optype, k);
+
+			//compare results
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			double[][] d3 = DataConverter.convertToDoubleMatrix(ret3);
+			TestUtils.compareMatrices(d1, d2, ret1.getNumRows(), ret1.getNumColumns(), 0.000001);
+			TestUtils.compareMatrices(d1, d3, ret1.getNumRows(), ret1.getNumColumns(), 0.000001);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static MatrixBlock executeOperation(MatrixBlock mb, OpType optype, int k)
+		throws Exception
+	{
+		if( optype == OpType.TSMM ) {
+			return (k > 1) ? mb.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT, k) :
+				mb.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT);
+		}
+
+		AggregateUnaryOperator auop = null;
+		switch( optype ) {
+			case SUM: auop = InstructionUtils.parseBasicAggregateUnaryOperator("uak+"); break;
+			case SUMSQ: auop = InstructionUtils.parseBasicAggregateUnaryOperator("uasqk+"); break;
+			case COLSUMS: auop = InstructionUtils.parseBasicAggregateUnaryOperator("uack+"); break;
+			case ROWSUMS: auop = InstructionUtils.parseBasicAggregateUnaryOperator("uark+"); break;
+			default: throw new RuntimeException("Unsupported operation type: "+optype);
+		}
+		auop.setNumThreads(k);
+		return (MatrixBlock)mb.aggregateUnaryOperations(auop, new MatrixBlock(), 1000, 1000, null, true);
+	}
+
+	private static double[] getColumn(double[][] X) {
+		double[] ret = new double[X.length];
+		for( int i=0; i<X.length; i++ )
+			ret[i] = X[i][0];
+		return ret;
+	}
+}
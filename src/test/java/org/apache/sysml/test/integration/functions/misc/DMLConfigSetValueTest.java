@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.misc;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Test for setting multiple parameters on a programmatically created
+ * dml config, where all but the first parameter are missing in the
+ * existing config tree.
+ *
+ */
+public class DMLConfigSetValueTest extends AutomatedTestBase
+{
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testSetNewValues() {
+		runSetValueTest(false);
+	}
+
+	@Test
+	public void testUpdateExistingValues() {
+		runSetValueTest(true);
+	}
+
+	/**
+	 *
+	 * @param update update already set values
+	 */
+	private void runSetValueTest( boolean update )
+	{
+		try
+		{
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.CP_PARALLEL_MATRIXMULT, "false");
+			conf.setTextValue(DMLConfig.CP_PARALLEL_TEXTIO, "false");
+			conf.setTextValue(DMLConfig.NUM_REDUCERS, "7");
+			if( update ) {
+				conf.setTextValue(DMLConfig.CP_PARALLEL_TEXTIO, "true");
+				conf.setTextValue(DMLConfig.NUM_REDUCERS, "11");
+			}
+
+			//check all values (not only the first one) taken over
+			Assert.assertFalse(conf.getBooleanValue(DMLConfig.CP_PARALLEL_MATRIXMULT));
+			Assert.assertEquals(update, conf.getBooleanValue(DMLConfig.CP_PARALLEL_TEXTIO));
+			Assert.assertEquals(update ? 11 : 7, conf.getIntValue(DMLConfig.NUM_REDUCERS));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
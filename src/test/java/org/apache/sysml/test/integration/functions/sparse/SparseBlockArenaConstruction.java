@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.sparse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a sparse matrix block component test for the incremental construction
+ * of arena-backed sparse blocks via unsorted appends and updates, and their
+ * compaction into CSR.
+ *
+ */
+public class SparseBlockArenaConstruction extends AutomatedTestBase
+{
+	private final static int rows = 662;
+	private final static int cols = 444;
+	private final static double sparsity1 = 0.22;
+	private final static double sparsity2 = 0.002;
+
+	public enum ConstructType {
+		APPEND_SORTED,
+		APPEND_UNSORTED,
+		SET,
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testArenaAppendSorted1()  {
+		runArenaConstructionTest(sparsity1, ConstructType.APPEND_SORTED);
+	}
+
+	@Test
+	public void testArenaAppendSorted2()  {
+		runArenaConstructionTest(sparsity2, ConstructType.APPEND_SORTED);
+	}
+
+	@Test
+	public void testArenaAppendUnsorted1()  {
+		runArenaConstructionTest(sparsity1, ConstructType.APPEND_UNSORTED);
+	}
+
+	@Test
+	public void testArenaAppendUnsorted2()  {
+		runArenaConstructionTest(sparsity2, ConstructType.APPEND_UNSORTED);
+	}
+
+	@Test
+	public void testArenaSet1()  {
+		runArenaConstructionTest(sparsity1, ConstructType.SET);
+	}
+
+	@Test
+	public void testArenaSet2()  {
+		runArenaConstructionTest(sparsity2, ConstructType.SET);
+	}
+
+	/**
+	 *
+	 * @param sparsity sparsity of input data
+	 * @param ctype construction type
+	 */
+	private void runArenaConstructionTest( double sparsity, ConstructType ctype )
+	{
+		try
+		{
+			//data generation (cells in given order)
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 1234);
+			ArrayList<int[]> cells = new ArrayList<int[]>();
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					if( A[i][j] != 0 )
+						cells.add(new int[]{i, j});
+			if( ctype != ConstructType.APPEND_SORTED )
+				Collections.shuffle(cells, new Random(7));
+
+			//incremental construction into arena
+			MatrixBlock mb = new MatrixBlock(rows, cols, true);
+			mb.allocateSparseArenaBlock(rows);
+			for( int[] cell : cells ) {
+				if( ctype == ConstructType.SET )
+					mb.quickSetValue(cell[0], cell[1], A[cell[0]][cell[1]]);
+				else
+					mb.appendValue(cell[0], cell[1], A[cell[0]][cell[1]]);
+			}
+			if( ctype == ConstructType.SET ) {
+				//overwrite and delete existing values
+				for( int i=0; i<cells.size(); i+=3 ) {
+					int[] cell = cells.get(i);
+					double val = (i%2==0) ? 0 : 7;
+					mb.quickSetValue(cell[0], cell[1], val);
+					A[cell[0]][cell[1]] = val;
+				}
+			}
+
+			//compaction into csr
+			mb.compactSparseArenaBlock();
+			if( !(mb.getSparseBlock() instanceof SparseBlockCSR) )
+				Assert.fail("Arena sparse block not compacted into CSR.");
+
+			//check for correct number of non-zeros and values
+			long nnz = mb.getNonZeros();
+			mb.recomputeNonZeros();
+			Assert.assertEquals(mb.getNonZeros(), nnz);
+			double[][] B = DataConverter.convertToDoubleMatrix(mb);
+			TestUtils.compareMatrices(A, B, rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
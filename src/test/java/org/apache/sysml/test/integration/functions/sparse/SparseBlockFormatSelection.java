@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.sparse;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * This is a sparse matrix block component test for the selection of
+ * the in-memory representation (sparse/dense) with hysteresis.
+ *
+ */
+public class SparseBlockFormatSelection extends AutomatedTestBase
+{
+	private final static int rows = 662;
+	private final static int cols = 444;
+	private final static double sparsity1 = 0.38; //below turn point, within hysteresis
+	private final static double sparsity2 = 0.42; //above turn point, within hysteresis
+	private final static double sparsity3 = 0.1;
+	private final static double sparsity4 = 0.7;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testDenseWithinHysteresis()  {
+		runFormatSelectionTest(false, sparsity1, false);
+	}
+
+	@Test
+	public void testSparseWithinHysteresis()  {
+		runFormatSelectionTest(true, sparsity2, true);
+	}
+
+	@Test
+	public void testDenseToSparse()  {
+		runFormatSelectionTest(false, sparsity3, true);
+	}
+
+	@Test
+	public void testSparseToDense()  {
+		runFormatSelectionTest(true, sparsity4, false);
+	}
+
+	@Test
+	public void testSkewedMCSREstimate()  {
+		//all non-zeros in 10% of rows vs uniform distribution
+		long nnz = (long)(sparsity3*rows*cols);
+		long memSkew = SparseBlockMCSR.estimateMemory(rows, rows/10, nnz);
+		long memUniform = SparseBlockMCSR.estimateMemory(rows, cols, sparsity3);
+		if( memSkew >= memUniform )
+			Assert.fail("Skewed SparseBlockMCSR memory estimate not smaller than uniform estimate.");
+	}
+
+	/**
+	 *
+	 * @param sparse initial representation
+	 * @param sparsity sparsity of input data
+	 * @param sparseDst expected representation after examSparsity
+	 */
+	private void runFormatSelectionTest( boolean sparse, double sparsity, boolean sparseDst)
+	{
+		boolean oldStats = DMLScript.STATISTICS;
+		try
+		{
+			DMLScript.STATISTICS = true;
+
+			//create input in given representation
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 7654);
+			MatrixBlock mbtmp = DataConverter.convertToMatrixBlock(A);
+			MatrixBlock mb = new MatrixBlock(rows, cols, sparse);
+			mb.copy(mbtmp, sparse);
+			if( sparse )
+				mb = new MatrixBlock(mb, SparseBlock.Type.MCSR, true);
+
+			//repeated representation selection
+			Statistics.reset();
+			for( int i=0; i<3; i++ )
+				mb.examSparsity();
+
+			//check representation, conversion counts, and data
+			Assert.assertEquals(sparseDst, mb.isInSparseFormat());
+			long conversions = sparse ? Statistics.getSparseToDenseConversions() :
+				Statistics.getDenseToSparseConversions();
+			Assert.assertEquals((sparse != sparseDst) ? 1 : 0, conversions);
+			double[][] B = DataConverter.convertToDoubleMatrix(mb);
+			TestUtils.compareMatrices(A, B, rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			DMLScript.STATISTICS = oldStats;
+		}
+	}
+}
@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.sparse;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.lops.MMTSJ.MMTSJType;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a sparse matrix block component test for zero-copy row-range
+ * views over CSR sparse blocks (via sliceOperations), including the
+ * copy-on-write semantics on modifications of the view or its source, and
+ * the kernels over single-row views with an offset into the shared arrays.
+ *
+ */
+public class SparseBlockRowRangeView extends AutomatedTestBase
+{
+	private final static int rows = 662;
+	private final static int cols = 444;
+	private final static int rl = 123;
+	private final static int ru = 345;
+	private final static double sparsity1 = 0.12;
+	private final static double sparsity2 = 0.02;
+
+	public enum UpdateType {
+		NONE,
+		VIEW,
+		SOURCE,
+	}
+
+	public enum KernelType {
+		TSMM,
+		TRANSPOSE,
+		BINCELL,
+		VECMAT,
+		VECMAT_PAR,
+		VECMAT_SPARSE,
+		RESHAPE,
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testRowRangeView1()  {
+		runRowRangeViewTest(sparsity1, UpdateType.NONE);
+	}
+
+	@Test
+	public void testRowRangeView2()  {
+		runRowRangeViewTest(sparsity2, UpdateType.NONE);
+	}
+
+	@Test
+	public void testRowRangeViewUpdateView1()  {
+		runRowRangeViewTest(sparsity1, UpdateType.VIEW);
+	}
+
+	@Test
+	public void testRowRangeViewUpdateView2()  {
+		runRowRangeViewTest(sparsity2, UpdateType.VIEW);
+	}
+
+	@Test
+	public void testRowRangeViewUpdateSource1()  {
+		runRowRangeViewTest(sparsity1, UpdateType.SOURCE);
+	}
+
+	@Test
+	public void testRowRangeViewUpdateSource2()  {
+		runRowRangeViewTest(sparsity2, UpdateType.SOURCE);
+	}
+
+	@Test
+	public void testRowViewTsmm()  {
+		runRowViewKernelTest(KernelType.TSMM);
+	}
+
+	@Test
+	public void testRowViewTranspose()  {
+		runRowViewKernelTest(KernelType.TRANSPOSE);
+	}
+
+	@Test
+	public void testRowViewBincell()  {
+		runRowViewKernelTest(KernelType.BINCELL);
+	}
+
+	@Test
+	public void testRowViewVectorMatrix()  {
+		runRowViewKernelTest(KernelType.VECMAT);
+	}
+
+	@Test
+	public void testRowViewVectorMatrixParallel()  {
+		runRowViewKernelTest(KernelType.VECMAT_PAR);
+	}
+
+	@Test
+	public void testRowViewVectorSparseMatrix()  {
+		runRowViewKernelTest(KernelType.VECMAT_SPARSE);
+	}
+
+	@Test
+	public void testRowViewReshape()  {
+		runRowViewKernelTest(KernelType.RESHAPE);
+	}
+
+	/**
+	 *
+	 * @param sparsity sparsity of input data
+	 * @param utype update type after slicing
+	 */
+	private void runRowRangeViewTest( double sparsity, UpdateType utype )
+	{
+		try
+		{
+			//data generation
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 3456);
+			MatrixBlock mbtmp = DataConverter.convertToMatrixBlock(A);
+			MatrixBlock mb = new MatrixBlock(mbtmp, SparseBlock.Type.CSR, true);
+
+			//row-range slicing as view
+			MatrixBlock mb2 = mb.sliceOperations(rl, ru, 0, cols-1, new MatrixBlock());
+			if( !(mb2.getSparseBlock() instanceof SparseBlockCSR
+				&& ((SparseBlockCSR)mb2.getSparseBlock()).isShared()) )
+				Assert.fail("Row-range slice not returned as shared CSR view.");
+
+			//raw access and size of view w/o modifications (incl shared arrays)
+			SparseBlockCSR view = (SparseBlockCSR)mb2.getSparseBlock();
+			SparseBlockCSR src = (SparseBlockCSR)mb.getSparseBlock();
+			Assert.assertTrue(view.values() == src.values() && view.indexes() == src.indexes());
+			Assert.assertEquals(src.rowPointers()[rl], view.rowPointers()[0]);
+			Assert.assertTrue(view.isShared());
+			Assert.assertTrue(mb2.getInMemorySize() > src.getExactSizeInMemory() - 4L*(rows+1));
+			Assert.assertTrue(mb2.getExactSerializedSize() >= mb2.getInMemorySize());
+
+			//modify view or source (copy-on-write)
+			double[][] B = new double[ru-rl+1][];
+			for( int i=rl; i<=ru; i++ )
+				B[i-rl] = A[i].clone();
+			if( utype == UpdateType.VIEW ) {
+				for( int i=0; i<ru-rl+1; i+=7 ) {
+					mb2.quickSetValue(i, 3, 7);
+					mb2.quickSetValue(i, 5, 0);
+					B[i][3] = 7; B[i][5] = 0;
+				}
+			}
+			else if( utype == UpdateType.SOURCE ) {
+				for( int i=0; i<rows; i+=7 ) {
+					mb.quickSetValue(i, 3, 7);
+					mb.quickSetValue(i, 5, 0);
+					A[i][3] = 7; A[i][5] = 0;
+				}
+			}
+
+			//check results of view and source
+			long nnz = mb2.getNonZeros();
+			mb2.recomputeNonZeros();
+			Assert.assertEquals(mb2.getNonZeros(), nnz);
+			TestUtils.compareMatrices(B, DataConverter.convertToDoubleMatrix(mb2), ru-rl+1, cols, 0);
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mb), rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param ktype kernel type over single-row view
+	 */
+	private void runRowViewKernelTest( KernelType ktype )
+	{
+		try
+		{
+			//data generation and single-row view (w/ offset)
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity1, 3456);
+			MatrixBlock mb = new MatrixBlock(DataConverter.convertToMatrixBlock(A), SparseBlock.Type.CSR, true);
+			MatrixBlock view = mb.sliceOperations(rl, rl, 0, cols-1, new MatrixBlock());
+			Assert.assertTrue(view.getSparseBlock() instanceof SparseBlockCSR
+				&& ((SparseBlockCSR)view.getSparseBlock()).rowPointers()[0] > 0);
+			MatrixBlock ref = new MatrixBlock(1, cols, false);
+			ref.init(new double[][]{A[rl]}, 1, cols);
+
+			//execute kernel over view and dense reference
+			MatrixBlock ret1 = executeKernel(view, ktype);
+			MatrixBlock ret2 = executeKernel(ref, ktype);
+
+			//compare results
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret2),
+				DataConverter.convertToDoubleMatrix(ret1), ret2.getNumRows(), ret2.getNumColumns(), 1e-10);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private MatrixBlock executeKernel( MatrixBlock in, KernelType ktype )
+		throws Exception
+	{
+		switch( ktype ) {
+			case TSMM:
+				return in.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.RIGHT);
+			case TRANSPOSE:
+				return LibMatrixReorg.transpose(in, new MatrixBlock(cols, 1, false));
+			case BINCELL: {
+				MatrixBlock X = DataConverter.convertToMatrixBlock(getRandomMatrix(7, cols, -1, 1, 1.0, 7));
+				return (MatrixBlock) X.binaryOperations(new BinaryOperator(
+					Multiply.getMultiplyFnObject()), in, new MatrixBlock());
+			}
+			case VECMAT:
+			case VECMAT_PAR:
+			case VECMAT_SPARSE: {
+				double sp = (ktype == KernelType.VECMAT_SPARSE) ? sparsity2 : 1.0;
+				MatrixBlock B = DataConverter.convertToMatrixBlock(getRandomMatrix(cols, 37, -1, 1, sp, 7));
+				if( ktype == KernelType.VECMAT_SPARSE && !B.isInSparseFormat() )
+					B = new MatrixBlock(B, SparseBlock.Type.MCSR, true);
+				MatrixBlock ret = new MatrixBlock(1, 37, false);
+				if( ktype == KernelType.VECMAT_PAR )
+					LibMatrixMult.matrixMult(in, B, ret, 3);
+				else
+					LibMatrixMult.matrixMult(in, B, ret);
+				return ret;
+			}
+			case RESHAPE:
+				return LibMatrixReorg.reshape(in, new MatrixBlock(), 12, 37, false);
+			default:
+				throw new RuntimeException("Unsupported kernel type: "+ktype);
+		}
+	}
+}
@@ -26,7 +26,15 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-	CachingPWriteExportTest.class
+	BufferPoolAdaptiveSizeTest.class,
+	BufferPoolConcurrencyTest.class,
+	BufferPoolEvictionTest.class,
+	BufferPoolPrefetchTest.class,
+	BufferPoolTraceTest.class,
+	CacheBlockSerializationTest.class,
+	CachingExportDedupTest.class,
+	CachingPWriteExportTest.class,
+	PageCacheTest.class
 })
 
 
@@ -27,26 +27,37 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 	BasicCompressionTest.class,
+	BasicDDCCompressionTest.class,
 	BasicGetValueTest.class,
 	BasicMatrixAppendTest.class,
 	BasicMatrixMultChainTest.class,
+	BasicMatrixMultTest.class,
+	BasicMatrixSliceTest.class,
 	BasicMatrixTransposeSelfMultTest.class,
 	BasicMatrixVectorMultTest.class,
 	BasicScalarOperationsSparseUnsafeTest.class,
 	BasicScalarOperationsTest.class,
 	BasicTransposeSelfLeftMatrixMultTest.class,
 	BasicUnaryAggregateTest.class,
+	BasicUnaryBinaryOperationsTest.class,
 	BasicVectorMatrixMultTest.class,
+	CompressedAutoReblockTest.class,
+	CompressedBinaryBlockIOTest.class,
+	CompressedBroadcastTest.class,
 	CompressedLinregCG.class,
 	CompressedSerializationTest.class,
+	CompressedSizeEstimatorTest.class,
 	LargeCompressionTest.class,
 	LargeMatrixVectorMultTest.class,
 	LargeParMatrixVectorMultTest.class,
 	LargeParUnaryAggregateTest.class,
 	LargeVectorMatrixMultTest.class,
+	ParCompressionPlanningTest.class,
 	ParCompressionTest.class,
 	ParMatrixMultChainTest.class,
+	ParMatrixMultTest.class,
 	ParMatrixVectorMultTest.class,
+	ParSkewedColGroupsTest.class,
 	ParTransposeSelfLeftMatrixMultTest.class,
 	ParUnaryAggregateTest.class,
 	ParVectorMatrixMultTest.class,
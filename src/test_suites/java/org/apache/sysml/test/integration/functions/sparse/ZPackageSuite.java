@@ -28,12 +28,15 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	SparseBlockAlignment.class,
 	SparseBlockAppendSort.class,
+	SparseBlockArenaConstruction.class,
 	SparseBlockDelete.class,
+	SparseBlockFormatSelection.class,
 	SparseBlockGetFirstIndex.class,
 	SparseBlockGetSet.class,
 	SparseBlockIndexRange.class,
 	SparseBlockIterator.class,
 	SparseBlockMemEstimate.class,
+	SparseBlockRowRangeView.class,
 	SparseBlockScan.class,
 	SparseBlockSize.class,
 })